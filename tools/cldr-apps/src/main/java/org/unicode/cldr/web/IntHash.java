@@ -1,17 +1,22 @@
 package org.unicode.cldr.web;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A map from small non-negative ints to objects, stored in fixed-size buckets.
+ * get() doesn't lock, and is safe while other threads put().
+ */
 public class IntHash<T> {
     public final static int HASH_SIZE = 2048;
     public final static int MAX_SIZE = 768000; // 385024;
     public final static int CHUNKSIZE = 4096;
     public final static int INITIAL_SIZE = 10240;
     public final static int BUCKET_COUNT = MAX_SIZE / HASH_SIZE;
-    @SuppressWarnings("unchecked")
-    private T[][] hashedIds = (T[][]) new Object[BUCKET_COUNT][];
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> hashedIds = new AtomicReferenceArray<>(BUCKET_COUNT);
 
     public void clear() {
-        for (int i = 0; i < hashedIds.length; i++) {
-            hashedIds[i] = null;
+        for (int i = 0; i < hashedIds.length(); i++) {
+            hashedIds.set(i, null);
         }
     }
 
@@ -23,7 +28,7 @@ public class IntHash<T> {
         int filled = 0;
         int lastbuck = 0;
         for (int i = 0; i < BUCKET_COUNT; i++) {
-            if (hashedIds[i] != null) {
+            if (hashedIds.get(i) != null) {
                 filled++;
                 lastbuck = i;
             }
@@ -32,31 +37,32 @@ public class IntHash<T> {
             + " : last bucket=" + lastbuck + ", greatest max=" + ((lastbuck + 1) * HASH_SIZE);
     }
 
-    @SuppressWarnings("unchecked")
     public final T put(int id, T str) {
         try {
             int buckid = idToBucket(id);
-            T[] bucket = hashedIds[buckid];
+            AtomicReferenceArray<T> bucket = hashedIds.get(buckid);
             if (bucket == null) {
-                bucket = (T[]) new Object[HASH_SIZE];
-                hashedIds[buckid] = bucket;
+                // another thread may be adding the same bucket
+                hashedIds.compareAndSet(buckid, null, new AtomicReferenceArray<T>(HASH_SIZE));
+                bucket = hashedIds.get(buckid);
             }
-            return bucket[id % HASH_SIZE] = str;
-        } catch (ArrayIndexOutOfBoundsException aioob) {
+            bucket.set(id % HASH_SIZE, str);
+            return str;
+        } catch (IndexOutOfBoundsException aioob) {
             if (id > MAX_SIZE)
                 throw new InternalError("Exceeded max " + MAX_SIZE + " @ " + id);
-            System.err.println("IntHash: aioob: id" + id + ", buckid" + idToBucket(id) + ", hashedIdsLen" + hashedIds.length);
+            System.err.println("IntHash: aioob: id" + id + ", buckid" + idToBucket(id) + ", hashedIdsLen" + hashedIds.length());
             throw aioob;
         }
     }
 
     public final T get(int id) {
         try {
-            T[] bucket = hashedIds[idToBucket(id)];
+            AtomicReferenceArray<T> bucket = hashedIds.get(idToBucket(id));
             if (bucket == null)
                 return null; // no bucket = no id.
-            return bucket[id % HASH_SIZE];
-        } catch (ArrayIndexOutOfBoundsException aioob) {
+            return bucket.get(id % HASH_SIZE);
+        } catch (IndexOutOfBoundsException aioob) {
             if (id > MAX_SIZE)
                 throw new InternalError("Exceeded max " + MAX_SIZE + " @ " + id);
             throw aioob;
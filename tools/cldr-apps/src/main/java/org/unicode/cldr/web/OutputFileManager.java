@@ -9,12 +9,10 @@ package org.unicode.cldr.web;
 
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.time.Instant;
@@ -25,7 +23,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 
 import javax.servlet.ServletException;
@@ -122,11 +124,23 @@ public class OutputFileManager {
             boolean outputFiles = "true".equals(request.getParameter("output"));
             boolean removeEmpty = "true".equals(request.getParameter("remove"));
             boolean verifyConsistent = "true".equals(request.getParameter("verify"));
+            int threads = 1;
+            String threadsParam = request.getParameter("threads");
+            if (threadsParam != null) {
+                try {
+                    threads = Math.max(1, Math.min(MAX_OUTPUT_THREADS, Integer.parseInt(threadsParam)));
+                } catch (NumberFormatException e) {
+                    out.write("Bad number of threads.");
+                    return;
+                }
+            }
             if (!(outputFiles || removeEmpty || verifyConsistent)) {
                 out.write("<p>Usage: specify at least one of these parameters (all false by default):</p>\n");
                 out.write("output=true/false<br>\n");
                 out.write("remove=true/false<br>\n");
                 out.write("verify=true/false<br>\n");
+                out.write("<p>Optionally, to output the files in parallel:</p>\n");
+                out.write("threads=1.." + MAX_OUTPUT_THREADS + " (default 1)<br>\n");
                 return;
             }
             /*
@@ -147,7 +161,7 @@ public class OutputFileManager {
                 }
                 out.write("<p>Created new directory: " + vetdataDir.toString() + "</p>");
 
-                if (outputFiles && !ofm.outputAllFiles(out, vetdataDir)) {
+                if (outputFiles && !ofm.outputAllFiles(out, vetdataDir, threads)) {
                     out.write("File output failed.");
                     return;
                 }
@@ -241,17 +255,26 @@ public class OutputFileManager {
         return true;
     }
 
+    /**
+     * The most threads that outputAllFiles will use; each one holds a locale's data and a database connection.
+     */
+    private static final int MAX_OUTPUT_THREADS = 16;
+
     /**
      * Output all files (VXML, etc.)
      *
      * @param out the Writer, to receive HTML output
      * @param vetDataDir the folder in which to write
+     * @param threads the number of locales to write at the same time; 1 to write them one after another
      * @return true for success, false for failure
      *
      * This function was first created using code moved here from admin-OutputAllFiles.jsp.
      * Reference: CLDR-12016 and CLDR-11877 and CLDR-11850
      */
-    private boolean outputAllFiles(Writer out, File vetDataDir) {
+    private boolean outputAllFiles(Writer out, File vetDataDir, int threads) {
+        if (threads > 1) {
+            return outputAllFilesInParallel(out, vetDataDir, threads);
+        }
         try {
             long start = System.currentTimeMillis();
             ElapsedTimer overallTimer = new ElapsedTimer("overall update started " + new java.util.Date());
@@ -259,13 +282,7 @@ public class OutputFileManager {
 
             out.write("<ol>\n");
 
-            Set<CLDRLocale> sortSet = new TreeSet<>();
-            sortSet.addAll(SurveyMain.getLocalesSet());
-            /*
-             * skip "en" and "root", since they should never be changed by the Survey Tool
-             */
-            sortSet.remove(CLDRLocale.getInstance("en"));
-            sortSet.remove(CLDRLocale.getInstance("root"));
+            Set<CLDRLocale> sortSet = getOutputLocales();
 
             for (CLDRLocale loc : sortSet) {
                 out.write("<li>" + loc.getDisplayName() + "<br/>\n");
@@ -308,6 +325,164 @@ public class OutputFileManager {
         }
     }
 
+    /**
+     * Get the locales to output.
+     *
+     * @return the locales, in sorted order
+     */
+    private static Set<CLDRLocale> getOutputLocales() {
+        Set<CLDRLocale> sortSet = new TreeSet<>();
+        sortSet.addAll(SurveyMain.getLocalesSet());
+        /*
+         * skip "en" and "root", since they should never be changed by the Survey Tool
+         */
+        sortSet.remove(CLDRLocale.getInstance("en"));
+        sortSet.remove(CLDRLocale.getInstance("root"));
+        return sortSet;
+    }
+
+    /**
+     * Writes the files for one locale, for outputInParallel.
+     */
+    public interface LocaleWriter {
+        /**
+         * @return the number of files written
+         * @throws Exception if a file couldn't be written
+         */
+        int write(CLDRLocale loc) throws Exception;
+    }
+
+    /**
+     * The result of writing the files for one locale, for outputInParallel.
+     */
+    private static final class LocaleOutput {
+        final CLDRLocale loc;
+        final int count;
+        final String elapsed;
+        final Throwable error;
+
+        LocaleOutput(CLDRLocale loc, int count, String elapsed, Throwable error) {
+            this.loc = loc;
+            this.count = count;
+            this.elapsed = elapsed;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Output all files (VXML and PXML), several locales at a time
+     *
+     * @param out the Writer, to receive HTML output
+     * @param vetDataDir the folder in which to write
+     * @param threads the number of workers
+     * @return true if all files were written, false for failure
+     */
+    private boolean outputAllFilesInParallel(Writer out, File vetDataDir, int threads) {
+        return outputInParallel(out, getOutputLocales(), threads, loc -> writeManualOutputFiles(vetDataDir, loc));
+    }
+
+    /**
+     * Write the files for each locale, several locales at a time
+     *
+     * Each locale is written by one worker, so the STFactory PerLocaleData of a locale is only used by one worker
+     * here; the workers share nothing else but what STFactory already synchronizes.
+     * The progress is written to out (only by the calling thread) as each locale finishes, in the order they
+     * finish. A locale that fails is reported and the rest are still written, but the result is then false.
+     *
+     * @param out the Writer, to receive HTML output
+     * @param locales the locales to write
+     * @param threads the number of workers
+     * @param writer writes the files for a locale
+     * @return true if all files were written, false for failure
+     */
+    public static boolean outputInParallel(Writer out, Set<CLDRLocale> locales, int threads, LocaleWriter writer) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.currentTimeMillis();
+            ElapsedTimer overallTimer = new ElapsedTimer("overall update started " + new java.util.Date());
+            int total = locales.size() * 2;
+            int numupd = 0;
+            List<CLDRLocale> failed = new ArrayList<>();
+
+            out.write("<p>Writing " + locales.size() + " locales with " + threads + " threads</p>\n");
+            out.write("<ol>\n");
+            out.flush();
+
+            CompletionService<LocaleOutput> completionService = new ExecutorCompletionService<>(pool);
+            for (CLDRLocale loc : locales) {
+                completionService.submit(() -> writeLocale(writer, loc));
+            }
+            for (int i = 0; i < locales.size(); ++i) {
+                LocaleOutput result = completionService.take().get();
+                numupd += result.count;
+                out.write("<li>" + result.loc.getDisplayName() + " ");
+                if (result.error == null) {
+                    out.write(Kind.vxml + " " + Kind.pxml + " (" + result.elapsed + ")");
+                } else {
+                    failed.add(result.loc);
+                    out.write("<span style='background-color: #ff9999;'>FILE CREATION FAILED: " + result.error + "</span>");
+                }
+                out.write("</li>\n");
+                out.flush();
+                System.err.println(result.loc + " " + result.elapsed + " - upd " + numupd + "/" + total);
+            }
+            out.write("</ol>\n");
+            out.write("<hr>\n");
+            if (!failed.isEmpty()) {
+                out.write("Failed: " + failed + "<br>\n");
+            }
+            out.write("Total upd: " + numupd + "/" + total + "\n");
+            out.write("Total time: " + overallTimer + " : " + ((System.currentTimeMillis() - start) / (1000.0 * 60)) + "min\n");
+
+            System.err.println(overallTimer + " - updated " + numupd + "/" + total +
+                " in " + (System.currentTimeMillis() - start) / (1000.0 * 60) + " min with " + threads + " threads"
+                + (failed.isEmpty() ? "" : "; failed: " + failed));
+            return failed.isEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted in outputInParallel");
+            return false;
+        } catch (Exception e) {
+            System.err.println("Exception in outputInParallel: " + e);
+            e.printStackTrace();
+            return false;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Write the files for a locale, catching any failure.
+     *
+     * @return the result, with the error if there was one
+     */
+    private static LocaleOutput writeLocale(LocaleWriter writer, CLDRLocale loc) {
+        ElapsedTimer et = new ElapsedTimer("to write " + loc);
+        try {
+            return new LocaleOutput(loc, writer.write(loc), et.toString(), null);
+        } catch (Exception | InternalError e) {
+            System.err.println("Exception writing " + loc + ": " + e);
+            e.printStackTrace();
+            return new LocaleOutput(loc, 0, et.toString(), e);
+        }
+    }
+
+    /**
+     * Write the vxml and pxml files for a locale.
+     *
+     * @return the number of files written
+     */
+    private int writeManualOutputFiles(File vetDataDir, CLDRLocale loc) {
+        int count = 0;
+        for (Kind kind : new Kind[] { Kind.vxml, Kind.pxml }) {
+            if (writeManualOutputFile(vetDataDir, loc, kind) == null) {
+                throw new InternalError("FILE CREATION FAILED: " + loc + kind.name());
+            }
+            ++count;
+        }
+        return count;
+    }
+
     /**
      * Write out the specified file(s).
      *
@@ -351,10 +526,8 @@ public class OutputFileManager {
              * Only create the file in "main" here; doWriteFile will then create the file in "annotations"
              */
             String outDirName = vetDataDir + "/" + kind.toString() +  "/" + commonOrSeed + "/" + DirNames.justMain;
-            File outDir = new File(outDirName);
-            if (!outDir.exists() && !outDir.mkdirs()) {
-                throw new InternalError("Unable to create directory: " + outDirName);
-            }
+            // several locales may be written at once (outputInParallel), so another may be creating it too
+            Files.createDirectories(new File(outDirName).toPath());
             String outFileName = outDirName + "/" + loc.toString() + XML_SUFFIX;
             File outFile = new File(outFileName);
             doWriteFile(loc, cldrFile, kind, outFile);
@@ -722,11 +895,9 @@ public class OutputFileManager {
      * @param loc the CLDRLocale
      * @param file the CLDRFile for reading
      * @param outFile the File for "main"; another file will be created in "annotations"
-     * @throws UnsupportedEncodingException
-     * @throws FileNotFoundException
+     * @throws IOException
      */
-    private void doWriteFile(CLDRLocale loc, CLDRFile file, Kind kind, File outFile) throws UnsupportedEncodingException,
-        FileNotFoundException {
+    private void doWriteFile(CLDRLocale loc, CLDRFile file, Kind kind, File outFile) throws IOException {
         try (PrintWriter u8out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(outFile), "UTF8"))) {
             if (kind == Kind.vxml || kind == Kind.rxml) {
                 file.write(u8out, OPTS_SKIP_ANNOTATIONS);
@@ -734,7 +905,7 @@ public class OutputFileManager {
                 // output annotations, too
                 File parentDir = outFile.getParentFile().getParentFile();
                 File annotationsDir = new File(parentDir, DirNames.justAnnotations);
-                annotationsDir.mkdirs();
+                Files.createDirectories(annotationsDir.toPath());
                 File aFile = new File(annotationsDir, outFile.getName()); // same name, different subdir
                 try (PrintWriter u8outa = new PrintWriter(new OutputStreamWriter(new FileOutputStream(aFile), "UTF8"))) {
                     if (!file.write(u8outa, OPTS_KEEP_ANNOTATIONS)) {
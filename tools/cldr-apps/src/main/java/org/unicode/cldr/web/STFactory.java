@@ -14,6 +14,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -43,6 +44,7 @@ import org.unicode.cldr.util.LDMLUtilities;
 import org.unicode.cldr.util.Pair;
 import org.unicode.cldr.util.PathHeader;
 import org.unicode.cldr.util.SimpleXMLSource;
+import org.unicode.cldr.util.ValueSearchIndex;
 import org.unicode.cldr.util.VoteResolver;
 import org.unicode.cldr.util.VoteResolver.Level;
 import org.unicode.cldr.util.VoteResolver.Status;
@@ -686,6 +688,11 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
              * TODO: move the readonly check to the caller
              */
             if (!readonly) {
+                // Votes that aren't in the database yet are applied after it is read. Get them first, so that none
+                // are missed if they are committed meanwhile; new votes can't be made while this is locked.
+                VoteWriteBehind writeBehind = getVoteWriteBehind();
+                List<VoteJournal.Entry> pendingVotes = writeBehind == null ? Collections.emptyList()
+                    : writeBehind.getPendingVotes(locale);
                 VoteResolver<String> resolver = null; // save recalculating this.
                 ElapsedTimer et = (SurveyLog.DEBUG) ? new ElapsedTimer("Loading PLD for " + locale) : null;
                 Connection conn = null;
@@ -757,6 +764,15 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                             System.err.println("InvalidXPathException: Ignoring permanent vote for:" + locale + ":" + xpath);
                         }
                     }
+                    for (VoteJournal.Entry vote : pendingVotes) {
+                        String xpath = sm.xpt.getById(vote.xpathId);
+                        try {
+                            internalSetVoteForValue(sm.reg.getInfo(vote.userId), xpath, vote.value, vote.withVote, new Date());
+                            n++;
+                        } catch (BallotBox.InvalidXPathException e) {
+                            System.err.println("InvalidXPathException: Ignoring pending vote " + vote);
+                        }
+                    }
                 } catch (SQLException e) {
                     SurveyLog.logException(e);
                     SurveyMain.busted("Could not read locale " + locale, e);
@@ -1110,7 +1126,22 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         }
 
         @Override
-        public synchronized void voteForValue(User user, String distinguishingXpath, String value, Integer withVote) throws BallotBox.InvalidXPathException,
+        public void voteForValue(User user, String distinguishingXpath, String value, Integer withVote) throws BallotBox.InvalidXPathException,
+            BallotBox.VoteNotAcceptedException {
+            if (recordVote(user, distinguishingXpath, value, withVote)) {
+                // PermanentVote reads the votes back from the database; wait for them without holding this lock,
+                // which other voters need
+                flushVotes();
+                finishPermanentVote(distinguishingXpath, value);
+            }
+        }
+
+        /**
+         * Record a vote in memory and save it. Unless it is a permanent vote, also resolve the votes for the path.
+         *
+         * @return true for a permanent vote, which the caller finishes with finishPermanentVote
+         */
+        private synchronized boolean recordVote(User user, String distinguishingXpath, String value, Integer withVote) throws BallotBox.InvalidXPathException,
             BallotBox.VoteNotAcceptedException {
             if (!getPathsForFile().contains(distinguishingXpath)) {
                 throw new BallotBox.InvalidXPathException(distinguishingXpath);
@@ -1161,9 +1192,66 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
             internalSetVoteForValue(user, distinguishingXpath, value, withVote, new Date());
 
             if (withVote != null && withVote == VoteResolver.Level.PERMANENT_VOTES) {
-                doPermanentVote(distinguishingXpath, xpathId, value);
+                return true;
+            }
+            resolveAndNotify(distinguishingXpath, oldVal);
+            return false;
+        }
+
+        /**
+         * Undo a vote in memory that VoteWriteBehind couldn't write and set aside: go back to the user's vote
+         * in the database, and resolve the path again.
+         */
+        private synchronized void revertVote(VoteJournal.Entry vote) {
+            String xpath = sm.xpt.getById(vote.xpathId);
+            User user = sm.reg.getInfo(vote.userId);
+            if (user == null || peekXpathData(xpath) == null) {
+                return;
+            }
+            String value = null;
+            Integer voteOverride = null;
+            Date when = new Date();
+            Connection conn = null;
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+            try {
+                conn = DBUtils.getInstance().getDBConnection();
+                ps = DBUtils.prepareStatementWithArgsFRO(conn, "select value," + VOTE_OVERRIDE + ",last_mod from "
+                    + DBUtils.Table.VOTE_VALUE + " where locale=? and xpath=? and submitter=?", locale, vote.xpathId, vote.userId);
+                rs = ps.executeQuery();
+                if (rs.next()) {
+                    value = DBUtils.getStringUTF8(rs, 1);
+                    voteOverride = rs.getInt(2);
+                    if (voteOverride == 0 && rs.wasNull()) {
+                        voteOverride = null;
+                    }
+                    when = rs.getTimestamp(3);
+                }
+            } catch (SQLException e) {
+                SurveyLog.logException(e, "Reading back the vote for " + vote);
+                return;
+            } finally {
+                DBUtils.close(rs, ps, conn);
             }
+            String oldVal = xmlsource.getValueAtDPath(xpath);
+            try {
+                internalSetVoteForValue(user, xpath, value, voteOverride, when);
+            } catch (BallotBox.InvalidXPathException e) {
+                return;
+            }
+            resolveAndNotify(xpath, oldVal);
+        }
+
+        /**
+         * Lock or unlock the path as a permanent vote requires, once the votes are in the database, and resolve it.
+         */
+        private synchronized void finishPermanentVote(String distinguishingXpath, String value) {
+            String oldVal = xmlsource.getValueAtDPath(distinguishingXpath);
+            doPermanentVote(distinguishingXpath, sm.xpt.getByXpath(distinguishingXpath), value);
+            resolveAndNotify(distinguishingXpath, oldVal);
+        }
 
+        private void resolveAndNotify(String distinguishingXpath, String oldVal) {
             xmlsource.setValueFromResolver(distinguishingXpath, null, false /* resolveMorePaths */);
 
             String newVal = xmlsource.getValueAtDPath(distinguishingXpath);
@@ -1173,7 +1261,7 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         }
 
         /**
-         * Save the vote to the database
+         * Save the vote to the database: queue it for VoteWriteBehind if that is enabled, otherwise write it now.
          *
          * @param user
          * @param distinguishingXpath
@@ -1183,93 +1271,36 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
          */
         private void saveVoteToDb(final User user, final String distinguishingXpath, final String value,
                 final Integer withVote, final int xpathId) {
-            boolean didClearFlag = false;
             makeSource(false);
+            final VoteJournal.Entry vote = new VoteJournal.Entry(locale, xpathId, user.id, value, withVote);
+            final VoteWriteBehind writeBehind = getVoteWriteBehind();
+            if (writeBehind != null) {
+                try {
+                    writeBehind.submit(vote);
+                } catch (IOException e) {
+                    SurveyLog.logException(e);
+                    SurveyMain.busted("Could not journal vote for value in locale " + locale, e);
+                    throw new InternalError("Could not journal vote in locale " + locale + " : " + e);
+                }
+                return;
+            }
             ElapsedTimer et = !SurveyLog.DEBUG ? null : new ElapsedTimer("{0} Recording PLD for " + locale + " "
                 + distinguishingXpath + " : " + user + " voting for '" + value);
             Connection conn = null;
-            PreparedStatement saveOld = null; // save off old value
-            PreparedStatement ps = null; // all for mysql, or 1st step for
-            // derby
-            PreparedStatement ps2 = null; // 2nd step for derby
-            ResultSet rs = null;
-            final boolean wasFlagged = getFlag(locale, xpathId); // do this outside of the txn..
-            int submitter = user.id;
+            boolean didClearFlag = false;
             try {
                 conn = DBUtils.getInstance().getDBConnection();
-
-                String add0 = "", add1 = "", add2 = "";
-
-                // #1 - save the "VOTE_VALUE_ALT"  ( possible proposal) value.
-                if (DBUtils.db_Mysql) {
-                    add0 = "IGNORE";
-                    // add1="ON DUPLICATE KEY IGNORE";
-                } else {
-                    add2 = "and not exists (select * from " + DBUtils.Table.VOTE_VALUE_ALT
-                        + " where " + DBUtils.Table.VOTE_VALUE_ALT + ".locale="
-                        + DBUtils.Table.VOTE_VALUE + ".locale and "
-                        + DBUtils.Table.VOTE_VALUE_ALT + ".xpath=" + DBUtils.Table.VOTE_VALUE + ".xpath and "
-                        + DBUtils.Table.VOTE_VALUE_ALT + ".value=" + DBUtils.Table.VOTE_VALUE + ".value )";
-                }
-                String sql = "insert " + add0 + " into " + DBUtils.Table.VOTE_VALUE_ALT + " " + add1
-                    + " select " + DBUtils.Table.VOTE_VALUE + ".locale,"
-                    + DBUtils.Table.VOTE_VALUE + ".xpath," + DBUtils.Table.VOTE_VALUE + ".value "
-                    + " from " + DBUtils.Table.VOTE_VALUE
-                    + " where locale=? and xpath=? and submitter=? and value is not null " + add2;
-                saveOld = DBUtils.prepareStatementWithArgs(conn, sql, locale.getBaseName(), xpathId, user.id);
-                saveOld.executeUpdate();
-
-                // #2 - save the actual vote.
-                if (DBUtils.db_Mysql) { // use 'on duplicate key' syntax
-                    ps = DBUtils.prepareForwardReadOnly(conn, "INSERT INTO " + DBUtils.Table.VOTE_VALUE
-                        + " (locale,xpath,submitter,value,last_mod," + VOTE_OVERRIDE + ") values (?,?,?,?,CURRENT_TIMESTAMP,?) "
-                        + "ON DUPLICATE KEY UPDATE locale=?,xpath=?,submitter=?,value=?,last_mod=CURRENT_TIMESTAMP," + VOTE_OVERRIDE + "=?");
-                    int colNum = 6;
-                    ps.setString(colNum++, locale.getBaseName());
-                    ps.setInt(colNum++, xpathId);
-                    ps.setInt(colNum++, submitter);
-                    DBUtils.setStringUTF8(ps, colNum++, value);
-                    DBUtils.setInteger(ps, colNum++, withVote);
-                } else { // derby
-                    ps2 = DBUtils.prepareForwardReadOnly(conn, "DELETE FROM " + DBUtils.Table.VOTE_VALUE
-                        + " where locale=? and xpath=? and submitter=? ");
-                    ps = DBUtils.prepareForwardReadOnly(conn, "INSERT INTO " + DBUtils.Table.VOTE_VALUE
-                        + " (locale,xpath,submitter,value,last_mod," + VOTE_OVERRIDE + ") VALUES (?,?,?,?,CURRENT_TIMESTAMP,?) ");
-                    int colNum = 1;
-                    ps2.setString(colNum++, locale.getBaseName());
-                    ps2.setInt(colNum++, xpathId);
-                    ps2.setInt(colNum++, submitter);
-                    // NB:  no "VOTE_OVERRIDE" column on delete.
-                }
-
-                int colNum = 1;
-                ps.setString(colNum++, locale.getBaseName());
-                ps.setInt(colNum++, xpathId);
-                ps.setInt(colNum++, submitter);
-                DBUtils.setStringUTF8(ps, colNum++, value);
-                DBUtils.setInteger(ps, colNum++, withVote);
-                if (ps2 != null) {
-                    ps2.executeUpdate();
-                }
-                ps.executeUpdate();
-
-                if (wasFlagged && UserRegistry.userIsTC(user)) {
-                    clearFlag(conn, locale, xpathId, user);
-                    didClearFlag = true;
-                }
+                didClearFlag = writeVoteToDb(conn, vote);
                 conn.commit();
             } catch (SQLException e) {
                 SurveyLog.logException(e);
                 SurveyMain.busted("Could not vote for value in locale locale " + locale, e);
                 throw new InternalError("Could not load locale " + locale + " : " + DBUtils.unchainSqlException(e));
             } finally {
-                DBUtils.close(saveOld, rs, ps, ps2, conn);
+                DBUtils.close(conn);
             }
             SurveyLog.debug(et);
-
-            if (sm.fora != null) {
-                sm.fora.doForumAfterVote(locale, user, distinguishingXpath, xpathId, value, didClearFlag);
-            }
+            afterVoteCommitted(vote, didClearFlag);
         }
 
         /**
@@ -1489,6 +1520,11 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
 
         }
 
+        @Override
+        public List<ValueSearchIndex.Hit> searchValues(String text, String pathPrefix, int limit) {
+            return delegate.searchValues(text, pathPrefix, limit);
+        }
+
         @Override
         public VersionInfo getDtdVersionInfo() {
             return delegate.getDtdVersionInfo();
@@ -1670,6 +1706,23 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         return get(CLDRLocale.getInstance(locale));
     }
 
+    /**
+     * Get the per locale data only if it is loaded.
+     *
+     * @param locale
+     * @return null if it isn't loaded
+     */
+    private synchronized final PerLocaleData peek(CLDRLocale locale) {
+        PerLocaleData pld = rLocales.getIfPresent(locale);
+        if (pld == null) {
+            Reference<PerLocaleData> ref = locales.get(locale);
+            if (ref != null) {
+                pld = ref.get();
+            }
+        }
+        return pld;
+    }
+
     public TestCache.TestResultBundle getTestResult(CLDRLocale loc, CheckCLDR.Options options) {
 //        System.err.println("Fetching: " + options);
         return get(loc).getTestResultData(options);
@@ -2059,12 +2112,192 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
      */
     private Set<Pair<CLDRLocale, Integer>> flagList = null;
 
+    /**
+     * Write votes in the background (VoteWriteBehind), rather than while the voter waits. Off by default:
+     * code that reads or writes the votes table directly must call flushVotes() first.
+     */
+    private static final boolean VOTE_WRITE_BEHIND = CLDRConfig.getInstance().getProperty("CLDR_VOTE_WRITE_BEHIND", false);
+
+    /**
+     * If true, the vote journal is forced to disk for each vote.
+     */
+    private static final boolean VOTE_JOURNAL_SYNC = CLDRConfig.getInstance().getProperty("CLDR_VOTE_JOURNAL_SYNC", false);
+
+    private static final long VOTE_FLUSH_TIMEOUT_MILLIS = 60000;
+
+    private VoteWriteBehind voteWriteBehind = null;
+    private final Object voteWriteBehindLock = new Object();
+
+    /**
+     * Get the VoteWriteBehind, creating it (and recovering votes left in the journal) if needed.
+     *
+     * @return null if votes are written synchronously
+     */
+    private VoteWriteBehind getVoteWriteBehind() {
+        if (!VOTE_WRITE_BEHIND) {
+            return null;
+        }
+        synchronized (voteWriteBehindLock) {
+            if (voteWriteBehind == null) {
+                setupDB();
+                File journalFile = new File(SurveyMain.getSurveyHome(), "voteJournal.bin");
+                File deadLetterFile = new File(SurveyMain.getSurveyHome(), "voteJournal-failed.bin");
+                // votes left in the journal are written (and retried) by the background thread
+                voteWriteBehind = new VoteWriteBehind(new VoteJournal(journalFile, VOTE_JOURNAL_SYNC), new VoteJournal(deadLetterFile, true),
+                    new VoteWriteBehind.Writer() {
+                        @Override
+                        public boolean write(Connection conn, VoteJournal.Entry vote) throws SQLException {
+                            return writeVoteToDb(conn, vote);
+                        }
+
+                        @Override
+                        public void afterCommit(VoteJournal.Entry vote, boolean didClearFlag) {
+                            afterVoteCommitted(vote, didClearFlag);
+                        }
+
+                        @Override
+                        public void afterSetAside(VoteJournal.Entry vote) {
+                            PerLocaleData pld = peek(vote.locale);
+                            if (pld != null) {
+                                pld.revertVote(vote);
+                            }
+                        }
+                    });
+            }
+            return voteWriteBehind;
+        }
+    }
+
+    /**
+     * Wait for all the votes made so far to be in the database. Call this before reading or changing the
+     * votes table directly, so as not to miss votes that are still queued.
+     * Don't call this while holding a PerLocaleData lock, which voters need.
+     */
+    public void flushVotes() {
+        VoteWriteBehind writeBehind = getVoteWriteBehind();
+        if (writeBehind == null) {
+            return;
+        }
+        try {
+            if (!writeBehind.flush(VOTE_FLUSH_TIMEOUT_MILLIS)) {
+                SurveyLog.warnOnce("Timed out waiting for " + writeBehind.getPendingCount() + " votes to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Write all the queued votes to the database, and stop writing in the background.
+     * Called on shutdown; a later vote starts a new VoteWriteBehind.
+     */
+    public void closeVoteWriteBehind() {
+        synchronized (voteWriteBehindLock) {
+            if (voteWriteBehind != null) {
+                voteWriteBehind.close();
+                voteWriteBehind = null;
+            }
+        }
+    }
+
+    /**
+     * Write a single vote, without committing.
+     *
+     * @return true if the vote cleared a flag
+     */
+    private boolean writeVoteToDb(Connection conn, VoteJournal.Entry vote) throws SQLException {
+        final CLDRLocale locale = vote.locale;
+        final int xpathId = vote.xpathId;
+        final int submitter = vote.userId;
+        final boolean wasFlagged = getFlag(locale, xpathId); // do this outside of the txn..
+        PreparedStatement saveOld = null; // save off old value
+        PreparedStatement ps = null; // all for mysql, or 1st step for
+        // derby
+        PreparedStatement ps2 = null; // 2nd step for derby
+        try {
+            String add0 = "", add1 = "", add2 = "";
+
+            // #1 - save the "VOTE_VALUE_ALT"  ( possible proposal) value.
+            if (DBUtils.db_Mysql) {
+                add0 = "IGNORE";
+                // add1="ON DUPLICATE KEY IGNORE";
+            } else {
+                add2 = "and not exists (select * from " + DBUtils.Table.VOTE_VALUE_ALT
+                    + " where " + DBUtils.Table.VOTE_VALUE_ALT + ".locale="
+                    + DBUtils.Table.VOTE_VALUE + ".locale and "
+                    + DBUtils.Table.VOTE_VALUE_ALT + ".xpath=" + DBUtils.Table.VOTE_VALUE + ".xpath and "
+                    + DBUtils.Table.VOTE_VALUE_ALT + ".value=" + DBUtils.Table.VOTE_VALUE + ".value )";
+            }
+            String sql = "insert " + add0 + " into " + DBUtils.Table.VOTE_VALUE_ALT + " " + add1
+                + " select " + DBUtils.Table.VOTE_VALUE + ".locale,"
+                + DBUtils.Table.VOTE_VALUE + ".xpath," + DBUtils.Table.VOTE_VALUE + ".value "
+                + " from " + DBUtils.Table.VOTE_VALUE
+                + " where locale=? and xpath=? and submitter=? and value is not null " + add2;
+            saveOld = DBUtils.prepareStatementWithArgs(conn, sql, locale.getBaseName(), xpathId, submitter);
+            saveOld.executeUpdate();
+
+            // #2 - save the actual vote.
+            if (DBUtils.db_Mysql) { // use 'on duplicate key' syntax
+                ps = DBUtils.prepareForwardReadOnly(conn, "INSERT INTO " + DBUtils.Table.VOTE_VALUE
+                    + " (locale,xpath,submitter,value,last_mod," + VOTE_OVERRIDE + ") values (?,?,?,?,CURRENT_TIMESTAMP,?) "
+                    + "ON DUPLICATE KEY UPDATE locale=?,xpath=?,submitter=?,value=?,last_mod=CURRENT_TIMESTAMP," + VOTE_OVERRIDE + "=?");
+                int colNum = 6;
+                ps.setString(colNum++, locale.getBaseName());
+                ps.setInt(colNum++, xpathId);
+                ps.setInt(colNum++, submitter);
+                DBUtils.setStringUTF8(ps, colNum++, vote.value);
+                DBUtils.setInteger(ps, colNum++, vote.withVote);
+            } else { // derby
+                ps2 = DBUtils.prepareForwardReadOnly(conn, "DELETE FROM " + DBUtils.Table.VOTE_VALUE
+                    + " where locale=? and xpath=? and submitter=? ");
+                ps = DBUtils.prepareForwardReadOnly(conn, "INSERT INTO " + DBUtils.Table.VOTE_VALUE
+                    + " (locale,xpath,submitter,value,last_mod," + VOTE_OVERRIDE + ") VALUES (?,?,?,?,CURRENT_TIMESTAMP,?) ");
+                int colNum = 1;
+                ps2.setString(colNum++, locale.getBaseName());
+                ps2.setInt(colNum++, xpathId);
+                ps2.setInt(colNum++, submitter);
+                // NB:  no "VOTE_OVERRIDE" column on delete.
+            }
+
+            int colNum = 1;
+            ps.setString(colNum++, locale.getBaseName());
+            ps.setInt(colNum++, xpathId);
+            ps.setInt(colNum++, submitter);
+            DBUtils.setStringUTF8(ps, colNum++, vote.value);
+            DBUtils.setInteger(ps, colNum++, vote.withVote);
+            if (ps2 != null) {
+                ps2.executeUpdate();
+            }
+            ps.executeUpdate();
+
+            User user = sm.reg.getInfo(submitter);
+            if (wasFlagged && UserRegistry.userIsTC(user)) {
+                clearFlag(conn, locale, xpathId, user);
+                return true;
+            }
+            return false;
+        } finally {
+            DBUtils.close(saveOld, ps, ps2);
+        }
+    }
+
+    /**
+     * Called once a vote is in the database.
+     */
+    private void afterVoteCommitted(VoteJournal.Entry vote, boolean didClearFlag) {
+        if (sm.fora != null) {
+            sm.fora.doForumAfterVote(vote.locale, sm.reg.getInfo(vote.userId), sm.xpt.getById(vote.xpathId),
+                vote.xpathId, vote.value, didClearFlag);
+        }
+    }
+
     /**
      * Close and re-open the factory. For testing only!
      *
      * @return
      */
     public STFactory TESTING_shutdownAndRestart() {
+        closeVoteWriteBehind();
         sm.TESTING_removeSTFactory();
         return sm.getSTFactory();
     }
@@ -2148,6 +2381,7 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
      * where cldr_votevalue.value is not null;
      */
     public CLDRFile makeProposedFile(CLDRLocale locale) {
+        flushVotes();
 
         Connection conn = null;
         PreparedStatement ps = null; // all for mysql, or 1st step for derby
@@ -130,6 +130,7 @@ public class StatisticsUtils {
         if (!SurveyMain.isSetup || SurveyMain.isBusted()) {
             return -2;
         }
+        CookieSession.sm.getSTFactory().flushVotes(); // so that the query sees all the votes
         try {
             return DBUtils.getFirstInt(DBUtils.queryToCachedJSON(queryName, FEW_MINUTES,
                 querySql));
@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +55,7 @@ import org.unicode.cldr.util.PathHeader;
 import org.unicode.cldr.util.PathHeader.SurveyToolStatus;
 import org.unicode.cldr.util.SpecialLocales;
 import org.unicode.cldr.util.SupplementalDataInfo;
+import org.unicode.cldr.util.ValueSearchIndex;
 import org.unicode.cldr.util.VoteResolver;
 import org.unicode.cldr.util.XMLSource;
 import org.unicode.cldr.util.XMLUploader;
@@ -226,6 +228,7 @@ public class SurveyAjax extends HttpServlet {
                 send(r, out);
             } else if (what.equals(WHAT_STATS_BYLOC)) {
                 SurveyJSONWrapper r = newJSONStatusQuick(sm);
+                sm.getSTFactory().flushVotes(); // so that the queries see all the votes
                 JSONObject query = DBUtils.queryToCachedJSON(what, 5 * 60 * 1000, StatisticsUtils.QUERY_ALL_VOTES);
                 r.put(what, query);
                 JSONObject query2 = DBUtils.queryToCachedJSON(what+"_new", 5 * 60 * 1000, StatisticsUtils.QUERY_NEW_VOTES);
@@ -241,6 +244,7 @@ public class SurveyAjax extends HttpServlet {
             } else if (what.equals(WHAT_STATS_BYDAYUSERLOC)) {
                 String votesAfterString = SurveyMain.getVotesAfterString();
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
+                sm.getSTFactory().flushVotes(); // so that the queries see all the votes
                 final String day = DBUtils.db_Mysql ? "DATE_FORMAT(last_mod, '%Y-%m-%d')" : "last_mod ";
                 final String sql = "select submitter," + day + " as day,locale,count(*) as count from " + DBUtils.Table.VOTE_VALUE
                     + " group by submitter,locale,YEAR(last_mod),MONTH(last_mod),day order by day desc";
@@ -252,6 +256,7 @@ public class SurveyAjax extends HttpServlet {
                 // select submitter,DATE_FORMAT(last_mod, '%Y-%m-%d') as day,locale,count(*) from "+DBUtils.Table.VOTE_VALUE+" group by submitter,locale,YEAR(last_mod),MONTH(last_mod),DAYOFMONTH(last_mod) order by day desc limit 10000;
             } else if (what.equals(WHAT_STATS_BYDAY)) {
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
+                sm.getSTFactory().flushVotes(); // so that the queries see all the votes
                 {
                     final String sql = "select count(*) as count , Date(last_mod) as date from " + DBUtils.Table.VOTE_VALUE
                         + " group by date desc";
@@ -303,6 +308,7 @@ public class SurveyAjax extends HttpServlet {
                 send(r, out);
             } else if (what.equals(WHAT_MY_LOCALES)) {
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
+                sm.getSTFactory().flushVotes(); // so that the queries see all the votes
                 String q1 = "select count(*) as count, " + DBUtils.Table.VOTE_VALUE + ".locale as locale from " + DBUtils.Table.VOTE_VALUE + " WHERE "
                     + DBUtils.Table.VOTE_VALUE + ".submitter=? AND " + DBUtils.Table.VOTE_VALUE + ".value is not NULL " +
                     " group by " + DBUtils.Table.VOTE_VALUE + ".locale order by " + DBUtils.Table.VOTE_VALUE + ".locale desc";
@@ -325,6 +331,7 @@ public class SurveyAjax extends HttpServlet {
                 send(r, out);
             } else if (what.equals(WHAT_RECENT_ITEMS)) {
                 SurveyJSONWrapper r = newJSONStatus(request, sm);
+                sm.getSTFactory().flushVotes(); // so that the queries see all the votes
                 int limit = 15;
                 try {
                     limit = Integer.parseInt(request.getParameter("limit"));
@@ -799,6 +806,7 @@ public class SurveyAjax extends HttpServlet {
                         assertHasUser(mySession);
                         assertIsTC(mySession);
                         SurveyJSONWrapper r = newJSONStatusQuick(sm);
+                        sm.getSTFactory().flushVotes(); // so that the queries see all the votes
                         final String sql = "select cldr_users.id as id, cldr_users.email as email, cldr_users.org as org from cldr_users, "
                             + DBUtils.Table.VOTE_VALUE + " where "
                             + DBUtils.Table.VOTE_VALUE + ".submitter = cldr_users.id and " + DBUtils.Table.VOTE_VALUE
@@ -1090,6 +1098,11 @@ public class SurveyAjax extends HttpServlet {
         }
     }
 
+    /**
+     * The most values to return from each file searched by searchPathheader
+     */
+    private static final int SEARCH_LIMIT = 200;
+
     private void searchPathheader(JSONArray results, CLDRLocale l, String q, CookieSession mySession) {
         if (l == null) {
             return; // don't search with no locale
@@ -1112,20 +1125,20 @@ public class SurveyAjax extends HttpServlet {
             //
         }
 
-        // substring search
-        Set<PathHeader> resultPh = new TreeSet<>();
+        // substring search, best matches first
+        Set<PathHeader> resultPh = new LinkedHashSet<>();
 
         if (new UnicodeSet("[:Letter:]").containsSome(q)) {
             // check English
-            Set<String> retrievedPaths = new HashSet<>();
             SurveyMain sm = CookieSession.sm;
-            sm.getTranslationHintsFile().getPathsWithValue(q, "", null, retrievedPaths);
+            List<ValueSearchIndex.Hit> hits = new ArrayList<>(sm.getTranslationHintsFile().searchValues(q, "", SEARCH_LIMIT));
             final STFactory stFactory = sm.getSTFactory();
             if (l != null) {
-                stFactory.make(l, true).getPathsWithValue(q, "", null, retrievedPaths);
+                hits.addAll(stFactory.make(l, true).searchValues(q, "", SEARCH_LIMIT));
             }
-            for (String xp : retrievedPaths) {
-                PathHeader ph = stFactory.getPathHeader(xp);
+            Collections.sort(hits);
+            for (ValueSearchIndex.Hit hit : hits) {
+                PathHeader ph = stFactory.getPathHeader(hit.getPath());
                 if (ph != null) {
                     resultPh.add(ph);
                 }
@@ -1516,6 +1529,7 @@ public class SurveyAjax extends HttpServlet {
                throws ServletException, IOException, JSONException, SQLException {
 
         JSONObject oldvotes = new JSONObject();
+        sm.getSTFactory().flushVotes(); // so that votes already made aren't offered for import
         final String newVotesTable = DBUtils.Table.VOTE_VALUE.toString();
 
         if (loc == null || loc.isEmpty()) {
@@ -2044,6 +2058,7 @@ public class SurveyAjax extends HttpServlet {
         }
         alreadyAutoImportedVotes(user.id, "set");
 
+        sm.getSTFactory().flushVotes(); // so that votes already made aren't imported over
         final String newVotesTable = DBUtils.Table.VOTE_VALUE.toString(); // the table name like "cldr_vote_value_34" or "cldr_vote_value_34_beta"
         JSONObject oldvotes = new JSONObject();
 
@@ -4517,6 +4517,15 @@ public class SurveyMain extends HttpServlet implements CLDRProgressIndicator, Ex
         try {
             closeOpenUserLocaleStuff(true);
 
+            // write any queued votes while the database is still up
+            try {
+                if (gSTFactory != null)
+                    gSTFactory.closeVoteWriteBehind();
+            } catch (Throwable t) {
+                t.printStackTrace();
+                SurveyLog.logger.warning("While writing queued votes ");
+            }
+
             // shut down other connections
             try {
                 CookieSession.shutdownDB();
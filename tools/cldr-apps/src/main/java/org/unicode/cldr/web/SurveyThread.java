@@ -3,13 +3,27 @@
  */
 package org.unicode.cldr.web;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.unicode.cldr.util.CldrUtility;
 
 /**
  * @author srl
  *
  *         A worker thread that performs various SurveyTool tasks, starting with
  *         booting.
+ *
+ *         Tasks run one at a time, in order, on this thread, unless they are
+ *         concurrent (see SurveyTask.isConcurrent): those are run by a pool of
+ *         worker threads, highest priority first. The number of workers is
+ *         CLDR_SURVEY_WORKERS, by default based on the number of processors.
  */
 public class SurveyThread extends Thread {
 
@@ -45,7 +59,7 @@ public class SurveyThread extends Thread {
     /**
      * Are we still running?
      */
-    boolean surveyThreadIsRunning = true;
+    volatile boolean surveyThreadIsRunning = true;
 
     boolean mainThreadRunning() {
         return surveyThreadIsRunning;
@@ -61,11 +75,24 @@ public class SurveyThread extends Thread {
      *
      */
     public static abstract class SurveyTask implements CLDRProgressIndicator {
+        /**
+         * Priorities of concurrent tasks; higher priorities are run first.
+         */
+        public static final int PRIORITY_LOW = -10;
+        public static final int PRIORITY_NORMAL = 0;
+
+        private static final AtomicLong nextSequence = new AtomicLong();
+
         /**
          * Name of the task.
          */
         public String name;
 
+        /**
+         * The order the task was made in, so that tasks of the same priority are first come, first served.
+         */
+        private final long sequence = nextSequence.getAndIncrement();
+
         private boolean taskRunning = true;
 
         /**
@@ -138,6 +165,21 @@ public class SurveyThread extends Thread {
          */
         abstract public void run() throws Throwable;
 
+        /**
+         * Can this task run at the same time as other tasks, on a worker thread?
+         * Otherwise it is run on the SurveyThread itself, after the tasks added before it.
+         */
+        public boolean isConcurrent() {
+            return false;
+        }
+
+        /**
+         * The priority of a concurrent task, such as PRIORITY_NORMAL.
+         */
+        public int getTaskPriority() {
+            return PRIORITY_NORMAL;
+        }
+
         // ----- CLDRProgressIndicator overrides. For now, delegate to
         // theThread.sm
         @Override
@@ -166,7 +208,7 @@ public class SurveyThread extends Thread {
      * @return Number of tasks remaining (0 if none)
      */
     public int tasksRemaining() {
-        return tasks.size();
+        return main.tasks.size() + main.concurrentTasks.size();
     }
 
     /**
@@ -174,7 +216,12 @@ public class SurveyThread extends Thread {
      */
     public int tasksRemaining(@SuppressWarnings("rawtypes") Class ofClass) {
         int ret = 0;
-        for (SurveyTask t : tasks) {
+        for (SurveyTask t : main.tasks) {
+            if (ofClass.isInstance(t)) {
+                ret++;
+            }
+        }
+        for (SurveyTask t : main.concurrentTasks) {
             if (ofClass.isInstance(t)) {
                 ret++;
             }
@@ -187,19 +234,32 @@ public class SurveyThread extends Thread {
      */
     @Override
     public String toString() {
-        return "{ST Threads: Tasks waiting:" + tasksRemaining() + ", Current:" + current + ", Running:" + surveyThreadIsRunning
-            + "}";
+        if (main != this) {
+            return "{ST Worker " + workerNumber + ": Current:" + current + ", Running:" + surveyThreadIsRunning + "}";
+        }
+        return "{ST Threads: Tasks waiting:" + tasksRemaining() + ", Current:" + current + ", Workers:" + workers.size()
+            + ", Running:" + surveyThreadIsRunning + "}";
     }
 
     /**
      * The status, as HTML
      */
     public String htmlStatus() {
-        if (tasksRemaining() == 0 && current == null)
+        List<SurveyTask> running = new ArrayList<>();
+        for (SurveyThread th : main.allThreads()) {
+            SurveyTask aCurrent = th.current;
+            if (aCurrent != null) {
+                running.add(aCurrent);
+            }
+        }
+        if (tasksRemaining() == 0 && running.isEmpty())
             return null;
         StringBuffer sb = new StringBuffer();
-        if (current != null) {
-            sb.append(current);
+        for (SurveyTask aCurrent : running) {
+            if (sb.length() > 0) {
+                sb.append(" * ");
+            }
+            sb.append(aCurrent);
         }
         if (tasksRemaining() > 0) {
             if (sb.length() > 0) {
@@ -213,7 +273,7 @@ public class SurveyThread extends Thread {
     /**
      * The current task, or null if none.
      */
-    SurveyTask current = null;
+    volatile SurveyTask current = null;
 
     /**
      * The main run loop. Perform tasks or wait.
@@ -227,7 +287,7 @@ public class SurveyThread extends Thread {
             try {
                 if (DEBUG)
                     System.err.println("SurveyThread: About to take from queue (count:" + tasksRemaining() + "):");
-                current = tasks.take();
+                current = queue.take();
                 setName();
                 if (DEBUG)
                     System.err.println("SurveyThread: Got: " + current);
@@ -277,7 +337,8 @@ public class SurveyThread extends Thread {
      * @param t
      */
     public void addTask(SurveyTask t) {
-        if (!tasks.offer(t)) {
+        BlockingQueue<SurveyTask> target = t.isConcurrent() && !main.workers.isEmpty() ? main.concurrentTasks : main.tasks;
+        if (!target.offer(t)) {
             String complaint = "SurveyThread: can't add task " + t.name;
             System.err.println(complaint);
             throw new InternalError(complaint);
@@ -285,29 +346,50 @@ public class SurveyThread extends Thread {
     }
 
     public boolean removeTask(SurveyTask t) {
-        return tasks.remove(t);
+        return main.tasks.remove(t) | main.concurrentTasks.remove(t);
     }
 
     /**
      * Request the ST to stop at its next available opportunity.
      */
     public void requestStop() {
-        surveyThreadIsRunning = false; // shutdown the next time through
-        addTask(new SurveyTask("shutdown") {
-            @Override
-            public void run() throws Throwable {
-                System.err.println("Shutdown task: stop requested!");
-                // add other items here.
-            }
-        });
+        for (SurveyThread th : main.allThreads()) {
+            th.surveyThreadIsRunning = false; // shutdown the next time through
+        }
+        main.tasks.offer(new ShutdownTask());
+        for (int i = 0; i < main.workers.size(); ++i) {
+            main.concurrentTasks.offer(new ShutdownTask()); // one for each worker, ahead of the waiting tasks
+        }
+    }
+
+    /**
+     * Shuts down a thread; ahead of all other tasks.
+     */
+    private static final class ShutdownTask extends SurveyTask {
+        ShutdownTask() {
+            super("shutdown");
+        }
+
+        @Override
+        public void run() throws Throwable {
+            System.err.println("Shutdown task: stop requested!");
+            // add other items here.
+        }
+
+        @Override
+        public int getTaskPriority() {
+            return Integer.MAX_VALUE;
+        }
     }
 
     /**
      *
      */
     public void interruptStop() {
-        surveyThreadIsRunning = false;
-        this.interrupt();
+        for (SurveyThread th : main.allThreads()) {
+            th.surveyThreadIsRunning = false;
+            th.interrupt();
+        }
     }
 
     /**
@@ -316,20 +398,107 @@ public class SurveyThread extends Thread {
      * @param sm
      */
     SurveyThread(SurveyMain sm) {
+        this(sm, getWorkerCount());
+    }
+
+    /**
+     * Construct the thread, with the given number of workers.
+     */
+    SurveyThread(SurveyMain sm, int workerCount) {
         this.sm = sm;
+        this.main = this;
+        this.workerNumber = 0;
+        this.queue = tasks;
+        List<SurveyThread> newWorkers = new ArrayList<>();
+        for (int i = 1; i <= workerCount; ++i) {
+            newWorkers.add(new SurveyThread(this, i));
+        }
+        this.workers = Collections.unmodifiableList(newWorkers);
         current = null;
         setName();
     }
 
+    /**
+     * Construct a worker, which takes the concurrent tasks of the main SurveyThread.
+     */
+    private SurveyThread(SurveyThread main, int workerNumber) {
+        this.sm = main.sm;
+        this.main = main;
+        this.workerNumber = workerNumber;
+        this.queue = main.concurrentTasks;
+        this.workers = Collections.emptyList();
+        setDaemon(true);
+        current = null;
+        setName();
+    }
+
+    private static int getWorkerCount() {
+        int count = Integer.parseInt(CldrUtility.getProperty("CLDR_SURVEY_WORKERS", "0"));
+        if (count <= 0) {
+            count = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        return count;
+    }
+
+    /**
+     * Start this thread and the workers.
+     */
+    @Override
+    public synchronized void start() {
+        super.start();
+        for (SurveyThread worker : workers) {
+            worker.start();
+        }
+    }
+
     private void setName() {
         this.setName(toString());
     }
 
+    private List<SurveyThread> allThreads() {
+        List<SurveyThread> result = new ArrayList<>();
+        result.add(main);
+        result.addAll(main.workers);
+        return result;
+    }
+
+    private boolean isAnyAlive() {
+        for (SurveyThread th : main.allThreads()) {
+            if (th.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Main list of tasks.
      */
     LinkedBlockingQueue<SurveyTask> tasks = new LinkedBlockingQueue<>();
 
+    /**
+     * The concurrent tasks, for the workers: highest priority first, then first come first served.
+     */
+    private final PriorityBlockingQueue<SurveyTask> concurrentTasks = new PriorityBlockingQueue<>(11,
+        Comparator.comparingInt((SurveyTask t) -> -t.getTaskPriority()).thenComparingLong(t -> t.sequence));
+
+    /**
+     * The queue this thread takes from: tasks for the main thread, concurrentTasks for the workers.
+     */
+    private final BlockingQueue<SurveyTask> queue;
+
+    /**
+     * The main SurveyThread; this, unless this is a worker.
+     */
+    private final SurveyThread main;
+
+    /**
+     * The workers of the main SurveyThread; empty for a worker.
+     */
+    private final List<SurveyThread> workers;
+
+    private final int workerNumber;
+
     /**
      * Back-pointer.
      */
@@ -343,35 +512,47 @@ public class SurveyThread extends Thread {
 
         System.err.println("SurveyThread: attempting shutdown...");
         try {
-            if (!this.isAlive())
+            if (!this.isAnyAlive())
                 return;
             System.err.println("attempting requestStop()");
             this.requestStop();
             Thread.sleep(1000);
-            if (!this.isAlive())
+            if (!this.isAnyAlive())
                 return;
 
-            SurveyTask aCurrent = current;
-            if (aCurrent != null) {
-                System.err.println("Attempting task stop on " + aCurrent + "..");
-                aCurrent.stop();
+            boolean stopped = false;
+            for (SurveyThread th : main.allThreads()) {
+                SurveyTask aCurrent = th.current;
+                if (aCurrent != null) {
+                    System.err.println("Attempting task stop on " + aCurrent + "..");
+                    aCurrent.stop();
+                    stopped = true;
+                }
+            }
+            if (stopped) {
                 Thread.sleep(1000);
-                if (!this.isAlive())
+                if (!this.isAnyAlive())
                     return;
             }
-            aCurrent = current; // in case it changed
-            if (aCurrent != null) {
-                System.err.println("Attempting task kill on " + aCurrent + "..");
-                aCurrent.kill();
+            boolean killed = false;
+            for (SurveyThread th : main.allThreads()) {
+                SurveyTask aCurrent = th.current; // in case it changed
+                if (aCurrent != null) {
+                    System.err.println("Attempting task kill on " + aCurrent + "..");
+                    aCurrent.kill();
+                    killed = true;
+                }
+            }
+            if (killed) {
                 Thread.sleep(1000);
-                if (!this.isAlive())
+                if (!this.isAnyAlive())
                     return;
             }
 
             System.err.println("Attempting interrupt stop");
             this.interruptStop();
             Thread.sleep(1000);
-            if (!this.isAlive())
+            if (!this.isAnyAlive())
                 return;
 
             clean = false;
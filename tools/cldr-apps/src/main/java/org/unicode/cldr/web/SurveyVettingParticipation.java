@@ -69,6 +69,7 @@ public class SurveyVettingParticipation {
        Map<CLDRLocale, User> localeToUser = new TreeMap<>();
        JSONArray userObj = new JSONArray();
        JSONArray participationObj = new JSONArray();
+       sm.getSTFactory().flushVotes(); // so that the query sees all the votes
        try {
            conn = DBUtils.getInstance().getDBConnection();
            psUsers = sm.reg.list(org, conn);
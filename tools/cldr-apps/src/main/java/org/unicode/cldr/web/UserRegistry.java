@@ -125,6 +125,7 @@ public class UserRegistry {
         PreparedStatement s = null;
         Set<CLDRLocale> res = new HashSet<>();
 
+        CookieSession.sm.getSTFactory().flushVotes(); // so that the query sees all the votes
         try {
             conn = DBUtils.getInstance().getDBConnection();
             s = DBUtils
@@ -1231,6 +1232,8 @@ public class UserRegistry {
         } else {
             orgConstraint = " AND org='" + ctx.session.user.org + "' ";
         }
+        // write the user's queued votes before the user is gone
+        CookieSession.sm.getSTFactory().flushVotes();
         Connection conn = null;
         Statement s = null;
         try {
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +15,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Supplier;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -44,6 +46,7 @@ import com.ibm.icu.dev.util.ElapsedTimer;
 import com.ibm.icu.impl.Relation;
 import com.ibm.icu.impl.Row;
 import com.ibm.icu.impl.Row.R2;
+import com.ibm.icu.impl.Row.R3;
 import com.ibm.icu.impl.Row.R4;
 import com.ibm.icu.lang.CharSequences;
 import com.ibm.icu.text.DurationFormat;
@@ -141,7 +144,7 @@ public class VettingViewerQueue {
         FORCESTOP
     }
 
-    private static class VVOutput {
+    static class VVOutput {
         public VVOutput(StringBuffer s) {
             output = s;
         }
@@ -156,18 +159,33 @@ public class VettingViewerQueue {
         }
     }
 
-    private static class QueueEntry {
+    static class QueueEntry {
         public Task currentTask = null;
         public Map<Pair<CLDRLocale, Organization>, VVOutput> output = new TreeMap<>();
     }
 
-    private static final Object OnlyOneVetter = new Object() {
-    }; // TODO: remove.
+    /**
+     * The tasks that are waiting or running, by locale, organization and level, so that users making the same
+     * request share one task and its output. A task is taken out as soon as it finishes. Guarded by this.
+     */
+    private final Map<R3<CLDRLocale, Organization, Level>, Task> sharedTasks = new HashMap<>();
 
+    /**
+     * A task making the dashboard for a locale, organization and level. Tasks run concurrently on the
+     * SurveyThread workers, and each one is shared by all the users (QueueEntries) waiting for it.
+     */
     public class Task extends SurveyThread.SurveyTask {
 
         public CLDRLocale locale;
-        private QueueEntry entry;
+        final R3<CLDRLocale, Organization, Level> sharedKey;
+        /**
+         * The entries to give the output to. Guarded by VettingViewerQueue.this.
+         */
+        private final Set<QueueEntry> waiters = new HashSet<>();
+        /**
+         * Whether the task has finished. Guarded by VettingViewerQueue.this.
+         */
+        private boolean finished = false;
         SurveyMain sm;
         VettingViewer<Organization> vv;
         public int maxn;
@@ -196,13 +214,25 @@ public class VettingViewerQueue {
 
         StringBuffer aBuffer = new StringBuffer();
 
-        public Task(QueueEntry entry, CLDRLocale locale, SurveyMain sm, String baseUrl, Level usersLevel,
+        public Task(CLDRLocale locale, SurveyMain sm, String baseUrl, Level usersLevel,
             Organization usersOrg, final String st_org) {
             super("VettingTask:" + locale.toString());
             isSummary = isSummary(locale);
             if (DEBUG)
                 System.err.println("Creating task " + locale.toString());
 
+            this.locale = locale;
+            this.st_org = st_org;
+            this.sm = sm;
+            this.usersLevel = usersLevel;
+            this.usersOrg = usersOrg;
+            this.sharedKey = Row.of(locale, usersOrg, usersLevel);
+        }
+
+        /**
+         * Estimate the number of paths the task goes through, for the progress bar.
+         */
+        private void computeMax() {
             int baseMax = getMax(sm.getTranslationHintsFile());
             if (isSummary) {
                 maxn = 0;
@@ -223,12 +253,45 @@ public class VettingViewerQueue {
             } else {
                 maxn = baseMax;
             }
-            this.locale = locale;
-            this.st_org = st_org;
-            this.entry = entry;
-            this.sm = sm;
-            this.usersLevel = usersLevel;
-            this.usersOrg = usersOrg;
+        }
+
+        @Override
+        public boolean isConcurrent() {
+            return true;
+        }
+
+        /**
+         * Summaries cover all locales, so let the single locales go first.
+         */
+        @Override
+        public int getTaskPriority() {
+            return isSummary ? PRIORITY_LOW : PRIORITY_NORMAL;
+        }
+
+        /**
+         * Finish the task: give the output, if any, to everyone waiting for it, and take the task out of
+         * sharedTasks, in one step, so that no one can join the task once it has finished. Only the first call
+         * does anything.
+         */
+        void finish(VVOutput output) {
+            synchronized (VettingViewerQueue.this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                if (output != null) {
+                    for (QueueEntry waiter : waiters) {
+                        waiter.output.put(new Pair<>(locale, usersOrg), output);
+                    }
+                }
+                sharedTasks.remove(sharedKey, this); // new requests start a new task
+            }
+        }
+
+        boolean isFinished() {
+            synchronized (VettingViewerQueue.this) {
+                return finished;
+            }
         }
 
         /**
@@ -241,7 +304,16 @@ public class VettingViewerQueue {
 
         @Override
         public void run() throws Throwable {
+            try {
+                generate();
+            } finally {
+                finish(null); // if stopped or failed
+            }
+        }
+
+        private void generate() {
             statusCode = Status.WAITING;
+            computeMax();
             final CLDRProgressTask progress = openProgress("vv:" + locale, maxn + 100);
 
             VettingViewer<Organization> vv = null;
@@ -252,90 +324,90 @@ public class VettingViewerQueue {
             try {
                 status = "Waiting...";
                 progress.update("Waiting...");
-                synchronized (OnlyOneVetter) {
-                    if (!running()) {
-                        status = "Stopped on request.";
-                        statusCode = Status.STOPPED;
-                        return;
-                    }
-                    status = "Beginning Process, Calculating";
-
-                    vv = new VettingViewer<>(sm.getSupplementalDataInfo(), sm.getSTFactory(),
-                        getUsersChoice(sm), "Winning " + SurveyMain.getNewVersion());
-                    progress.update("Got VettingViewer");
-                    statusCode = Status.PROCESSING;
-                    start = System.currentTimeMillis();
-                    last = start;
-                    n = 0;
-                    vv.setProgressCallback(new VettingViewer.ProgressCallback() {
-                        public String setRemStr(long now) {
-                            double per = (double) (now - start) / (double) n;
-                            rem = (long) ((maxn - n) * per);
-                            String remStr = ElapsedTimer.elapsedTime(now, now + rem) + " " + "remaining";
-                            if (rem <= 1500) {
-                                remStr = "Finishing...";
-                            }
-                            setStatus(remStr);
-                            return remStr;
+                if (!running()) {
+                    status = "Stopped on request.";
+                    statusCode = Status.STOPPED;
+                    return;
+                }
+                status = "Beginning Process, Calculating";
+
+                vv = new VettingViewer<>(sm.getSupplementalDataInfo(), sm.getSTFactory(),
+                    getUsersChoice(sm), "Winning " + SurveyMain.getNewVersion());
+                progress.update("Got VettingViewer");
+                statusCode = Status.PROCESSING;
+                start = System.currentTimeMillis();
+                last = start;
+                n = 0;
+                vv.setProgressCallback(new VettingViewer.ProgressCallback() {
+                    public String setRemStr(long now) {
+                        double per = (double) (now - start) / (double) n;
+                        rem = (long) ((maxn - n) * per);
+                        String remStr = ElapsedTimer.elapsedTime(now, now + rem) + " " + "remaining";
+                        if (rem <= 1500) {
+                            remStr = "Finishing...";
                         }
+                        setStatus(remStr);
+                        return remStr;
+                    }
 
-                        @Override
-                        public void nudge() {
-                            if (!running()) {
-                                throw new RuntimeException("Not Running- stop now.");
-                            }
-                            long now = System.currentTimeMillis();
-                            n++;
-                            // System.err.println("Nudged: " + n);
-                            if (n > (maxn - 5)) {
-                                maxn = n + 10;
-                                if (!isSummary && n > gMax) {
-                                    gMax = n;
-                                }
-                            }
-
-                            if ((now - last) > 1200) {
-                                last = now;
-                                if (n > 500) {
-                                    progress.update(n, setRemStr(now));
-                                } else {
-                                    progress.update(n);
-                                }
+                    @Override
+                    public void nudge() {
+                        if (!running()) {
+                            throw new RuntimeException("Not Running- stop now.");
+                        }
+                        long now = System.currentTimeMillis();
+                        n++;
+                        // System.err.println("Nudged: " + n);
+                        if (n > (maxn - 5)) {
+                            maxn = n + 10;
+                            if (!isSummary && n > gMax) {
+                                gMax = n;
                             }
                         }
 
-                        @Override
-                        public void done() {
-                            progress.update("Done!");
+                        if ((now - last) > 1200) {
+                            last = now;
+                            if (n > 500) {
+                                progress.update(n, setRemStr(now));
+                            } else {
+                                progress.update(n);
+                            }
                         }
-                    });
-
-                    EnumSet<VettingViewer.Choice> choiceSet = EnumSet.allOf(VettingViewer.Choice.class);
-                    if (usersOrg.equals(Organization.surveytool)) {
-                        choiceSet = EnumSet.of(
-                            VettingViewer.Choice.error,
-                            VettingViewer.Choice.warning,
-                            VettingViewer.Choice.hasDispute,
-                            VettingViewer.Choice.notApproved);
                     }
 
-                    if (!isSummary(locale)) {
-                        vv.generateHtmlErrorTables(aBuffer, choiceSet, locale.getBaseName(), usersOrg, usersLevel, false);
-                    } else {
-                        if (DEBUG)
-                            System.err.println("Starting summary gen..");
-                        /*
-                         * TODO: remove call to getLocalesWithVotes here, unless it has necessary side-effects.
-                         * Its return value was formerly an unused argument to generateSummaryHtmlErrorTables
-                         */
-                        getLocalesWithVotes(st_org);
-                        vv.generateSummaryHtmlErrorTables(aBuffer, choiceSet, usersOrg);
-                    }
-                    if (running()) {
-                        aBuffer.append("<hr/>" + PRE + "Processing time: " + ElapsedTimer.elapsedTime(start) + POST);
-                        entry.output.put(new Pair<>(locale, usersOrg), new VVOutput(aBuffer));
+                    @Override
+                    public void done() {
+                        progress.update("Done!");
                     }
+                });
+
+                EnumSet<VettingViewer.Choice> choiceSet = EnumSet.allOf(VettingViewer.Choice.class);
+                if (usersOrg.equals(Organization.surveytool)) {
+                    choiceSet = EnumSet.of(
+                        VettingViewer.Choice.error,
+                        VettingViewer.Choice.warning,
+                        VettingViewer.Choice.hasDispute,
+                        VettingViewer.Choice.notApproved);
                 }
+
+                if (!isSummary(locale)) {
+                    vv.generateHtmlErrorTables(aBuffer, choiceSet, locale.getBaseName(), usersOrg, usersLevel, false);
+                } else {
+                    if (DEBUG)
+                        System.err.println("Starting summary gen..");
+                    /*
+                     * TODO: remove call to getLocalesWithVotes here, unless it has necessary side-effects.
+                     * Its return value was formerly an unused argument to generateSummaryHtmlErrorTables
+                     */
+                    getLocalesWithVotes(st_org);
+                    vv.generateSummaryHtmlErrorTables(aBuffer, choiceSet, usersOrg);
+                }
+                VVOutput result = null;
+                if (running()) {
+                    aBuffer.append("<hr/>" + PRE + "Processing time: " + ElapsedTimer.elapsedTime(start) + POST);
+                    result = new VVOutput(aBuffer);
+                }
+                finish(result);
                 status = "Finished.";
                 statusCode = Status.READY;
             } catch (RuntimeException re) {
@@ -728,7 +800,7 @@ public class VettingViewerQueue {
                 return null;
             }
         } else { /* force restart */
-            stop(ctx, locale, entry);
+            detach(entry, sm.startupThread);
             entry.output.remove(key);
         }
 
@@ -747,13 +819,15 @@ public class VettingViewerQueue {
             putTaskStatus(jStatus, t);
             if (t.locale.equals(locale)) {
                 status[0] = Status.PROCESSING;
-                if (t.running()) {
+                if (t.running() && !t.isFinished()) {
                     // get progress from current thread
                     status[0] = t.statusCode;
                     if (status[0] != Status.WAITING)
                         waiting = "";
                     return PRE + "In Progress: " + waiting + t.status() + POST;
                 } else {
+                    // stopped or failed without output for us; the next request starts over
+                    detach(entry, sm.startupThread);
                     return PRE + "Stopped (refresh if stuck) " + t.status() + POST;
                 }
             } else if (forceRestart == LoadingPolicy.NOSTART) {
@@ -765,10 +839,10 @@ public class VettingViewerQueue {
                     return PRE + "Refresh if stuck." + POST;
                 }
             } else {
-                if (t.running()) {
+                if (t.running() && !t.isFinished()) {
                     didKill = t.locale;
                 }
-                stop(ctx, t.locale, entry);
+                detach(entry, sm.startupThread);
             }
         }
 
@@ -789,8 +863,16 @@ public class VettingViewerQueue {
         }
         usersOrg = sess.user.vrOrg();
 
-        t = entry.currentTask = new Task(entry, locale, sm, baseUrl, usersLevel, usersOrg, sess.user.org);
-        sm.startupThread.addTask(entry.currentTask);
+        /*
+         * Share the task with anyone else waiting for the same output, unless restarting.
+         */
+        final String st_org = sess.user.org;
+        String started = startOrJoin(entry, Row.of(locale, usersOrg, usersLevel),
+            forceRestart == LoadingPolicy.FORCERESTART,
+            () -> new Task(locale, sm, baseUrl, usersLevel, usersOrg, st_org), sm.startupThread)
+                ? "Started new task: "
+                : "Joined task: ";
+        t = entry.currentTask;
 
         status[0] = Status.PROCESSING;
         String killMsg = "";
@@ -798,7 +880,7 @@ public class VettingViewerQueue {
             killMsg = " (Note: Stopped loading: " + didKill.toULocale().getDisplayName(SurveyMain.TRANS_HINT_LOCALE) + ")";
         }
         putTaskStatus(jStatus, t);
-        return PRE + "Started new task: " + waitingString(t.sm.startupThread) + t.status() + "<hr/>" + killMsg + POST;
+        return PRE + started + waitingString(t.sm.startupThread) + t.status() + "<hr/>" + killMsg + POST;
     }
 
     /**
@@ -822,14 +904,43 @@ public class VettingViewerQueue {
         return waiting;
     }
 
-    private void stop(WebContext ctx, CLDRLocale locale, QueueEntry entry) {
+    /**
+     * Make the entry wait for the output for the key: join the shared task for the key if there is one, or else
+     * start a new task, made by newTask, on the SurveyThread. The entry stops waiting for any other task.
+     *
+     * @param restart if true, always start a new task; anyone else waiting for the shared task keeps waiting for it
+     * @return true if a new task was started, false if the entry joined the shared task
+     */
+    synchronized boolean startOrJoin(QueueEntry entry, R3<CLDRLocale, Organization, Level> sharedKey, boolean restart,
+        Supplier<Task> newTask, SurveyThread st) {
+        detach(entry, st);
+        Task t = sharedTasks.get(sharedKey); // never a finished task
+        boolean start = restart || t == null || !t.running();
+        if (start) {
+            t = newTask.get();
+            sharedTasks.put(sharedKey, t);
+            st.addTask(t);
+        }
+        t.waiters.add(entry);
+        entry.currentTask = t;
+        return start;
+    }
+
+    /**
+     * Stop waiting for the entry's task. The task itself is only stopped once no one else is waiting for it.
+     */
+    synchronized void detach(QueueEntry entry, SurveyThread st) {
         Task t = entry.currentTask;
         if (t != null) {
-            if (t.running()) {
-                t.stop();
-            }
             entry.currentTask = null;
-            t.sm.startupThread.removeTask(t); // remove from the queue
+            t.waiters.remove(entry);
+            if (t.waiters.isEmpty()) {
+                if (t.running()) {
+                    t.stop();
+                }
+                sharedTasks.remove(t.sharedKey, t);
+                st.removeTask(t); // remove from the queue
+            }
         }
     }
 
@@ -844,7 +955,7 @@ public class VettingViewerQueue {
 
     LruMap<CLDRLocale, BallotBox<UserRegistry.User>> ballotBoxes = new LruMap<>(8);
 
-    BallotBox<UserRegistry.User> getBox(SurveyMain sm, CLDRLocale loc) {
+    synchronized BallotBox<UserRegistry.User> getBox(SurveyMain sm, CLDRLocale loc) {
         BallotBox<User> box = ballotBoxes.get(loc);
         if (box == null) {
             box = sm.getSTFactory().ballotBoxForLocale(loc);
@@ -0,0 +1,171 @@
+package org.unicode.cldr.web;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.unicode.cldr.util.CLDRLocale;
+
+/**
+ * An append-only file of the votes that have been accepted but not yet committed to the database,
+ * so that they can be recovered after a crash. See VoteWriteBehind.
+ * <p>
+ * Each record is written with its length first, so that a record cut off by a crash is detected and dropped.
+ * A record whose length is negative or too long means that the journal is corrupt, and can't be read.
+ */
+public class VoteJournal {
+
+    /**
+     * A single vote, as saved by STFactory.PerLocaleData.voteForValue
+     */
+    public static final class Entry {
+        public final CLDRLocale locale;
+        public final int xpathId;
+        public final int userId;
+        public final String value;
+        public final Integer withVote;
+
+        public Entry(CLDRLocale locale, int xpathId, int userId, String value, Integer withVote) {
+            this.locale = locale;
+            this.xpathId = xpathId;
+            this.userId = userId;
+            this.value = value;
+            this.withVote = withVote;
+        }
+
+        @Override
+        public String toString() {
+            return locale + ":" + xpathId + ":#" + userId + "='" + value + "'" + (withVote == null ? "" : "@" + withVote);
+        }
+    }
+
+    /**
+     * No vote comes close to this; a longer record length means the journal is corrupt.
+     */
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    private final File file;
+    private final boolean sync;
+    private FileOutputStream out = null;
+
+    /**
+     * @param file the journal file
+     * @param sync if true, force each vote to the disk before returning, so that it survives a system crash,
+     *             not just a crash of the process
+     */
+    public VoteJournal(File file, boolean sync) {
+        this.file = file;
+        this.sync = sync;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Add a vote to the end of the journal.
+     */
+    public synchronized void append(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            writeString(record, entry.locale.getBaseName());
+            record.writeInt(entry.xpathId);
+            record.writeInt(entry.userId);
+            writeString(record, entry.value);
+            record.writeBoolean(entry.withVote != null);
+            record.writeInt(entry.withVote == null ? 0 : entry.withVote);
+        }
+        if (out == null) {
+            out = new FileOutputStream(file, true);
+        }
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(bytes.size());
+        bytes.writeTo(data);
+        data.flush();
+        if (sync) {
+            out.getFD().sync();
+        }
+    }
+
+    /**
+     * Read all the votes in the journal, in order, ignoring an incomplete last record.
+     */
+    public synchronized List<Entry> readAll() throws IOException {
+        List<Entry> result = new ArrayList<>();
+        if (!file.exists()) {
+            return result;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                byte[] bytes;
+                try {
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_LENGTH) {
+                        throw new IOException("Corrupt vote journal " + file + ": record length " + length);
+                    }
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+                } catch (EOFException e) {
+                    break; // end of file, or a record cut off by a crash
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(bytes));
+                CLDRLocale locale = CLDRLocale.getInstance(readString(record));
+                int xpathId = record.readInt();
+                int userId = record.readInt();
+                String value = readString(record);
+                boolean hasWithVote = record.readBoolean();
+                int withVote = record.readInt();
+                result.add(new Entry(locale, xpathId, userId, value, hasWithVote ? withVote : null));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove all the votes, once they are all committed.
+     */
+    public synchronized void clear() throws IOException {
+        close();
+        new FileOutputStream(file).close(); // truncate
+    }
+
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Corrupt vote journal record: string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
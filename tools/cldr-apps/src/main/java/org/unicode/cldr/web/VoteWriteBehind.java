@@ -0,0 +1,407 @@
+package org.unicode.cldr.web;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.unicode.cldr.util.CLDRLocale;
+
+/**
+ * Write-behind persistence of votes. A vote is appended to a VoteJournal and queued, and the caller goes on
+ * (with the in-memory vote resolution) without waiting for the database. A single background thread writes
+ * the queued votes in batches, one transaction per batch, in the order they were submitted; once everything
+ * queued is done, the journal is cleared.
+ * <p>
+ * A batch that fails is retried a few times, and then its votes are retried one at a time, so that one bad vote
+ * can't hold up the others. A vote that still can't be written is logged and set aside in a second,
+ * dead-letter journal, for an administrator to look at, and the Writer is told so that it can undo it in memory. If the writer thread dies, it is restarted by the next
+ * submit or flush.
+ * <p>
+ * Votes left in the journal after a crash (or a failed close) are queued ahead of new votes when the next
+ * VoteWriteBehind is created on the same journal, and stay in the journal until they are written.
+ */
+public class VoteWriteBehind {
+
+    /**
+     * Writes votes to the database.
+     */
+    public interface Writer {
+        /**
+         * Get a connection for a batch of votes; the caller closes it.
+         */
+        default Connection getConnection() throws SQLException {
+            return DBUtils.getInstance().getDBConnection();
+        }
+
+        /**
+         * Write a vote as part of a transaction; the caller commits.
+         *
+         * @return true if a flag was cleared (passed on to afterCommit)
+         */
+        boolean write(Connection conn, VoteJournal.Entry vote) throws SQLException;
+
+        /**
+         * Called after the transaction containing the vote is committed.
+         */
+        void afterCommit(VoteJournal.Entry vote, boolean didClearFlag);
+
+        /**
+         * Called after a vote that couldn't be written is set aside, unless a later vote by the same user
+         * for the same path is queued, so that the vote can be undone in memory.
+         */
+        default void afterSetAside(VoteJournal.Entry vote) {
+        }
+    }
+
+    private static final int MAX_BATCH = 200;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_MILLIS = 5000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 60000;
+
+    private static final class Pending {
+        final long sequence;
+        final VoteJournal.Entry vote;
+
+        Pending(long sequence, VoteJournal.Entry vote) {
+            this.sequence = sequence;
+            this.vote = vote;
+        }
+    }
+
+    private final VoteJournal journal;
+    private final VoteJournal deadLetters;
+    private final Writer writer;
+    private final long retryMillis;
+    private final BlockingDeque<Pending> queue = new LinkedBlockingDeque<>();
+
+    // guarded by this
+    private final Deque<Pending> uncommitted = new ArrayDeque<>();
+    private Thread thread = null;
+    private long submitted = 0;
+    private long committed = 0; // written or set aside
+    private boolean closed = false;
+
+    /**
+     * Create the queue. Any votes left in the journal by a previous process are queued first.
+     *
+     * @param journal the journal of votes not yet written
+     * @param deadLetters where votes that can't be written are set aside
+     */
+    public VoteWriteBehind(VoteJournal journal, VoteJournal deadLetters, Writer writer) {
+        this(journal, deadLetters, writer, RETRY_MILLIS);
+    }
+
+    /**
+     * @param retryMillis how long to wait before retrying a failed write
+     */
+    public VoteWriteBehind(VoteJournal journal, VoteJournal deadLetters, Writer writer, long retryMillis) {
+        this.journal = journal;
+        this.deadLetters = deadLetters;
+        this.writer = writer;
+        this.retryMillis = retryMillis;
+        List<VoteJournal.Entry> recovered;
+        try {
+            recovered = journal.readAll();
+        } catch (IOException e) {
+            File file = journal.getFile();
+            File aside = new File(file.getPath() + ".unreadable-" + System.currentTimeMillis());
+            SurveyLog.logException(e, "Can't read the vote journal " + file + ", moving it to " + aside);
+            if (!file.renameTo(aside)) {
+                SurveyLog.logger.severe("Couldn't move " + file + " to " + aside);
+            }
+            recovered = Collections.emptyList();
+        }
+        synchronized (this) {
+            if (!recovered.isEmpty()) {
+                // they are already in the journal, and stay there until they are written
+                SurveyLog.logger.warning("Recovering " + recovered.size() + " uncommitted votes from " + journal.getFile());
+                for (VoteJournal.Entry vote : recovered) {
+                    enqueue(vote);
+                }
+            }
+            ensureWriterRunning();
+        }
+    }
+
+    /**
+     * Journal and queue a vote.
+     */
+    public void submit(VoteJournal.Entry vote) throws IOException {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("VoteWriteBehind is closed, can't save " + vote);
+            }
+            journal.append(vote);
+            enqueue(vote);
+            ensureWriterRunning();
+        }
+    }
+
+    /**
+     * Wait until all the votes submitted so far are committed (or set aside).
+     * Don't call this while holding a lock that voters need.
+     *
+     * @return false if that didn't happen within the timeout
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this) {
+            long target = submitted;
+            while (committed < target) {
+                ensureWriterRunning();
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return the number of votes waiting to be committed
+     */
+    public synchronized long getPendingCount() {
+        return submitted - committed;
+    }
+
+    /**
+     * Get the votes for a locale that are not yet committed, in the order they were submitted,
+     * so that a reader of the database can apply them on top of what it read.
+     */
+    public synchronized List<VoteJournal.Entry> getPendingVotes(CLDRLocale locale) {
+        List<VoteJournal.Entry> result = new ArrayList<>();
+        for (Pending pending : uncommitted) {
+            if (pending.vote.locale.equals(locale)) {
+                result.add(pending.vote);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stop accepting votes, and write the ones that are queued. If they can't be written in time,
+     * they are left in the journal to be recovered.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            if (!flush(CLOSE_TIMEOUT_MILLIS)) {
+                SurveyLog.logger.warning("VoteWriteBehind: " + getPendingCount() + " votes left in " + journal.getFile());
+            }
+            Thread writerThread;
+            synchronized (this) {
+                writerThread = thread;
+            }
+            if (writerThread != null) {
+                writerThread.interrupt();
+                writerThread.join(CLOSE_TIMEOUT_MILLIS);
+            }
+            journal.close();
+            deadLetters.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            SurveyLog.logException(e, "Closing " + journal.getFile());
+        }
+    }
+
+    // call with this locked
+    private void enqueue(VoteJournal.Entry vote) {
+        Pending pending = new Pending(++submitted, vote);
+        uncommitted.add(pending);
+        queue.add(pending);
+    }
+
+    // call with this locked
+    private void ensureWriterRunning() {
+        if (thread != null && thread.isAlive()) {
+            return;
+        }
+        if (submitted > 0) {
+            SurveyLog.logger.severe("VoteWriteBehind: the writer thread died, restarting it with " + getPendingCount() + " votes pending");
+        }
+        thread = new Thread(this::run, "VoteWriteBehind");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>();
+        boolean done = true;
+        try {
+            while (true) {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    synchronized (this) {
+                        if (closed) {
+                            return;
+                        }
+                    }
+                    continue;
+                }
+                batch.clear();
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                done = false;
+                writeWithRetries(batch);
+                done = true;
+                synchronized (this) {
+                    committed = batch.get(batch.size() - 1).sequence;
+                    while (!uncommitted.isEmpty() && uncommitted.peekFirst().sequence <= committed) {
+                        uncommitted.removeFirst();
+                    }
+                    if (committed == submitted) {
+                        try {
+                            journal.clear();
+                        } catch (IOException e) {
+                            SurveyLog.logException(e, "Clearing " + journal.getFile());
+                        }
+                    }
+                    notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            // closing; anything uncommitted stays in the journal
+            if (!done) {
+                requeue(batch);
+            }
+        } catch (RuntimeException | Error e) {
+            SurveyLog.logException(e, "VoteWriteBehind: the writer thread died");
+            if (!done) {
+                requeue(batch);
+            }
+            synchronized (this) {
+                // let the next submit or flush (including one waiting now) start a new writer
+                if (thread == Thread.currentThread()) {
+                    thread = null;
+                }
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Put a batch back at the front of the queue, for the next writer.
+     */
+    private void requeue(List<Pending> batch) {
+        for (int i = batch.size() - 1; i >= 0; --i) {
+            queue.addFirst(batch.get(i));
+        }
+    }
+
+    /**
+     * Write a batch of votes, retrying. If it keeps failing, write the votes one at a time,
+     * and set aside the ones that keep failing on their own.
+     */
+    private void writeWithRetries(List<Pending> batch) throws InterruptedException {
+        List<VoteJournal.Entry> votes = new ArrayList<>();
+        for (Pending pending : batch) {
+            votes.add(pending.vote);
+        }
+        if (tryWrite(votes)) {
+            return;
+        }
+        for (Pending pending : batch) {
+            if (batch.size() == 1 || !tryWrite(Collections.singletonList(pending.vote))) {
+                setAside(pending);
+            }
+        }
+    }
+
+    /**
+     * @return true if the votes were written within MAX_ATTEMPTS
+     */
+    private boolean tryWrite(List<VoteJournal.Entry> votes) throws InterruptedException {
+        for (int attempt = 1;; ++attempt) {
+            try {
+                writeBatch(votes);
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                SurveyLog.logException(e, "VoteWriteBehind: couldn't write " + votes.size() + " votes, attempt "
+                    + attempt + " of " + MAX_ATTEMPTS);
+                if (attempt == MAX_ATTEMPTS) {
+                    return false;
+                }
+                Thread.sleep(retryMillis);
+            }
+        }
+    }
+
+    private void setAside(Pending pending) {
+        VoteJournal.Entry vote = pending.vote;
+        SurveyLog.logger.severe("VoteWriteBehind: couldn't write " + vote + ", setting it aside in " + deadLetters.getFile());
+        try {
+            deadLetters.append(vote);
+        } catch (IOException e) {
+            SurveyLog.logException(e, "VoteWriteBehind: couldn't set aside " + vote);
+        }
+        if (!isSuperseded(pending)) {
+            try {
+                writer.afterSetAside(vote);
+            } catch (RuntimeException e) {
+                SurveyLog.logException(e, "After setting aside " + vote);
+            }
+        }
+    }
+
+    /**
+     * @return true if a later vote by the same user for the same path is queued
+     */
+    private synchronized boolean isSuperseded(Pending pending) {
+        VoteJournal.Entry vote = pending.vote;
+        for (Pending later : uncommitted) {
+            if (later.sequence > pending.sequence && later.vote.xpathId == vote.xpathId
+                && later.vote.userId == vote.userId && later.vote.locale.equals(vote.locale)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeBatch(List<VoteJournal.Entry> votes) throws SQLException {
+        boolean[] didClearFlag = new boolean[votes.size()];
+        Connection conn = null;
+        try {
+            conn = writer.getConnection();
+            for (int i = 0; i < votes.size(); ++i) {
+                didClearFlag[i] = writer.write(conn, votes.get(i));
+            }
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException e2) {
+                    // already failing
+                }
+            }
+            throw e;
+        } finally {
+            DBUtils.close(conn);
+        }
+        for (int i = 0; i < votes.size(); ++i) {
+            try {
+                writer.afterCommit(votes.get(i), didClearFlag[i]);
+            } catch (RuntimeException e) {
+                SurveyLog.logException(e, "After committing " + votes.get(i));
+            }
+        }
+    }
+}
@@ -14,11 +14,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.unicode.cldr.icu.LDMLConstants;
 import org.unicode.cldr.util.CLDRConfig;
@@ -34,8 +37,9 @@ import com.ibm.icu.impl.Utility;
 
 /**
  * This class maps between full and partial xpaths, and the small integers (xpids) which
- * are actually stored in the database. It keeps an in-memory cache which is
- * populated as ids are requested.
+ * are actually stored in the database. The whole table is loaded into memory
+ * when it is created, so looking up a known xpath or id doesn't lock or touch the database.
+ * New xpaths are inserted in batches under a separate lock, which readers never take.
  *
  *
  * Definitions:
@@ -56,6 +60,11 @@ public class XPathTable {
 
     private static final boolean DEBUG = false;
 
+    /**
+     * The most xpaths to look up in one query.
+     */
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
     /**
      * Called by SM to create the reg
      *
@@ -85,7 +94,8 @@ public class XPathTable {
         ElapsedTimer et = new ElapsedTimer("XPathTable: load all xpaths");
         int ixpaths = 0;
         PreparedStatement queryStmt = DBUtils.prepareForwardReadOnly(conn, "SELECT id,xpath FROM " + CLDR_XPATHS);
-        // First, try to query it back from the DB.
+        // stream the rows rather than holding the whole result set; MySQL only streams with MIN_VALUE
+        queryStmt.setFetchSize(DBUtils.db_Mysql ? Integer.MIN_VALUE : 4096);
         ResultSet rs = queryStmt.executeQuery();
         while (rs.next()) {
             int id = rs.getInt(1);
@@ -135,8 +145,18 @@ public class XPathTable {
         }
     }
 
-    public Hashtable<String, Integer> stringToId = new Hashtable<>(4096); // public for statistics only
-    public Hashtable<Long, String> sidToString = new Hashtable<>(4096); // public for statistics only
+    public Map<String, Integer> stringToId = new ConcurrentHashMap<>(4096); // public for statistics only
+    public Map<Long, String> sidToString = new ConcurrentHashMap<>(4096); // public for statistics only
+
+    /**
+     * Held while adding xpaths to the database. Lookups never take it.
+     */
+    private final Object insertLock = new Object();
+
+    /**
+     * Xpaths waiting for an id, so that whichever thread holds the insertLock can add them in one batch.
+     */
+    private final Set<String> pendingXpaths = ConcurrentHashMap.newKeySet();
 
     public String statistics() {
         return "DB: " + stat_dbAdd + "add/" + stat_dbFetch + "fetch/"
@@ -173,13 +193,17 @@ public class XPathTable {
      * the specified XMLSource which are not already in the database, they will
      * be created here.
      */
-    public synchronized void loadXPaths(XMLSource source) {
+    public void loadXPaths(XMLSource source) {
         // Get list of xpaths that aren't already loaded.
         Set<String> unloadedXpaths = new HashSet<>();
         for (String xpath : source) {
-            unloadedXpaths.add(xpath);
+            if (!stringToId.containsKey(xpath)) {
+                unloadedXpaths.add(xpath);
+            }
+        }
+        if (unloadedXpaths.isEmpty()) {
+            return;
         }
-        unloadedXpaths.removeAll(stringToId.keySet());
 
         Connection conn = null;
         PreparedStatement queryStmt = null;
@@ -207,105 +231,183 @@ public class XPathTable {
     }
 
     /**
-     * Add a set of xpaths to the database.
+     * Add a set of xpaths to the database, skipping any that another thread or server has added meanwhile.
      *
      * @param xpaths
      * @param conn
      * @throws SQLException
      */
-    private synchronized void addXpaths(Set<String> xpaths, Connection conn) throws SQLException {
+    private void addXpaths(Set<String> xpaths, Connection conn) throws SQLException {
+        synchronized (insertLock) {
+            Set<String> newXpaths = new HashSet<>();
+            for (String xpath : xpaths) {
+                if (!stringToId.containsKey(xpath)) {
+                    newXpaths.add(xpath);
+                }
+            }
+            lookupXpaths(newXpaths, conn);
+            insertXpaths(newXpaths, conn);
+        }
+    }
+
+    /**
+     * Map the xpaths that are already in the database to their ids, and remove them from the set. If an xpath
+     * is in the database more than once, the lowest id is used. Call with the insertLock held.
+     *
+     * @param xpaths the xpaths to look up; on return, the ones that weren't found
+     */
+    private void lookupXpaths(Set<String> xpaths, Connection conn) throws SQLException {
+        List<String> toFind = new ArrayList<>(xpaths);
+        for (int start = 0; start < toFind.size(); start += LOOKUP_BATCH_SIZE) {
+            List<String> chunk = toFind.subList(start, Math.min(start + LOOKUP_BATCH_SIZE, toFind.size()));
+            StringBuilder sql = new StringBuilder("SELECT id,xpath FROM " + CLDR_XPATHS + " WHERE xpath IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ",?");
+            }
+            sql.append(") ORDER BY id");
+            PreparedStatement queryStmt = null;
+            try {
+                queryStmt = conn.prepareStatement(sql.toString());
+                for (int i = 0; i < chunk.size(); i++) {
+                    queryStmt.setString(i + 1, Utility.escape(chunk.get(i)));
+                }
+                ResultSet rs = queryStmt.executeQuery();
+                while (rs.next()) {
+                    int id = rs.getInt(1);
+                    String xpath = Utility.unescape(rs.getString(2));
+                    if (xpaths.remove(xpath)) {
+                        setById(id, xpath);
+                        stat_dbFetch++;
+                    }
+                }
+                rs.close();
+            } finally {
+                DBUtils.close(queryStmt);
+            }
+        }
+    }
+
+    /**
+     * Insert xpaths into the database as one batch, and map them to their new ids. Call with the insertLock held.
+     */
+    private void insertXpaths(Set<String> xpaths, Connection conn) throws SQLException {
         if (xpaths.size() == 0)
             return;
 
-        PreparedStatement queryStmt = null;
         PreparedStatement insertStmt = null;
-        // Insert new xpaths.
-        insertStmt = conn.prepareStatement("INSERT INTO " + CLDR_XPATHS + " (xpath) " + " values ("
-            + " ?)");
-        for (String xpath : xpaths) {
-            insertStmt.setString(1, Utility.escape(xpath));
-            insertStmt.addBatch();
-            stat_dbAdd++;
-        }
-        insertStmt.executeBatch();
-        conn.commit();
-        insertStmt.close();
-
-        // PreparedStatement.getGeneratedKeys() only returns the ID of the
-        // last INSERT statement, so we have to improvise here by performing
-        // another SELECT to get the newly-inserted IDs.
-        queryStmt = conn.prepareStatement("SELECT id,xpath FROM " + CLDR_XPATHS + " ORDER BY id DESC");
-        queryStmt.setMaxRows(xpaths.size());
-        queryStmt.setFetchSize(xpaths.size());
-        ResultSet rs = queryStmt.executeQuery();
-        while (rs.next()) {
-            int id = rs.getInt(1);
-            String xpath = Utility.unescape(rs.getString(2));
-            setById(id, xpath);
+        try {
+            insertStmt = conn.prepareStatement("INSERT INTO " + CLDR_XPATHS + " (xpath) " + " values ("
+                + " ?)");
+            for (String xpath : xpaths) {
+                insertStmt.setString(1, Utility.escape(xpath));
+                insertStmt.addBatch();
+            }
+            insertStmt.executeBatch();
+            conn.commit();
+        } catch (SQLException sqe) {
+            try {
+                conn.rollback();
+            } catch (SQLException e2) {
+                // already failing
+            }
+            throw sqe;
+        } finally {
+            DBUtils.close(insertStmt);
+        }
+        stat_dbAdd += xpaths.size();
+
+        // PreparedStatement.getGeneratedKeys() isn't reliable for batches, and other servers may be inserting
+        // at the same time, so query the new ids back by xpath.
+        Set<String> missing = new HashSet<>(xpaths);
+        lookupXpaths(missing, conn);
+        if (!missing.isEmpty()) {
+            SurveyLog.errln("XPathTable: Couldn't retrieve " + missing.size() + " newly added xpaths, such as "
+                + missing.iterator().next());
         }
-        queryStmt.close();
     }
 
     /**
-     * @return the xpath's id (as an Integer)
+     * Insert one xpath unless it is in the database, and map it to its id. Call with the insertLock held.
      */
-    private synchronized Integer addXpath(String xpath, boolean addIfNotFound, Connection inConn) {
-        Integer nid = stringToId.get(xpath); // double check
-        if (nid != null) {
-            return nid;
+    private void insertXpath(String xpath, Connection conn) throws SQLException {
+        Set<String> single = new HashSet<>(Collections.singleton(xpath));
+        lookupXpaths(single, conn);
+        try {
+            insertXpaths(single, conn);
+        } catch (SQLException sqe) {
+            // another server may have just added it
+            lookupXpaths(single, conn);
+            if (!single.isEmpty()) {
+                throw sqe;
+            }
         }
+    }
 
+    /**
+     * Look up an xpath that isn't in memory in the database (in case another XPathTable added it), and add it
+     * if requested. Other xpaths that are waiting to be added are looked up and inserted in the same batch;
+     * if that batch fails, the xpath is inserted on its own, and the threads waiting for the others retry them.
+     *
+     * @return the xpath's id (as an Integer), -1 if it wasn't found and not added, or null if there was an error
+     */
+    private Integer addXpath(String xpath, boolean addIfNotFound, Connection inConn) {
+        if (addIfNotFound) {
+            pendingXpaths.add(xpath);
+        }
         Connection conn = null;
-        PreparedStatement queryStmt = null;
-        PreparedStatement insertStmt = null;
-        try {
-            if (inConn != null) {
-                conn = inConn;
-            } else {
-                conn = DBUtils.getInstance().getDBConnection();
+        synchronized (insertLock) {
+            Integer nid = stringToId.get(xpath); // double check: may have been in another thread's batch
+            if (nid != null) {
+                return nid;
             }
-            queryStmt = conn.prepareStatement("SELECT id FROM " + CLDR_XPATHS + "   " + " where XPATH="
-                + " ? ");
-            queryStmt.setString(1, Utility.escape(xpath));
-            // First, try to query it back from the DB.
-            ResultSet rs = queryStmt.executeQuery();
-            if (!rs.next()) {
-                if (!addIfNotFound) {
-                    return -1;
+            try {
+                if (inConn != null) {
+                    conn = inConn;
                 } else {
-                    // add it
-                    insertStmt = conn.prepareStatement("INSERT INTO " + CLDR_XPATHS + " (xpath ) " + " values ("
-                        + " ?)", Statement.RETURN_GENERATED_KEYS);
-
-                    insertStmt.setString(1, Utility.escape(xpath));
-                    insertStmt.execute();
-                    conn.commit();
-                    rs = insertStmt.getGeneratedKeys();
-                    if (!rs.next()) {
+                    conn = DBUtils.getInstance().getDBConnection();
+                }
+                Set<String> batch = new HashSet<>();
+                batch.add(xpath);
+                if (addIfNotFound) {
+                    for (Iterator<String> it = pendingXpaths.iterator(); it.hasNext();) {
+                        String pending = it.next();
+                        it.remove();
+                        if (!stringToId.containsKey(pending)) {
+                            batch.add(pending);
+                        }
+                    }
+                }
+                // First, try to query them back from the DB.
+                lookupXpaths(batch, conn);
+                if (addIfNotFound && !batch.isEmpty()) {
+                    try {
+                        insertXpaths(batch, conn);
+                    } catch (SQLException sqe) {
+                        // Don't fail because of another thread's xpath: add ours alone. Each of the other
+                        // threads is still waiting for the insertLock, and will find or add its own.
+                        SurveyLog.logger.warning("XPathTable: Failed to add a batch of " + batch.size()
+                            + " xpaths, adding " + xpath + " alone: " + DBUtils.unchainSqlException(sqe));
+                        insertXpath(xpath, conn);
+                    }
+                }
+                nid = stringToId.get(xpath);
+                if (nid == null) {
+                    if (addIfNotFound) {
                         SurveyLog.errln("Couldn't retrieve newly added xpath " + xpath);
-                    } else {
-                        stat_dbAdd++;
+                        return null;
                     }
+                    return -1;
+                }
+                return nid;
+            } catch (SQLException sqe) {
+                SurveyLog.logger.warning("xpath [" + xpath + "] len " + xpath.length());
+                SurveyLog.logger.severe("XPathTable: Failed in addXPath(" + xpath + "): " + DBUtils.unchainSqlException(sqe));
+                SurveyMain.busted("XPathTable: Failed in addXPath(" + xpath + "): " + DBUtils.unchainSqlException(sqe));
+            } finally {
+                if (inConn == null) {
+                    DBUtils.close(conn);
                 }
-            } else {
-                stat_dbFetch++;
-            }
-
-            int id = rs.getInt(1);
-            nid = Integer.valueOf(id);
-            setById(id, xpath);
-            // logger.info("Mapped " + id + " back to " + xpath);
-            rs.close();
-            return nid;
-        } catch (SQLException sqe) {
-            SurveyLog.logger.warning("xpath [" + xpath + "] len " + xpath.length());
-            SurveyLog.logger.severe("XPathTable: Failed in addXPath(" + xpath + "): " + DBUtils.unchainSqlException(sqe));
-            SurveyMain.busted("XPathTable: Failed in addXPath(" + xpath + "): " + DBUtils.unchainSqlException(sqe));
-        } finally {
-            if (inConn != null) {
-                conn = null; // don't close
             }
-            DBUtils.close(insertStmt, queryStmt, conn);
         }
         return null; // an exception occured.
     }
@@ -332,8 +434,10 @@ public class XPathTable {
      * @param xpath
      */
     public final void setById(int id, String xpath) {
-        stringToId.put(idToString_put(id, xpath), id);
+        // map the id last, so that anyone who can get the id can also get the xpath back
+        idToString_put(id, xpath);
         sidToString.put(getStringID(xpath), xpath);
+        stringToId.put(xpath, id);
     }
 
     /**
@@ -4,12 +4,35 @@ package org.unicode.cldr.unittest.web;
  * Copyright (C) 2012
  */
 
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRConfigImpl;
 import org.unicode.cldr.util.CLDRLocale;
 import org.unicode.cldr.util.CldrUtility;
 import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.web.OutputFileManager;
 import org.unicode.cldr.web.STFactory;
+import org.unicode.cldr.web.VoteJournal;
+import org.unicode.cldr.web.VoteWriteBehind;
 import org.unicode.cldr.web.WebContext;
 
 import com.ibm.icu.dev.test.TestFmwk;
@@ -105,4 +128,169 @@ public class TestMisc extends TestFmwk {
             // }
         }
     }
+
+    /**
+     * Test that votes written to the VoteJournal are read back, that a record cut off by a crash is dropped,
+     * and that a record with a bad length is rejected.
+     */
+    public void TestVoteJournal() throws IOException {
+        File file = File.createTempFile("voteJournal", ".bin");
+        try {
+            VoteJournal journal = new VoteJournal(file, false);
+            CLDRLocale fr = CLDRLocale.getInstance("fr");
+            journal.append(new VoteJournal.Entry(fr, 123, 4, "valeur", null));
+            journal.append(new VoteJournal.Entry(fr, 124, 5, null, 1000));
+            journal.close();
+
+            List<VoteJournal.Entry> entries = journal.readAll();
+            assertEquals("entries", 2, entries.size());
+            assertEquals("locale", fr, entries.get(0).locale);
+            assertEquals("xpathId", 123, entries.get(0).xpathId);
+            assertEquals("userId", 4, entries.get(0).userId);
+            assertEquals("value", "valeur", entries.get(0).value);
+            assertEquals("withVote", null, entries.get(0).withVote);
+            assertEquals("abstention", null, entries.get(1).value);
+            assertEquals("withVote", Integer.valueOf(1000), entries.get(1).withVote);
+
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(raf.length() - 3);
+            }
+            assertEquals("truncated entries", 1, journal.readAll().size());
+
+            journal.clear();
+            assertEquals("cleared entries", 0, journal.readAll().size());
+            journal.close();
+
+            for (int length : new int[] { -2, Integer.MAX_VALUE }) {
+                try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+                    out.writeInt(length);
+                    out.writeInt(0);
+                }
+                try {
+                    journal.readAll();
+                    errln("length " + length + " should be rejected");
+                } catch (IOException e) {
+                    logln("OK: " + e);
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test that VoteWriteBehind writes recovered votes first, retries runtime failures, and sets aside a vote
+     * that always fails without holding up the votes behind it, undoing it unless a later vote replaces it.
+     */
+    public void TestVoteWriteBehind() throws IOException, InterruptedException {
+        File file = File.createTempFile("voteJournal", ".bin");
+        File deadFile = File.createTempFile("voteJournal-failed", ".bin");
+        try {
+            CLDRLocale fr = CLDRLocale.getInstance("fr");
+            VoteJournal journal = new VoteJournal(file, false);
+            journal.append(new VoteJournal.Entry(fr, 1, 4, "recovered", null));
+            journal.close();
+
+            List<String> written = Collections.synchronizedList(new ArrayList<>());
+            List<VoteJournal.Entry> undone = Collections.synchronizedList(new ArrayList<>());
+            Set<String> failedOnce = Collections.synchronizedSet(new HashSet<>());
+            // a connection that accepts everything: commit, rollback, and close do nothing
+            Connection conn = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return method.getReturnType() == boolean.class ? Boolean.FALSE
+                            : method.getReturnType() == int.class ? Integer.valueOf(0) : null;
+                    }
+                });
+            VoteWriteBehind writeBehind = new VoteWriteBehind(journal, new VoteJournal(deadFile, false), new VoteWriteBehind.Writer() {
+                @Override
+                public Connection getConnection() {
+                    return conn;
+                }
+
+                @Override
+                public boolean write(Connection c, VoteJournal.Entry vote) throws SQLException {
+                    if ("poison".equals(vote.value)) {
+                        throw new SQLException("can't write " + vote);
+                    }
+                    if ("flaky".equals(vote.value) && failedOnce.add(vote.value)) {
+                        throw new IllegalStateException("failing once for " + vote);
+                    }
+                    return false;
+                }
+
+                @Override
+                public void afterCommit(VoteJournal.Entry vote, boolean didClearFlag) {
+                    written.add(vote.value);
+                }
+
+                @Override
+                public void afterSetAside(VoteJournal.Entry vote) {
+                    undone.add(vote);
+                }
+            }, 1);
+            for (String value : Arrays.asList("a", "poison", "flaky", "b")) {
+                writeBehind.submit(new VoteJournal.Entry(fr, 2, 4, value, null));
+            }
+            VoteJournal.Entry lastPoison = new VoteJournal.Entry(fr, 3, 4, "poison", null);
+            writeBehind.submit(lastPoison);
+            assertTrue("flushed", writeBehind.flush(60000));
+            assertEquals("written", Arrays.asList("recovered", "a", "flaky", "b"), written);
+            assertEquals("pending", 0L, writeBehind.getPendingCount());
+            assertEquals("journal", 0, journal.readAll().size());
+            writeBehind.close();
+
+            List<VoteJournal.Entry> dead = new VoteJournal(deadFile, false).readAll();
+            assertEquals("set aside", 2, dead.size());
+            assertEquals("set aside value", "poison", dead.get(0).value);
+            assertEquals("undone, since nothing replaces it", Collections.singletonList(lastPoison), undone);
+        } finally {
+            file.delete();
+            deadFile.delete();
+        }
+    }
+
+    public void TestOutputInParallel() {
+        Set<CLDRLocale> locales = new TreeSet<>();
+        for (String id : Arrays.asList("af", "de", "fr", "fr_CA", "ja", "pt", "sw", "zu")) {
+            locales.add(CLDRLocale.getInstance(id));
+        }
+        CLDRLocale broken = CLDRLocale.getInstance("ja");
+        Map<CLDRLocale, Integer> writes = new ConcurrentHashMap<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        StringWriter out = new StringWriter();
+        boolean result = OutputFileManager.outputInParallel(out, locales, 3, loc -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                writes.merge(loc, 1, Integer::sum);
+                Thread.sleep(20);
+                if (loc.equals(broken)) {
+                    throw new IOException("can't write " + loc);
+                }
+                return 2;
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+        assertFalse("a locale failed", result);
+        assertEquals("each locale written once", locales, writes.keySet());
+        assertEquals("each locale written once", Collections.singleton(1), new HashSet<>(writes.values()));
+        assertTrue("at most 3 at a time: " + maxRunning, maxRunning.get() <= 3);
+        String html = out.toString();
+        for (CLDRLocale loc : locales) {
+            assertTrue("reported " + loc, html.contains("<li>" + loc.getDisplayName() + " "));
+        }
+        assertTrue(html, html.contains("Failed: [" + broken + "]"));
+        assertTrue(html, html.contains("Total upd: " + (locales.size() - 1) * 2 + "/" + locales.size() * 2));
+
+        out = new StringWriter();
+        assertTrue("all written", OutputFileManager.outputInParallel(out, locales, 4, loc -> 2));
+        assertFalse(out.toString(), out.toString().contains("Failed"));
+    }
 }
@@ -5,9 +5,13 @@ package org.unicode.cldr.unittest.web;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.unicode.cldr.web.CookieSession;
 import org.unicode.cldr.web.DBUtils;
@@ -64,6 +68,87 @@ public class TestXPathTable extends TestFmwk {
         logln("OK: Tested " + ii + " values");
     }
 
+    /**
+     * Threads adding the same new xpaths at once must all get the same id for each, and a distinct id for each.
+     */
+    public void TestConcurrentGetByXpath() throws SQLException, InterruptedException {
+        Connection conn = DBUtils.getInstance().getDBConnection();
+        XPathTable xpt = XPathTable.createTable(conn);
+        DBUtils.closeDBConnection(conn);
+        final int threadCount = 8;
+        final String prefix = "//test/concurrent/" + System.currentTimeMillis() + "/";
+        Map<String, Integer> ids = new ConcurrentHashMap<>();
+        Set<String> errors = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < TEST_COUNT; i++) {
+                    String str = prefix + ((i + offset * 7) % TEST_COUNT) + "/item";
+                    int xpid = xpt.getByXpath(str);
+                    Integer old = ids.putIfAbsent(str, xpid);
+                    if (old != null && old != xpid) {
+                        errors.add(str + " got " + xpid + " and " + old);
+                    }
+                    if (!str.equals(xpt.getById(xpid))) {
+                        errors.add(str + " mapped back to " + xpt.getById(xpid));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("errors", Collections.emptySet(), errors);
+        assertEquals("paths", TEST_COUNT, ids.size());
+        assertEquals("distinct ids", TEST_COUNT, new HashSet<>(ids.values()).size());
+        assertEquals("peek", (int) ids.get(prefix + "0/item"), xpt.peekByXpath(prefix + "0/item"));
+        assertEquals("peek missing", XPathTable.NO_XPATH, xpt.peekByXpath(prefix + "missing"));
+    }
+
+    /**
+     * Two tables on the same database, as with two servers, adding xpaths at once must agree on their ids.
+     */
+    public void TestTwoTablesGetByXpath() throws SQLException, InterruptedException {
+        final XPathTable[] tables = new XPathTable[2];
+        for (int i = 0; i < tables.length; i++) {
+            Connection conn = DBUtils.getInstance().getDBConnection();
+            tables[i] = XPathTable.createTable(conn);
+            DBUtils.closeDBConnection(conn);
+        }
+        final int threadCount = 8;
+        final String prefix = "//test/twoTables/" + System.currentTimeMillis() + "/";
+        Set<String> errors = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final XPathTable xpt = tables[t % tables.length];
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < TEST_COUNT; i++) {
+                    String str = prefix + ((i + offset * 7) % TEST_COUNT) + "/item";
+                    int xpid = xpt.getByXpath(str);
+                    if (!str.equals(xpt.getById(xpid))) {
+                        errors.add(str + " mapped back to " + xpt.getById(xpid));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("errors", Collections.emptySet(), errors);
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < TEST_COUNT; i++) {
+            String str = prefix + i + "/item";
+            int xpid = tables[0].getByXpath(str);
+            assertEquals("same id in both tables for " + str, xpid, tables[1].getByXpath(str));
+            ids.add(xpid);
+        }
+        assertEquals("distinct ids", TEST_COUNT, ids.size());
+    }
+
     public void TestRemoveDraftAltProposed() {
         String inout[] = {
 
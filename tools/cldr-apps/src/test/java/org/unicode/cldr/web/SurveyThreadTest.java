@@ -0,0 +1,124 @@
+package org.unicode.cldr.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SurveyThreadTest {
+    private SurveyThread st;
+    private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (st != null && st.isAlive()) {
+            st.requestStop();
+            st.join(10000);
+        }
+    }
+
+    @Test
+    void testConcurrentTasksRunOnWorkers() throws InterruptedException {
+        st = new SurveyThread(null, 2);
+        st.start();
+        CountDownLatch done = new CountDownLatch(3);
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        List<Thread> workers = Collections.synchronizedList(new ArrayList<>());
+        Thread[] serialThread = new Thread[1];
+        for (int i = 0; i < 2; ++i) {
+            st.addTask(makeTask("concurrent" + i, true, SurveyThread.SurveyTask.PRIORITY_NORMAL, done, () -> {
+                workers.add(Thread.currentThread());
+                bothRunning.await(10, TimeUnit.SECONDS); // only returns if the two run at the same time
+            }));
+        }
+        st.addTask(makeTask("serial", false, SurveyThread.SurveyTask.PRIORITY_NORMAL, done,
+            () -> serialThread[0] = Thread.currentThread()));
+        assertTrue(done.await(20, TimeUnit.SECONDS), "tasks finished");
+        assertEquals(Collections.emptyList(), failures);
+        assertSame(st, serialThread[0], "other tasks run on the SurveyThread itself");
+        assertEquals(2, workers.size());
+        assertNotSame(workers.get(0), workers.get(1));
+        assertFalse(workers.contains(st), "concurrent tasks run on the workers");
+        assertEquals(0, st.tasksRemaining());
+    }
+
+    @Test
+    void testConcurrentTasksByPriority() throws InterruptedException {
+        st = new SurveyThread(null, 1);
+        st.start();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        // keep the only worker busy until everything else is queued
+        st.addTask(makeTask("blocker", true, SurveyThread.SurveyTask.PRIORITY_NORMAL, done,
+            () -> release.await(10, TimeUnit.SECONDS)));
+        st.addTask(makeTask("low", true, SurveyThread.SurveyTask.PRIORITY_LOW, done, () -> order.add("low")));
+        st.addTask(makeTask("first", true, SurveyThread.SurveyTask.PRIORITY_NORMAL, done, () -> order.add("first")));
+        st.addTask(makeTask("second", true, SurveyThread.SurveyTask.PRIORITY_NORMAL, done, () -> order.add("second")));
+        release.countDown();
+        assertTrue(done.await(20, TimeUnit.SECONDS), "tasks finished");
+        assertEquals(Collections.emptyList(), failures);
+        assertEquals(Arrays.asList("first", "second", "low"), order, "highest priority first, then in order");
+    }
+
+    @Test
+    void testRemoveTask() {
+        st = new SurveyThread(null, 1); // not started, so tasks stay queued
+        SurveyThread.SurveyTask concurrent = makeTask("concurrent", true, SurveyThread.SurveyTask.PRIORITY_NORMAL,
+            new CountDownLatch(1), () -> {
+            });
+        SurveyThread.SurveyTask serial = makeTask("serial", false, SurveyThread.SurveyTask.PRIORITY_NORMAL,
+            new CountDownLatch(1), () -> {
+            });
+        st.addTask(concurrent);
+        st.addTask(serial);
+        assertEquals(2, st.tasksRemaining());
+        assertEquals(2, st.tasksRemaining(SurveyThread.SurveyTask.class));
+        assertTrue(st.removeTask(concurrent));
+        assertFalse(st.removeTask(concurrent));
+        assertTrue(st.removeTask(serial));
+        assertEquals(0, st.tasksRemaining());
+    }
+
+    private SurveyThread.SurveyTask makeTask(String name, boolean concurrent, int priority, CountDownLatch done,
+        Body body) {
+        return new SurveyThread.SurveyTask(name) {
+            @Override
+            public void run() {
+                try {
+                    body.run();
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            }
+
+            @Override
+            public boolean isConcurrent() {
+                return concurrent;
+            }
+
+            @Override
+            public int getTaskPriority() {
+                return priority;
+            }
+        };
+    }
+}
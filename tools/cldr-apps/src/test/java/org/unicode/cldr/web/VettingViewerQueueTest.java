@@ -0,0 +1,131 @@
+package org.unicode.cldr.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.Level;
+import org.unicode.cldr.util.Organization;
+import org.unicode.cldr.util.Pair;
+import org.unicode.cldr.web.VettingViewerQueue.QueueEntry;
+import org.unicode.cldr.web.VettingViewerQueue.Task;
+import org.unicode.cldr.web.VettingViewerQueue.VVOutput;
+
+import com.ibm.icu.impl.Row;
+
+/**
+ * Tests how users making the same dashboard request share one task: joining, detaching, restarting, and getting
+ * the output when it finishes. The tasks are queued on a SurveyThread that isn't started, so they never run.
+ */
+class VettingViewerQueueTest {
+    private static final CLDRLocale FR = CLDRLocale.getInstance("fr");
+    private static final Pair<CLDRLocale, Organization> OUTPUT_KEY = new Pair<>(FR, Organization.google);
+
+    private final VettingViewerQueue queue = new VettingViewerQueue();
+    private final SurveyThread st = new SurveyThread(null, 1);
+
+    @Test
+    void testSameRequestsShareATask() {
+        QueueEntry a = new QueueEntry();
+        QueueEntry b = new QueueEntry();
+        QueueEntry other = new QueueEntry();
+        assertTrue(startOrJoin(a, Level.MODERN, false), "first request starts a task");
+        assertFalse(startOrJoin(b, Level.MODERN, false), "same request joins it");
+        assertSame(a.currentTask, b.currentTask);
+        assertEquals(1, st.tasksRemaining(Task.class));
+
+        assertTrue(startOrJoin(other, Level.COMPREHENSIVE, false), "a different level is a different task");
+        assertNotSame(a.currentTask, other.currentTask);
+        assertEquals(2, st.tasksRemaining(Task.class));
+    }
+
+    @Test
+    void testFinishedTasksAreNotJoined() {
+        QueueEntry a = new QueueEntry();
+        QueueEntry b = new QueueEntry();
+        startOrJoin(a, Level.MODERN, false);
+        startOrJoin(b, Level.MODERN, false);
+        Task task = a.currentTask;
+        VVOutput output = new VVOutput(new StringBuffer("dashboard"));
+        task.finish(output);
+        assertTrue(task.isFinished());
+        assertSame(output, a.output.get(OUTPUT_KEY), "every waiter gets the output");
+        assertSame(output, b.output.get(OUTPUT_KEY), "every waiter gets the output");
+
+        task.finish(new VVOutput(new StringBuffer("again")));
+        assertSame(output, a.output.get(OUTPUT_KEY), "only the first finish counts");
+
+        QueueEntry late = new QueueEntry();
+        assertTrue(startOrJoin(late, Level.MODERN, false), "a later request starts a new task");
+        assertNotSame(task, late.currentTask);
+        assertNull(late.output.get(OUTPUT_KEY));
+
+        // a task that stops without output is not joined either
+        Task stopped = late.currentTask;
+        stopped.finish(null);
+        assertNull(late.output.get(OUTPUT_KEY));
+        QueueEntry next = new QueueEntry();
+        assertTrue(startOrJoin(next, Level.MODERN, false));
+        assertNotSame(stopped, next.currentTask);
+    }
+
+    @Test
+    void testRestartStartsANewTask() {
+        QueueEntry a = new QueueEntry();
+        QueueEntry b = new QueueEntry();
+        startOrJoin(a, Level.MODERN, false);
+        startOrJoin(b, Level.MODERN, false);
+        Task shared = a.currentTask;
+
+        assertTrue(startOrJoin(b, Level.MODERN, true), "a restart doesn't join the shared task");
+        Task restarted = b.currentTask;
+        assertNotSame(shared, restarted);
+        assertSame(shared, a.currentTask, "the others keep waiting for the old task");
+        assertTrue(shared.running());
+        assertEquals(2, st.tasksRemaining(Task.class));
+
+        QueueEntry c = new QueueEntry();
+        assertFalse(startOrJoin(c, Level.MODERN, false));
+        assertSame(restarted, c.currentTask, "new requests join the new task");
+
+        // the old task's output still goes to its own waiters only
+        VVOutput output = new VVOutput(new StringBuffer("old"));
+        shared.finish(output);
+        assertSame(output, a.output.get(OUTPUT_KEY));
+        assertNull(b.output.get(OUTPUT_KEY));
+        assertFalse(startOrJoin(new QueueEntry(), Level.MODERN, false), "finishing the old task keeps the new one");
+    }
+
+    @Test
+    void testDetach() {
+        QueueEntry a = new QueueEntry();
+        QueueEntry b = new QueueEntry();
+        startOrJoin(a, Level.MODERN, false);
+        startOrJoin(b, Level.MODERN, false);
+        Task task = a.currentTask;
+
+        queue.detach(a, st);
+        assertNull(a.currentTask);
+        assertTrue(task.running(), "still running for b");
+        assertEquals(1, st.tasksRemaining(Task.class));
+
+        queue.detach(b, st);
+        assertFalse(task.running(), "stopped once no one is waiting");
+        assertEquals(0, st.tasksRemaining(Task.class), "and dequeued");
+
+        task.finish(new VVOutput(new StringBuffer("dashboard")));
+        assertNull(a.output.get(OUTPUT_KEY), "no output for those who left");
+        assertNull(b.output.get(OUTPUT_KEY), "no output for those who left");
+        assertTrue(startOrJoin(a, Level.MODERN, false), "coming back starts a new task");
+    }
+
+    private boolean startOrJoin(QueueEntry entry, Level level, boolean restart) {
+        return queue.startOrJoin(entry, Row.of(FR, Organization.google, level), restart,
+            () -> queue.new Task(FR, null, null, level, Organization.google, Organization.google.name()), st);
+    }
+}
@@ -116,6 +116,27 @@ public abstract class CldrDataSupplier {
         return new XmlDataSource(type, ImmutableSet.copyOf(xmlFiles), draftStatus);
     }
 
+    /**
+     * Returns an unresolved, streaming CLDR data instance of a set of XML files. Unlike
+     * {@link #forCldrFiles(CldrDataType, CldrDraftStatus, Set)}, no data is held in memory; the
+     * files are parsed again each time the data is visited, and for {@code ARBITRARY} or
+     * {@code NESTED_GROUPING} order values are passed to the visitor as they are parsed. Visiting
+     * in {@code DTD} order also re-reads the files, so this is intended for jobs which visit the
+     * data once (such as ICU data conversion). The first call to {@link CldrData#get(CldrPath)}
+     * reads the data into memory, as for {@code forCldrFiles}.
+     *
+     * @param type the expected CLDR type of the data in the XML file.
+     * @param draftStatus the desired status for filtering paths/values.
+     * @param xmlFiles the CLDR XML files.
+     * @param parallelism the maximum number of files to parse concurrently (values are still
+     *     visited in file order on the calling thread).
+     * @return a data instance for the paths/values in the specified XML file.
+     */
+    public static CldrData streamCldrFiles(
+        CldrDataType type, CldrDraftStatus draftStatus, Set<Path> xmlFiles, int parallelism) {
+        return new XmlDataSource(type, ImmutableSet.copyOf(xmlFiles), draftStatus, true, parallelism);
+    }
+
     private static Multimap<CldrDataType, Path> createCldrDirectoryMap(
         Path cldrRootDir, Set<String> rootDirs) {
 
@@ -150,6 +171,23 @@ public abstract class CldrDataSupplier {
      */
     public abstract CldrDataSupplier withDraftStatusAtLeast(CldrDraftStatus draftStatus);
 
+    /**
+     * Returns a modified data supplier whose non-LDML data (see {@link #getDataForType(CldrDataType)})
+     * is streamed from the XML files rather than being held in memory (see
+     * {@link #streamCldrFiles(CldrDataType, CldrDraftStatus, Set, int)}). This is useful for jobs
+     * which visit each type of data once and need to run in a limited heap.
+     *
+     * <p>The default implementation returns this supplier unchanged, which is correct (if not
+     * economical) for suppliers whose data isn't read from XML files.
+     *
+     * @param parallelism the maximum number of XML files to parse concurrently.
+     * @return a modified supplier which streams non-LDML data.
+     */
+    public CldrDataSupplier withStreamingTypeData(int parallelism) {
+        checkArgument(parallelism > 0, "invalid parallelism: %s", parallelism);
+        return this;
+    }
+
     /**
      * Returns an LDML data instance for the specified locale ID.
      *
@@ -186,6 +224,8 @@ public abstract class CldrDataSupplier {
     private static final class FileBasedDataSupplier extends CldrDataSupplier {
         private final ImmutableSetMultimap<CldrDataType, Path> directoryMap;
         private final CldrDraftStatus draftStatus;
+        // Zero if non-LDML data is memoized, otherwise the parallelism for streaming it.
+        private final int streamingParallelism;
 
         // Created on-demand to keep constructor simple (in a fluent API you might create several
         // variants of a supplier but only get data from one, or only use non-LDML XML data).
@@ -193,8 +233,14 @@ public abstract class CldrDataSupplier {
 
         private FileBasedDataSupplier(
             Multimap<CldrDataType, Path> directoryMap, CldrDraftStatus draftStatus) {
+            this(directoryMap, draftStatus, 0);
+        }
+
+        private FileBasedDataSupplier(
+            Multimap<CldrDataType, Path> directoryMap, CldrDraftStatus draftStatus, int streamingParallelism) {
             this.directoryMap = ImmutableSetMultimap.copyOf(directoryMap);
             this.draftStatus = checkNotNull(draftStatus);
+            this.streamingParallelism = streamingParallelism;
         }
 
         // Locking should be no issue, since contention on these supplier instance is expected to
@@ -212,7 +258,13 @@ public abstract class CldrDataSupplier {
 
         @Override
         public CldrDataSupplier withDraftStatusAtLeast(CldrDraftStatus draftStatus) {
-            return new FileBasedDataSupplier(directoryMap, draftStatus);
+            return new FileBasedDataSupplier(directoryMap, draftStatus, streamingParallelism);
+        }
+
+        @Override
+        public CldrDataSupplier withStreamingTypeData(int parallelism) {
+            checkArgument(parallelism > 0, "invalid parallelism: %s", parallelism);
+            return new FileBasedDataSupplier(directoryMap, draftStatus, parallelism);
         }
 
         @Override
@@ -235,7 +287,9 @@ public abstract class CldrDataSupplier {
         public CldrData getDataForType(CldrDataType type) {
             ImmutableSet<Path> xmlFiles = listXmlFilesForType(type);
             if (!xmlFiles.isEmpty()) {
-                return new XmlDataSource(type, xmlFiles, draftStatus);
+                return streamingParallelism > 0
+                    ? new XmlDataSource(type, xmlFiles, draftStatus, true, streamingParallelism)
+                    : new XmlDataSource(type, xmlFiles, draftStatus);
             }
             return NO_DATA;
         }
@@ -1,6 +1,7 @@
 package org.unicode.cldr.api;
 
 import static com.google.common.base.CharMatcher.whitespace;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
@@ -10,17 +11,24 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.unicode.cldr.util.XMLFileReader;
 import org.xml.sax.Attributes;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.InputSource;
@@ -28,7 +36,6 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
-import org.xml.sax.helpers.XMLReaderFactory;
 
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Splitter;
@@ -40,17 +47,40 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multiset;
-
-/** Serializes a set of LDML XML files as a sequence of {@code CldrValue}s. */
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Serializes a set of LDML XML files as a sequence of {@code CldrValue}s.
+ *
+ * <p>By default the values are read once and memoized. In streaming mode no values are retained
+ * between visits, and the files are re-read for every visit: values are passed straight from the
+ * parser to the visitor for {@code ARBITRARY} and {@code NESTED_GROUPING} order, while {@code DTD}
+ * order (which must be sorted) builds a temporary map for each visit. Since lookups are expected to
+ * be repeated, the first call to {@link #get(CldrPath)} reads and memoizes the values, even when
+ * streaming.
+ *
+ * <p>If a path appears more than once it is only visited once. The memoized values keep the last
+ * value for the path (as {@code CLDRFile} does), but a streaming visit cannot know the last value
+ * in advance, so streaming keeps the first one instead.
+ *
+ * <p>If the parallelism is greater than one, the (independent) files are parsed concurrently, on a
+ * shared pool of daemon threads, but their values are still visited in file order, by the calling
+ * thread.
+ */
 final class XmlDataSource implements CldrData {
     private static final Splitter TRIMMING_LINE_SPLITTER =
         Splitter.on('\n').trimResults().omitEmptyStrings();
     private static final CharMatcher NOT_WHITESPACE = whitespace().negate();
+    // Shared by all instances; threads are only kept while files are being parsed.
+    private static final ExecutorService PARSER_POOL = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("XmlDataSource-%d").build());
 
     private final CldrDataType dtdType;
     private final ImmutableSet<Path> xmlFiles;
     private final CldrDraftStatus minimalDraftStatus;
     private final Function<Path, Reader> openFn;
+    private final boolean streaming;
+    private final int parallelism;
 
     // Memoized data map to avoid loading/parsing files more than once.
     private volatile ImmutableMap<CldrPath, CldrValue> pathValueMap = null;
@@ -65,39 +95,74 @@ final class XmlDataSource implements CldrData {
     //
     // It LOOKS like the current code (see XMLSource and SimpleXMLSource) will handle multiple
     // equivalent distinguishing paths with draft status by preserving the _last_ one found into
-    // the CLDRFile. This is awkward if we just want to stream the paths directly from the XML,
-    // since we are not keeping track of the paths already seen (maybe we should).
+    // the CLDRFile, and the memoized map does the same. That can't be done when streaming paths
+    // directly from the XML (the last value isn't known until the end), so streaming keeps track
+    // of the paths already seen and keeps the _first_ value for a path instead.
     //
     // However in practice, there's only ever one path with draft status present in the non-LDML
-    // files, so it should be enough to simply include/exclude based on the status (and maybe
-    // ignore the possibility of the same distinguishing path appearing twice??)
+    // files, so it should be enough to simply include/exclude based on the status.
     //
     // It terms of having multiple draft status attributes on a path, it seems that the current
     // CLDRFile code has a "top-most one wins" strategy, which can be affected in this code by
     // simply setting draft status the first time it's present on an element.
     XmlDataSource(CldrDataType dtdType, Set<Path> xmlFiles, CldrDraftStatus draftStatus) {
-        this(dtdType, xmlFiles, draftStatus, XmlDataSource::openFile);
+        this(dtdType, xmlFiles, draftStatus, false, 1);
+    }
+
+    XmlDataSource(
+        CldrDataType dtdType, Set<Path> xmlFiles, CldrDraftStatus draftStatus, boolean streaming, int parallelism) {
+        this(dtdType, xmlFiles, draftStatus, XmlDataSource::openFile, streaming, parallelism);
     }
 
     // @VisibleForTesting
     XmlDataSource(
         CldrDataType dtdType, Set<Path> xmlFiles, CldrDraftStatus draftStatus, Function<Path, Reader> openFn) {
+        this(dtdType, xmlFiles, draftStatus, openFn, false, 1);
+    }
+
+    // @VisibleForTesting
+    XmlDataSource(
+        CldrDataType dtdType,
+        Set<Path> xmlFiles,
+        CldrDraftStatus draftStatus,
+        Function<Path, Reader> openFn,
+        boolean streaming,
+        int parallelism) {
+        checkArgument(parallelism > 0, "invalid parallelism: %s", parallelism);
         this.xmlFiles = ImmutableSet.copyOf(xmlFiles);
         this.dtdType = dtdType;
         this.minimalDraftStatus = checkNotNull(draftStatus);
         this.openFn = checkNotNull(openFn);
+        this.streaming = streaming;
+        this.parallelism = parallelism;
+    }
+
+    private Map<CldrPath, CldrValue> readPathValueMap(boolean mustSort) {
+        Map<CldrPath, CldrValue> map = mustSort ? new TreeMap<>() : new LinkedHashMap<>();
+        if (streaming) {
+            // Keep the same value for a path as a streaming visit would.
+            read(value -> map.putIfAbsent(value.getPath(), value), dtdType, true);
+        } else {
+            read(value -> map.put(value.getPath(), value), dtdType, true);
+        }
+        return map;
     }
 
     private Map<CldrPath, CldrValue> getPathValueMap(PathOrder order) {
         // XML is always at least using nested grouping, so the only question is whether to sort it
         // into DTD order or not. Obviously this changes if there's ever another ordering possible.
         boolean mustSort = (order == PathOrder.DTD);
+        if (streaming && mustSort) {
+            return readPathValueMap(true);
+        }
+        return getMemoizedPathValueMap(mustSort);
+    }
+
+    private Map<CldrPath, CldrValue> getMemoizedPathValueMap(boolean mustSort) {
         ImmutableMap<CldrPath, CldrValue> localMapRef = pathValueMap;
         if (localMapRef == null) {
-            Map<CldrPath, CldrValue> map = mustSort ? new TreeMap<>() : new LinkedHashMap<>();
-            read(value -> map.put(value.getPath(), value), dtdType, true);
             // Avoid work with the lock held...
-            localMapRef = ImmutableMap.copyOf(map);
+            localMapRef = ImmutableMap.copyOf(readPathValueMap(mustSort));
             // There's a race condition here whereby two threads can decide to create the map
             // but in different orders and then the flags get out of sync with the map contents.
             synchronized (cacheLock) {
@@ -125,12 +190,23 @@ final class XmlDataSource implements CldrData {
 
     @Override
     public void accept(PathOrder order, ValueVisitor visitor) {
+        if (streaming && order != PathOrder.DTD) {
+            // Only the paths are kept, to skip repeated ones.
+            Set<CldrPath> seen = new HashSet<>();
+            read(v -> {
+                if (seen.add(v.getPath())) {
+                    visitor.visit(v);
+                }
+            }, dtdType, true);
+            return;
+        }
         getPathValueMap(order).values().forEach(visitor::visit);
     }
 
     @Override
     public CldrValue get(CldrPath path) {
-        return getPathValueMap(PathOrder.ARBITRARY).get(path);
+        // Even when streaming, since scanning all the files for each lookup is far too slow.
+        return getMemoizedPathValueMap(false).get(path);
     }
 
     // Helper used to open files but which allows alternate implementation for in-memory testing.
@@ -143,22 +219,79 @@ final class XmlDataSource implements CldrData {
     }
 
     private void read(ValueVisitor visitor, CldrDataType dtdType, boolean validating) {
+        if (parallelism > 1 && xmlFiles.size() > 1) {
+            readInParallel(visitor, dtdType, validating);
+            return;
+        }
         XMLReader xmlReader = createXmlReader(validating);
         xmlReader.setErrorHandler(ERROR_HANDLER);
         xmlReader.setContentHandler(new PathValueHandler(visitor, dtdType));
         for (Path p : xmlFiles) {
-            try (Reader r = openFn.apply(p)) {
-                InputSource src = new InputSource(r);
-                // Important: The system ID is a URI or path which should identify the XML file so
-                // that a relative path to the DTD can be resolved. Thus if the XML contains
-                // <!DOCTYPE ldmlBCP47 SYSTEM "../../common/dtd/ldmlBCP47.dtd">
-                // then the location of "ldmlBCP47.dtd" can be properly determined. Thus even for
-                // testing, a suitable path from which the DTD can be determined must be used.
-                src.setSystemId(p.toString());
-                parseXml(xmlReader, src, p);
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+            readFile(xmlReader, p);
+        }
+    }
+
+    // Each file is parsed by its own reader and handler into a list, and the lists are visited in
+    // file order. Only "parallelism" files are parsed ahead of the one being visited, so at most
+    // that many lists are held at once.
+    //
+    // Sort indices for ordered elements are reset when leaving the root element, so a handler per
+    // file produces the same paths as a single shared handler.
+    private void readInParallel(ValueVisitor visitor, CldrDataType dtdType, boolean validating) {
+        List<Path> files = xmlFiles.asList();
+        List<Future<List<CldrValue>>> results = new ArrayList<>(Collections.nCopies(files.size(), null));
+        try {
+            int submitted = 0;
+            for (int i = 0; i < files.size(); i++) {
+                for (; submitted < files.size() && submitted < i + parallelism; submitted++) {
+                    Path p = files.get(submitted);
+                    results.set(submitted, PARSER_POOL.submit(() -> {
+                        List<CldrValue> values = new ArrayList<>();
+                        XMLReader xmlReader = createXmlReader(validating);
+                        xmlReader.setErrorHandler(ERROR_HANDLER);
+                        xmlReader.setContentHandler(new PathValueHandler(values::add, dtdType));
+                        readFile(xmlReader, p);
+                        return values;
+                    }));
+                }
+                getResult(results.set(i, null), files.get(i)).forEach(visitor::visit);
             }
+        } finally {
+            // Only non-null if we're leaving early (because of an error).
+            results.stream().filter(f -> f != null).forEach(f -> f.cancel(true));
+        }
+    }
+
+    private static List<CldrValue> getResult(Future<List<CldrValue>> result, Path path) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalArgumentException("error reading " + path, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while reading " + path, e);
+        }
+    }
+
+    private void readFile(XMLReader xmlReader, Path p) {
+        try (Reader r = openFn.apply(p)) {
+            InputSource src = new InputSource(r);
+            // Important: The system ID is a URI or path which should identify the XML file so
+            // that a relative path to the DTD can be resolved. Thus if the XML contains
+            // <!DOCTYPE ldmlBCP47 SYSTEM "../../common/dtd/ldmlBCP47.dtd">
+            // then the location of "ldmlBCP47.dtd" can be properly determined. Thus even for
+            // testing, a suitable path from which the DTD can be determined must be used.
+            src.setSystemId(p.toString());
+            parseXml(xmlReader, src, p);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -189,15 +322,9 @@ final class XmlDataSource implements CldrData {
         }
     }
 
+    // The DTD is only parsed for the first file of each type; later readers share its grammar.
     private static XMLReader createXmlReader(boolean validating) {
-        XMLReader xmlReader;
-        try {
-            xmlReader = XMLReaderFactory.createXMLReader();
-            xmlReader.setFeature("http://xml.org/sax/features/validation", validating);
-        } catch (SAXException e) {
-            throw new RuntimeException(e);
-        }
-        return xmlReader;
+        return XMLFileReader.createGrammarCachingXMLReader(validating);
     }
 
     private final class PathValueHandler extends DefaultHandler {
@@ -3,10 +3,16 @@ package org.unicode.cldr.json;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -41,6 +47,7 @@ import org.unicode.cldr.util.FileProcessor;
 import org.unicode.cldr.util.Level;
 import org.unicode.cldr.util.LocaleIDParser;
 import org.unicode.cldr.util.Pair;
+import org.unicode.cldr.util.PathUtilities;
 import org.unicode.cldr.util.PatternCache;
 import org.unicode.cldr.util.StandardCodes;
 import org.unicode.cldr.util.SupplementalDataInfo;
@@ -133,6 +140,8 @@ public class Ldml2JsonConverter {
                 .add("identity", 'i', "(true|false)", "true",
                     "Whether to copy the identity info into all sections containing data")
                 .add("konfig", 'k', ".*", null, "LDML to JSON configuration file")
+                .add("incremental", 'I', "(true|false)", "false",
+                    "Whether to keep a manifest of the inputs of each output file, and only regenerate outputs whose inputs changed")
                 .add("pkgversion",  'V', ".*", getDefaultVersion(), "Version to be used in writing package files");
 
     public static void main(String[] args) throws Exception {
@@ -190,6 +199,7 @@ public class Ldml2JsonConverter {
     private List<JSONSection> sections;
     private Set<String> packages;
     final private String pkgVersion;
+    final private PathTransformer pathTransformer;
 
     public Ldml2JsonConverter(String cldrDir, String outputDir, String runType, boolean fullNumbers, boolean resolve, String coverage, String match,
         boolean writePackages, String configFile, String pkgVersion) {
@@ -204,6 +214,8 @@ public class Ldml2JsonConverter {
         this.pkgVersion = pkgVersion;
 
         LdmlConvertRules.addVersionHandler(pkgVersion.split("\\.")[0]);
+        // after the version handler, since the transformed paths are memoized
+        pathTransformer = new PathTransformer();
 
         sections = new ArrayList<>();
         packages = new TreeSet<>();
@@ -284,11 +296,6 @@ public class Ldml2JsonConverter {
 
     }
 
-    /**
-     * @see XPathParts#addInternal
-     */
-    static final Pattern ANNOTATION_CP_REMAP = PatternCache.get("^(.*)\\[@cp=\"(\\[|\\]|'|\"|@|/|=)\"\\](.*)$");
-
     /**
      * Transform the path by applying PATH_TRANSFORMATIONS rules.
      *
@@ -297,54 +304,89 @@ public class Ldml2JsonConverter {
      * @return The transformed path.
      */
     private String transformPath(final String pathStr, final String pathPrefix) {
-        String result = pathStr;
-
-        // handle annotation cp value
-        Matcher cpm = ANNOTATION_CP_REMAP.matcher(result);
-        if (cpm.matches()) {
-            // We need to avoid breaking the syntax not just of JSON, but of XPATH.
-            final String badCodepointRange = cpm.group(2);
-            StringBuilder sb = new StringBuilder(cpm.group(1))
-                .append("[@cp=\"");
-            // JSON would handle a wide range of things if escaped, but XPATH will not.
-            if (badCodepointRange.codePointCount(0, badCodepointRange.length()) != 1) {
-                // forbid more than one U+ (because we will have to unescape it.)
-                throw new IllegalArgumentException("Need exactly one codepoint in the @cp string, but got " + badCodepointRange + " in xpath " + pathStr);
-            }
-            badCodepointRange.codePoints().forEach(cp -> sb.append("U+").append(Integer.toHexString(cp).toUpperCase()));
-            sb.append("\"]").append(cpm.group(3));
-            result = sb.toString();
-        }
-
         if (DEBUG) {
-            System.out.println(" IN pathStr : " + result);
-        }
-        result = LdmlConvertRules.PathTransformSpec.applyAll(result);
-        result = result.replaceFirst("/ldml/", pathPrefix);
-        result = result.replaceFirst("/supplementalData/", pathPrefix);
-
-        if (result.contains("languages") ||
-            result.contains("languageAlias") ||
-            result.contains("languageMatches") ||
-            result.contains("likelySubtags") ||
-            result.contains("parentLocale") ||
-            result.contains("locales=")) {
-            result = localeIdToLangTag(result);
+            System.out.println(" IN pathStr : " + pathStr);
         }
+        String result = pathTransformer.transform(pathStr, pathPrefix);
         if (DEBUG) {
             System.out.println("OUT pathStr : " + result);
         }
+        return result;
+    }
 
-        if (DEBUG) {
-            System.out.println("result: " + result);
+    /**
+     * The paths of a file that are written out, grouped by the section they belong to. Only the paths are kept:
+     * the CldrItems for a section are made when the section is written, so that a worker only has one section's
+     * items in memory at a time, rather than the whole locale's.
+     */
+    private class SectionPaths {
+        private final CLDRFile file;
+        private final String pathPrefix;
+        private final Map<JSONSection, List<String>> paths = new TreeMap<>();
+        // identity and version paths that didn't match any section; they are copied into each section with data
+        private final List<String> identityPaths = new ArrayList<>();
+
+        SectionPaths(CLDRFile file, String pathPrefix) {
+            this.file = file;
+            this.pathPrefix = pathPrefix;
+        }
+
+        void add(JSONSection js, String path) {
+            List<String> sectionPaths = paths.get(js);
+            if (sectionPaths == null) {
+                paths.put(js, sectionPaths = new ArrayList<>());
+            }
+            sectionPaths.add(path);
+        }
+
+        /**
+         * Make the items for a section, in DTD order.
+         *
+         * @return null if the section has no items
+         */
+        List<CldrItem> getItems(JSONSection js) {
+            List<String> sectionPaths = paths.get(js);
+            if (sectionPaths == null) {
+                return null;
+            }
+            List<CldrItem> result = new ArrayList<>();
+            boolean copyIdentityInfo = Boolean.parseBoolean(options.get("identity").getValue());
+            if (copyIdentityInfo && !js.section.equals("other")) {
+                for (String path : identityPaths) {
+                    result.add(makeItem(path));
+                }
+            }
+            for (String path : sectionPaths) {
+                result.add(makeItem(path));
+            }
+            return result;
+        }
+
+        private CldrItem makeItem(String path) {
+            String fullPath = file.getFullXPath(path);
+            if (fullPath == null) {
+                fullPath = path;
+            }
+            return new CldrItem(transformPath(path, pathPrefix), transformPath(fullPath, pathPrefix), path, fullPath,
+                getValue(file, path));
         }
-        return result;
     }
 
-    private Map<JSONSection, List<CldrItem>> mapPathsToSections(AtomicInteger readCount, int totalCount,
+    private static String getValue(CLDRFile file, String path) {
+        String value = file.getWinningValue(path);
+        if (path.startsWith("//ldml/localeDisplayNames/languages") &&
+            file.getSourceLocaleID(path, null).equals("code-fallback")) {
+            value = file.getConstructedBaileyValue(path, null, null);
+        }
+        return value;
+    }
+
+    private SectionPaths mapPathsToSections(AtomicInteger readCount, int totalCount,
         CLDRFile file, String pathPrefix, SupplementalDataInfo sdi)
         throws IOException, ParseException {
-        final Map<JSONSection, List<CldrItem>> sectionItems = new TreeMap<>();
+        final SectionPaths sectionPaths = new SectionPaths(file, pathPrefix);
+        final JSONSection otherSection = sections.get(sections.size() - 1);
+        Matcher versionInfoMatcher = PatternCache.get(".*/(identity|version).*").matcher("");
 
         String locID = file.getLocaleID();
         Matcher noNumberingSystemMatcher = LdmlConvertRules.NO_NUMBERING_SYSTEM_PATTERN.matcher("");
@@ -369,11 +411,6 @@ public class Ldml2JsonConverter {
             int cv = Level.UNDETERMINED.getLevel();
             final String path = it.next();
             String fullPath = file.getFullXPath(path);
-            String value = file.getWinningValue(path);
-            if (path.startsWith("//ldml/localeDisplayNames/languages") &&
-                file.getSourceLocaleID(path, null).equals("code-fallback")) {
-                value = file.getConstructedBaileyValue(path, null, null);
-            }
 
             if (fullPath == null) {
                 fullPath = path;
@@ -408,12 +445,11 @@ public class Ldml2JsonConverter {
             }
 
             // Handle the no inheritance marker.
-            if (resolve && CldrUtility.NO_INHERITANCE_MARKER.equals(value)) {
+            if (resolve && CldrUtility.NO_INHERITANCE_MARKER.equals(getValue(file, path))) {
                 continue;
             }
 
             String transformedPath = transformPath(path, pathPrefix);
-            String transformedFullPath = transformPath(fullPath, pathPrefix);
 
             if (transformedPath.isEmpty()) {
                 continue; // skip this path
@@ -421,66 +457,33 @@ public class Ldml2JsonConverter {
 
             for (JSONSection js : sections) {
                 if (js.pattern.matcher(transformedPath).matches()) {
-                    CldrItem item = new CldrItem(transformedPath, transformedFullPath, path, fullPath, value);
-
-                    List<CldrItem> cldrItems = sectionItems.get(js);
-                    if (cldrItems == null) {
-                        cldrItems = new ArrayList<>();
+                    // Automatically copy the version info to any sections that had real data in them.
+                    if (js == otherSection && versionInfoMatcher.reset(transformedPath).matches()) {
+                        sectionPaths.identityPaths.add(path);
+                    } else {
+                        sectionPaths.add(js, path);
                     }
-                    cldrItems.add(item);
-                    sectionItems.put(js, cldrItems);
                     break;
                 }
             }
         }
-
-        Matcher versionInfoMatcher = PatternCache.get(".*/(identity|version).*").matcher("");
-        // Automatically copy the version info to any sections that had real data in them.
-        JSONSection otherSection = sections.get(sections.size() - 1);
-        List<CldrItem> others = sectionItems.get(otherSection);
-        if (others == null) {
-            return sectionItems;
-        }
-        List<CldrItem> otherSectionItems = new ArrayList<>(others);
-        int addedItemCount = 0;
-        boolean copyIdentityInfo = Boolean.parseBoolean(options.get("identity").getValue());
-
-        for (CldrItem item : otherSectionItems) {
-            String thisPath = item.getPath();
-            versionInfoMatcher.reset(thisPath);
-            if (versionInfoMatcher.matches()) {
-                for (JSONSection js : sections) {
-                    if (sectionItems.get(js) != null && !js.section.equals("other") && copyIdentityInfo) {
-                        List<CldrItem> hit = sectionItems.get(js);
-                        hit.add(addedItemCount, item);
-                        sectionItems.put(js, hit);
-                    }
-                    if (js.section.equals("other")) {
-                        List<CldrItem> hit = sectionItems.get(js);
-                        hit.remove(item);
-                        sectionItems.put(js, hit);
-                    }
-                }
-                addedItemCount++;
-            }
-        }
-        return sectionItems;
+        return sectionPaths;
     }
 
     /**
      * Convert CLDR's XML data to JSON format.
      *
-     * @param file
-     *            CLDRFile object.
-     * @param outFilename
-     *            The file name used to save JSON data.
+     * @param sectionPaths
+     *            The paths of the file, by section.
+     * @param outputFiles
+     *            The files written, relative to the output directory, are added to this.
      * @throws IOException
      * @throws ParseException
      * @return total items written in all files. (if 0, file had no effect)
      */
     private int convertCldrItems(AtomicInteger readCount, int totalCount,
         String dirName, String filename, String pathPrefix,
-        final Map<JSONSection, List<CldrItem>> sectionItems)
+        final SectionPaths sectionPaths, Collection<String> outputFiles)
         throws IOException, ParseException {
         // zone and timezone items are queued for sorting first before they are
         // processed.
@@ -490,208 +493,134 @@ public class Ldml2JsonConverter {
         List<Pair<String,Integer>> outputProgress = new LinkedList<>();
 
         for (JSONSection js : sections) {
-            if (js.section.equals("IGNORE")) {
-                continue;
-            }
-            String outFilename;
-            final String filenameAsLangTag = localeIdToLangTag(filename);
-            if (type == RunType.rbnf) {
-                outFilename = filenameAsLangTag + ".json";
-            } else if(js.section.equals("other")) {
-                // If you see other-___.json, it means items that were missing from JSON_config_*.txt
-                outFilename = js.section + "-" + filenameAsLangTag + ".json";
-            } else {
-                outFilename = js.section + ".json";
-            }
-            String tier = "";
-            boolean writeOther = Boolean.parseBoolean(options.get("other").getValue());
-            if (js.section.equals("other") && !writeOther) {
-                continue;
-            } else {
-                StringBuilder outputDirname = new StringBuilder(outputDir);
-                if (writePackages) {
-                    if (type.tiered()) {
-                        LocaleIDParser lp = new LocaleIDParser();
-                        lp.set(filename);
-                        if (defaultContentLocales.contains(filename) &&
-                            lp.getRegion().length() > 0) {
-                            if (type == RunType.main) {
-                                skippedDefaultContentLocales.add(filenameAsLangTag);
-                            }
+            String outFilename = getOutputFilename(js, filename);
+            List<String> outputDirs = getOutputDirs(js, dirName, filename);
+            // make this section's items only now; they can be collected once it is written
+            List<CldrItem> theItems = outputDirs.isEmpty() ? null : sectionPaths.getItems(js);
+            for (String outputDir : outputDirs) {
+                if (theItems == null || theItems.size() == 0) {
+                    if (DEBUG) System.out.println(">" + progressPrefix(readCount, totalCount) +
+                        outputDir + " - no items to write in " + js.section); // mostly noise
+                    continue;
+                }
+                if(DEBUG) System.out
+                    .print("?" + progressPrefix(readCount, totalCount, filename, js.section) + " - " + theItems.size() + " item(s)" + "\r");
+                StringWriter buffer = new StringWriter();
+                PrintWriter outf = new PrintWriter(buffer);
+                JsonWriter out = new JsonWriter(outf);
+                out.setIndent("  ");
+
+                ArrayList<CldrItem> sortingItems = new ArrayList<>();
+                ArrayList<CldrItem> arrayItems = new ArrayList<>();
+
+                ArrayList<CldrNode> nodesForLastItem = new ArrayList<>();
+                String lastLeadingArrayItemPath = null;
+                String leadingArrayItemPath = "";
+                int valueCount = 0;
+                String previousIdentityPath = null;
+                for (CldrItem item : theItems) {
+                    if (item.getPath().isEmpty()) {
+                        throw new IllegalArgumentException("empty xpath in " + filename + " section " + js.packageName + "/" + js.section);
+                    }
+                    if (type == RunType.rbnf) {
+                        item.adjustRbnfPath();
+                    }
+
+                    // items in the identity section of a file should only ever contain the lowest level, even if using
+                    // resolving source, so if we have duplicates ( caused by attributes used as a value ) then suppress
+                    // them here.
+                    if (item.getPath().contains("/identity/")) {
+                        String[] parts = item.getPath().split("\\[");
+                        if (parts[0].equals(previousIdentityPath)) {
                             continue;
-                        }
-                        final boolean isModernTier = localeIsModernTier(filename);
-                        if (isModernTier) {
-                            tier = MODERN_TIER_SUFFIX;
-                            if (type == RunType.main) {
-                                avl.modern.add(filenameAsLangTag);
-                            }
                         } else {
-                            tier = FULL_TIER_SUFFIX;
-                        }
-                        if (type == RunType.main) {
-                            avl.full.add(filenameAsLangTag);
+                            XPathParts xpp = XPathParts.getFrozenInstance(item.getPath());
+                            String territory = xpp.findAttributeValue("territory", "type");
+                            LocaleIDParser lp = new LocaleIDParser().set(filename);
+                            if (territory != null && territory.length() > 0 && !territory.equals(lp.getRegion())) {
+                                continue;
+                            }
+                            previousIdentityPath = parts[0];
                         }
-                    } else if (type == RunType.rbnf) {
-                        js.packageName = "rbnf";
-                        tier = "";
-                    }
-                    if (js.packageName != null) {
-                        String packageName = CLDR_PKG_PREFIX + js.packageName + tier;
-                        outputDirname.append("/" + packageName);
-                        packages.add(packageName);
-                    }
-                    outputDirname.append("/" + dirName + "/");
-                    if (type.tiered()) {
-                        outputDirname.append(filenameAsLangTag);
-                    }
-                    if (DEBUG) {
-                        System.out.println("outDir: " + outputDirname);
-                        System.out.println("pack: " + js.packageName);
-                        System.out.println("dir: " + dirName);
                     }
-                } else {
-                    outputDirname.append("/" + filename);
-                }
 
-                File dir = new File(outputDirname.toString());
-                if (!dir.exists()) {
-                    dir.mkdirs();
-                }
-                assert(tier.isEmpty() == !type.tiered());
-
-                List<String> outputDirs = new ArrayList<>();
-                outputDirs.add(outputDirname.toString());
-                if (writePackages && tier.equals(MODERN_TIER_SUFFIX) && js.packageName != null) {
-                    // if it is in 'modern', add it to 'full' also.
-                    outputDirs.add(outputDirname.toString().replaceFirst(MODERN_TIER_SUFFIX, FULL_TIER_SUFFIX));
-                    // Also need to make sure that the full package is added
-                    packages.add(CLDR_PKG_PREFIX + js.packageName + FULL_TIER_SUFFIX);
-                }
+                    // some items need to be split to multiple item before processing. None
+                    // of those items need to be sorted.
+                    // Applies to SPLITTABLE_ATTRS attributes.
+                    CldrItem[] items = item.split();
+                    if (items == null) {
+                        // Nothing to split. Make it a 1-element array.
+                        items = new CldrItem[1];
+                        items[0] = item;
+                    }
+                    valueCount += items.length;
 
-                for (String outputDir : outputDirs) {
-                    List<CldrItem> theItems = sectionItems.get(js);
-                    if (theItems == null || theItems.size() == 0) {
-                        if (DEBUG) System.out.println(">" + progressPrefix(readCount, totalCount) +
-                            outputDir + " - no items to write in " + js.section); // mostly noise
+                    // Hard code this part.
+                    if (item.getUntransformedPath().contains("unitPreference")) {
+                        // Need to do more transforms on this one, so just output version/etc here.
                         continue;
                     }
-                    if(DEBUG) System.out
-                        .print("?" + progressPrefix(readCount, totalCount, filename, js.section) + " - " + theItems.size() + " item(s)" + "\r");
-                    PrintWriter outf = FileUtilities.openUTF8Writer(outputDir, outFilename);
-                    JsonWriter out = new JsonWriter(outf);
-                    out.setIndent("  ");
-
-                    ArrayList<CldrItem> sortingItems = new ArrayList<>();
-                    ArrayList<CldrItem> arrayItems = new ArrayList<>();
-
-                    ArrayList<CldrNode> nodesForLastItem = new ArrayList<>();
-                    String lastLeadingArrayItemPath = null;
-                    String leadingArrayItemPath = "";
-                    int valueCount = 0;
-                    String previousIdentityPath = null;
-                    for (CldrItem item : theItems) {
-                        if (item.getPath().isEmpty()) {
-                            throw new IllegalArgumentException("empty xpath in " + filename + " section " + js.packageName + "/" + js.section);
-                        }
-                        if (type == RunType.rbnf) {
-                            item.adjustRbnfPath();
-                        }
-
-                        // items in the identity section of a file should only ever contain the lowest level, even if using
-                        // resolving source, so if we have duplicates ( caused by attributes used as a value ) then suppress
-                        // them here.
-                        if (item.getPath().contains("/identity/")) {
-                            String[] parts = item.getPath().split("\\[");
-                            if (parts[0].equals(previousIdentityPath)) {
-                                continue;
-                            } else {
-                                XPathParts xpp = XPathParts.getFrozenInstance(item.getPath());
-                                String territory = xpp.findAttributeValue("territory", "type");
-                                LocaleIDParser lp = new LocaleIDParser().set(filename);
-                                if (territory != null && territory.length() > 0 && !territory.equals(lp.getRegion())) {
-                                    continue;
-                                }
-                                previousIdentityPath = parts[0];
-                            }
-                        }
-
-                        // some items need to be split to multiple item before processing. None
-                        // of those items need to be sorted.
-                        // Applies to SPLITTABLE_ATTRS attributes.
-                        CldrItem[] items = item.split();
-                        if (items == null) {
-                            // Nothing to split. Make it a 1-element array.
-                            items = new CldrItem[1];
-                            items[0] = item;
-                        }
-                        valueCount += items.length;
 
-                        // Hard code this part.
-                        if (item.getUntransformedPath().contains("unitPreference")) {
-                            // Need to do more transforms on this one, so just output version/etc here.
-                            continue;
+                    for (CldrItem newItem : items) {
+                        // alias will be dropped in conversion, don't count it.
+                        if (newItem.isAliasItem()) {
+                            valueCount--;
                         }
 
-                        for (CldrItem newItem : items) {
-                            // alias will be dropped in conversion, don't count it.
-                            if (newItem.isAliasItem()) {
-                                valueCount--;
-                            }
-
-                            // Items like zone items need to be sorted first before write them out.
-                            if (newItem.needsSort()) {
-                                resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                sortingItems.add(newItem);
-                            } else {
-                                Matcher matcher = LdmlConvertRules.ARRAY_ITEM_PATTERN.matcher(
-                                    newItem.getPath());
-                                if (matcher.matches()) {
-                                    resolveSortingItems(out, nodesForLastItem, sortingItems);
-                                    leadingArrayItemPath = matcher.group(1);
-                                    if (lastLeadingArrayItemPath != null &&
-                                        !lastLeadingArrayItemPath.equals(leadingArrayItemPath)) {
-                                        resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                    }
-                                    lastLeadingArrayItemPath = leadingArrayItemPath;
-                                    arrayItems.add(newItem);
-                                } else {
-                                    // output a single item
-                                    resolveSortingItems(out, nodesForLastItem, sortingItems);
+                        // Items like zone items need to be sorted first before write them out.
+                        if (newItem.needsSort()) {
+                            resolveArrayItems(out, nodesForLastItem, arrayItems);
+                            sortingItems.add(newItem);
+                        } else {
+                            Matcher matcher = LdmlConvertRules.ARRAY_ITEM_PATTERN.matcher(
+                                newItem.getPath());
+                            if (matcher.matches()) {
+                                resolveSortingItems(out, nodesForLastItem, sortingItems);
+                                leadingArrayItemPath = matcher.group(1);
+                                if (lastLeadingArrayItemPath != null &&
+                                    !lastLeadingArrayItemPath.equals(leadingArrayItemPath)) {
                                     resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                    outputCldrItem(out, nodesForLastItem, newItem);
-                                    lastLeadingArrayItemPath = "";
                                 }
+                                lastLeadingArrayItemPath = leadingArrayItemPath;
+                                arrayItems.add(newItem);
+                            } else {
+                                // output a single item
+                                resolveSortingItems(out, nodesForLastItem, sortingItems);
+                                resolveArrayItems(out, nodesForLastItem, arrayItems);
+                                outputCldrItem(out, nodesForLastItem, newItem);
+                                lastLeadingArrayItemPath = "";
                             }
                         }
                     }
+                }
 
-                    resolveSortingItems(out, nodesForLastItem, sortingItems);
-                    resolveArrayItems(out, nodesForLastItem, arrayItems);
-                    if (js.section.contains("unitPreferenceData")) {
-                        outputUnitPreferenceData(js, theItems, out, nodesForLastItem);
-                    }
+                resolveSortingItems(out, nodesForLastItem, sortingItems);
+                resolveArrayItems(out, nodesForLastItem, arrayItems);
+                if (js.section.contains("unitPreferenceData")) {
+                    outputUnitPreferenceData(js, theItems, out, nodesForLastItem);
+                }
 
-                    closeNodes(out, nodesForLastItem.size() - 2, 0);
+                closeNodes(out, nodesForLastItem.size() - 2, 0);
 
-                    outf.println();
-                    out.close();
+                outf.println();
+                out.close();
+                writeIfChanged(new File(outputDir, outFilename), buffer.toString());
 
-                    String outPath = new File(outputDir.substring(this.outputDir.length()), outFilename).getPath();
-                    outputProgress.add(Pair.of(js.section+' '+outPath, valueCount));
-                    if(DEBUG) {
-                        String outStr = ">" + progressPrefix(readCount, totalCount, filename, js.section) + String.format("…%s (%d values)",
-                            outPath, valueCount);
-                        synchronized(readCount) { // to prevent interleaved output
-                            System.out.println(outStr);
-                        }
+                String outPath = new File(outputDir.substring(this.outputDir.length()), outFilename).getPath();
+                outputFiles.add(outPath);
+                outputProgress.add(Pair.of(js.section+' '+outPath, valueCount));
+                if(DEBUG) {
+                    String outStr = ">" + progressPrefix(readCount, totalCount, filename, js.section) + String.format("…%s (%d values)",
+                        outPath, valueCount);
+                    synchronized(readCount) { // to prevent interleaved output
+                        System.out.println(outStr);
                     }
-
-                    totalItemsInFile += valueCount;
                 }
-            }
 
-        }        // this is the only normal output with debug off
+                totalItemsInFile += valueCount;
+            }
+        }
+        // this is the only normal output with debug off
         StringBuilder outStr = new StringBuilder();
         if(!outputProgress.isEmpty()) {
             // Put these first, so the percent is at the end.
@@ -710,6 +639,113 @@ public class Ldml2JsonConverter {
         return totalItemsInFile;
     }
 
+    /**
+     * Get the name of the JSON file for a section of an input file.
+     */
+    private String getOutputFilename(JSONSection js, String filename) {
+        final String filenameAsLangTag = localeIdToLangTag(filename);
+        if (type == RunType.rbnf) {
+            return filenameAsLangTag + ".json";
+        } else if (js.section.equals("other")) {
+            // If you see other-___.json, it means items that were missing from JSON_config_*.txt
+            return js.section + "-" + filenameAsLangTag + ".json";
+        } else {
+            return js.section + ".json";
+        }
+    }
+
+    /**
+     * Get the directories that a section of an input file is written to, creating them and registering the
+     * packages and available locales that they belong to.
+     *
+     * @return an empty list if the section isn't written for this file
+     */
+    private List<String> getOutputDirs(JSONSection js, String dirName, String filename) {
+        List<String> outputDirs = new ArrayList<>();
+        if (js.section.equals("IGNORE")) {
+            return outputDirs;
+        }
+        final String filenameAsLangTag = localeIdToLangTag(filename);
+        String tier = "";
+        boolean writeOther = Boolean.parseBoolean(options.get("other").getValue());
+        if (js.section.equals("other") && !writeOther) {
+            return outputDirs;
+        }
+        StringBuilder outputDirname = new StringBuilder(outputDir);
+        if (writePackages) {
+            if (type.tiered()) {
+                LocaleIDParser lp = new LocaleIDParser();
+                lp.set(filename);
+                if (defaultContentLocales.contains(filename) &&
+                    lp.getRegion().length() > 0) {
+                    if (type == RunType.main) {
+                        skippedDefaultContentLocales.add(filenameAsLangTag);
+                    }
+                    return outputDirs;
+                }
+                final boolean isModernTier = localeIsModernTier(filename);
+                if (isModernTier) {
+                    tier = MODERN_TIER_SUFFIX;
+                    if (type == RunType.main) {
+                        avl.modern.add(filenameAsLangTag);
+                    }
+                } else {
+                    tier = FULL_TIER_SUFFIX;
+                }
+                if (type == RunType.main) {
+                    avl.full.add(filenameAsLangTag);
+                }
+            } else if (type == RunType.rbnf) {
+                js.packageName = "rbnf";
+                tier = "";
+            }
+            if (js.packageName != null) {
+                String packageName = CLDR_PKG_PREFIX + js.packageName + tier;
+                outputDirname.append("/" + packageName);
+                packages.add(packageName);
+            }
+            outputDirname.append("/" + dirName + "/");
+            if (type.tiered()) {
+                outputDirname.append(filenameAsLangTag);
+            }
+            if (DEBUG) {
+                System.out.println("outDir: " + outputDirname);
+                System.out.println("pack: " + js.packageName);
+                System.out.println("dir: " + dirName);
+            }
+        } else {
+            outputDirname.append("/" + filename);
+        }
+
+        File dir = new File(outputDirname.toString());
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        assert(tier.isEmpty() == !type.tiered());
+
+        outputDirs.add(outputDirname.toString());
+        if (writePackages && tier.equals(MODERN_TIER_SUFFIX) && js.packageName != null) {
+            // if it is in 'modern', add it to 'full' also.
+            outputDirs.add(outputDirname.toString().replaceFirst(MODERN_TIER_SUFFIX, FULL_TIER_SUFFIX));
+            // Also need to make sure that the full package is added
+            packages.add(CLDR_PKG_PREFIX + js.packageName + FULL_TIER_SUFFIX);
+        }
+        return outputDirs;
+    }
+
+    /**
+     * Write a file, unless it already has exactly that content, so that unchanged outputs keep their timestamps.
+     */
+    private static void writeIfChanged(File file, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (file.isFile() && file.length() == bytes.length
+            && Arrays.equals(Files.readAllBytes(file.toPath()), bytes)) {
+            return;
+        }
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        Files.write(file.toPath(), bytes);
+    }
+
     private boolean localeIsModernTier(String filename) {
         boolean isModernTier;
         {
@@ -1408,7 +1444,10 @@ public class Ldml2JsonConverter {
                 .collect(Collectors.toSet());
         final int total = files.size();
         AtomicInteger readCount = new AtomicInteger(0);
+        AtomicInteger unchangedCount = new AtomicInteger(0);
         Map<String, Throwable> errs = new TreeMap<>();
+        boolean incremental = Boolean.parseBoolean(options.get("incremental").getValue());
+        final Ldml2JsonManifest manifest = incremental ? makeManifest(dirName, minimalDraftStatus) : null;
 
         // This takes a long time (minutes, in 2020), so run it in parallel forkJoinPool threads.
         // The result of this pipeline is an array of toString()-able filenames of XML files which
@@ -1418,6 +1457,21 @@ public class Ldml2JsonConverter {
             .parallelStream()
             .unordered()
             .map(filename -> {
+                final String input = dirName + "/" + filename;
+                String fingerprint = null;
+                if (manifest != null) {
+                    fingerprint = manifest.getFingerprint(input, getInputFiles(cldrFactory, filename));
+                    if (manifest.isCurrent(input, fingerprint)) {
+                        readCount.incrementAndGet();
+                        unchangedCount.incrementAndGet();
+                        // still register the packages and locales that the outputs belong to
+                        for (JSONSection js : sections) {
+                            getOutputDirs(js, dirName, filename);
+                        }
+                        if(DEBUG) System.out.println("=" + progressPrefix(readCount, total) + input + " unchanged");
+                        return new Pair<>(input, manifest.getOutputs(input).size());
+                    }
+                }
                 String pathPrefix;
                 CLDRFile file = cldrFactory.make(filename, resolve && type == RunType.main, minimalDraftStatus);
                 // Print 'reading' after the make, to stagger the output a little bit.
@@ -1431,10 +1485,17 @@ public class Ldml2JsonConverter {
                     pathPrefix = "/cldr/" + dirName + "/";
                 }
                 int totalForThisFile = 0;
+                List<String> outputFiles = new ArrayList<>();
                 try {
                     totalForThisFile = convertCldrItems(readCount, total, dirName, filename, pathPrefix,
-                        mapPathsToSections(readCount, total, file, pathPrefix, sdi));
+                        mapPathsToSections(readCount, total, file, pathPrefix, sdi), outputFiles);
+                    if (manifest != null) {
+                        manifest.put(input, fingerprint, outputFiles);
+                    }
                 } catch (IOException | ParseException t) {
+                    if (manifest != null) {
+                        manifest.remove(input);
+                    }
                     t.printStackTrace();
                     System.err.println("!" + progressPrefix(readCount, total) + filename + " - err - " + t);
                     errs.put(filename, t);
@@ -1442,12 +1503,26 @@ public class Ldml2JsonConverter {
                     if(DEBUG) System.out.println("." + progressPrefix(readCount, total) +
                         "Completing " + dirName + "/" + filename);
                 }
-                return new Pair<>(dirName + "/" + filename, totalForThisFile);
+                return new Pair<>(input, totalForThisFile);
             })
             .filter(p -> p.getSecond() == 0)
             .map(p -> p.getFirst())
             .toArray();
         System.out.println(progressPrefix(total, total) + " Completed parallel process of " + total + " file(s)");
+        if (manifest != null) {
+            // forget the inputs whose XML files are gone, and delete their outputs
+            Set<String> inputs = new HashSet<>();
+            for (String filename : cldrFactory.getAvailable()) {
+                inputs.add(dirName + "/" + filename);
+            }
+            for (String output : manifest.retainInputs(inputs)) {
+                if (new File(outputDir, output).delete()) {
+                    System.out.println("Deleted " + output + ", whose input is gone");
+                }
+            }
+            manifest.write();
+            System.out.println(unchangedCount + " file(s) were unchanged and not converted again");
+        }
         if (noOutputFiles.length > 0) {
             System.err.println("WARNING: These " + noOutputFiles.length + " file(s) did not produce any output (check JSON config):");
             for (final Object f : noOutputFiles) {
@@ -1487,6 +1562,54 @@ public class Ldml2JsonConverter {
         }
     }
 
+    /**
+     * Make the manifest for an incremental run, with everything besides the input files themselves that can
+     * change the output: the settings, the section rules, and the shared data.
+     */
+    private Ldml2JsonManifest makeManifest(String dirName, DraftStatus minimalDraftStatus) {
+        List<String> settings = new ArrayList<>();
+        settings.add(PathUtilities.getNormalizedPathString(cldrCommonDir));
+        settings.add(dirName);
+        settings.add(type.name());
+        settings.add(minimalDraftStatus.name());
+        settings.add("resolve=" + resolve);
+        settings.add("fullNumbers=" + fullNumbers);
+        settings.add("coverage=" + coverageValue);
+        settings.add("packages=" + writePackages);
+        settings.add("other=" + options.get("other").getValue());
+        settings.add("identity=" + options.get("identity").getValue());
+        settings.add("pkgVersion=" + pkgVersion);
+        for (JSONSection js : sections) {
+            settings.add(js.section + ";" + js.pattern.pattern() + ";" + js.packageName);
+        }
+        settings.add(new TreeMap<>(dependencies).toString());
+        List<File> sharedDirectories = new ArrayList<>();
+        for (String shared : Arrays.asList("supplemental", "validity", "properties", "dtd")) {
+            sharedDirectories.add(new File(cldrCommonDir, shared));
+        }
+        return new Ldml2JsonManifest(new File(outputDir, ".ldml2json-" + dirName + ".manifest"), new File(outputDir),
+            settings, sharedDirectories);
+    }
+
+    /**
+     * Get the XML files that an input file is read from: the file itself, and its parents if resolving.
+     */
+    private List<File> getInputFiles(Factory cldrFactory, String filename) {
+        List<File> result = new ArrayList<>();
+        boolean resolving = resolve && type == RunType.main;
+        String locale = filename;
+        while (locale != null) {
+            List<File> dirs = cldrFactory.getSourceDirectoriesForLocale(locale);
+            if (dirs != null) {
+                for (File dir : dirs) {
+                    result.add(new File(dir, locale + ".xml"));
+                }
+            }
+            locale = resolving ? LocaleIDParser.getParent(locale) : null;
+        }
+        return result;
+    }
+
     /**
      * Replacement pattern for escaping.
      */
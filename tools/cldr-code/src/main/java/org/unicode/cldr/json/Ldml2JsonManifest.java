@@ -0,0 +1,213 @@
+package org.unicode.cldr.json;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.unicode.cldr.util.FileFingerprints;
+
+/**
+ * The manifest of an incremental Ldml2JsonConverter run: for each input XML file, the fingerprint of everything
+ * that went into converting it, and the JSON files that were written from it. An input only needs to be converted
+ * again if its fingerprint changed, or one of its outputs is missing or has a different length.
+ * <p>
+ * The fingerprint of an input covers:
+ * <ul>
+ * <li>the converter settings (type, coverage, draft status, resolution, packaging, the section rules, ...),</li>
+ * <li>the version of the converter code (the jar, or the class files, it was loaded from),</li>
+ * <li>the contents of the shared data, such as supplemental, validity and dtd,</li>
+ * <li>the contents of the input file and, when resolving, each of its parents.</li>
+ * </ul>
+ * Bump FORMAT_KEY whenever the format, or the conversion rules outside the code and the settings, change.
+ */
+public class Ldml2JsonManifest {
+    public static final String FORMAT_KEY = "l2jm-1";
+    private static final String END = "$END$";
+
+    private static final class Entry {
+        final String fingerprint;
+        final Map<String, Long> outputs; // path relative to the output directory -> length
+
+        Entry(String fingerprint, Map<String, Long> outputs) {
+            this.fingerprint = fingerprint;
+            this.outputs = outputs;
+        }
+    }
+
+    private final File file;
+    private final File outputDir;
+    private final byte[] runFingerprint;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final FileFingerprints fingerprints = new FileFingerprints();
+
+    /**
+     * Open the manifest, reading the entries of a previous run if there are any.
+     *
+     * @param file the manifest file
+     * @param outputDir the directory that the outputs are written to
+     * @param settings everything about the run that can change the outputs
+     * @param sharedDirectories the directories of non-locale data that the conversion reads
+     */
+    public Ldml2JsonManifest(File file, File outputDir, Collection<String> settings, Collection<File> sharedDirectories) {
+        this(file, outputDir, settings, sharedDirectories, FileFingerprints.getCodeVersion(Ldml2JsonConverter.class));
+    }
+
+    // @VisibleForTesting
+    Ldml2JsonManifest(File file, File outputDir, Collection<String> settings, Collection<File> sharedDirectories,
+        String codeVersion) {
+        this.file = file;
+        this.outputDir = outputDir;
+        List<String> items = new ArrayList<>();
+        items.add(FORMAT_KEY);
+        items.addAll(settings);
+        items.add(codeVersion);
+        for (File dir : sharedDirectories) {
+            fingerprints.addDirectory(items, dir);
+        }
+        runFingerprint = FileFingerprints.digest(items);
+        read();
+    }
+
+    /**
+     * Get the fingerprint of the inputs for converting a file.
+     *
+     * @param input the name of the input, such as main/de
+     * @param inputFiles the XML files the input is read from: the file itself, and its parents if resolving
+     */
+    public String getFingerprint(String input, List<File> inputFiles) {
+        List<String> items = new ArrayList<>();
+        items.add(FileFingerprints.toHex(runFingerprint));
+        items.add(input);
+        for (File inputFile : inputFiles) {
+            fingerprints.addFile(items, inputFile);
+        }
+        return FileFingerprints.toHex(FileFingerprints.digest(items));
+    }
+
+    /**
+     * @return true if the input was converted with the same fingerprint, and all its outputs are still there
+     */
+    public boolean isCurrent(String input, String fingerprint) {
+        Entry entry = entries.get(input);
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            return false;
+        }
+        for (Map.Entry<String, Long> output : entry.outputs.entrySet()) {
+            File outputFile = new File(outputDir, output.getKey());
+            if (!outputFile.isFile() || outputFile.length() != output.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the outputs recorded for an input, relative to the output directory
+     */
+    public Collection<String> getOutputs(String input) {
+        Entry entry = entries.get(input);
+        return entry == null ? Collections.emptySet() : Collections.unmodifiableSet(entry.outputs.keySet());
+    }
+
+    /**
+     * Record the outputs written for an input.
+     *
+     * @param outputs the output files, relative to the output directory
+     */
+    public void put(String input, String fingerprint, Collection<String> outputs) {
+        Map<String, Long> lengths = new TreeMap<>();
+        for (String output : outputs) {
+            lengths.put(output, new File(outputDir, output).length());
+        }
+        entries.put(input, new Entry(fingerprint, lengths));
+    }
+
+    /**
+     * Forget an input, so that it is converted again by the next run.
+     */
+    public void remove(String input) {
+        entries.remove(input);
+    }
+
+    /**
+     * Forget the inputs that aren't in the given set, such as ones whose XML files were deleted.
+     *
+     * @return the outputs of the forgotten inputs that no remaining input wrote, relative to the output directory
+     */
+    public Set<String> retainInputs(Collection<String> inputs) {
+        Set<String> removed = new TreeSet<>();
+        for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Entry> entry = it.next();
+            if (!inputs.contains(entry.getKey())) {
+                removed.addAll(entry.getValue().outputs.keySet());
+                it.remove();
+            }
+        }
+        for (Entry entry : entries.values()) {
+            removed.removeAll(entry.outputs.keySet());
+        }
+        return removed;
+    }
+
+    /**
+     * Write the manifest. The file is written to a temporary file first and then moved into place,
+     * so that an interrupted run never leaves a partial manifest.
+     */
+    public void write() throws IOException {
+        FileFingerprints.writeAtomically(file, out -> {
+            out.writeUTF(FORMAT_KEY);
+            Map<String, Entry> sorted = new TreeMap<>(entries);
+            out.writeInt(sorted.size());
+            for (Map.Entry<String, Entry> entry : sorted.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue().fingerprint);
+                out.writeInt(entry.getValue().outputs.size());
+                for (Map.Entry<String, Long> output : entry.getValue().outputs.entrySet()) {
+                    out.writeUTF(output.getKey());
+                    out.writeLong(output.getValue());
+                }
+            }
+            out.writeUTF(END);
+        });
+    }
+
+    private void read() {
+        if (!file.canRead()) {
+            return;
+        }
+        Map<String, Entry> result = new TreeMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (!FORMAT_KEY.equals(in.readUTF())) {
+                return;
+            }
+            for (int i = in.readInt(); i > 0; --i) {
+                String input = in.readUTF();
+                String fingerprint = in.readUTF();
+                Map<String, Long> outputs = new TreeMap<>();
+                for (int j = in.readInt(); j > 0; --j) {
+                    outputs.put(in.readUTF(), in.readLong());
+                }
+                result.put(input, new Entry(fingerprint, outputs));
+            }
+            if (!END.equals(in.readUTF())) {
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable manifest " + file + ": " + e);
+            return;
+        }
+        entries.putAll(result);
+    }
+}
@@ -410,6 +410,9 @@ class LdmlConvertRules {
 
     /**
      * A simple class to hold the specification of a path transformation.
+     * <p>
+     * Each spec also has a literal string that every matching path must contain, computed from the pattern,
+     * so that the (mostly .*-prefixed) regex is only run for paths that could match.
      */
     public static class PathTransformSpec {
 
@@ -418,6 +421,10 @@ class LdmlConvertRules {
         public String replacement;
         public String patternStr;
         public String comment = "";
+        /**
+         * A string contained in every path that the pattern matches; empty if there is none.
+         */
+        public final String requiredLiteral;
         private AtomicInteger use = new AtomicInteger();
 
         PathTransformSpec(String patternStr, String replacement, String comment) {
@@ -426,6 +433,7 @@ class LdmlConvertRules {
             this.replacement = replacement;
             this.comment = comment;
             if(this.comment == null) this.comment = "";
+            this.requiredLiteral = getRequiredLiteral(patternStr);
         }
 
         @Override
@@ -444,6 +452,9 @@ class LdmlConvertRules {
          * @return result, or null if unchanged
          */
         public String apply(String result) {
+            if (!result.contains(requiredLiteral)) {
+                return null;
+            }
             Matcher m = pattern.matcher(result);
             if (m.matches()) {
                 final String newResult = m.replaceFirst(replacement);
@@ -455,6 +466,135 @@ class LdmlConvertRules {
             }
             return null;
         }
+        /**
+         * Get the longest literal string that every match of a regex must contain. Literal characters
+         * (including escaped ones) are joined across plain capturing groups; anything optional, repeated,
+         * or alternated ends a run. Returns "" for patterns that use flags or quoting, to be safe.
+         */
+        static String getRequiredLiteral(String regex) {
+            if (regex.contains("(?") || regex.contains("\\Q") || hasAlternation(regex, 0, regex.length())) {
+                return "";
+            }
+            StringBuilder current = new StringBuilder();
+            String best = addRequiredLiterals(regex, 0, regex.length(), current, "");
+            return current.length() > best.length() ? current.toString() : best;
+        }
+
+        private static String addRequiredLiterals(String regex, int start, int end, StringBuilder current, String best) {
+            int i = start;
+            while (i < end) {
+                char c = regex.charAt(i);
+                int next;
+                int literal = -1; // the literal character, if the atom is one
+                boolean group = false;
+                if (c == '\\') {
+                    next = i + 2;
+                    char escaped = regex.charAt(i + 1);
+                    if (!Character.isLetterOrDigit(escaped)) {
+                        literal = escaped;
+                    }
+                } else if (c == '[') {
+                    next = getClassEnd(regex, i) + 1;
+                } else if (c == '(') {
+                    next = getGroupEnd(regex, i) + 1;
+                    group = !hasAlternation(regex, i + 1, next - 1);
+                } else {
+                    next = i + 1;
+                    if (".^$".indexOf(c) < 0) {
+                        literal = c;
+                    }
+                }
+                char quantifier = next < end ? regex.charAt(next) : 0;
+                if (quantifier == '*' || quantifier == '?' || quantifier == '{' || quantifier == '+') {
+                    if (quantifier == '+' && literal >= 0) {
+                        current.append((char) literal);
+                    }
+                    best = endRun(current, best);
+                    next = skipQuantifier(regex, next);
+                } else if (group) {
+                    best = addRequiredLiterals(regex, i + 1, next - 1, current, best);
+                } else if (literal >= 0) {
+                    current.append((char) literal);
+                } else {
+                    best = endRun(current, best);
+                }
+                i = next;
+            }
+            return best;
+        }
+
+        private static String endRun(StringBuilder current, String best) {
+            if (current.length() > best.length()) {
+                best = current.toString();
+            }
+            current.setLength(0);
+            return best;
+        }
+
+        private static int skipQuantifier(String regex, int i) {
+            if (regex.charAt(i) == '{') {
+                i = regex.indexOf('}', i);
+            }
+            ++i;
+            if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+                ++i; // reluctant or possessive
+            }
+            return i;
+        }
+
+        private static int getClassEnd(String regex, int start) {
+            int depth = 0;
+            for (int i = start; i < regex.length(); ++i) {
+                char c = regex.charAt(i);
+                if (c == '\\') {
+                    ++i;
+                } else if (c == '[') {
+                    ++depth;
+                } else if (c == ']' && i > start + 1 && !(i == start + 2 && regex.charAt(start + 1) == '^')) {
+                    if (--depth == 0) {
+                        return i;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Unterminated character class in " + regex);
+        }
+
+        private static int getGroupEnd(String regex, int start) {
+            int depth = 0;
+            for (int i = start; i < regex.length(); ++i) {
+                char c = regex.charAt(i);
+                if (c == '\\') {
+                    ++i;
+                } else if (c == '[') {
+                    i = getClassEnd(regex, i);
+                } else if (c == '(') {
+                    ++depth;
+                } else if (c == ')' && --depth == 0) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unterminated group in " + regex);
+        }
+
+        /**
+         * Is there a | in the given range, outside of nested groups and classes?
+         */
+        private static boolean hasAlternation(String regex, int start, int end) {
+            for (int i = start; i < end; ++i) {
+                char c = regex.charAt(i);
+                if (c == '\\') {
+                    ++i;
+                } else if (c == '[') {
+                    i = getClassEnd(regex, i);
+                } else if (c == '(') {
+                    i = getGroupEnd(regex, i);
+                } else if (c == '|') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         public static void dumpAll() {
             System.out.println("# Path Transformations");
             for (final PathTransformSpec ts : getPathTransformations()) {
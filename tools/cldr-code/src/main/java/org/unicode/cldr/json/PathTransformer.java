@@ -0,0 +1,99 @@
+package org.unicode.cldr.json;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.unicode.cldr.util.PatternCache;
+
+/**
+ * Transforms CLDR paths into the paths that Ldml2JsonConverter writes out, by applying the
+ * LdmlConvertRules.PathTransformSpec rules and inserting the prefix for the output (such as /cldr/main/de/).
+ * <p>
+ * Most paths occur in many locales, so the part of the transform that doesn't depend on the prefix is
+ * memoized; the prefix is then inserted with a plain string replacement. The memo is only valid for the rules
+ * in effect when it is filled, so make a new PathTransformer after LdmlConvertRules.addVersionHandler.
+ */
+public class PathTransformer {
+
+    /**
+     * @see org.unicode.cldr.util.XPathParts#addInternal
+     */
+    static final Pattern ANNOTATION_CP_REMAP = PatternCache.get("^(.*)\\[@cp=\"(\\[|\\]|'|\"|@|/|=)\"\\](.*)$");
+
+    private final Map<String, String> transformed = new ConcurrentHashMap<>();
+
+    /**
+     * Transform a path, using the memo.
+     *
+     * @param pathPrefix the prefix for the output; must not contain _, $ or \
+     */
+    public String transform(String path, String pathPrefix) {
+        return insertPrefix(transformed.computeIfAbsent(path, PathTransformer::transformWithoutPrefix), pathPrefix);
+    }
+
+    /**
+     * Transform a path without the memo.
+     */
+    public static String transformUncached(String path, String pathPrefix) {
+        return insertPrefix(transformWithoutPrefix(path), pathPrefix);
+    }
+
+    /**
+     * @return the number of paths in the memo
+     */
+    public int size() {
+        return transformed.size();
+    }
+
+    /**
+     * Apply the rules, leaving the /ldml/ or /supplementalData/ for the prefix to replace. This is the same as
+     * transforming with the prefix, because the prefix never contains _ or the words that trigger the
+     * conversion of locale IDs to language tags.
+     */
+    private static String transformWithoutPrefix(final String pathStr) {
+        String result = pathStr;
+
+        // handle annotation cp value
+        if (result.contains("[@cp=\"")) {
+            Matcher cpm = ANNOTATION_CP_REMAP.matcher(result);
+            if (cpm.matches()) {
+                // We need to avoid breaking the syntax not just of JSON, but of XPATH.
+                final String badCodepointRange = cpm.group(2);
+                StringBuilder sb = new StringBuilder(cpm.group(1))
+                    .append("[@cp=\"");
+                // JSON would handle a wide range of things if escaped, but XPATH will not.
+                if (badCodepointRange.codePointCount(0, badCodepointRange.length()) != 1) {
+                    // forbid more than one U+ (because we will have to unescape it.)
+                    throw new IllegalArgumentException("Need exactly one codepoint in the @cp string, but got " + badCodepointRange + " in xpath " + pathStr);
+                }
+                badCodepointRange.codePoints().forEach(cp -> sb.append("U+").append(Integer.toHexString(cp).toUpperCase()));
+                sb.append("\"]").append(cpm.group(3));
+                result = sb.toString();
+            }
+        }
+
+        result = LdmlConvertRules.PathTransformSpec.applyAll(result);
+
+        if (result.contains("languages") ||
+            result.contains("languageAlias") ||
+            result.contains("languageMatches") ||
+            result.contains("likelySubtags") ||
+            result.contains("parentLocale") ||
+            result.contains("locales=")) {
+            result = result.replace('_', '-');
+        }
+        return result;
+    }
+
+    private static String insertPrefix(String result, String pathPrefix) {
+        result = replaceFirst(result, "/ldml/", pathPrefix);
+        return replaceFirst(result, "/supplementalData/", pathPrefix);
+    }
+
+    private static String replaceFirst(String source, String target, String replacement) {
+        int pos = source.indexOf(target);
+        return pos < 0 ? source : source.substring(0, pos) + replacement + source.substring(pos + target.length());
+    }
+}
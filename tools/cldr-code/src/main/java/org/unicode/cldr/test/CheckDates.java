@@ -682,10 +682,12 @@ public class CheckDates extends FactoryCheckCLDR {
         return this;
     }
 
-    static final SimpleDateFormat neutralFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", ULocale.ENGLISH);
-    static {
-        neutralFormat.setTimeZone(ExampleGenerator.ZONE_SAMPLE);
-    }
+    // SimpleDateFormat isn't thread-safe, and checks run on several threads
+    static final ThreadLocal<SimpleDateFormat> neutralFormat = ThreadLocal.withInitial(() -> {
+        SimpleDateFormat result = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", ULocale.ENGLISH);
+        result.setTimeZone(ExampleGenerator.ZONE_SAMPLE);
+        return result;
+    });
 
     // Get Date-Time in milliseconds
     private static long getDateTimeinMillis(int year, int month, int date, int hourOfDay, int minute, int second) {
@@ -1147,7 +1149,7 @@ public class CheckDates extends FactoryCheckCLDR {
 
         @Override
         protected String getSampleInput() {
-            return neutralFormat.format(ExampleGenerator.DATE_SAMPLE);
+            return neutralFormat.get().format(ExampleGenerator.DATE_SAMPLE);
         }
 
         public MyDemo setFormat(SimpleDateFormat df) {
@@ -1174,7 +1176,7 @@ public class CheckDates extends FactoryCheckCLDR {
                 if (currentInput == null) {
                     currentInput = getSampleInput();
                 }
-                d = neutralFormat.parse(currentInput);
+                d = neutralFormat.get().parse(currentInput);
             } catch (Exception e) {
                 currentInput = "Use neutral format like: 1993-11-31 13:49:02";
                 return;
@@ -1192,7 +1194,7 @@ public class CheckDates extends FactoryCheckCLDR {
                     currentReparsed = "Couldn't parse past: " + "\u200E"
                         + currentFormatted.substring(0, parsePosition.getIndex()) + "\u200E";
                 } else {
-                    currentReparsed = neutralFormat.format(n);
+                    currentReparsed = neutralFormat.get().format(n);
                 }
             } catch (Exception e) {
                 currentReparsed = "Can't parse: " + e.getMessage();
@@ -55,8 +55,8 @@ public class CheckNumbers extends FactoryCheckCLDR {
     /**
      * A number formatter used to show the English format for comparison.
      */
-    private static NumberFormat english = NumberFormat.getNumberInstance(ULocale.ENGLISH);
-    static {
+    private final NumberFormat english = NumberFormat.getNumberInstance(ULocale.ENGLISH);
+    {
         english.setMaximumFractionDigits(5);
     }
 
@@ -0,0 +1,166 @@
+package org.unicode.cldr.test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.unicode.cldr.test.ConsoleCheckCLDR.ErrorType;
+import org.unicode.cldr.test.ConsoleCheckCLDR.LocaleResult;
+import org.unicode.cldr.util.Counter;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.FileFingerprints;
+import org.unicode.cldr.util.LocaleIDParser;
+import org.unicode.cldr.util.PathUtilities;
+
+/**
+ * An on-disk cache of the ConsoleCheckCLDR results for each locale, so that a re-run only checks the locales
+ * whose inputs have changed. Each locale's result (its output and error counts) is stored in its own file,
+ * with a fingerprint of everything that went into it:
+ * <ul>
+ * <li>the options of the run (the checks, coverage, filters, phase, ...) and the source directories,</li>
+ * <li>the contents of the XML files for the locale and each of its parents, in each source directory,
+ * and of English (used for display names and examples),</li>
+ * <li>the contents of the shared (non-locale) data that the checks read: every file under the given shared
+ * directories, such as supplemental, validity, and dtd,</li>
+ * <li>the version of the code (the jar, or the class files, that the checks were loaded from).</li>
+ * </ul>
+ * A result is only reused if the fingerprint is the same.
+ * <p>
+ * Checks look at the whole resolved file (for example, for display name collisions), so results are cached
+ * per locale rather than per path: a change to any path in a locale's chain re-checks that locale.
+ * Results that failed to load are never cached, and the time a check took is not part of its result.
+ */
+public class CheckResultCache {
+    public static final String FORMAT_KEY = "crc-2";
+    private static final String END = "$END$";
+
+    private final File cacheDir;
+    private final Factory factory;
+    private final String englishDirectory;
+    private final byte[] runFingerprint;
+    private final FileFingerprints fingerprints = new FileFingerprints();
+
+    /**
+     * @param cacheDir the directory to keep the results in
+     * @param factory the factory the locales are checked with
+     * @param englishDirectory the directory that English (the display information) is loaded from
+     * @param settings everything about the run that can change the results (options, tests, ...)
+     * @param sharedDirectories the directories of non-locale data that the checks read
+     */
+    public CheckResultCache(File cacheDir, Factory factory, String englishDirectory, Collection<String> settings,
+        Collection<File> sharedDirectories) {
+        this(cacheDir, factory, englishDirectory, settings, sharedDirectories,
+            FileFingerprints.getCodeVersion(CheckCLDR.class));
+    }
+
+    // @VisibleForTesting
+    CheckResultCache(File cacheDir, Factory factory, String englishDirectory, Collection<String> settings,
+        Collection<File> sharedDirectories, String codeVersion) {
+        this.cacheDir = cacheDir;
+        this.factory = factory;
+        this.englishDirectory = englishDirectory;
+        List<String> items = new ArrayList<>();
+        items.add(FORMAT_KEY);
+        items.addAll(settings);
+        for (File dir : factory.getSourceDirectories()) {
+            items.add(PathUtilities.getNormalizedPathString(dir));
+        }
+        items.add(codeVersion);
+        for (File dir : sharedDirectories) {
+            fingerprints.addDirectory(items, dir);
+        }
+        runFingerprint = FileFingerprints.digest(items);
+        cacheDir.mkdirs();
+    }
+
+    /**
+     * Get the fingerprint of the inputs for checking a locale.
+     */
+    public String getFingerprint(String localeID) {
+        List<String> items = new ArrayList<>();
+        items.add(FileFingerprints.toHex(runFingerprint));
+        for (String locale = localeID; locale != null; locale = LocaleIDParser.getParent(locale)) {
+            items.add(locale);
+            List<File> dirs = factory.getSourceDirectoriesForLocale(locale);
+            if (dirs != null) {
+                for (File dir : dirs) {
+                    fingerprints.addFile(items, new File(dir, locale + ".xml"));
+                }
+            }
+        }
+        for (String locale = "en"; locale != null; locale = LocaleIDParser.getParent(locale)) {
+            fingerprints.addFile(items, new File(englishDirectory, locale + ".xml"));
+        }
+        return FileFingerprints.toHex(FileFingerprints.digest(items));
+    }
+
+    /**
+     * Get the cached result for a locale.
+     *
+     * @return null if there is none with the given fingerprint
+     */
+    public LocaleResult get(String localeID, String fingerprint) {
+        File file = getFile(localeID);
+        if (!file.canRead()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (!FORMAT_KEY.equals(in.readUTF())
+                || !localeID.equals(in.readUTF())
+                || !fingerprint.equals(in.readUTF())) {
+                return null;
+            }
+            byte[] output = new byte[in.readInt()];
+            in.readFully(output);
+            Counter<ErrorType> subtotal = new Counter<>(true);
+            for (int i = in.readInt(); i > 0; --i) {
+                subtotal.add(ErrorType.valueOf(in.readUTF()), in.readLong());
+            }
+            if (!END.equals(in.readUTF())) {
+                return null;
+            }
+            return new LocaleResult(localeID, output, subtotal, true);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable cached result " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Store the result for a locale. The file is written to a temporary file first and then moved into place,
+     * so that concurrent runs never see a partial file. If it can't be written, that is reported, and the
+     * locale is checked again next time.
+     */
+    public void put(String localeID, String fingerprint, LocaleResult result) {
+        if (!result.loaded || result.output == null) {
+            return;
+        }
+        File file = getFile(localeID);
+        try {
+            FileFingerprints.writeAtomically(file, out -> {
+                out.writeUTF(FORMAT_KEY);
+                out.writeUTF(localeID);
+                out.writeUTF(fingerprint);
+                out.writeInt(result.output.length);
+                out.write(result.output);
+                out.writeInt(result.subtotal.size());
+                for (ErrorType type : result.subtotal.keySet()) {
+                    out.writeUTF(type.name());
+                    out.writeLong(result.subtotal.getCount(type));
+                }
+                out.writeUTF(END);
+            });
+        } catch (IOException e) {
+            System.err.println("Couldn't cache the result for " + localeID + " in " + file + ": " + e);
+        }
+    }
+
+    private File getFile(String localeID) {
+        return new File(cacheDir, localeID + ".bin");
+    }
+}
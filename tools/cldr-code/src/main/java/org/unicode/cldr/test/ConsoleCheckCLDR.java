@@ -1,7 +1,9 @@
 package org.unicode.cldr.test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,7 +19,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.unicode.cldr.draft.FileUtilities;
 import org.unicode.cldr.test.CheckCLDR.CheckStatus;
@@ -116,9 +123,12 @@ public class ConsoleCheckCLDR {
         ID_VIEW = 18,
         SUBTYPE_FILTER = 19,
         SOURCE_ALL = 20,
-        BAILEY = 21
+        BAILEY = 21,
         // VOTE_RESOLVE2 = 21
-        ;
+        EXEMPLAR_ERROR = 22,
+        THREADS = 23,
+        SHARD = 24,
+        CACHE = 25;
 
     static final String SOURCE_DIRS = CLDRPaths.MAIN_DIRECTORY + "," + CLDRPaths.ANNOTATIONS_DIRECTORY + "," + CLDRPaths.SEED_DIRECTORY;
 
@@ -158,7 +168,15 @@ public class ConsoleCheckCLDR {
             "Partially qualified directories. Standard subdirectories added if not specified (/main, /annotations, /subdivisions). (Conflicts with -s.)")
             .setMatch(".*").setFlag('S').setDefault("common,seed,exemplars")), //, 'S', <changed>),
         bailey(new Params().setHelp("check bailey values (" + CldrUtility.INHERITANCE_MARKER + ")")), //, 'b', UOption.NO_ARG)
-        exemplarError(new Params().setFlag('E').setHelp("include to force strict Exemplar check"));
+        exemplarError(new Params().setFlag('E').setHelp("include to force strict Exemplar check")),
+        threads(new Params().setHelp("Number of locales to check in parallel; the output is the same as with 1 (can't be used with -g, -v or -d)")
+            .setDefault("1").setMatch("[0-9]+").setFlag('j')),
+        shard(new Params().setHelp("Only check one of n contiguous parts of the locales, eg --shard 3/16 for the 4th of 16 (numbered from 0); "
+            + "concatenating the output of all the parts in order gives the output of a full run, with totals per part")
+            .setMatch("[0-9]+/[0-9]+").setFlag('H')),
+        cache(new Params().setHelp("Directory for cached per-locale results; locales whose data, options and code haven't changed "
+            + "since they were cached aren't checked again (can't be used with -g, -v or -d)")
+            .setMatch(".*").setFlag('C'));
 
         // BOILERPLATE TO COPY
         final Option option;
@@ -202,7 +220,10 @@ public class ConsoleCheckCLDR {
         UOption.create("subtype_filter", 'y', UOption.REQUIRES_ARG),
         UOption.create("source_all", 'S', UOption.OPTIONAL_ARG).setDefault("common,seed,exemplars"),
         UOption.create("bailey", 'b', UOption.NO_ARG),
-        UOption.create("exemplarError", 'E', UOption.NO_ARG)
+        UOption.create("exemplarError", 'E', UOption.NO_ARG),
+        UOption.create("threads", 'j', UOption.REQUIRES_ARG).setDefault("1"),
+        UOption.create("shard", 'H', UOption.REQUIRES_ARG),
+        UOption.create("cache", 'C', UOption.REQUIRES_ARG),
         // UOption.create("vote resolution2", 'w', UOption.OPTIONAL_ARG).setDefault(Utility.BASE_DIRECTORY +
         // "incoming/vetted/main/votes/"),
     };
@@ -242,10 +263,106 @@ public class ConsoleCheckCLDR {
         "-u \t User, eg -uu148",
         "-y \t error/warning subtype filter, eg unexpectedOrderOfEraYear",
         "-b \t check bailey values (" + CldrUtility.INHERITANCE_MARKER + ")",
+        "-jn \t Check n locales in parallel",
+        "--shard i/n \t Only check the i-th (from 0) of n contiguous parts of the locales",
+        "-Cdir \t Cache per-locale results in dir, and reuse them if nothing they depend on has changed",
     };
 
-    static Counter<ErrorType> subtotalCount = new Counter<>(true); // new ErrorCount();
+    // Each locale is checked on a single thread, which can be a worker thread with -j. These hold the output
+    // and error counts for the locale being checked by the current thread; see checkLocale().
+    private static final ThreadLocal<PrintStream> localeOut = ThreadLocal.withInitial(() -> System.out);
+    static final ThreadLocal<Counter<ErrorType>> subtotalCount = ThreadLocal.withInitial(() -> new Counter<>(true)); // new ErrorCount();
     static Counter<ErrorType> totalCount = new Counter<>(true);
+    // The time the check of the current thread's locale took, if it finished. This is written after the locale's
+    // output rather than as part of it, so that results replayed from the -C cache don't show the time of the run
+    // that cached them.
+    static final ThreadLocal<String> elapsedTime = new ThreadLocal<>();
+
+    static PrintStream out() {
+        return localeOut.get();
+    }
+
+    /**
+     * Checks a single locale, writing to out().
+     */
+    interface LocaleCheck {
+        /**
+         * @return false if the locale couldn't be loaded (a fatal error)
+         */
+        boolean check(String localeID) throws IOException;
+    }
+
+    static final class LocaleResult {
+        final String localeID;
+        final byte[] output; // null if written directly to System.out
+        final Counter<ErrorType> subtotal;
+        final boolean loaded;
+        final String elapsedTime; // null if not checked in this run (or the check stopped early); not cached
+
+        LocaleResult(String localeID, byte[] output, Counter<ErrorType> subtotal, boolean loaded) {
+            this(localeID, output, subtotal, loaded, null);
+        }
+
+        LocaleResult(String localeID, byte[] output, Counter<ErrorType> subtotal, boolean loaded, String elapsedTime) {
+            this.localeID = localeID;
+            this.output = output;
+            this.subtotal = subtotal;
+            this.loaded = loaded;
+            this.elapsedTime = elapsedTime;
+        }
+    }
+
+    /**
+     * Check a locale on the current thread, writing the output to System.out if direct is true,
+     * otherwise to a buffer in the result. If there is a cache, the result is taken from it if possible,
+     * and otherwise stored in it.
+     */
+    private static LocaleResult checkLocale(LocaleCheck check, String localeID, boolean direct,
+        CheckResultCache cache) throws IOException {
+        if (cache == null) {
+            return checkLocale(check, localeID, direct);
+        }
+        String fingerprint = cache.getFingerprint(localeID);
+        LocaleResult result = cache.get(localeID, fingerprint);
+        if (result == null) {
+            result = checkLocale(check, localeID, false);
+            cache.put(localeID, fingerprint, result);
+        }
+        return result;
+    }
+
+    private static LocaleResult checkLocale(LocaleCheck check, String localeID, boolean direct) throws IOException {
+        ByteArrayOutputStream buffer = direct ? null : new ByteArrayOutputStream();
+        localeOut.set(direct ? System.out : new PrintStream(buffer, false));
+        subtotalCount.get().clear();
+        elapsedTime.remove();
+        try {
+            boolean loaded = check.check(localeID);
+            out().flush();
+            return new LocaleResult(localeID, direct ? null : buffer.toByteArray(),
+                new Counter<ErrorType>(true).addAll(subtotalCount.get()), loaded, elapsedTime.get());
+        } finally {
+            localeOut.remove();
+            elapsedTime.remove();
+        }
+    }
+
+    /**
+     * Get the contiguous part of the locales for the shard "i/n", or all of them if the shard is null.
+     */
+    static List<String> getShard(Collection<String> locales, String shard) {
+        List<String> all = new ArrayList<>(locales);
+        if (shard == null) {
+            return all;
+        }
+        String[] parts = shard.split("/");
+        int index = Integer.parseInt(parts[0]);
+        int count = Integer.parseInt(parts[1]);
+        if (count <= 0 || index >= count) {
+            throw new IllegalArgumentException("--shard " + shard + "\t is invalid: must be i/n, with 0 <= i < n");
+        }
+        return all.subList((int) ((long) all.size() * index / count), (int) ((long) all.size() * (index + 1) / count));
+    }
 
     /**
      * This will be the test framework way of using these tests. It is preliminary for now.
@@ -274,9 +391,8 @@ public class ConsoleCheckCLDR {
         }
         String checkFilter = options[TEST_FILTER].value;
         String subtypeFilterString = options[SUBTYPE_FILTER].value;
-        EnumSet<Subtype> subtypeFilter = null;
-        if (subtypeFilterString != null) {
-            subtypeFilter = EnumSet.noneOf(Subtype.class);
+        final EnumSet<Subtype> subtypeFilter = subtypeFilterString == null ? null : EnumSet.noneOf(Subtype.class);
+        if (subtypeFilter != null) {
             Matcher m = PatternCache.get(subtypeFilterString).matcher("");
             for (Subtype value : Subtype.values()) {
                 if (m.reset(value.toString()).find() || m.reset(value.name()).find()) {
@@ -298,10 +414,7 @@ public class ConsoleCheckCLDR {
         boolean showAll = options[SHOWALL].doesOccur;
         boolean checkFlexibleDates = options[DATE_FORMATS].doesOccur;
         String pathFilterString = options[PATH_FILTER].value;
-        Matcher pathFilter = null;
-        if (!pathFilterString.equals(".*")) {
-            pathFilter = PatternCache.get(pathFilterString).matcher("");
-        }
+        final Pattern pathFilterPattern = pathFilterString.equals(".*") ? null : PatternCache.get(pathFilterString);
         boolean checkOnSubmit = options[CHECK_ON_SUBMIT].doesOccur;
         boolean noaliases = options[NO_ALIASES].doesOccur;
 
@@ -380,6 +493,9 @@ public class ConsoleCheckCLDR {
             }
         }
 
+        int threads = Integer.parseInt(options[THREADS].value);
+        String shard = options[SHARD].value;
+
         if (options[GENERATE_HTML].doesOccur) {
             coverageLevel = Level.MODERN; // reset
             ErrorFile.generated_html_directory = options[GENERATE_HTML].value;
@@ -436,31 +552,38 @@ public class ConsoleCheckCLDR {
         // set up the test
         Factory cldrFactory = SimpleFactory.make(sourceDirectories, factoryFilter)
             .setSupplementalDirectory(new File(CLDRPaths.SUPPLEMENTAL_DIRECTORY));
-        CompoundCheckCLDR checkCldr = CheckCLDR.getCheckAll(cldrFactory, checkFilter);
-        if (checkCldr.getFilteredTestList().size() == 0) {
-            throw new IllegalArgumentException("The filter doesn't match any tests.");
+        String cacheDirectory = options[CACHE].value;
+        if ((threads > 1 || cacheDirectory != null)
+            && (options[GENERATE_HTML].doesOccur || options[VOTE_RESOLVE].doesOccur || checkFlexibleDates)) {
+            throw new IllegalArgumentException("-j and -C can't be used with -g, -v or -d");
         }
-        System.out.println("filtered tests: " + checkCldr.getFilteredTests());
         Factory backCldrFactory = Factory.make(CLDRPaths.MAIN_DIRECTORY, factoryFilter)
             .setSupplementalDirectory(new File(CLDRPaths.SUPPLEMENTAL_DIRECTORY));
         english = backCldrFactory.make("en", true);
-
         CheckCLDR.setDisplayInformation(english);
-        checkCldr.setEnglishFile(english);
+
+        // CompoundCheckCLDR isn't thread-safe, so each thread gets its own.
+        final List<CompoundCheckCLDR> allChecks = Collections.synchronizedList(new ArrayList<>());
+        final ThreadLocal<CompoundCheckCLDR> checks = ThreadLocal.withInitial(() -> {
+            CompoundCheckCLDR check = CheckCLDR.getCheckAll(cldrFactory, checkFilter);
+            check.setEnglishFile(english);
+            allChecks.add(check);
+            return check;
+        });
+        CompoundCheckCLDR mainCheckCldr = checks.get();
+        if (mainCheckCldr.getFilteredTestList().size() == 0) {
+            throw new IllegalArgumentException("The filter doesn't match any tests.");
+        }
+        System.out.println("filtered tests: " + mainCheckCldr.getFilteredTests());
+
         setExampleGenerator(new ExampleGenerator(english, english, CLDRPaths.SUPPLEMENTAL_DIRECTORY));
-        PathShower pathShower = new PathShower();
 
         // call on the files
         Set<String> locales = new TreeSet<>(baseFirstCollator);
         locales.addAll(cldrFactory.getAvailable());
 
-        List<CheckStatus> result = new ArrayList<>();
-        Set<PathHeader> paths = new TreeSet<>(); // CLDRFile.ldmlComparator);
-        Map m = new TreeMap();
         // double testNumber = 0;
-        Map<String, String> options = new HashMap<>();
         FlexibleDateFromCLDR fset = new FlexibleDateFromCLDR();
-        Set<String> englishPaths = null;
 
         Set<String> fatalErrors = new TreeSet<>();
 
@@ -468,42 +591,58 @@ public class ConsoleCheckCLDR {
 
         supplementalDataInfo = SupplementalDataInfo.getInstance(CLDRPaths.SUPPLEMENTAL_DIRECTORY);
 
-        LocaleIDParser localeIDParser = new LocaleIDParser();
-        String lastBaseLanguage = "";
         PathHeader.Factory pathHeaderFactory = PathHeader.getFactory(english);
 
+        // also add the English paths
+        Set<String> englishPaths = new HashSet<>();
+        final CLDRFile displayFile = CheckCLDR.getDisplayInformation();
+        Matcher englishPathFilter = pathFilterPattern == null ? null : pathFilterPattern.matcher("");
+        addPrettyPaths(displayFile, englishPathFilter, pathHeaderFactory, noaliases, true, englishPaths);
+        addPrettyPaths(displayFile, displayFile.getExtraPaths(), englishPathFilter, pathHeaderFactory, noaliases,
+            true, englishPaths);
+        englishPaths = Collections.unmodifiableSet(englishPaths); // for robustness
+
+        final Level checkCoverageLevel = coverageLevel;
         final List<String> specialPurposeLocales = new ArrayList<>(Arrays.asList("en_US_POSIX", "en_ZZ"));
-        for (String localeID : locales) {
-            if (CLDRFile.isSupplementalName(localeID)) continue;
+        LocaleCheck localeCheck = localeID -> {
+            CompoundCheckCLDR checkCldr = checks.get();
+            List<CheckStatus> result = new ArrayList<>();
+            Set<PathHeader> paths = new TreeSet<>(); // CLDRFile.ldmlComparator);
+            Map m = new TreeMap();
+            Map<String, String> options = new HashMap<>();
+            Matcher pathFilter = pathFilterPattern == null ? null : pathFilterPattern.matcher("");
+            LocaleIDParser localeIDParser = new LocaleIDParser();
+            PathShower pathShower = new PathShower();
+
+            if (CLDRFile.isSupplementalName(localeID)) return true;
             if (supplementalDataInfo.getDefaultContentLocales().contains(localeID)) {
-                System.out.println("# Skipping default content locale: " + localeID);
-                continue;
+                out().println("# Skipping default content locale: " + localeID);
+                return true;
             }
 
             // We don't really need to check the POSIX locale, as it is a special purpose locale
             if (specialPurposeLocales.contains(localeID)) {
-                System.out.println("# Skipping special purpose locale: " + localeID);
-                continue;
+                out().println("# Skipping special purpose locale: " + localeID);
+                return true;
             }
 
             boolean isLanguageLocale = localeID.equals(localeIDParser.set(localeID).getLanguageScript());
-            options.clear();
 
             if (MyOptions.exemplarError.option.doesOccur()) {
                 options.put(Options.Option.exemplarErrors.toString(), "true");
             }
 
             // if the organization is set, skip any locale that doesn't have a value in Locales.txt
-            Level level = coverageLevel;
+            Level level = checkCoverageLevel;
             if (level == null) {
                 level = Level.BASIC;
             }
             if (organization != null) {
                 Map<String, Level> locale_status = StandardCodes.make().getLocaleToLevel(organization);
-                if (locale_status == null) continue;
+                if (locale_status == null) return true;
                 level = locale_status.get(localeID);
-                if (level == null) continue;
-                if (level.compareTo(Level.BASIC) <= 0) continue;
+                if (level == null) return true;
+                if (level.compareTo(Level.BASIC) <= 0) return true;
             } else if (!isLanguageLocale) {
                 // otherwise, skip all language locales
                 options.put(Options.Option.CheckCoverage_skip.getKey(), "true");
@@ -514,7 +653,7 @@ public class ConsoleCheckCLDR {
             options.put(Options.Option.phase.getKey(), phase.toString());
             //options.put(Options.Option.SHOW_TIMES.getKey(), "true");
 
-            if (SHOW_LOCALE) System.out.println();
+            if (SHOW_LOCALE) out().println();
 
             // options.put("CheckCoverage.requiredLevel","comprehensive");
 
@@ -534,18 +673,17 @@ public class ConsoleCheckCLDR {
                 }
                 //englishFile = cldrFactory.make("en", true);
             } catch (RuntimeException e) {
-                fatalErrors.add(localeID);
-                System.out.println("FATAL ERROR: " + localeID);
-                e.printStackTrace(System.out);
-                continue;
+                out().println("FATAL ERROR: " + localeID);
+                e.printStackTrace(out());
+                return false;
             }
 
             // generate HTML if asked for
             if (ErrorFile.generated_html_directory != null) {
                 String baseLanguage = localeIDParser.set(localeID).getLanguageScript();
 
-                if (!baseLanguage.equals(lastBaseLanguage)) {
-                    lastBaseLanguage = baseLanguage;
+                if (!baseLanguage.equals(lastHtmlBaseLanguage)) {
+                    lastHtmlBaseLanguage = baseLanguage;
                     ErrorFile.openErrorFile(localeID, baseLanguage);
                 }
 
@@ -559,8 +697,6 @@ public class ConsoleCheckCLDR {
             }
             checkCldr.setCldrFileToCheck(file, options, result);
 
-            subtotalCount.clear();
-
             for (Iterator<CheckStatus> it3 = result.iterator(); it3.hasNext();) {
                 CheckStatus status = it3.next();
                 String statusString = status.toString(); // com.ibm.icu.impl.Utility.escape(
@@ -581,16 +717,15 @@ public class ConsoleCheckCLDR {
                 }
                 showValue(file, null, localeID, null, null, null, null, statusString, status.getSubtype());
             }
-            paths.clear();
 
             CoverageInfo covInfo = cldrConf.getCoverageInfo();
             for (String path : file.fullIterable()) {
                 if (pathFilter != null && !pathFilter.reset(path).find()) {
                     continue;
                 }
-                if (coverageLevel != null) {
+                if (checkCoverageLevel != null) {
                     Level currentLevel = covInfo.getCoverageLevel(path, localeID);
-                    if (currentLevel.compareTo(coverageLevel) > 0) {
+                    if (currentLevel.compareTo(checkCoverageLevel) > 0) {
                         continue;
                     }
                 }
@@ -599,16 +734,6 @@ public class ConsoleCheckCLDR {
             // addPrettyPaths(file, pathFilter, prettyPathMaker, noaliases, false, paths);
             // addPrettyPaths(file, file.getExtraPaths(), pathFilter, prettyPathMaker, noaliases, false, paths);
 
-            // also add the English paths
-            // initialize the first time in.
-            if (englishPaths == null) {
-                englishPaths = new HashSet<>();
-                final CLDRFile displayFile = CheckCLDR.getDisplayInformation();
-                addPrettyPaths(displayFile, pathFilter, pathHeaderFactory, noaliases, true, englishPaths);
-                addPrettyPaths(displayFile, displayFile.getExtraPaths(), pathFilter, pathHeaderFactory, noaliases,
-                    true, englishPaths);
-                englishPaths = Collections.unmodifiableSet(englishPaths); // for robustness
-            }
             // paths.addAll(englishPaths);
 
             UnicodeSet missingExemplars = new UnicodeSet();
@@ -724,7 +849,7 @@ public class ConsoleCheckCLDR {
                                 m.clear();
                                 // m.put("pattern", fd.getPattern());
                                 // m.put("input", fd.getRandomInput());
-                                if (d.processPost(m)) System.out.println("\tDemo:\t" + fd.getPlainText(m));
+                                if (d.processPost(m)) out().println("\tDemo:\t" + fd.getPlainText(m));
                             }
                             continue;
                         }
@@ -783,8 +908,9 @@ public class ConsoleCheckCLDR {
                     .setCompressRanges(true)
                     .format(missingCurrencyExemplars));
             }
-            for (ErrorType type : subtotalCount.keySet()) {
-                showSummary(localeID, level, "Subtotal " + type + ":\t" + subtotalCount.getCount(type));
+            Counter<ErrorType> subtotal = subtotalCount.get();
+            for (ErrorType type : subtotal.keySet()) {
+                showSummary(localeID, level, "Subtotal " + type + ":\t" + subtotal.getCount(type));
             }
             if (checkFlexibleDates) {
                 fset.showFlexibles();
@@ -810,9 +936,15 @@ public class ConsoleCheckCLDR {
                     showExamples(checkCldr, prettyPath, localeID, path, null, fullPath, example);
                 }
             }
-            System.out.println("# Elapsed time: " + timer);
-            System.out.flush();
-        }
+            elapsedTime.set(timer.toString());
+            return true;
+        };
+
+        final CheckResultCache cache = cacheDirectory == null ? null
+            : new CheckResultCache(new File(cacheDirectory), cldrFactory, CLDRPaths.MAIN_DIRECTORY,
+                getCacheSettings(phase, mainCheckCldr), getSharedDirectories(cldrFactory));
+
+        checkLocales(localeCheck, getShard(locales, shard), threads, cache, fatalErrors);
 
         if (ErrorFile.errorFileWriter != null) {
             ErrorFile.closeErrorFile();
@@ -847,7 +979,113 @@ public class ConsoleCheckCLDR {
                 System.out.println(s + "=" + LogicalGrouping.typeCount.get(s));
             }
         }
-        checkCldr.handleFinish();
+        for (CompoundCheckCLDR check : allChecks) {
+            check.handleFinish();
+        }
+    }
+
+    /**
+     * Everything about the run that changes the results, for CheckResultCache.
+     */
+    private static List<String> getCacheSettings(Phase phase, CompoundCheckCLDR checkCldr) {
+        List<String> settings = new ArrayList<>();
+        for (int i = 0; i < options.length; ++i) {
+            if (i != THREADS && i != SHARD && i != CACHE && options[i].doesOccur) {
+                settings.add(options[i].longName + "=" + options[i].value);
+            }
+        }
+        settings.add("phase=" + phase);
+        settings.add("tests=" + checkCldr.getFilteredTests());
+        return settings;
+    }
+
+    /**
+     * The subdirectories of common with non-locale data that the checks (and the code they call, such as
+     * SupplementalDataInfo, Validity, DtdData, Annotations and ExampleGenerator) read. Collation, rbnf,
+     * segments, uca, and the test data aren't read, so changes to them don't invalidate cached results.
+     */
+    static final List<String> SHARED_SUBDIRECTORIES = Arrays.asList(
+        "annotations", "bcp47", "casing", "dtd", "properties", "subdivisions", "supplemental", "transforms", "validity");
+
+    /**
+     * The directories of non-locale data that the checks read, except any that are being checked as locales,
+     * for CheckResultCache.
+     */
+    private static List<File> getSharedDirectories(Factory cldrFactory) {
+        Set<String> localeDirectories = new HashSet<>();
+        for (File dir : cldrFactory.getSourceDirectories()) {
+            localeDirectories.add(PathUtilities.getNormalizedPathString(dir));
+        }
+        List<File> result = new ArrayList<>();
+        for (String subdirectory : SHARED_SUBDIRECTORIES) {
+            File dir = new File(CLDRPaths.COMMON_DIRECTORY, subdirectory);
+            if (!localeDirectories.contains(PathUtilities.getNormalizedPathString(dir))) {
+                result.add(dir);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check the locales with the given number of threads, writing their output to System.out and adding
+     * their error counts to totalCount, and the locales that couldn't be loaded to fatalErrors.
+     * Locales are checked in parallel, but their output is written in order, so it matches a sequential run.
+     */
+    static void checkLocales(LocaleCheck localeCheck, List<String> locales, int threads, CheckResultCache cache,
+        Set<String> fatalErrors) throws IOException {
+        if (threads <= 1) {
+            for (String localeID : locales) {
+                addResult(checkLocale(localeCheck, localeID, true, cache), fatalErrors);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<LocaleResult>> futures = new ArrayList<>();
+            for (String localeID : locales) {
+                futures.add(executor.submit(() -> checkLocale(localeCheck, localeID, false, cache)));
+            }
+            for (Future<LocaleResult> future : futures) {
+                addResult(getResult(future), fatalErrors);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LocaleResult getResult(Future<LocaleResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void addResult(LocaleResult result, Set<String> fatalErrors) {
+        if (result.output != null) {
+            System.out.write(result.output, 0, result.output.length);
+        }
+        if (result.elapsedTime != null) {
+            System.out.println("# Elapsed time: " + result.elapsedTime);
+        }
+        System.out.flush();
+        totalCount.addAll(result.subtotal);
+        if (!result.loaded) {
+            fatalErrors.add(result.localeID);
+        }
     }
 
     static class LocaleVotingData {
@@ -1006,7 +1244,8 @@ public class ConsoleCheckCLDR {
             if (shortStatus == ErrorType.unknown) {
                 throw new IllegalArgumentException("Unknown error type: " + statusString);
             } else if (shortStatus == ErrorType.warning) {
-                if (coverageMatcher.reset(statusString).find()) {
+                Matcher coverageMatcher = COVERAGE_PATTERN.matcher(statusString);
+                if (coverageMatcher.find()) {
                     shortStatus = ErrorType.valueOf(coverageMatcher.group(1));
                 }
             }
@@ -1417,7 +1656,7 @@ public class ConsoleCheckCLDR {
 
     private static void showSummary(String localeID, Level level, String value) {
         String line = "# " + getLocaleAndName(localeID) + "\tSummary\t" + level + "\t" + value;
-        System.out.println(line);
+        out().println(line);
     }
 
     private static void showExamples(CheckCLDR checkCldr, String prettyPath, String localeID,
@@ -1489,7 +1728,7 @@ public class ConsoleCheckCLDR {
 
     private static ExampleGenerator englishExampleGenerator;
 
-    static Matcher coverageMatcher = PatternCache.get("meet ([a-z]*) coverage").matcher(""); // HACK TODO fix
+    static final Pattern COVERAGE_PATTERN = PatternCache.get("meet ([a-z]*) coverage"); // HACK TODO fix
 
     private static void showHeaderLine() {
         if (SHOW_LOCALE) {
@@ -1506,7 +1745,7 @@ public class ConsoleCheckCLDR {
 
     private static PathDescription pathDescription = null;
 
-    private static String getIdString(String path, String value) {
+    private static synchronized String getIdString(String path, String value) {
         if (pathDescription == null) {
             pathDescription = new PathDescription(supplementalDataInfo, english, null, null,
                 PathDescription.ErrorHandling.CONTINUE);
@@ -1518,8 +1757,7 @@ public class ConsoleCheckCLDR {
     private static void showValue(CLDRFile cldrFile, String prettyPath, String localeID, String example,
         String path, String value, String fullPath, String statusString, Subtype subType) {
         ErrorType shortStatus = ErrorType.fromStatusString(statusString);
-        subtotalCount.add(shortStatus, 1);
-        totalCount.add(shortStatus, 1);
+        subtotalCount.get().add(shortStatus, 1);
         if (subType == null) {
             subType = Subtype.none;
         }
@@ -1529,7 +1767,10 @@ public class ConsoleCheckCLDR {
             String englishExample = null;
             final String englishPathValue = path == null ? null : getEnglishPathValue(path);
             if (SHOW_EXAMPLES && path != null) {
-                englishExample = ExampleGenerator.simplify(getExampleGenerator().getExampleHtml(path, englishPathValue));
+                ExampleGenerator englishExampleGenerator = getExampleGenerator();
+                synchronized (englishExampleGenerator) {
+                    englishExample = ExampleGenerator.simplify(englishExampleGenerator.getExampleHtml(path, englishPathValue));
+                }
             }
             englishExample = englishExample == null ? "" : englishExample;
             String cleanPrettyPath = path == null ? null : prettyPath; // prettyPathMaker.getOutputForm(prettyPath);
@@ -1548,7 +1789,7 @@ public class ConsoleCheckCLDR {
                     : "\t" + status.pathWhereFound);
 
             String idViewString = idView ? (path == null ? "\tNO_ID" : getIdString(path, value)) : "";
-            System.out.println(
+            out().println(
                 getLocaleAndName(localeID)
                 + (idViewString.isEmpty() ?
                     // + "\t" + subtotalCount.getCount(shortStatus)
@@ -1598,6 +1839,7 @@ public class ConsoleCheckCLDR {
     }
 
     static String lastHtmlLocaleID = "";
+    static String lastHtmlBaseLanguage = "";
     private static VoteResolver<String> voteResolver;
     private static String resolveVotesDirectory;
     private static boolean idView;
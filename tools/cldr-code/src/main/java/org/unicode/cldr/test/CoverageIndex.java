@@ -0,0 +1,288 @@
+package org.unicode.cldr.test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.unicode.cldr.util.CLDRPaths;
+import org.unicode.cldr.util.CldrUtility;
+import org.unicode.cldr.util.InputStreamFactory;
+import org.unicode.cldr.util.Level;
+import org.unicode.cldr.util.StringId;
+import org.unicode.cldr.util.SupplementalDataInfo;
+import org.unicode.cldr.util.SupplementalDataInfo.CoverageLevelInfo;
+import org.unicode.cldr.util.SupplementalDataInfo.CoverageVariableInfo;
+
+import com.ibm.icu.util.ICUUncheckedIOException;
+
+/**
+ * A precomputed table of coverage levels, from (path, target language) to Level, so that CoverageLevel2 can
+ * answer without evaluating the coverageLevels.xml regexes. Paths are keyed by their StringId.
+ * <p>
+ * The table is only used if it matches the data it was built from: the coverage rules and, per language,
+ * the coverage variables (target scripts, territories, etc.) are fingerprinted when the file is written,
+ * and checked against the live SupplementalDataInfo when it is used. Paths that aren't in the table fall back
+ * to the regexes.
+ * <p>
+ * To update the data file, use GenerateCoverageIndex.java.
+ */
+public class CoverageIndex {
+    public static final String FORMAT_KEY = "cvi-1";
+    public static final String COVERAGE_INDEX_DATA = "coverageIndex.data";
+
+    /**
+     * The file that CoverageLevel2 loads the index from, if it exists.
+     */
+    public static final String COVERAGE_INDEX_FILE = CldrUtility.getProperty("CLDR_COVERAGE_INDEX",
+        CLDRPaths.GEN_DIRECTORY + "coverage/" + COVERAGE_INDEX_DATA);
+
+    private static final Level[] LEVELS = Level.values();
+
+    private final long rulesFingerprint;
+    private final Map<String, LanguageLevels> languageToLevels;
+    private final Map<Long, Integer> pathIdToRow;
+
+    /**
+     * Validity of the default index against each SupplementalDataInfo it has been requested for.
+     */
+    private final Map<SupplementalDataInfo, Boolean> rulesMatch = new ConcurrentHashMap<>();
+
+    /**
+     * The levels for a single target language, in the same row order as the path ids.
+     */
+    public class LanguageLevels {
+        private final long fingerprint;
+        private final byte[] levels;
+
+        private LanguageLevels(long fingerprint, byte[] levels) {
+            this.fingerprint = fingerprint;
+            this.levels = levels;
+        }
+
+        /**
+         * Returns the level for the path, or null if the path isn't in the index.
+         */
+        public Level get(String path) {
+            Integer row = pathIdToRow.get(StringId.getId(path));
+            return row == null ? null : LEVELS[levels[row]];
+        }
+    }
+
+    private static class DefaultHolder {
+        private static final CoverageIndex DEFAULT = loadDefault();
+
+        private static CoverageIndex loadDefault() {
+            File file = new File(COVERAGE_INDEX_FILE);
+            if (!file.canRead()) {
+                return null;
+            }
+            try {
+                return read(file);
+            } catch (RuntimeException e) {
+                System.err.println("Coverage index not used, can't read " + file + ": " + e);
+                return null;
+            }
+        }
+    }
+
+    private CoverageIndex(long rulesFingerprint, Map<String, LanguageLevels> languageToLevels, Map<Long, Integer> pathIdToRow) {
+        this.rulesFingerprint = rulesFingerprint;
+        this.languageToLevels = languageToLevels;
+        this.pathIdToRow = pathIdToRow;
+    }
+
+    /**
+     * Get the levels from the default index file for a target language, if they are available and up to date
+     * with the SupplementalDataInfo; otherwise null.
+     */
+    public static LanguageLevels getLanguageLevels(SupplementalDataInfo sdi, String targetLanguage) {
+        CoverageIndex index = DefaultHolder.DEFAULT;
+        return index == null ? null : index.getLevels(sdi, targetLanguage);
+    }
+
+    /**
+     * Get the levels for a target language, if they are in this index and up to date
+     * with the SupplementalDataInfo; otherwise null.
+     */
+    public LanguageLevels getLevels(SupplementalDataInfo sdi, String targetLanguage) {
+        LanguageLevels result = languageToLevels.get(targetLanguage);
+        if (result == null) {
+            return null;
+        }
+        Boolean matches = rulesMatch.computeIfAbsent(sdi, x -> getRulesFingerprint(x) == rulesFingerprint);
+        if (!matches
+            || result.fingerprint != getLanguageFingerprint(targetLanguage, sdi.getCoverageVariableInfo(targetLanguage))) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of paths in the index
+     */
+    public int size() {
+        return pathIdToRow.size();
+    }
+
+    public Set<String> getLanguages() {
+        return Collections.unmodifiableSet(languageToLevels.keySet());
+    }
+
+    /**
+     * Write an index file.
+     *
+     * @param file
+     * @param sdi the data that the levels were computed from
+     * @param languageToPathToLevel for each target language, the levels of the paths. Every language must have the same paths.
+     */
+    public static void write(File file, SupplementalDataInfo sdi, Map<String, Map<String, Level>> languageToPathToLevel) throws IOException {
+        List<String> languages = new ArrayList<>(languageToPathToLevel.keySet());
+        Set<String> paths = languageToPathToLevel.isEmpty() ? Collections.<String> emptySet()
+            : languageToPathToLevel.values().iterator().next().keySet();
+        try (DataOutputStream dataOut = new DataOutputStream(new FileOutputStream(file))) {
+            dataOut.writeUTF(FORMAT_KEY);
+            dataOut.writeLong(getRulesFingerprint(sdi));
+            dataOut.writeInt(languages.size());
+            for (String language : languages) {
+                dataOut.writeUTF(language);
+                dataOut.writeLong(getLanguageFingerprint(language, sdi.getCoverageVariableInfo(language)));
+            }
+            dataOut.writeInt(paths.size());
+            byte[] row = new byte[languages.size()];
+            for (String path : paths) {
+                dataOut.writeLong(StringId.getId(path));
+                for (int i = 0; i < row.length; ++i) {
+                    Level level = languageToPathToLevel.get(languages.get(i)).get(path);
+                    if (level == null) {
+                        throw new IllegalArgumentException("No level for " + languages.get(i) + ", " + path);
+                    }
+                    row[i] = (byte) level.ordinal();
+                }
+                dataOut.write(row);
+            }
+            dataOut.writeUTF("$END$");
+        }
+    }
+
+    /**
+     * Read an index file.
+     */
+    public static CoverageIndex read(File file) {
+        try (DataInputStream dataIn = new DataInputStream(InputStreamFactory.createInputStream(file))) {
+            String key = dataIn.readUTF();
+            if (!FORMAT_KEY.equals(key)) {
+                throw new IllegalArgumentException("Mismatch in FORMAT_KEY: expected=" + FORMAT_KEY + ", read=" + key);
+            }
+            long rulesFingerprint = dataIn.readLong();
+            int languageCount = dataIn.readInt();
+            String[] languages = new String[languageCount];
+            long[] languageFingerprints = new long[languageCount];
+            for (int i = 0; i < languageCount; ++i) {
+                languages[i] = dataIn.readUTF();
+                languageFingerprints[i] = dataIn.readLong();
+            }
+            int pathCount = dataIn.readInt();
+            Map<Long, Integer> pathIdToRow = new HashMap<>(pathCount * 2);
+            byte[][] columns = new byte[languageCount][pathCount];
+            byte[] row = new byte[languageCount];
+            for (int i = 0; i < pathCount; ++i) {
+                pathIdToRow.put(dataIn.readLong(), i);
+                dataIn.readFully(row);
+                for (int j = 0; j < languageCount; ++j) {
+                    if (row[j] < 0 || row[j] >= LEVELS.length) {
+                        throw new IllegalArgumentException("Corrupted " + file + ", bad level: " + row[j]);
+                    }
+                    columns[j][i] = row[j];
+                }
+            }
+            String finalCheck = dataIn.readUTF();
+            if (!finalCheck.equals("$END$")) {
+                throw new IllegalArgumentException("Corrupted " + file);
+            }
+            CoverageIndex result = new CoverageIndex(rulesFingerprint, new HashMap<String, LanguageLevels>(), pathIdToRow);
+            for (int j = 0; j < languageCount; ++j) {
+                result.languageToLevels.put(languages[j], result.new LanguageLevels(languageFingerprints[j], columns[j]));
+            }
+            return result;
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException("Data Not Available", e);
+        }
+    }
+
+    /**
+     * A fingerprint of the coverage rules (coverageLevels.xml), used to detect a stale index.
+     */
+    static long getRulesFingerprint(SupplementalDataInfo sdi) {
+        List<String> items = new ArrayList<>();
+        for (CoverageLevelInfo ci : sdi.getCoverageLevelInfo()) {
+            items.add(ci.match);
+            items.add(ci.value.toString());
+            items.add(String.valueOf(ci.inLanguage));
+            items.add(sorted(ci.inScriptSet));
+            items.add(sorted(ci.inTerritorySet));
+        }
+        return fingerprint(items);
+    }
+
+    /**
+     * A fingerprint of the coverage variables for a language, used to detect a stale index.
+     */
+    static long getLanguageFingerprint(String targetLanguage, CoverageVariableInfo cvi) {
+        List<String> items = new ArrayList<>();
+        items.add(targetLanguage);
+        items.add(sorted(cvi.targetScripts));
+        items.add(sorted(cvi.targetTerritories));
+        items.add(sorted(cvi.calendars));
+        items.add(sorted(cvi.targetCurrencies));
+        items.add(sorted(cvi.targetTimeZones));
+        items.add(sorted(cvi.targetPlurals));
+        return fingerprint(items);
+    }
+
+    private static String sorted(Collection<String> items) {
+        return items == null ? "null" : new TreeSet<>(items).toString();
+    }
+
+    private static long fingerprint(List<String> items) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (String item : items) {
+                digest.update(item.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            byte[] hash = digest.digest();
+            long result = 0;
+            for (int i = 0; i < 8; ++i) {
+                result <<= 8;
+                result |= hash[i] & 0xFF;
+            }
+            return result;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("CoverageIndex{paths: ").append(size()).append(", languages: ");
+        for (Entry<String, LanguageLevels> entry : languageToLevels.entrySet()) {
+            result.append(entry.getKey()).append(' ');
+        }
+        return result.append('}').toString();
+    }
+}
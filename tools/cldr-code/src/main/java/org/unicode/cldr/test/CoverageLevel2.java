@@ -34,7 +34,7 @@ public class CoverageLevel2 {
      */
     private static final boolean DEBUG_LOOKUP = false;
 
-    private RegexLookup<Level> lookup = null;
+    private final RegexLookup<Level> lookup;
 
     enum SetMatchType {
         Target_Language, Target_Scripts, Target_Territories, Target_TimeZones, Target_Currencies, Target_Plurals, Calendar_List
@@ -91,7 +91,7 @@ public class CoverageLevel2 {
             if (!lstOK) {
                 return false;
             }
-            boolean result = super.find(item, context, info); // also sets matcher in RegexFinder
+            boolean result = super.find(item, context, info); // also sets info.value
             if (!result) {
                 return false;
             }
@@ -130,10 +130,16 @@ public class CoverageLevel2 {
         }
     }
 
-    private CoverageLevel2(SupplementalDataInfo sdi, String locale) {
+    /**
+     * Precomputed levels for this locale's language, or null if there is no (up to date) CoverageIndex.
+     */
+    private final CoverageIndex.LanguageLevels indexedLevels;
+
+    private CoverageLevel2(SupplementalDataInfo sdi, String locale, boolean useIndex) {
         myInfo.targetLanguage = new LanguageTagParser().set(locale).getLanguage();
         myInfo.cvi = sdi.getCoverageVariableInfo(myInfo.targetLanguage);
         lookup = sdi.getCoverageLookup();
+        indexedLevels = useIndex ? CoverageIndex.getLanguageLevels(sdi, myInfo.targetLanguage) : null;
     }
 
     /**
@@ -147,32 +153,48 @@ public class CoverageLevel2 {
      */
     @Deprecated
     public static CoverageLevel2 getInstance(String locale) {
-        return new CoverageLevel2(SupplementalDataInfo.getInstance(), locale);
+        return new CoverageLevel2(SupplementalDataInfo.getInstance(), locale, true);
     }
 
     public static CoverageLevel2 getInstance(SupplementalDataInfo sdi, String locale) {
-        return new CoverageLevel2(sdi, locale);
+        return new CoverageLevel2(sdi, locale, true);
+    }
+
+    /**
+     * Get an instance that always evaluates the coverage rules, ignoring any CoverageIndex.
+     * Used for building and verifying the index.
+     */
+    public static CoverageLevel2 getInstanceWithoutIndex(SupplementalDataInfo sdi, String locale) {
+        return new CoverageLevel2(sdi, locale, false);
     }
 
+    /**
+     * Get the coverage level for a path. Uses the CoverageIndex if available, otherwise the coverage rules.
+     * The lookup is shared by all instances, but it is reentrant, so this can be called from multiple threads at once.
+     */
     public Level getLevel(String path) {
         if (path == null) {
             return Level.UNDETERMINED;
         }
-        synchronized (lookup) { // synchronize on the class, since the Matchers are changed during the matching process
-            Level result;
-            if (DEBUG_LOOKUP) { // for testing
-                Output<String[]> checkItems = new Output<>();
-                Output<Finder> matcherFound = new Output<>();
-                List<String> failures = new ArrayList<>();
-                result = lookup.get(path, myInfo, checkItems, matcherFound, failures);
-                for (String s : failures) {
-                    System.out.println(s);
-                }
-            } else {
-                result = lookup.get(path, myInfo, null);
+        Level result;
+        if (indexedLevels != null) {
+            result = indexedLevels.get(path);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (DEBUG_LOOKUP) { // for testing
+            Output<String[]> checkItems = new Output<>();
+            Output<Finder> matcherFound = new Output<>();
+            List<String> failures = new ArrayList<>();
+            result = lookup.get(path, myInfo, checkItems, matcherFound, failures);
+            for (String s : failures) {
+                System.out.println(s);
             }
-            return result == null ? Level.COMPREHENSIVE : result;
+        } else {
+            result = lookup.get(path, myInfo, null);
         }
+        return result == null ? Level.COMPREHENSIVE : result;
     }
 
     public int getIntLevel(String path) {
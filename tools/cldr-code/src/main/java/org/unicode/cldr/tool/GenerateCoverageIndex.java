@@ -0,0 +1,103 @@
+package org.unicode.cldr.tool;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+import org.unicode.cldr.test.CoverageIndex;
+import org.unicode.cldr.test.CoverageLevel2;
+import org.unicode.cldr.tool.Option.Options;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.LanguageTagParser;
+import org.unicode.cldr.util.Level;
+import org.unicode.cldr.util.PathUtilities;
+import org.unicode.cldr.util.PatternCache;
+import org.unicode.cldr.util.SupplementalDataInfo;
+
+/**
+ * Build the CoverageIndex data file: the coverage level of every path found in the main locales,
+ * for every language of those locales. Rerun whenever the main data or coverageLevels.xml changes;
+ * a stale file is detected and ignored at runtime, so the regexes will be used instead.
+ */
+public class GenerateCoverageIndex {
+
+    final static Options myOptions = new Options()
+        .add("target", ".*", CoverageIndex.COVERAGE_INDEX_FILE,
+            "The file to write the index to.")
+        .add("file", ".*", ".*",
+            "Filter the locales whose paths and languages are included, using a regex argument.")
+        .add("verify", "Read the file back and check it against the coverage rules.");
+
+    public static void main(String[] args) throws IOException {
+        myOptions.parse(args, true);
+
+        final CLDRConfig config = CLDRConfig.getInstance();
+        final SupplementalDataInfo sdi = config.getSupplementalDataInfo();
+        final Factory factory = config.getCldrFactory();
+        final Matcher fileMatcher = PatternCache.get(myOptions.get("file").getValue()).matcher("");
+
+        // gather the paths and languages
+
+        Set<String> paths = new TreeSet<>();
+        Set<String> languages = new TreeSet<>();
+        LanguageTagParser ltp = new LanguageTagParser();
+        for (String locale : factory.getAvailable()) {
+            if (!fileMatcher.reset(locale).matches()) {
+                continue;
+            }
+            languages.add(ltp.set(locale).getLanguage());
+            CLDRFile cldrFile = factory.make(locale, true);
+            for (String path : cldrFile.fullIterable()) {
+                paths.add(path);
+            }
+        }
+        System.out.println("Paths: " + paths.size() + ", languages: " + languages.size());
+
+        // compute the levels from the rules, in parallel
+
+        Map<String, Map<String, Level>> languageToPathToLevel = new TreeMap<>();
+        for (String language : languages) {
+            CoverageLevel2 coverageLevel = CoverageLevel2.getInstanceWithoutIndex(sdi, language);
+            Map<String, Level> pathToLevel = new ConcurrentHashMap<>();
+            paths.parallelStream().forEach(path -> pathToLevel.put(path, coverageLevel.getLevel(path)));
+            languageToPathToLevel.put(language, new TreeMap<>(pathToLevel));
+        }
+
+        File file = new File(myOptions.get("target").getValue());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        System.out.println("Writing data: " + PathUtilities.getNormalizedPathString(file));
+        CoverageIndex.write(file, sdi, languageToPathToLevel);
+
+        if (myOptions.get("verify").doesOccur()) {
+            CoverageIndex index = CoverageIndex.read(file);
+            int errorCount = 0;
+            for (Entry<String, Map<String, Level>> entry : languageToPathToLevel.entrySet()) {
+                CoverageIndex.LanguageLevels levels = index.getLevels(sdi, entry.getKey());
+                if (levels == null) {
+                    System.out.println("Missing or stale language: " + entry.getKey());
+                    ++errorCount;
+                    continue;
+                }
+                for (Entry<String, Level> pathAndLevel : entry.getValue().entrySet()) {
+                    Level read = levels.get(pathAndLevel.getKey());
+                    if (read != pathAndLevel.getValue()) {
+                        System.out.println(entry.getKey() + "\t" + pathAndLevel.getKey()
+                            + "\texpected: " + pathAndLevel.getValue() + "\tread: " + read);
+                        ++errorCount;
+                    }
+                }
+            }
+            System.out.println("Verified: " + index + ", errors: " + errorCount);
+        }
+    }
+}
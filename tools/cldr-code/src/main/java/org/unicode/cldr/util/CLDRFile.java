@@ -31,7 +31,6 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -2845,107 +2844,119 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
     private static class DistinguishedXPath {
 
         public static final String stats() {
-            return "distinguishingMap:" + distinguishingMap.size() + " " +
-                "normalizedPathMap:" + normalizedPathMap.size();
+            return XPathCache.getStatistics();
         }
 
-        private static Map<String, String> distinguishingMap = new ConcurrentHashMap<>();
-        private static Map<String, String> normalizedPathMap = new ConcurrentHashMap<>();
+        /**
+         * The distinguishing path for an xpath, and its normalized path if different from the xpath.
+         * They are cached together, so that one can't be evicted without the other.
+         */
+        private static final class DistinguishedPaths {
+            final String distinguishing;
+            final String normalized;
 
-        static {
-            distinguishingMap.put("", ""); // seed this to make the code simpler
+            DistinguishedPaths(String distinguishing, String normalized) {
+                this.distinguishing = distinguishing;
+                this.normalized = normalized;
+            }
         }
 
+        private static final XPathCache<DistinguishedPaths> distinguishingMap = XPathCache.create("distinguishingMap");
+
         public static String getDistinguishingXPath(String xpath, String[] normalizedPath) {
-            //     synchronized (distinguishingMap) {
-            String result = distinguishingMap.get(xpath);
-            if (result == null) {
-                XPathParts distinguishingParts = XPathParts.getFrozenInstance(xpath).cloneAsThawed(); // not frozen, for removeAttributes
+            if (xpath.isEmpty()) {
+                if (normalizedPath != null) {
+                    normalizedPath[0] = xpath;
+                }
+                return xpath;
+            }
+            DistinguishedPaths paths = distinguishingMap.get(xpath, DistinguishedXPath::computeDistinguishedPaths);
+            if (normalizedPath != null) {
+                normalizedPath[0] = paths.normalized == null ? xpath : paths.normalized;
+            }
+            return paths.distinguishing;
+        }
 
-                DtdType type = distinguishingParts.getDtdData().dtdType;
-                Set<String> toRemove = new HashSet<>();
+        private static DistinguishedPaths computeDistinguishedPaths(String xpath) {
+            String normalized = null;
+            XPathParts distinguishingParts = XPathParts.getFrozenInstance(xpath).cloneAsThawed(); // not frozen, for removeAttributes
 
-                // first clean up draft and alt
-                String draft = null;
-                String alt = null;
-                String references = "";
-                // note: we only need to clean up items that are NOT on the last element,
-                // so we go up to size() - 1.
+            DtdType type = distinguishingParts.getDtdData().dtdType;
+            Set<String> toRemove = new HashSet<>();
 
-                // note: each successive item overrides the previous one. That's intended
+            // first clean up draft and alt
+            String draft = null;
+            String alt = null;
+            String references = "";
+            // note: we only need to clean up items that are NOT on the last element,
+            // so we go up to size() - 1.
 
-                for (int i = 0; i < distinguishingParts.size() - 1; ++i) {
-                    if (distinguishingParts.getAttributeCount(i) == 0) {
-                        continue;
-                    }
-                    toRemove.clear();
-                    Map<String, String> attributes = distinguishingParts.getAttributes(i);
-                    for (String attribute : attributes.keySet()) {
-                        if (attribute.equals("draft")) {
-                            draft = attributes.get(attribute);
-                            toRemove.add(attribute);
-                        } else if (attribute.equals("alt")) {
-                            alt = attributes.get(attribute);
-                            toRemove.add(attribute);
-                        } else if (attribute.equals("references")) {
-                            if (references.length() != 0) references += " ";
-                            references += attributes.get("references");
-                            toRemove.add(attribute);
-                        }
-                    }
-                    distinguishingParts.removeAttributes(i, toRemove);
-                }
-                if (draft != null || alt != null || references.length() != 0) {
-                    // get the last element that is not ordered.
-                    int placementIndex = distinguishingParts.size() - 1;
-                    while (true) {
-                        String element = distinguishingParts.getElement(placementIndex);
-                        if (!DtdData.getInstance(type).isOrdered(element)) break;
-                        --placementIndex;
-                    }
-                    if (draft != null) {
-                        distinguishingParts.putAttributeValue(placementIndex, "draft", draft);
-                    }
-                    if (alt != null) {
-                        distinguishingParts.putAttributeValue(placementIndex, "alt", alt);
-                    }
-                    if (references.length() != 0) {
-                        distinguishingParts.putAttributeValue(placementIndex, "references", references);
-                    }
-                    String newXPath = distinguishingParts.toString();
-                    if (!newXPath.equals(xpath)) {
-                        normalizedPathMap.put(xpath, newXPath); // store differences
-                    }
-                }
+            // note: each successive item overrides the previous one. That's intended
 
-                // now remove non-distinguishing attributes (if non-inheriting)
-                for (int i = 0; i < distinguishingParts.size(); ++i) {
-                    if (distinguishingParts.getAttributeCount(i) == 0) {
-                        continue;
-                    }
-                    String element = distinguishingParts.getElement(i);
-                    toRemove.clear();
-                    for (String attribute : distinguishingParts.getAttributeKeys(i)) {
-                        if (!isDistinguishing(type, element, attribute)) {
-                            toRemove.add(attribute);
-                        }
+            for (int i = 0; i < distinguishingParts.size() - 1; ++i) {
+                if (distinguishingParts.getAttributeCount(i) == 0) {
+                    continue;
+                }
+                toRemove.clear();
+                Map<String, String> attributes = distinguishingParts.getAttributes(i);
+                for (String attribute : attributes.keySet()) {
+                    if (attribute.equals("draft")) {
+                        draft = attributes.get(attribute);
+                        toRemove.add(attribute);
+                    } else if (attribute.equals("alt")) {
+                        alt = attributes.get(attribute);
+                        toRemove.add(attribute);
+                    } else if (attribute.equals("references")) {
+                        if (references.length() != 0) references += " ";
+                        references += attributes.get("references");
+                        toRemove.add(attribute);
                     }
-                    distinguishingParts.removeAttributes(i, toRemove);
                 }
-
-                result = distinguishingParts.toString();
-                if (result.equals(xpath)) { // don't save the copy if we don't have to.
-                    result = xpath;
+                distinguishingParts.removeAttributes(i, toRemove);
+            }
+            if (draft != null || alt != null || references.length() != 0) {
+                // get the last element that is not ordered.
+                int placementIndex = distinguishingParts.size() - 1;
+                while (true) {
+                    String element = distinguishingParts.getElement(placementIndex);
+                    if (!DtdData.getInstance(type).isOrdered(element)) break;
+                    --placementIndex;
+                }
+                if (draft != null) {
+                    distinguishingParts.putAttributeValue(placementIndex, "draft", draft);
+                }
+                if (alt != null) {
+                    distinguishingParts.putAttributeValue(placementIndex, "alt", alt);
+                }
+                if (references.length() != 0) {
+                    distinguishingParts.putAttributeValue(placementIndex, "references", references);
+                }
+                String newXPath = distinguishingParts.toString();
+                if (!newXPath.equals(xpath)) {
+                    normalized = newXPath; // store differences
                 }
-                distinguishingMap.put(xpath, result);
             }
-            if (normalizedPath != null) {
-                normalizedPath[0] = normalizedPathMap.get(xpath);
-                if (normalizedPath[0] == null) {
-                    normalizedPath[0] = xpath;
+
+            // now remove non-distinguishing attributes (if non-inheriting)
+            for (int i = 0; i < distinguishingParts.size(); ++i) {
+                if (distinguishingParts.getAttributeCount(i) == 0) {
+                    continue;
                 }
+                String element = distinguishingParts.getElement(i);
+                toRemove.clear();
+                for (String attribute : distinguishingParts.getAttributeKeys(i)) {
+                    if (!isDistinguishing(type, element, attribute)) {
+                        toRemove.add(attribute);
+                    }
+                }
+                distinguishingParts.removeAttributes(i, toRemove);
             }
-            return result;
+
+            String result = distinguishingParts.toString();
+            if (result.equals(xpath)) { // don't save the copy if we don't have to.
+                result = xpath;
+            }
+            return new DistinguishedPaths(result, normalized);
         }
 
         public Map<String, String> getNonDistinguishingAttributes(String fullPath, Map<String, String> result,
@@ -3185,6 +3196,19 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
         return result;
     }
 
+    /**
+     * Return the distinguished paths whose values contain the text, ignoring case and punctuation,
+     * best matches first: exact matches, then values starting with the text, then the rest.
+     *
+     * @param text
+     * @param pathPrefix only return paths that start with this; null or empty for all
+     * @param limit the maximum number of hits to return; -1 for all
+     * @return
+     */
+    public List<ValueSearchIndex.Hit> searchValues(String text, String pathPrefix, int limit) {
+        return dataSource.searchValues(text, pathPrefix, limit);
+    }
+
     /**
      * Return the distinguished paths that match the pathPrefix and pathMatcher
      * The pathMatcher can be null (equals .*).
@@ -3734,6 +3758,26 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
         return new CLDRFile(source);
     }
 
+    /**
+     * Get a frozen, flattened copy of this resolved file, in which getStringValue, getFullXPath and
+     * getSourceLocaleID are precomputed for all the paths, for read-only batch jobs.
+     * The copy doesn't reflect later changes to the underlying sources.
+     *
+     * @see ResolvedSnapshotSource
+     */
+    public CLDRFile getResolvedSnapshot() {
+        if (!isResolved()) {
+            throw new IllegalArgumentException("Only a resolved CLDRFile can have a resolved snapshot: " + getLocaleID());
+        }
+        if (dataSource instanceof ResolvedSnapshotSource) {
+            return this;
+        }
+        CLDRFile result = new CLDRFile(new ResolvedSnapshotSource(dataSource));
+        result.dtdType = dtdType;
+        result.dtdData = dtdData;
+        return result.freeze();
+    }
+
     public static Comparator<String> getAttributeValueComparator(String element, String attribute) {
         return DtdData.getAttributeValueComparator(DtdType.ldml, element, attribute);
     }
@@ -3747,7 +3791,7 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
      * Used only for TestExampleGenerator.
      */
     public void valueChanged(String xpath) {
-        if (isResolved()) {
+        if (dataSource instanceof ResolvingSource) {
             ResolvingSource resSource = (ResolvingSource) dataSource;
             resSource.valueChanged(xpath, resSource);
         }
@@ -802,13 +802,87 @@ public class DtdData extends XMLFileReader.SimpleHandler {
     }
 
     public class DtdComparator implements Comparator<String> {
+        private final XPathCache<SortKey> sortKeys = XPathCache.create("DtdComparator:" + dtdType);
+
+        /**
+         * Compares paths with their cached sort keys, so that sorting many paths doesn't look up elements
+         * and attributes in the DTD for each comparison. Paths that have no sort key (such as those with
+         * the fake elements or _q attributes used in diffing) are compared with {@link #xpathComparator}.
+         */
         @Override
         public int compare(String path1, String path2) {
+            SortKey keyA = getSortKey(path1);
+            SortKey keyB = getSortKey(path2);
+            if (keyA != SortKey.NONE && keyB != SortKey.NONE) {
+                return keyA.compareTo(keyB);
+            }
             XPathParts a = XPathParts.getFrozenInstance(path1);
             XPathParts b = XPathParts.getFrozenInstance(path2);
             return xpathComparator(a, b);
         }
 
+        /**
+         * Get the cached sort key for a path; SortKey.NONE if the path must be compared with xpathComparator.
+         */
+        SortKey getSortKey(String path) {
+            return sortKeys.get(path, this::makeSortKey);
+        }
+
+        /**
+         * Make the sort key of a path, with the same ordering as xpathComparator: for each element after
+         * the root, its position among the children of its parent; then for each attribute of the element
+         * in DTD order, whether it is present, and if so its value.
+         */
+        private SortKey makeSortKey(String path) {
+            XPathParts parts = XPathParts.getFrozenInstance(path);
+            if (!ROOT.name.equals(parts.getElement(0))) {
+                return SortKey.NONE;
+            }
+            List<Integer> ranks = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            List<Comparator<String>> comparators = new ArrayList<>();
+            Element parent = ROOT;
+            for (int i = 1; i < parts.size(); ++i) {
+                String elementName = parts.getElement(i);
+                Element element = elementName.startsWith("_") ? null : nameToElement.get(elementName);
+                Integer elementRank = element == null ? null : parent.children.get(element);
+                if (elementRank == null) {
+                    return SortKey.NONE;
+                }
+                ranks.add(elementRank);
+                values.add(null);
+                comparators.add(null);
+                Map<String, String> attributes = parts.getAttributes(i);
+                if (attributes.isEmpty()) {
+                    // all absent, as in xpathComparator
+                    for (int j = element.attributes.size(); j > 0; --j) {
+                        ranks.add(0);
+                        values.add(null);
+                        comparators.add(null);
+                    }
+                } else {
+                    int count = attributes.size();
+                    for (Attribute attribute : element.attributes.keySet()) {
+                        String value = attributes.get(attribute.name);
+                        ranks.add(value == null ? 0 : 1);
+                        values.add(null);
+                        comparators.add(null);
+                        if (value != null) {
+                            --count;
+                            ranks.add(0);
+                            values.add(value);
+                            comparators.add(attribute.attributeValueComparator);
+                        }
+                    }
+                    if (count != 0) { // _q, or attributes that are not in the DTD
+                        return SortKey.NONE;
+                    }
+                }
+                parent = element;
+            }
+            return new SortKey(parts.size(), ranks, values, comparators);
+        }
+
         public int xpathComparator(XPathParts a, XPathParts b) {
             // there must always be at least one element
             String baseA = a.getElement(0);
@@ -895,6 +969,45 @@ public class DtdData extends XMLFileReader.SimpleHandler {
         }
     }
 
+    /**
+     * A precomputed sort key for a path, made by DtdComparator. It is a sequence of ranks, which are
+     * compared as integers, except where there is an attribute value, which is compared with the
+     * attribute's value comparator.
+     */
+    static final class SortKey implements Comparable<SortKey> {
+        static final SortKey NONE = new SortKey(0, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        private final int size;
+        private final int[] ranks;
+        private final String[] values;
+        private final List<Comparator<String>> comparators;
+
+        private SortKey(int size, List<Integer> ranks, List<String> values, List<Comparator<String>> comparators) {
+            this.size = size;
+            this.ranks = new int[ranks.size()];
+            for (int i = 0; i < this.ranks.length; ++i) {
+                this.ranks[i] = ranks.get(i);
+            }
+            this.values = values.toArray(new String[values.size()]);
+            this.comparators = new ArrayList<>(comparators);
+        }
+
+        @Override
+        public int compareTo(SortKey other) {
+            int min = Math.min(ranks.length, other.ranks.length);
+            for (int i = 0; i < min; ++i) {
+                if (ranks[i] != other.ranks[i]) {
+                    return ranks[i] - other.ranks[i];
+                }
+                String value = values[i];
+                if (value != null && !value.equals(other.values[i])) {
+                    return comparators.get(i).compare(value, other.values[i]);
+                }
+            }
+            return size - other.size;
+        }
+    }
+
     public MapComparator<String> getAttributeComparator() {
         return attributeComparator;
     }
@@ -4,14 +4,22 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.unicode.cldr.util.CLDRFile.DraftStatus;
 import org.unicode.cldr.util.CLDRLocale.SublocaleProvider;
 import org.unicode.cldr.util.XMLSource.ResolvingSource;
 
+import com.ibm.icu.util.ICUException;
+
 /**
  * A factory is the normal method to produce a set of CLDRFiles from a directory of XML files.
  * See SimpleFactory for a concrete subclass.
@@ -23,6 +31,11 @@ public abstract class Factory implements SublocaleProvider {
      */
     private static final boolean DEBUG_FACTORY = false;
 
+    /**
+     * The default for preload: stop loading new files once this percentage of the maximum heap is in use.
+     */
+    private static final int PRELOAD_MEMORY_PERCENT = Integer.parseInt(CldrUtility.getProperty("CLDR_PRELOAD_MEMORY_PERCENT", "75"));
+
     private File supplementalDirectory = null;
 
     /**
@@ -130,6 +143,58 @@ public abstract class Factory implements SublocaleProvider {
         return make(currentLocaleID, true, madeWithMinimalDraftStatus);
     }
 
+    /**
+     * Load the unresolved files for the locales in parallel, so that later calls to make() (resolved or not) find
+     * them already parsed and cached. Stops starting new files once CLDR_PRELOAD_MEMORY_PERCENT (default 75) of
+     * the maximum heap is in use.
+     *
+     * @param locales the locales to load
+     * @param parallelism the number of files to parse at the same time
+     * @return the time in nanoseconds taken to load each locale, in the order they finished; locales that weren't
+     *         loaded because of the memory budget are missing
+     */
+    public Map<String, Long> preload(Set<String> locales, int parallelism) {
+        return preload(locales, parallelism, Runtime.getRuntime().maxMemory() / 100 * PRELOAD_MEMORY_PERCENT);
+    }
+
+    /**
+     * Load the unresolved files for the locales in parallel, with an explicit memory budget.
+     *
+     * @param memoryBudget stop starting new files once this many bytes of heap are in use
+     * @see #preload(Set, int)
+     */
+    public Map<String, Long> preload(Set<String> locales, int parallelism, long memoryBudget) {
+        final Map<String, Long> result = Collections.synchronizedMap(new LinkedHashMap<String, Long>());
+        final Runtime runtime = Runtime.getRuntime();
+        final DraftStatus minimalDraftStatus = getMinimalDraftStatus();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (String locale : locales) {
+            tasks.add(() -> {
+                if (runtime.totalMemory() - runtime.freeMemory() > memoryBudget) {
+                    return null;
+                }
+                long start = System.nanoTime();
+                handleMake(locale, false, minimalDraftStatus);
+                result.put(locale, System.nanoTime() - start);
+                return null;
+            });
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ICUException("Interrupted while preloading", e);
+        } catch (ExecutionException e) {
+            throw new ICUException("Couldn't preload CLDR files", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
+
     public static XMLSource makeResolvingSource(List<XMLSource> sources) {
         return new ResolvingSource(sources);
     }
@@ -0,0 +1,172 @@
+package org.unicode.cldr.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fingerprints of the inputs of a tool, for tools that skip work whose inputs haven't changed, such as the
+ * ConsoleCheckCLDR result cache and incremental Ldml2JsonConverter runs. A fingerprint is the SHA-1 digest of
+ * a list of items: settings, and the hashes of the contents of files (see {@link #addFile(List, File)}).
+ * <p>
+ * Each instance remembers the hashes of the files it has read, so each file is only read once per run; use a
+ * new instance for each run.
+ */
+public class FileFingerprints {
+    private final Map<File, String> fileHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Add the name of a file and the hash of its contents ("none" if it can't be read) to the items.
+     */
+    public void addFile(List<String> items, File file) {
+        items.add(file.getName());
+        items.add(fileHashes.computeIfAbsent(file, FileFingerprints::hashFile));
+    }
+
+    /**
+     * Add every file under a directory, in order, to the items.
+     */
+    public void addDirectory(List<String> items, File dir) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            items.add(dir.getName() + ":none");
+            return;
+        }
+        for (File file : new TreeSet<>(Arrays.asList(files))) {
+            if (file.isDirectory()) {
+                addDirectory(items, file);
+            } else {
+                addFile(items, file);
+            }
+        }
+    }
+
+    /**
+     * @return the hex SHA-1 of the contents of the file, "none" if it can't be read, or "unreadable" if reading it
+     * fails
+     */
+    public static String hashFile(File file) {
+        if (!file.canRead()) {
+            return "none";
+        }
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            MessageDigest digest = getDigest();
+            byte[] buffer = new byte[0x10000];
+            for (int count; (count = in.read(buffer)) > 0;) {
+                digest.update(buffer, 0, count);
+            }
+            return toHex(digest.digest());
+        } catch (IOException e) {
+            return "unreadable";
+        }
+    }
+
+    /**
+     * Get the version of the code that a class was loaded from: a fingerprint of the path, length and modification
+     * time of the jar, or of each class file in the directory.
+     */
+    public static String getCodeVersion(Class<?> c) {
+        CodeSource codeSource = c.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return "unknown";
+        }
+        File location;
+        try {
+            location = new File(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return codeSource.getLocation().toString();
+        }
+        List<String> items = new ArrayList<>();
+        addCodeVersion(items, location);
+        return toHex(digest(items));
+    }
+
+    private static void addCodeVersion(List<String> items, File file) {
+        if (file.isDirectory()) {
+            File[] files = file.listFiles();
+            if (files != null) {
+                for (File child : new TreeSet<>(Arrays.asList(files))) {
+                    addCodeVersion(items, child);
+                }
+            }
+        } else {
+            items.add(file.getPath() + ":" + file.length() + ":" + file.lastModified());
+        }
+    }
+
+    /**
+     * @return the SHA-1 of the items, each followed by a zero byte so that ["ab", "c"] and ["a", "bc"] differ
+     */
+    public static byte[] digest(List<String> items) {
+        MessageDigest digest = getDigest();
+        for (String item : items) {
+            digest.update(item.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return digest.digest();
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    private static MessageDigest getDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Writes the contents of a file, for {@link FileFingerprints#writeAtomically(File, Contents)}.
+     */
+    public interface Contents {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Write a file by writing a temporary file in the same directory and then moving it into place, so that readers
+     * (including concurrent or later runs) never see a partial file.
+     */
+    public static void writeAtomically(File file, Contents contents) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        dir.mkdirs();
+        File temp = File.createTempFile(file.getName(), ".tmp", dir);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                contents.write(out);
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            temp.delete();
+        }
+    }
+}
@@ -2,7 +2,6 @@ package org.unicode.cldr.util;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -15,6 +14,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -350,9 +350,8 @@ public class PathHeader implements Comparable<PathHeader> {
     private final SubstringOrder codeSuborder;
 
     static final Pattern SEMI = PatternCache.get("\\s*;\\s*");
-    static final Matcher ALT_MATCHER = PatternCache.get(
-        "\\[@alt=\"([^\"]*+)\"]")
-        .matcher("");
+    static final Pattern ALT_PATTERN = PatternCache.get(
+        "\\[@alt=\"([^\"]*+)\"]");
 
     static final Collator alphabetic = CLDRConfig.getInstance().getCollatorRoot();
 
@@ -613,25 +612,30 @@ public class PathHeader implements Comparable<PathHeader> {
             .loadFromFile(
                 PathHeader.class,
                 "data/PathHeader.txt");
-        // synchronized with lookup
-        static final Output<String[]> args = new Output<>();
-        // synchronized with lookup
+        // synchronized with counter
         static final Counter<RawData> counter = new Counter<>();
-        // synchronized with lookup
-        static final Map<RawData, String> samples = new HashMap<>();
-        // synchronized with lookup
-        static long order;
-        static SubstringOrder suborder;
-
-        static final Map<String, PathHeader> cache = new HashMap<>();
-        // synchronized with cache
-        static final Map<SectionId, Map<PageId, SectionPage>> sectionToPageToSectionPage = new EnumMap<>(
-            SectionId.class);
-        static final Relation<SectionPage, String> sectionPageToPaths = Relation
-            .of(new TreeMap<SectionPage, Set<String>>(),
-                HashSet.class);
-        private static CLDRFile englishFile;
-        private Set<String> matchersFound = new HashSet<>();
+        static final Map<RawData, String> samples = new ConcurrentHashMap<>();
+
+        static final Map<String, PathHeader> cache = new ConcurrentHashMap<>();
+        static final Map<SectionId, Map<PageId, Set<String>>> sectionToPageToPaths = new ConcurrentHashMap<>();
+        private static volatile CLDRFile englishFile;
+        private Set<String> matchersFound = ConcurrentHashMap.newKeySet();
+
+        /**
+         * The values that the functions in fix() set while a PathHeader is being made. Each thread has its
+         * own, so that PathHeaders can be made concurrently without a lock around the lookup.
+         */
+        static class FixState {
+            String[] args;
+            long order;
+            SubstringOrder suborder;
+        }
+
+        private static final ThreadLocal<FixState> FIX_STATE = ThreadLocal.withInitial(FixState::new);
+
+        static FixState fixState() {
+            return FIX_STATE.get();
+        }
 
         /**
          * Create a factory for creating PathHeaders.
@@ -663,9 +667,7 @@ public class PathHeader implements Comparable<PathHeader> {
          * Use only when trying to find unmatched patterns
          */
         public void clearCache() {
-            synchronized (cache) {
-                cache.clear();
-            }
+            cache.clear();
         }
 
         /**
@@ -691,125 +693,74 @@ public class PathHeader implements Comparable<PathHeader> {
             if (path == null) {
                 throw new NullPointerException("Path cannot be null");
             }
-            synchronized (cache) {
-                PathHeader old = cache.get(path);
-                if (old != null) {
-                    return old;
-                }
+            PathHeader old = cache.get(path);
+            if (old != null) {
+                return old;
             }
-            synchronized (lookup) {
-                String cleanPath = path;
-                // special handling for alt
-                String alt = null;
-                int altPos = cleanPath.indexOf("[@alt=");
-                if (altPos >= 0 && !cleanPath.endsWith("/symbol[@alt=\"narrow\"]")) {
-                    if (ALT_MATCHER.reset(cleanPath).find()) {
-                        alt = ALT_MATCHER.group(1);
-                        cleanPath = cleanPath.substring(0, ALT_MATCHER.start())
-                            + cleanPath.substring(ALT_MATCHER.end());
-                        int pos = alt.indexOf("proposed");
-                        if (pos >= 0 && !path.startsWith("//ldml/collations")) {
-                            alt = pos == 0 ? null : alt.substring(0, pos - 1);
-                            // drop "proposed",
-                            // change "xxx-proposed" to xxx.
-                        }
-                    } else {
-                        throw new IllegalArgumentException();
-                    }
-                }
-                Output<Finder> matcherFound = new Output<>();
-                RawData data = lookup.get(cleanPath, null, args, matcherFound, failures);
-                if (data == null) {
-                    return null;
-                }
-                matchersFound.add(matcherFound.value.toString());
-                counter.add(data, 1);
-                if (!samples.containsKey(data)) {
-                    samples.put(data, cleanPath);
-                }
-                try {
-                    PathHeader result = new PathHeader(
-                        SectionId.forString(fix(data.section, 0)),
-                        PageId.forString(fix(data.page, 0)),
-                        fix(data.header, data.headerOrder),
-                        (int)order, // only valid after call to fix. TODO, make
-                        // this cleaner
-                        fix(data.code + (alt == null ? "" : ("-" + alt)), data.codeOrder),
-                        order, // only valid after call to fix
-                        suborder,
-                        data.status,
-                        path);
-                    synchronized (cache) {
-                        PathHeader old = cache.get(path);
-                        if (old == null) {
-                            cache.put(path, result);
-                        } else {
-                            result = old;
-                        }
-                        Map<PageId, SectionPage> pageToPathHeaders = sectionToPageToSectionPage
-                            .get(result.sectionId);
-                        if (pageToPathHeaders == null) {
-                            sectionToPageToSectionPage.put(result.sectionId, pageToPathHeaders = new EnumMap<>(PageId.class));
-                        }
-                        SectionPage sectionPage = pageToPathHeaders.get(result.pageId);
-                        if (sectionPage == null) {
-                            sectionPage = new SectionPage(result.sectionId, result.pageId);
-                            pageToPathHeaders.put(result.pageId, sectionPage);
-                        }
-                        sectionPageToPaths.put(sectionPage, path);
+            String cleanPath = path;
+            // special handling for alt
+            String alt = null;
+            int altPos = cleanPath.indexOf("[@alt=");
+            if (altPos >= 0 && !cleanPath.endsWith("/symbol[@alt=\"narrow\"]")) {
+                Matcher altMatcher = ALT_PATTERN.matcher(cleanPath);
+                if (altMatcher.find()) {
+                    alt = altMatcher.group(1);
+                    cleanPath = cleanPath.substring(0, altMatcher.start())
+                        + cleanPath.substring(altMatcher.end());
+                    int pos = alt.indexOf("proposed");
+                    if (pos >= 0 && !path.startsWith("//ldml/collations")) {
+                        alt = pos == 0 ? null : alt.substring(0, pos - 1);
+                        // drop "proposed",
+                        // change "xxx-proposed" to xxx.
                     }
-                    return result;
-                } catch (Exception e) {
-                    throw new IllegalArgumentException(
-                        "Probably mismatch in Page/Section enum, or too few capturing groups in regex for " + path,
-                        e);
+                } else {
+                    throw new IllegalArgumentException();
                 }
             }
-        }
-
-        private static class SectionPage implements Comparable<SectionPage> {
-            private final SectionId sectionId;
-            private final PageId pageId;
-
-            public SectionPage(SectionId sectionId, PageId pageId) {
-                this.sectionId = sectionId;
-                this.pageId = pageId;
-            }
-
-            @Override
-            public int compareTo(SectionPage other) {
-                // Within each section, order alphabetically if the integer
-                // orders are
-                // not different.
-                int result;
-                if (0 != (result = sectionId.compareTo(other.sectionId))) {
-                    return result;
-                }
-                if (0 != (result = pageId.compareTo(other.pageId))) {
-                    return result;
-                }
-                return 0;
+            Output<String[]> args = new Output<>();
+            Output<Finder> matcherFound = new Output<>();
+            RawData data = lookup.get(cleanPath, null, args, matcherFound, failures);
+            if (data == null) {
+                return null;
             }
-
-            @Override
-            public boolean equals(Object obj) {
-                PathHeader other;
-                try {
-                    other = (PathHeader) obj;
-                } catch (Exception e) {
-                    return false;
-                }
-                return sectionId == other.sectionId && pageId == other.pageId;
+            matchersFound.add(matcherFound.value.toString());
+            synchronized (counter) {
+                counter.add(data, 1);
             }
-
-            @Override
-            public int hashCode() {
-                return sectionId.hashCode() ^ pageId.hashCode();
+            samples.putIfAbsent(data, cleanPath);
+            PathHeader result;
+            try {
+                FixState state = fixState();
+                state.args = args.value;
+                SectionId sectionId = SectionId.forString(fix(data.section, 0));
+                PageId pageId = PageId.forString(fix(data.page, 0));
+                String header = fix(data.header, data.headerOrder);
+                int headerOrder = (int) state.order; // only valid after call to fix
+                String code = fix(data.code + (alt == null ? "" : ("-" + alt)), data.codeOrder);
+                result = new PathHeader(
+                    sectionId,
+                    pageId,
+                    header,
+                    headerOrder,
+                    code,
+                    state.order, // only valid after call to fix
+                    state.suborder,
+                    data.status,
+                    path);
+            } catch (Exception e) {
+                throw new IllegalArgumentException(
+                    "Probably mismatch in Page/Section enum, or too few capturing groups in regex for " + path,
+                    e);
             }
-            @Override
-            public String toString() {
-                return sectionId + " > " + pageId;
+            old = cache.putIfAbsent(path, result);
+            if (old != null) {
+                return old;
             }
+            sectionToPageToPaths
+                .computeIfAbsent(result.sectionId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(result.pageId, k -> ConcurrentHashMap.newKeySet())
+                .add(path);
+            return result;
         }
 
         /**
@@ -831,17 +782,12 @@ public class PathHeader implements Comparable<PathHeader> {
          */
         public static Set<String> getCachedPaths(SectionId sectionId, PageId page) {
             Set<String> target = new HashSet<>();
-            synchronized (cache) {
-                Map<PageId, SectionPage> pageToSectionPage = sectionToPageToSectionPage
-                    .get(sectionId);
-                if (pageToSectionPage == null) {
-                    return target;
-                }
-                SectionPage sectionPage = pageToSectionPage.get(page);
-                if (sectionPage == null) {
-                    return target;
-                }
-                Set<String> set = sectionPageToPaths.getAll(sectionPage);
+            Map<PageId, Set<String>> pageToPaths = sectionToPageToPaths.get(sectionId);
+            if (pageToPaths == null) {
+                return target;
+            }
+            Set<String> set = pageToPaths.get(page);
+            if (set != null) {
                 target.addAll(set);
             }
             return target;
@@ -1035,16 +981,17 @@ public class PathHeader implements Comparable<PathHeader> {
          */
         @Deprecated
         public Counter<CounterData> getInternalCounter() {
-            synchronized (lookup) {
-                Counter<CounterData> result = new Counter<>();
-                for (Map.Entry<Finder, RawData> foo : lookup) {
-                    Finder finder = foo.getKey();
-                    RawData data = foo.getValue();
-                    long count = counter.get(data);
-                    result.add(new CounterData(finder.toString(), data, samples.get(data)), count);
-                }
-                return result;
+            Counter<CounterData> result = new Counter<>();
+            for (Map.Entry<Finder, RawData> foo : lookup) {
+                Finder finder = foo.getKey();
+                RawData data = foo.getValue();
+                long count;
+                synchronized (counter) {
+                    count = counter.get(data);
+                }
+                result.add(new CounterData(finder.toString(), data, samples.get(data)), count);
             }
+            return result;
         }
 
         static Map<String, Transform<String, String>> functionMap = new HashMap<>();
@@ -1069,19 +1016,19 @@ public class PathHeader implements Comparable<PathHeader> {
         static {
             // Put any new functions used in PathHeader.txt in here.
             // To change the order of items within a section or heading, set
-            // order/suborder to be the relative position of the current item.
+            // fixState().order/suborder to be the relative position of the current item.
             functionMap.put("month", new Transform<String, String>() {
                 @Override
                 public String transform(String source) {
                     int m = Integer.parseInt(source);
-                    order = m;
+                    fixState().order = m;
                     return months[m - 1];
                 }
             });
             functionMap.put("count", new Transform<String, String>() {
                 @Override
                 public String transform(String source) {
-                    suborder = new SubstringOrder(source);
+                    fixState().suborder = new SubstringOrder(source);
                     return source;
                 }
             });
@@ -1090,7 +1037,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 public String transform(String source) {
                     int pos = source.indexOf('-');
                     source = pos + source.substring(pos);
-                    suborder = new SubstringOrder(source); // make 10000-...
+                    fixState().suborder = new SubstringOrder(source); // make 10000-...
                     // into 5-
                     return source;
                 }
@@ -1098,12 +1045,12 @@ public class PathHeader implements Comparable<PathHeader> {
             functionMap.put("currencySymbol", new Transform<String, String>() {
                 @Override
                 public String transform(String source) {
-                    order = 901;
+                    fixState().order = 901;
                     if (source.endsWith("narrow")) {
-                        order = 902;
+                        fixState().order = 902;
                     }
                     if (source.endsWith("variant")) {
-                        order = 903;
+                        fixState().order = 903;
                     }
                     return source;
                 }
@@ -1119,8 +1066,8 @@ public class PathHeader implements Comparable<PathHeader> {
                             continue;
                         }
                     }
-                    order = pos;
-                    suborder = new SubstringOrder(pos + "-" + source); //
+                    fixState().order = pos;
+                    fixState().suborder = new SubstringOrder(pos + "-" + source); //
                     return source;
                 }
             });
@@ -1128,7 +1075,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 @Override
                 public String transform(String source) {
                     int m = days.indexOf(source);
-                    order = m;
+                    fixState().order = m;
                     return source;
                 }
             });
@@ -1136,11 +1083,11 @@ public class PathHeader implements Comparable<PathHeader> {
                 @Override
                 public String transform(String source) {
                     try {
-                        order = dayPeriods.getNumericOrder(source);
+                        fixState().order = dayPeriods.getNumericOrder(source);
                     } catch (Exception e) {
                         // if an old item is tried, like "evening", this will fail.
                         // so that old data still works, hack this.
-                        order = Math.abs(source.hashCode() << 16);
+                        fixState().order = Math.abs(source.hashCode() << 16);
                     }
                     return source;
                 }
@@ -1165,7 +1112,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 @Override
                 public String transform(String source) {
                     String[] fields = source.split(":", 3);
-                    order = 0;
+                    fixState().order = 0;
                     final List<String> widthValues = Arrays.asList(
                         "wide", "abbreviated", "short", "narrow");
                     final List<String> calendarFieldValues = Arrays.asList(
@@ -1204,32 +1151,32 @@ public class PathHeader implements Comparable<PathHeader> {
                         .freeze();
 
                     if (calendarFieldValues.contains(fields[0])) {
-                        order = calendarFieldValues.indexOf(fields[0]) * 100;
+                        fixState().order = calendarFieldValues.indexOf(fields[0]) * 100;
                     } else {
-                        order = calendarFieldValues.size() * 100;
+                        fixState().order = calendarFieldValues.size() * 100;
                     }
 
                     if (fields[0].equals("Formats")) {
                         if (calendarFormatTypes.contains(fields[1])) {
-                            order += calendarFormatTypes.indexOf(fields[1]) * 10;
+                            fixState().order += calendarFormatTypes.indexOf(fields[1]) * 10;
                         } else {
-                            order += calendarFormatTypes.size() * 10;
+                            fixState().order += calendarFormatTypes.size() * 10;
                         }
                         if (calendarFormatSubtypes.contains(fields[2])) {
-                            order += calendarFormatSubtypes.indexOf(fields[2]);
+                            fixState().order += calendarFormatSubtypes.indexOf(fields[2]);
                         } else {
-                            order += calendarFormatSubtypes.size();
+                            fixState().order += calendarFormatSubtypes.size();
                         }
                     } else {
                         if (widthValues.contains(fields[1])) {
-                            order += widthValues.indexOf(fields[1]) * 10;
+                            fixState().order += widthValues.indexOf(fields[1]) * 10;
                         } else {
-                            order += widthValues.size() * 10;
+                            fixState().order += widthValues.size() * 10;
                         }
                         if (calendarContextTypes.contains(fields[2])) {
-                            order += calendarContextTypes.indexOf(fields[2]);
+                            fixState().order += calendarContextTypes.indexOf(fields[2]);
                         } else {
-                            order += calendarContextTypes.size();
+                            fixState().order += calendarContextTypes.size();
                         }
                     }
 
@@ -1259,7 +1206,7 @@ public class PathHeader implements Comparable<PathHeader> {
                     if (info == null) {
                         info = ScriptMetadata.getInfo("Zzzz");
                     }
-                    order = 100 - info.idUsage.ordinal();
+                    fixState().order = 100 - info.idUsage.ordinal();
                     return info.idUsage.name;
                 }
             });
@@ -1333,7 +1280,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 public String transform(String source) {
                     String territory = getSubdivisionsTerritory(source, null);
                     String container = Containment.getContainer(territory);
-                    order = Containment.getOrder(territory);
+                    fixState().order = Containment.getOrder(territory);
                     return englishFile.getName(CLDRFile.TERRITORY_NAME, container);
                 }
             });
@@ -1422,9 +1369,9 @@ public class PathHeader implements Comparable<PathHeader> {
                         "daylight-long",
                         "daylight-short");
                     if (codeValues.contains(source)) {
-                        order = codeValues.indexOf(source);
+                        fixState().order = codeValues.indexOf(source);
                     } else {
-                        order = codeValues.size();
+                        fixState().order = codeValues.size();
                     }
                     return source;
                 }
@@ -1452,9 +1399,9 @@ public class PathHeader implements Comparable<PathHeader> {
                         "fallbackFormat");
 
                     if (fieldOrder.contains(source)) {
-                        order = fieldOrder.indexOf(source);
+                        fixState().order = fieldOrder.indexOf(source);
                     } else {
-                        order = fieldOrder.size();
+                        fixState().order = fieldOrder.size();
                     }
 
                     String result = fieldNames.get(source);
@@ -1465,7 +1412,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 @Override
                 public String transform(String source) {
                     int m = unitOrder.indexOf(source);
-                    order = m;
+                    fixState().order = m;
                     return source.substring(source.indexOf('-') + 1);
                 }
             });
@@ -1475,7 +1422,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 @Override
                 public String transform(String source) {
                     Integer pos = Integer.valueOf(source) + 5;
-                    suborder = new SubstringOrder(pos.toString());
+                    fixState().suborder = new SubstringOrder(pos.toString());
                     return source;
                 }
             });
@@ -1486,7 +1433,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 public String transform(String source) {
                     if (PathHeader.UNIFORM_CONTINENTS) {
                         String container = getMetazonePageTerritory(source);
-                        order = Containment.getOrder(container);
+                        fixState().order = Containment.getOrder(container);
                         return englishFile.getName(CLDRFile.TERRITORY_NAME, container);
                     } else {
                         String continent = metazoneToContinent.get(source);
@@ -1589,7 +1536,7 @@ public class PathHeader implements Comparable<PathHeader> {
                     }
 
                     if (territory.equals("ZZ")) {
-                        order = 999;
+                        fixState().order = 999;
                         return englishFile.getName(CLDRFile.TERRITORY_NAME, territory) + ": " + source0;
                     } else {
                         return catFromTerritory.transform(territory) + ": "
@@ -1610,7 +1557,7 @@ public class PathHeader implements Comparable<PathHeader> {
                     }
 
                     if (territory.equals("ZZ")) {
-                        order = 999;
+                        fixState().order = 999;
                         subContinent = englishFile.getName(CLDRFile.TERRITORY_NAME, territory);
                     } else {
                         subContinent = catFromTerritory.transform(territory);
@@ -1658,7 +1605,7 @@ public class PathHeader implements Comparable<PathHeader> {
 
                 @Override
                 public String transform(String source) {
-                    order = getIndex(source, datefield);
+                    fixState().order = getIndex(source, datefield);
                     return source;
                 }
             });
@@ -1701,7 +1648,7 @@ public class PathHeader implements Comparable<PathHeader> {
 
                 @Override
                 public String transform(String source) {
-                    order = getIndex(source, relativeDateField) + 100;
+                    fixState().order = getIndex(source, relativeDateField) + 100;
                     return "Relative " + longNames[getIndex(source, relativeDateField)];
                 }
             });
@@ -1717,10 +1664,10 @@ public class PathHeader implements Comparable<PathHeader> {
                 @Override
                 public String transform(String source) {
                     String[] parts = source.split("-");
-                    order = getIndex(parts[0], symbols);
+                    fixState().order = getIndex(parts[0], symbols);
                     // e.g. "currencies-one"
                     if (parts.length > 1) {
-                        suborder = new SubstringOrder(parts[1]);
+                        fixState().suborder = new SubstringOrder(parts[1]);
                     }
                     return source;
                 }
@@ -1736,9 +1683,9 @@ public class PathHeader implements Comparable<PathHeader> {
                         "standard-scientific");
 
                     if (fieldOrder.contains(source)) {
-                        order = fieldOrder.indexOf(source);
+                        fixState().order = fieldOrder.indexOf(source);
                     } else {
-                        order = fieldOrder.size();
+                        fixState().order = fieldOrder.size();
                     }
 
                     return source;
@@ -1751,7 +1698,7 @@ public class PathHeader implements Comparable<PathHeader> {
                     // Put localeKeyTypePattern behind localePattern and
                     // localeSeparator.
                     if (source.equals("localeKeyTypePattern")) {
-                        order = 10;
+                        fixState().order = 10;
                     }
                     return source;
                 }
@@ -1761,14 +1708,14 @@ public class PathHeader implements Comparable<PathHeader> {
 
                 @Override
                 public String transform(String source) {
-                    order = getIndex(source, listParts);
+                    fixState().order = getIndex(source, listParts);
                     return source;
                 }
             });
             functionMap.put("alphaOrder", new Transform<String, String>() {
                 @Override
                 public String transform(String source) {
-                    order = 0;
+                    fixState().order = 0;
                     return source;
                 }
             });
@@ -1814,7 +1761,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 @Override
                 public String transform(String source) {
                     String minorCat = Emoji.getMinorCategory(source);
-                    order = Emoji.getEmojiMinorOrder(minorCat);
+                    fixState().order = Emoji.getEmojiMinorOrder(minorCat);
                     return minorCat;
                 }
             });
@@ -1827,7 +1774,7 @@ public class PathHeader implements Comparable<PathHeader> {
                 public String transform(String source) {
                     int dashPos = source.indexOf(' ');
                     String emoji = source.substring(0, dashPos);
-                    order = (Emoji.getEmojiToOrder(emoji) << 1) + (source.endsWith("name") ? 0 : 1);
+                    fixState().order = (Emoji.getEmojiToOrder(emoji) << 1) + (source.endsWith("name") ? 0 : 1);
                     return source;
                 }
             });
@@ -1856,19 +1803,9 @@ public class PathHeader implements Comparable<PathHeader> {
         }
 
         static class HyphenSplitter {
-            String main;
-            String extras;
-
             String split(String source) {
                 int hyphenPos = source.indexOf('-');
-                if (hyphenPos < 0) {
-                    main = source;
-                    extras = "";
-                } else {
-                    main = source.substring(0, hyphenPos);
-                    extras = source.substring(hyphenPos);
-                }
-                return main;
+                return hyphenPos < 0 ? source : source.substring(0, hyphenPos);
             }
         }
 
@@ -1884,9 +1821,10 @@ public class PathHeader implements Comparable<PathHeader> {
                 int debug = 0;
             }
             String oldInput = input;
-            input = RegexLookup.replace(input, args.value);
-            order = orderIn;
-            suborder = null;
+            FixState state = fixState();
+            input = RegexLookup.replace(input, state.args);
+            state.order = orderIn;
+            state.suborder = null;
             int pos = 0;
             while (true) {
                 int functionStart = input.indexOf('&', pos);
@@ -1916,16 +1854,16 @@ public class PathHeader implements Comparable<PathHeader> {
          * @return immutable set of paths in the file
          */
         public Set<String> pathsForFile(CLDRFile file) {
-            // make sure we cache all the path headers
+            // make sure we cache all the path headers; fromPath is reentrant, so fill the cache in parallel
             HashSet<String> filePaths = new HashSet<>();
             file.fullIterable().forEach(filePaths::add);
-            for (String path : filePaths) {
+            filePaths.parallelStream().forEach(path -> {
                 try {
                     fromPath(path); // call to make sure cached
                 } catch (Throwable t) {
                     // ... some other exception
                 }
-            }
+            });
             return Collections.unmodifiableSet(filePaths);
         }
 
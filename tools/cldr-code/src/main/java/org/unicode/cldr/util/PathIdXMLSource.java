@@ -0,0 +1,195 @@
+package org.unicode.cldr.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.unicode.cldr.util.XPathParts.Comments;
+
+import com.ibm.icu.util.VersionInfo;
+
+/**
+ * A frozen, compact XMLSource. Instead of maps from path strings, it holds a sorted array of path ids from
+ * {@link XPathIdTable}, with parallel arrays of values and full-path ids, so the (long, and mostly
+ * shared) path strings are stored once for all locales rather than once per locale.
+ * <p>
+ * Lookups are a hash lookup of the path id followed by a binary search. cloneAsThawed() returns a SimpleXMLSource.
+ */
+public class PathIdXMLSource extends XMLSource {
+    private final int[] pathIds;
+    private final String[] values;
+    private final int[] fullPathIds; // NO_ID where the full path is the same as the path; null if all are
+    private Comments xpath_comments;
+    private final VersionInfo dtdVersionInfo;
+    private volatile ValueSearchIndex valueIndex = null;
+    private final Object VALUE_TO_PATH_MUTEX = new Object();
+
+    /**
+     * Make a compact copy of the contents of another (unresolved) XMLSource.
+     */
+    public PathIdXMLSource(XMLSource source) {
+        if (source.isResolving()) {
+            throw new IllegalArgumentException("Can't make a PathIdXMLSource from a resolving source: " + source.getLocaleID());
+        }
+        setLocaleID(source.getLocaleID());
+        setNonInheriting(source.isNonInheriting());
+        setXMLNormalizingDtdType(source.getXMLNormalizingDtdType());
+        xpath_comments = source.getXpathComments();
+        dtdVersionInfo = source.getDtdVersionInfo();
+
+        int[] ids = new int[16];
+        int size = 0;
+        for (String path : source) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = XPathIdTable.getId(path);
+        }
+        pathIds = Arrays.copyOf(ids, size);
+        Arrays.sort(pathIds);
+        values = new String[size];
+        int[] fullIds = null;
+        for (int i = 0; i < size; ++i) {
+            String path = XPathIdTable.getPath(pathIds[i]);
+            values[i] = source.getValueAtDPath(path);
+            String fullPath = source.getFullPathAtDPath(path);
+            if (fullPath != null && !fullPath.equals(path)) {
+                if (fullIds == null) {
+                    fullIds = new int[size];
+                    Arrays.fill(fullIds, XPathIdTable.NO_ID);
+                }
+                fullIds[i] = XPathIdTable.getId(fullPath);
+            }
+        }
+        fullPathIds = fullIds;
+        locked = true;
+    }
+
+    private int indexOf(String path) {
+        return XPathIdTable.indexOf(pathIds, path);
+    }
+
+    @Override
+    public String getValueAtDPath(String path) {
+        int index = indexOf(path);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public boolean hasValueAtDPath(String path) {
+        return indexOf(path) >= 0;
+    }
+
+    @Override
+    public String getFullPathAtDPath(String path) {
+        int index = indexOf(path);
+        if (index < 0) {
+            return null;
+        }
+        if (fullPathIds == null || fullPathIds[index] == XPathIdTable.NO_ID) {
+            return XPathIdTable.getPath(pathIds[index]); // the shared instance
+        }
+        return XPathIdTable.getPath(fullPathIds[index]);
+    }
+
+    /**
+     * @return the number of paths
+     */
+    public int size() {
+        return pathIds.length;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return XPathIdTable.iterator(pathIds);
+    }
+
+    @Override
+    public Comments getXpathComments() {
+        return xpath_comments;
+    }
+
+    @Override
+    public void setXpathComments(Comments xpath_comments) {
+        this.xpath_comments = xpath_comments;
+    }
+
+    @Override
+    public VersionInfo getDtdVersionInfo() {
+        return dtdVersionInfo;
+    }
+
+    @Override
+    public void putFullPathAtDPath(String distinguishingXPath, String fullxpath) {
+        throw new UnsupportedOperationException("Attempt to modify locked object");
+    }
+
+    @Override
+    public void putValueAtDPath(String distinguishingXPath, String value) {
+        throw new UnsupportedOperationException("Attempt to modify locked object");
+    }
+
+    @Override
+    public void removeValueAtDPath(String distinguishingXPath) {
+        throw new UnsupportedOperationException("Attempt to modify locked object");
+    }
+
+    @Override
+    public XMLSource freeze() {
+        return this;
+    }
+
+    /**
+     * Returns a modifiable SimpleXMLSource with the same contents.
+     */
+    @Override
+    public XMLSource cloneAsThawed() {
+        SimpleXMLSource result = new SimpleXMLSource(getLocaleID());
+        for (int i = 0; i < pathIds.length; ++i) {
+            String path = XPathIdTable.getPath(pathIds[i]);
+            result.putValueAtDPath(path, values[i]);
+            if (fullPathIds != null && fullPathIds[i] != XPathIdTable.NO_ID) {
+                result.putFullPathAtDPath(path, XPathIdTable.getPath(fullPathIds[i]));
+            }
+        }
+        if (xpath_comments != null) {
+            result.setXpathComments((Comments) xpath_comments.clone());
+        }
+        result.setNonInheriting(isNonInheriting());
+        result.setXMLNormalizingDtdType(getXMLNormalizingDtdType());
+        result.setDtdVersionInfo(dtdVersionInfo);
+        return result;
+    }
+
+    private ValueSearchIndex getValueIndex() {
+        ValueSearchIndex result = valueIndex;
+        if (result == null) {
+            synchronized (VALUE_TO_PATH_MUTEX) {
+                result = valueIndex;
+                if (result == null) {
+                    result = new ValueSearchIndex();
+                    for (int i = 0; i < pathIds.length; ++i) {
+                        String value = values[i];
+                        if (value == null || CldrUtility.INHERITANCE_MARKER.equals(value)) {
+                            continue;
+                        }
+                        result.put(XPathIdTable.getPath(pathIds[i]), value);
+                    }
+                    valueIndex = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void getPathsWithValue(String valueToMatch, String pathPrefix, Set<String> result) {
+        getValueIndex().getPathsWithValue(valueToMatch, pathPrefix, result);
+    }
+
+    @Override
+    public List<ValueSearchIndex.Hit> searchValues(String text, String pathPrefix, int limit) {
+        return getValueIndex().search(text, pathPrefix, limit);
+    }
+}
@@ -25,16 +25,23 @@ import com.ibm.icu.util.ICUException;
 import com.ibm.icu.util.Output;
 
 /**
- * Very basic class for rational numbers. No attempt to optimize, since it will just
- * be used for testing within CLDR.
+ * Very basic class for rational numbers.
+ * <p>
+ * Numerators and denominators that fit in a long are stored and computed as longs; BigIntegers are only
+ * used when a result would overflow.
  *
  * @author markdavis
  *
  */
 public final class Rational implements Comparable<Rational> {
     private static final Pattern INT_POWER_10 = Pattern.compile("10*");
-    public final BigInteger numerator;
-    public final BigInteger denominator;
+
+    // Either both fit in a long, and are in num and den (with bigNumerator and bigDenominator null),
+    // or bigNumerator and bigDenominator hold them. So each value has exactly one representation.
+    private final long num;
+    private final long den;
+    private final BigInteger bigNumerator;
+    private final BigInteger bigDenominator;
 
     // Constraints:
     //   always stored in normalized form.
@@ -170,26 +177,62 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public static Rational of(long numerator, long denominator) {
-        return new Rational(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        return make(numerator, denominator);
     }
 
     public static Rational of(long numerator) {
-        return new Rational(BigInteger.valueOf(numerator), BigInteger.ONE);
+        return new Rational(numerator, 1);
     }
 
     public static Rational of(BigInteger numerator, BigInteger denominator) {
-        return new Rational(numerator, denominator);
+        return make(numerator, denominator);
     }
 
     public static Rational of(BigInteger numerator) {
-        return new Rational(numerator, BigInteger.ONE);
+        return make(numerator, BigInteger.ONE);
     }
 
     public static Rational of(String simple) {
         return RationalParser.BASIC.parse(simple);
     }
 
+    private Rational(long num, long den) {
+        this.num = num;
+        this.den = den;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
     private Rational(BigInteger numerator, BigInteger denominator) {
+        this.num = 0;
+        this.den = 0;
+        this.bigNumerator = numerator;
+        this.bigDenominator = denominator;
+    }
+
+    /**
+     * Make a normalized rational from longs.
+     */
+    private static Rational make(long numerator, long denominator) {
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return make(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        long gcd = gcd(numerator, denominator);
+        if (gcd > 1) {
+            numerator /= gcd;
+            denominator /= gcd;
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * Make a normalized rational from BigIntegers, using longs if they fit.
+     */
+    private static Rational make(BigInteger numerator, BigInteger denominator) {
         if (denominator.compareTo(BigInteger.ZERO) < 0) {
             numerator = numerator.negate();
             denominator = denominator.negate();
@@ -199,44 +242,121 @@ public final class Rational implements Comparable<Rational> {
             numerator = numerator.divide(gcd);
             denominator = denominator.divide(gcd);
         }
-        this.numerator = numerator;
-        this.denominator = denominator;
+        if (numerator.bitLength() < Long.SIZE && denominator.bitLength() < Long.SIZE) {
+            return new Rational(numerator.longValue(), denominator.longValue());
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * The greatest common divisor of the absolute values; 0 if both are 0.
+     * @throws ArithmeticException if either is Long.MIN_VALUE
+     */
+    private static long gcd(long a, long b) {
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            long temp = a % b;
+            a = b;
+            b = temp;
+        }
+        return a;
+    }
+
+    private boolean isLong() {
+        return bigNumerator == null;
+    }
+
+    public BigInteger getNumerator() {
+        return isLong() ? BigInteger.valueOf(num) : bigNumerator;
+    }
+
+    public BigInteger getDenominator() {
+        return isLong() ? BigInteger.valueOf(den) : bigDenominator;
     }
 
     public Rational add(Rational other) {
-        BigInteger gcd_den = denominator.gcd(other.denominator);
-        return new Rational(
-            numerator.multiply(other.denominator).divide(gcd_den)
-            .add(other.numerator.multiply(denominator).divide(gcd_den)),
-            denominator.multiply(other.denominator).divide(gcd_den)
+        if (isLong() && other.isLong()) {
+            try {
+                long gcd_den = gcd(den, other.den);
+                return make(
+                    Math.addExact(Math.multiplyExact(num, other.den / gcd_den), Math.multiplyExact(other.num, den / gcd_den)),
+                    Math.multiplyExact(den, other.den / gcd_den));
+            } catch (ArithmeticException e) {
+                // overflow (or 0 denominators); fall through to BigInteger
+            }
+        }
+        BigInteger numerator = getNumerator();
+        BigInteger denominator = getDenominator();
+        BigInteger otherNumerator = other.getNumerator();
+        BigInteger otherDenominator = other.getDenominator();
+        BigInteger gcd_den = denominator.gcd(otherDenominator);
+        return make(
+            numerator.multiply(otherDenominator).divide(gcd_den)
+            .add(otherNumerator.multiply(denominator).divide(gcd_den)),
+            denominator.multiply(otherDenominator).divide(gcd_den)
             );
     }
 
     public Rational subtract(Rational other) {
-        BigInteger gcd_den = denominator.gcd(other.denominator);
-        return new Rational(
-            numerator.multiply(other.denominator).divide(gcd_den)
-            .subtract(other.numerator.multiply(denominator).divide(gcd_den)),
-            denominator.multiply(other.denominator).divide(gcd_den)
+        if (isLong() && other.isLong()) {
+            try {
+                long gcd_den = gcd(den, other.den);
+                return make(
+                    Math.subtractExact(Math.multiplyExact(num, other.den / gcd_den), Math.multiplyExact(other.num, den / gcd_den)),
+                    Math.multiplyExact(den, other.den / gcd_den));
+            } catch (ArithmeticException e) {
+                // overflow (or 0 denominators); fall through to BigInteger
+            }
+        }
+        BigInteger numerator = getNumerator();
+        BigInteger denominator = getDenominator();
+        BigInteger otherNumerator = other.getNumerator();
+        BigInteger otherDenominator = other.getDenominator();
+        BigInteger gcd_den = denominator.gcd(otherDenominator);
+        return make(
+            numerator.multiply(otherDenominator).divide(gcd_den)
+            .subtract(otherNumerator.multiply(denominator).divide(gcd_den)),
+            denominator.multiply(otherDenominator).divide(gcd_den)
             );
     }
 
     public Rational multiply(Rational other) {
-        BigInteger gcd_num_oden = numerator.gcd(other.denominator);
+        if (isLong() && other.isLong()) {
+            try {
+                long gcd_num_oden = gcd(num, other.den);
+                long smallNum = gcd_num_oden == 0 ? num : num / gcd_num_oden;
+                long smallODen = gcd_num_oden == 0 ? other.den : other.den / gcd_num_oden;
+                long gcd_den_onum = gcd(den, other.num);
+                long smallONum = gcd_den_onum == 0 ? other.num : other.num / gcd_den_onum;
+                long smallDen = gcd_den_onum == 0 ? den : den / gcd_den_onum;
+                return make(Math.multiplyExact(smallNum, smallONum), Math.multiplyExact(smallDen, smallODen));
+            } catch (ArithmeticException e) {
+                // overflow; fall through to BigInteger
+            }
+        }
+        BigInteger numerator = getNumerator();
+        BigInteger denominator = getDenominator();
+        BigInteger otherNumerator = other.getNumerator();
+        BigInteger otherDenominator = other.getDenominator();
+        BigInteger gcd_num_oden = numerator.gcd(otherDenominator);
         boolean isZero = gcd_num_oden.equals(BigInteger.ZERO);
         BigInteger smallNum = isZero ? numerator : numerator.divide(gcd_num_oden);
-        BigInteger smallODen = isZero ? other.denominator : other.denominator.divide(gcd_num_oden);
+        BigInteger smallODen = isZero ? otherDenominator : otherDenominator.divide(gcd_num_oden);
 
-        BigInteger gcd_den_onum = denominator.gcd(other.numerator);
+        BigInteger gcd_den_onum = denominator.gcd(otherNumerator);
         isZero = gcd_den_onum.equals(BigInteger.ZERO);
-        BigInteger smallONum = isZero ? other.numerator : other.numerator.divide(gcd_den_onum);
+        BigInteger smallONum = isZero ? otherNumerator : otherNumerator.divide(gcd_den_onum);
         BigInteger smallDen = isZero ? denominator : denominator.divide(gcd_den_onum);
 
-        return new Rational(smallNum.multiply(smallONum), smallDen.multiply(smallODen));
+        return make(smallNum.multiply(smallONum), smallDen.multiply(smallODen));
     }
 
     public Rational pow(int i) {
-        return new Rational(numerator.pow(i), denominator.pow(i));
+        return make(getNumerator().pow(i), getDenominator().pow(i));
     }
 
     public static Rational pow10(int i) {
@@ -248,26 +368,29 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public Rational reciprocal() {
-        return new Rational(denominator, numerator);
+        return isLong() ? make(den, num) : make(bigDenominator, bigNumerator);
     }
 
     public Rational negate() {
-        return new Rational(numerator.negate(), denominator);
+        return isLong() && num != Long.MIN_VALUE ? new Rational(-num, den) : make(getNumerator().negate(), getDenominator());
     }
 
     public BigDecimal toBigDecimal(MathContext mathContext) {
         try {
-            return new BigDecimal(numerator).divide(new BigDecimal(denominator), mathContext);
+            return new BigDecimal(getNumerator()).divide(new BigDecimal(getDenominator()), mathContext);
         } catch (Exception e) {
             throw new IllegalArgumentException("Wrong math context for divide: " + this + ", " + mathContext);
         }
     }
 
     public double doubleValue() {
-        if (denominator.equals(BigInteger.ZERO) && numerator.equals(BigInteger.ZERO)) {
-            return Double.NaN;
+        if (isLong()) {
+            if (den == 0 && num == 0) {
+                return Double.NaN;
+            }
+            return BigDecimal.valueOf(num).divide(BigDecimal.valueOf(den), MathContext.DECIMAL64).doubleValue();
         }
-        return new BigDecimal(numerator).divide(new BigDecimal(denominator), MathContext.DECIMAL64).doubleValue();
+        return new BigDecimal(bigNumerator).divide(new BigDecimal(bigDenominator), MathContext.DECIMAL64).doubleValue();
     }
 
 
@@ -283,11 +406,11 @@ public final class Rational implements Comparable<Rational> {
         final int scale = bigDecimal.scale();
         final BigInteger unscaled = bigDecimal.unscaledValue();
         if (scale == 0) {
-            return new Rational(unscaled, BigInteger.ONE);
+            return make(unscaled, BigInteger.ONE);
         } else if (scale >= 0) {
-            return new Rational(unscaled, BigDecimal.ONE.movePointRight(scale).toBigInteger());
+            return make(unscaled, BigDecimal.ONE.movePointRight(scale).toBigInteger());
         } else {
-            return new Rational(unscaled.multiply(BigDecimal.ONE.movePointLeft(scale).toBigInteger()), BigInteger.ONE);
+            return make(unscaled.multiply(BigDecimal.ONE.movePointLeft(scale).toBigInteger()), BigInteger.ONE);
         }
     }
 
@@ -303,10 +426,13 @@ public final class Rational implements Comparable<Rational> {
     public String toString(FormatStyle style) {
         switch (style) {
         case plain:
-            return numerator + (denominator.equals(BigInteger.ONE) ? "" : " / " + denominator);
+            if (isLong()) {
+                return num + (den == 1 ? "" : " / " + den);
+            }
+            return bigNumerator + (bigDenominator.equals(BigInteger.ONE) ? "" : " / " + bigDenominator);
         }
-        Output<BigDecimal> newNumerator = new Output<>(new BigDecimal(numerator));
-        final BigInteger newDenominator = minimalDenominator(newNumerator, denominator);
+        Output<BigDecimal> newNumerator = new Output<>(new BigDecimal(getNumerator()));
+        final BigInteger newDenominator = minimalDenominator(newNumerator, getDenominator());
         final String numStr = format(newNumerator.value);
         final String denStr = nf.format(newDenominator).toString();
         final boolean denIsOne = newDenominator.equals(BigInteger.ONE);
@@ -351,7 +477,14 @@ public final class Rational implements Comparable<Rational> {
 
     @Override
     public int compareTo(Rational other) {
-        return numerator.multiply(other.denominator).compareTo(other.numerator.multiply(denominator));
+        if (isLong() && other.isLong()) {
+            try {
+                return Long.compare(Math.multiplyExact(num, other.den), Math.multiplyExact(other.num, den));
+            } catch (ArithmeticException e) {
+                // overflow; fall through to BigInteger
+            }
+        }
+        return getNumerator().multiply(other.getDenominator()).compareTo(other.getNumerator().multiply(getDenominator()));
     }
 
     @Override
@@ -360,17 +493,20 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public boolean equals(Rational that) {
-        return numerator.equals(that.numerator)
-            && denominator.equals(that.denominator);
+        if (isLong()) {
+            return that.isLong() && num == that.num && den == that.den;
+        }
+        return bigNumerator.equals(that.bigNumerator)
+            && bigDenominator.equals(that.bigDenominator);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(numerator, denominator);
+        return isLong() ? 31 * Long.hashCode(num) + Long.hashCode(den) : Objects.hash(bigNumerator, bigDenominator);
     }
 
     public Rational abs() {
-        return numerator.signum() >= 0 ? this : this.negate();
+        return (isLong() ? num >= 0 : bigNumerator.signum() >= 0) ? this : this.negate();
     }
 
     static final BigInteger BI_TWO = BigInteger.valueOf(2);
@@ -490,7 +626,10 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public BigInteger floor() {
-        return numerator.divide(denominator);
+        if (isLong()) {
+            return BigInteger.valueOf(num / den);
+        }
+        return bigNumerator.divide(bigDenominator);
     }
 
     public Rational symmetricDiff(Rational b) {
@@ -502,8 +641,8 @@ public final class Rational implements Comparable<Rational> {
 
     /** Return repeating fraction, as long as the length is reasonable */
     private String toRepeating(int stringLimit) {
-        BigInteger p = numerator;
-        BigInteger q = denominator;
+        BigInteger p = getNumerator();
+        BigInteger q = getDenominator();
         StringBuilder s = new StringBuilder();
 
         // Edge cases
@@ -555,8 +694,8 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public boolean isPowerOfTen() {
-        Output<BigDecimal> newNumerator = new Output<>(new BigDecimal(numerator));
-        final BigInteger newDenominator = minimalDenominator(newNumerator, denominator);
+        Output<BigDecimal> newNumerator = new Output<>(new BigDecimal(getNumerator()));
+        final BigInteger newDenominator = minimalDenominator(newNumerator, getDenominator());
         if (!newDenominator.equals(BigInteger.ONE)) {
             return false;
         }
@@ -570,6 +709,8 @@ public final class Rational implements Comparable<Rational> {
 
     public String getIntPowerOfTen() {
         // HACK, figure out better later
+        final BigInteger numerator = getNumerator();
+        final BigInteger denominator = getDenominator();
         if (numerator.compareTo(BigInteger.ZERO) < 0) {
             throw new IllegalArgumentException("Prefix label must be positive: " + this);
         }
@@ -25,8 +25,9 @@ import com.ibm.icu.text.Transform;
 import com.ibm.icu.util.Output;
 
 /**
- * Lookup items according to a set of regex patterns. Returns the value according to the first pattern that matches. Not
- * thread-safe.
+ * Lookup items according to a set of regex patterns. Returns the value according to the first pattern that matches.
+ * Building a lookup (add, load...) is not thread-safe, but once built, lookups (get, getAll) are: they don't modify
+ * any shared state, so a fully-built RegexLookup can be used from multiple threads without locking.
  *
  * @param <T>
  */
@@ -40,7 +41,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     private Transform<String, ? extends T> valueTransform;
     private Merger<T> valueMerger;
     private final boolean allowNull = false;
-    private static PathStarrer pathStarrer = new PathStarrer().setSubstitutionPattern("*");
 
     public enum LookupType {
         STAR_PATTERN_LOOKUP, OPTIMIZED_DIRECTORY_PATTERN_LOOKUP, STANDARD
@@ -110,12 +110,12 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         // must also define toString
     }
 
+    /**
+     * A Finder based on a java.util.regex.Pattern. Instances are immutable: each call
+     * to find/matches/getFailPoint uses its own Matcher, so a RegexFinder (and any RegexLookup
+     * built from them) can be shared across threads without synchronizing.
+     */
     public static class RegexFinder extends Finder {
-        /**
-         * The matcher used by this RegexFinder
-         */
-        private final Matcher matcher;
-
         /**
          * The Pattern used by this RegexFinder
          */
@@ -123,7 +123,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         public RegexFinder(String pattern) {
             this.pattern = Pattern.compile(pattern, Pattern.COMMENTS);
-            matcher = this.pattern.matcher("");
         }
 
         /**
@@ -132,27 +131,27 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
          */
         @Override
         public boolean matches(String item, Object context, Info info) {
-            synchronized (matcher) {
-                try {
-                    boolean result = matcher.reset(item).matches();
-                    extractInfo(info, result);
-                    return result;
-                } catch (StringIndexOutOfBoundsException e) {
-                    // We don't know what causes this error (cldrbug 5051) so
-                    // make the exception message more detailed.
-                    throw new IllegalArgumentException("Matching error caused by pattern: ["
-                        + matcher.toString() + "] on text: [" + item + "]", e);
-                }
+            Matcher matcher = pattern.matcher(item);
+            try {
+                boolean result = matcher.matches();
+                extractInfo(matcher, info, result);
+                return result;
+            } catch (StringIndexOutOfBoundsException e) {
+                // We don't know what causes this error (cldrbug 5051) so
+                // make the exception message more detailed.
+                throw new IllegalArgumentException("Matching error caused by pattern: ["
+                    + matcher.toString() + "] on text: [" + item + "]", e);
             }
         }
 
         /**
          * Extract match related information into  the info field, if result is true, and info
          * is not null.
+         * @param matcher
          * @param info
          * @param result
          */
-        private void extractInfo(Info info, boolean result) {
+        private static void extractInfo(Matcher matcher, Info info, boolean result) {
             if (result && info != null) {
                 int limit = matcher.groupCount() + 1;
                 String[] value = new String[limit];
@@ -169,23 +168,21 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
          */
         @Override
         public boolean find(String item, Object context, Info info) {
-            synchronized (matcher) {
-                try {
-                    boolean result = matcher.reset(item).find();
-                    extractInfo(info, result);
-                    return result;
-                } catch (StringIndexOutOfBoundsException e) {
-                    // We don't know what causes this error (cldrbug 5051) so
-                    // make the exception message more detailed.
-                    throw new IllegalArgumentException("Matching error caused by pattern: ["
-                        + matcher.toString() + "] on text: [" + item + "]", e);
-                }
+            Matcher matcher = pattern.matcher(item);
+            try {
+                boolean result = matcher.find();
+                extractInfo(matcher, info, result);
+                return result;
+            } catch (StringIndexOutOfBoundsException e) {
+                // We don't know what causes this error (cldrbug 5051) so
+                // make the exception message more detailed.
+                throw new IllegalArgumentException("Matching error caused by pattern: ["
+                    + matcher.toString() + "] on text: [" + item + "]", e);
             }
         }
 
         @Override
         public String toString() {
-            // Use pattern here, to avoid having to synchronize on matcher
             return pattern.pattern();
         }
 
@@ -205,9 +202,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         @Override
         public int getFailPoint(String source) {
-            synchronized (matcher) {
-                return RegexUtilities.findMismatch(matcher, source);
-            }
+            return RegexUtilities.findMismatch(pattern, source);
         }
     }
 
@@ -237,6 +232,12 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         private RTNode root;
         private int _size;
         private RTNodeRankComparator rankComparator = new RTNodeRankComparator();
+        private Comparator<RTMatch> matchRankComparator = new Comparator<RTMatch>() {
+            @Override
+            public int compare(RTMatch a, RTMatch b) {
+                return rankComparator.compare(a.node, b.node);
+            }
+        };
 
         public RegexTree() {
             root = new RTNode("", null);
@@ -261,31 +262,20 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         @Override
         public List<T> getAll(String pattern, Object context, List<Finder> matcherList, Output<String[]> firstInfo) {
-            List<RTNode> list = new ArrayList<>();
+            List<RTMatch> list = new ArrayList<>();
             List<T> retList = new ArrayList<>();
 
             root.addToList(pattern, context, list);
-            Collections.sort(list, rankComparator);
+            Collections.sort(list, matchRankComparator);
 
-            boolean isFirst = true;
             if (firstInfo != null && !list.isEmpty()) {
-                RTNode firstNode = list.get(0);
-                if (firstNode._info != null) {
-                    firstInfo.value = firstNode._info.value;
-                }
+                firstInfo.value = list.get(0).info;
             }
 
-            for (RTNode n : list) {
-                if (isFirst) {
-                    firstInfo.value = n._info.value;
-                    isFirst = false;
-                }
-            }
-
-            for (RTNode n : list) {
-                retList.add(n._val);
+            for (RTMatch m : list) {
+                retList.add(m.node._val);
                 if (matcherList != null) {
-                    matcherList.add(n._finder);
+                    matcherList.add(m.node._finder);
                 }
             }
 
@@ -342,7 +332,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 //                _finder = new RegexFinder(key);
 //                _val = val;
 //                _rank = -1;
-                _info = new Info();
             }
 
             public void put(RTNode node) {
@@ -468,33 +457,18 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             }
 
             //traverse tree to get list of all values who's key matcher matches pattern
-            public void addToList(String pattern, Object context, List<RTNode> list) {
+            //the match information is collected per call, so that the tree itself is never modified by a lookup
+            public void addToList(String pattern, Object context, List<RTMatch> list) {
                 if (_children.size() == 0) {
                     return;
                 } else {
-                    Info firstInfo = new Info();
                     for (RTNode child : _children) {
-                        boolean found;
-                        synchronized (child._finder) {
-                            found = child._finder.find(pattern, context, firstInfo);
-                        }
+                        Info info = new Info();
 
                         //check if child matches pattern
-                        if (found) {
+                        if (child._finder.find(pattern, context, info)) {
                             if (child._rank != -1) {
-                                list.add(child);
-                            }
-                            // if this node's info value is unset, set it to the result of the
-                            // lookup
-//                            if (child._info!=null && child._info.value==null) {
-                            if (child._info != null) {
-                                // set the value to the result of the last find
-                                child._info.value = firstInfo.value;
-                            } else {
-                                // for some reason, child._info is null, so simply initialize it.
-                                child._info = new Info();
-                                // set the value to the result of the last find
-                                child._info.value = firstInfo.value;
+                                list.add(new RTMatch(child, info.value));
                             }
                             //check if child is the parent of node then enter that node
                             child.addToList(pattern, context, list);
@@ -528,6 +502,19 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             }
         }
 
+        /**
+         * A node that matched during a single lookup, together with the group values of that match.
+         */
+        private class RTMatch {
+            final RTNode node;
+            final String[] info;
+
+            RTMatch(RTNode node, String[] info) {
+                this.node = node;
+                this.info = info;
+            }
+        }
+
         class RTNodeRankComparator implements Comparator<RTNode> {
             @Override
             public int compare(RTNode a, RTNode b) {
@@ -557,6 +544,13 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         private Map<String, List<SPNode>> _spmap;
         private int _size = 0;
 
+        /**
+         * PathStarrer keeps state, so a fresh one is used for each call rather than a shared instance.
+         */
+        private static String starPattern(String source) {
+            return new PathStarrer().setSubstitutionPattern("*").transform2(source);
+        }
+
         public StarPatternMap() {
             _spmap = new HashMap<>();
 //            _size = 0;
@@ -570,7 +564,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         @Override
         public void put(Finder pattern, T value) {
             //System.out.println("pattern.toString() is => "+pattern.toString());
-            String starPattern = pathStarrer.transform2(pattern.toString().replaceAll("\\(\\[\\^\"\\]\\*\\)", "*"));
+            String starPattern = starPattern(pattern.toString().replaceAll("\\(\\[\\^\"\\]\\*\\)", "*"));
             //System.out.println("Putting => "+starPattern);
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
@@ -584,7 +578,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         @Override
         public T get(Finder finder) {
-            String starPattern = pathStarrer.transform2(finder.toString());
+            String starPattern = starPattern(finder.toString());
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
                 return null;
@@ -602,7 +596,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             List<SPNode> list = new ArrayList<>();
             List<T> retList = new ArrayList<>();
 
-            String starPattern = pathStarrer.transform2(pattern);
+            String starPattern = starPattern(pattern);
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
                 return retList;
@@ -678,7 +672,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     }
 
     /**
-     * The basic class of an information node, featuring a Finder, a value and an Info
+     * The basic class of an information node, featuring a Finder and a value
      *
      * @author ribnitz
      *
@@ -687,7 +681,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     private static class NodeBase<T> {
         Finder _finder;
         T _val;
-        Info _info = new Info();
 
         public NodeBase(Finder finder, T value) {
             this._finder = finder;
@@ -783,12 +776,10 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : SPEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
         } else if (_lookupType == RegexLookup.LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP) {
@@ -802,35 +793,31 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : RTEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
         } else {
             //slow but versatile implementation
             for (Map.Entry<Finder, T> entry : MEntries.entrySet()) {
                 Finder matcher = entry.getKey();
-                synchronized (matcher) {
-                    Info firstInfo = new Info();
-                    if (matcher.find(source, context, firstInfo)) {
-                        if (arguments != null) {
+                Info firstInfo = new Info();
+                if (matcher.find(source, context, firstInfo)) {
+                    if (arguments != null) {
 //                            arguments.value = matcher.getInfo();
-                            arguments.value = firstInfo.value;
-                        }
-                        if (matcherFound != null) {
-                            matcherFound.value = matcher;
-                        }
-                        return entry.getValue();
-                    } else if (failures != null) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
+                        arguments.value = firstInfo.value;
                     }
+                    if (matcherFound != null) {
+                        matcherFound.value = matcher;
+                    }
+                    return entry.getValue();
+                } else if (failures != null) {
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
         }
@@ -867,12 +854,10 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : SPEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
             return null;
@@ -888,12 +873,10 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : RTEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
             return null;
@@ -0,0 +1,214 @@
+package org.unicode.cldr.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.unicode.cldr.util.XPathParts.Comments;
+
+import com.ibm.icu.util.Output;
+import com.ibm.icu.util.VersionInfo;
+
+/**
+ * A frozen, flattened copy of a resolving XMLSource, for read-only batch jobs that look at every path of
+ * every locale. The value, full path, source locale, and path where found of every path in the resolved
+ * file are computed once, in one pass over the inheritance chain, and stored in arrays keyed by
+ * {@link XPathIdTable} ids; after that those lookups are a hash lookup and a binary search, with no locks.
+ * <p>
+ * Paths that aren't in the resolved file (such as count variants that aren't present), and rarely used
+ * methods such as getBaileyValue, are passed on to the original resolving source.
+ * Changes to the original sources are not reflected: make a new snapshot instead.
+ *
+ * @see CLDRFile#getResolvedSnapshot()
+ */
+public class ResolvedSnapshotSource extends XMLSource {
+    private final XMLSource resolving;
+    private final int[] pathIds;
+    private final String[] values;
+    private final int[] fullPathIds; // NO_ID where the same as the path
+    private final int[] foundPathIds; // NO_ID where the same as the path
+    private final byte[] localeIndexes;
+    private final String[] locales;
+
+    /**
+     * Make a snapshot of a resolving source.
+     */
+    public ResolvedSnapshotSource(XMLSource resolving) {
+        if (!resolving.isResolving()) {
+            throw new IllegalArgumentException("Can only make a snapshot of a resolving source: " + resolving.getLocaleID());
+        }
+        this.resolving = resolving;
+        setLocaleID(resolving.getLocaleID());
+        setNonInheriting(resolving.isNonInheriting());
+        setXMLNormalizingDtdType(resolving.getXMLNormalizingDtdType());
+
+        List<Integer> ids = new ArrayList<>();
+        for (String path : resolving) {
+            ids.add(XPathIdTable.getId(path));
+        }
+        int size = ids.size();
+        pathIds = new int[size];
+        for (int i = 0; i < size; ++i) {
+            pathIds[i] = ids.get(i);
+        }
+        Arrays.sort(pathIds);
+
+        values = new String[size];
+        fullPathIds = new int[size];
+        foundPathIds = new int[size];
+        localeIndexes = new byte[size];
+        List<String> localeList = new ArrayList<>();
+        CLDRFile.Status status = new CLDRFile.Status();
+        for (int i = 0; i < size; ++i) {
+            String path = XPathIdTable.getPath(pathIds[i]);
+            values[i] = resolving.getValueAtDPath(path);
+            fullPathIds[i] = idUnlessSame(path, resolving.getFullPathAtDPath(path));
+            String locale = resolving.getSourceLocaleID(path, status);
+            foundPathIds[i] = idUnlessSame(path, status.pathWhereFound);
+            int localeIndex = localeList.indexOf(locale);
+            if (localeIndex < 0) {
+                localeIndex = localeList.size();
+                localeList.add(locale);
+                if (localeIndex > Byte.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many source locales for " + getLocaleID());
+                }
+            }
+            localeIndexes[i] = (byte) localeIndex;
+        }
+        locales = localeList.toArray(new String[localeList.size()]);
+        locked = true;
+    }
+
+    private static int idUnlessSame(String path, String other) {
+        return other == null || other.equals(path) ? XPathIdTable.NO_ID : XPathIdTable.getId(other);
+    }
+
+    private int indexOf(String path) {
+        return XPathIdTable.indexOf(pathIds, path);
+    }
+
+    private String getPath(int index, int[] ids) {
+        int id = ids[index];
+        return XPathIdTable.getPath(id == XPathIdTable.NO_ID ? pathIds[index] : id);
+    }
+
+    @Override
+    public boolean isResolving() {
+        return true;
+    }
+
+    @Override
+    public XMLSource getUnresolving() {
+        return resolving.getUnresolving();
+    }
+
+    @Override
+    public String getValueAtDPath(String path) {
+        int index = indexOf(path);
+        return index < 0 ? resolving.getValueAtDPath(path) : values[index];
+    }
+
+    @Override
+    public String getFullPathAtDPath(String path) {
+        int index = indexOf(path);
+        return index < 0 ? resolving.getFullPathAtDPath(path) : getPath(index, fullPathIds);
+    }
+
+    @Override
+    public String getSourceLocaleID(String path, CLDRFile.Status status) {
+        int index = indexOf(path);
+        if (index < 0) {
+            return resolving.getSourceLocaleID(path, status);
+        }
+        if (status != null) {
+            status.pathWhereFound = getPath(index, foundPathIds);
+        }
+        return locales[localeIndexes[index]];
+    }
+
+    @Override
+    public String getSourceLocaleIdExtended(String path, CLDRFile.Status status, boolean skipInheritanceMarker) {
+        return skipInheritanceMarker ? getSourceLocaleID(path, status)
+            : resolving.getSourceLocaleIdExtended(path, status, skipInheritanceMarker);
+    }
+
+    @Override
+    public String getBaileyValue(String xpath, Output<String> pathWhereFound, Output<String> localeWhereFound) {
+        return resolving.getBaileyValue(xpath, pathWhereFound, localeWhereFound);
+    }
+
+    @Override
+    public Date getChangeDateAtDPath(String path) {
+        return resolving.getChangeDateAtDPath(path);
+    }
+
+    @Override
+    public String getWinningPath(String path) {
+        return resolving.getWinningPath(path);
+    }
+
+    @Override
+    public boolean isHere(String path) {
+        return resolving.isHere(path);
+    }
+
+    @Override
+    public void getPathsWithValue(String valueToMatch, String pathPrefix, Set<String> result) {
+        resolving.getPathsWithValue(valueToMatch, pathPrefix, result);
+    }
+
+    @Override
+    public List<ValueSearchIndex.Hit> searchValues(String text, String pathPrefix, int limit) {
+        return resolving.searchValues(text, pathPrefix, limit);
+    }
+
+    @Override
+    public VersionInfo getDtdVersionInfo() {
+        return resolving.getDtdVersionInfo();
+    }
+
+    @Override
+    public Comments getXpathComments() {
+        return resolving.getXpathComments();
+    }
+
+    /**
+     * @return the number of paths
+     */
+    public int size() {
+        return pathIds.length;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return XPathIdTable.iterator(pathIds);
+    }
+
+    @Override
+    public void setXpathComments(Comments comments) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public void putFullPathAtDPath(String distinguishingXPath, String fullxpath) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public void putValueAtDPath(String distinguishingXPath, String value) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public void removeValueAtDPath(String distinguishingXPath) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public XMLSource freeze() {
+        return this;
+    }
+}
@@ -1,16 +1,14 @@
 package org.unicode.cldr.util;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.unicode.cldr.util.XPathParts.Comments;
 
-import com.ibm.icu.impl.Relation;
 import com.ibm.icu.text.Normalizer2;
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.util.VersionInfo;
@@ -19,7 +17,7 @@ public class SimpleXMLSource extends XMLSource {
     private Map<String, String> xpath_value = CldrUtility.newConcurrentHashMap();
     private Map<String, String> xpath_fullXPath = CldrUtility.newConcurrentHashMap();
     private Comments xpath_comments = new Comments(); // map from paths to comments.
-    private Relation<String, String> VALUE_TO_PATH = null;
+    private volatile ValueSearchIndex valueIndex = null;
     private Object VALUE_TO_PATH_MUTEX = new Object();
     private VersionInfo dtdVersionInfo;
 
@@ -103,6 +101,9 @@ public class SimpleXMLSource extends XMLSource {
         result.xpath_comments = (Comments) result.xpath_comments.clone();
         result.xpath_fullXPath = CldrUtility.newConcurrentHashMap(result.xpath_fullXPath);
         result.xpath_value = CldrUtility.newConcurrentHashMap(result.xpath_value);
+        // don't share the value index with the original; the clone builds its own if needed
+        result.valueIndex = null;
+        result.VALUE_TO_PATH_MUTEX = new Object();
         return result;
     }
 
@@ -120,48 +121,46 @@ public class SimpleXMLSource extends XMLSource {
 
     private void updateValuePathMapping(String distinguishingXPath, String oldValue, String newValue) {
         synchronized (VALUE_TO_PATH_MUTEX) {
-            if (VALUE_TO_PATH != null) {
-                if (oldValue != null) {
-                    VALUE_TO_PATH.remove(normalize(oldValue), distinguishingXPath);
-                }
-                if (newValue != null) {
-                    VALUE_TO_PATH.put(normalize(newValue), distinguishingXPath);
-                }
+            if (valueIndex != null) {
+                valueIndex.put(distinguishingXPath,
+                    CldrUtility.INHERITANCE_MARKER.equals(newValue) ? null : newValue);
             }
         }
     }
 
-    @Override
-    public void getPathsWithValue(String valueToMatch, String pathPrefix, Set<String> result) {
-        // build a Relation mapping value to paths, if needed
-        synchronized (VALUE_TO_PATH_MUTEX) {
-            if (VALUE_TO_PATH == null) {
-                VALUE_TO_PATH = Relation.of(new HashMap<String, Set<String>>(), HashSet.class);
-                for (Iterator<String> it = iterator(); it.hasNext();) {
-                    String path = it.next();
-                    String value1 = getValueAtDPathSkippingInheritanceMarker(path);
-                    if (value1 == null) {
-                        continue;
+    /**
+     * Get the index of values to paths, building it if needed. Once built, it is kept up to date
+     * by putValueAtDPath and removeValueAtDPath.
+     */
+    private ValueSearchIndex getValueIndex() {
+        ValueSearchIndex result = valueIndex;
+        if (result == null) {
+            synchronized (VALUE_TO_PATH_MUTEX) {
+                result = valueIndex;
+                if (result == null) {
+                    result = new ValueSearchIndex();
+                    for (Iterator<String> it = iterator(); it.hasNext();) {
+                        String path = it.next();
+                        String value = getValueAtDPathSkippingInheritanceMarker(path);
+                        if (value != null) {
+                            result.put(path, value);
+                        }
                     }
-                    String value = normalize(value1);
-                    VALUE_TO_PATH.put(value, path);
-                }
-            }
-            Set<String> paths = VALUE_TO_PATH.getAll(normalize(valueToMatch));
-            if (paths == null) {
-                return;
-            }
-            if (pathPrefix == null || pathPrefix.length() == 0) {
-                result.addAll(paths);
-                return;
-            }
-            for (String path : paths) {
-                if (path.startsWith(pathPrefix)) {
-                    // if (altPath.originalPath.startsWith(altPrefix.originalPath)) {
-                    result.add(path);
+                    valueIndex = result;
                 }
             }
         }
+        return result;
+    }
+
+    @Override
+    public void getPathsWithValue(String valueToMatch, String pathPrefix, Set<String> result) {
+        getValueIndex().getPathsWithValue(valueToMatch, pathPrefix, result);
+    }
+
+    @Override
+    public List<ValueSearchIndex.Hit> searchValues(String text, String pathPrefix, int limit) {
+        return getValueIndex().search(text, pathPrefix, limit);
     }
 
     static final Normalizer2 NFKCCF = Normalizer2.getNFKCCasefoldInstance();
@@ -10,7 +10,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.Deque;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -47,6 +46,9 @@ import org.unicode.cldr.util.Validity.Status;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
@@ -538,30 +540,30 @@ public class SupplementalDataInfo {
             return to;
         }
 
-        static final DateFormat[] simpleFormats = {
-            new SimpleDateFormat("yyyy-MM-dd HH:mm"),
-            new SimpleDateFormat("yyyy-MM-dd"),
-            new SimpleDateFormat("yyyy-MM"),
-            new SimpleDateFormat("yyyy"),
-        };
-        static {
+        // DateFormats aren't thread-safe, so each thread gets its own
+        static final ThreadLocal<DateFormat[]> simpleFormats = ThreadLocal.withInitial(() -> {
+            DateFormat[] formats = {
+                new SimpleDateFormat("yyyy-MM-dd HH:mm"),
+                new SimpleDateFormat("yyyy-MM-dd"),
+                new SimpleDateFormat("yyyy-MM"),
+                new SimpleDateFormat("yyyy"),
+            };
             TimeZone gmt = TimeZone.getTimeZone("GMT");
-            for (DateFormat format : simpleFormats) {
+            for (DateFormat format : formats) {
                 format.setTimeZone(gmt);
             }
-        }
+            return formats;
+        });
 
         long parseDate(String dateString, long defaultDate) {
             if (dateString == null) {
                 return defaultDate;
             }
             ParseException e2 = null;
-            for (int i = 0; i < simpleFormats.length; ++i) {
+            for (DateFormat format : simpleFormats.get()) {
                 try {
-                    synchronized (simpleFormats[i]) {
-                        Date result = simpleFormats[i].parse(dateString);
-                        return result.getTime();
-                    }
+                    Date result = format.parse(dateString);
+                    return result.getTime();
                 } catch (ParseException e) {
                     if (e2 == null) {
                         e2 = e;
@@ -585,9 +587,7 @@ public class SupplementalDataInfo {
             if (date == END_OF_TIME) {
                 return "∞";
             }
-            synchronized (simpleFormats[0]) {
-                return simpleFormats[0].format(date);
-            }
+            return simpleFormats.get()[0].format(date);
         }
 
         @Override
@@ -913,7 +913,10 @@ public class SupplementalDataInfo {
     public Relation<String, Integer> numericCurrencyCodeMapping = Relation.of(new HashMap<String, Set<Integer>>(),
         HashSet.class);
 
-    static Map<String, SupplementalDataInfo> directory_instance = new HashMap<>();
+    /**
+     * The fully loaded instances, by normalized directory. Read without locking; only loading is serialized.
+     */
+    static Map<String, SupplementalDataInfo> directory_instance = new ConcurrentHashMap<>();
 
     public Map<String, Map<String, Row.R2<List<String>, String>>> typeToTagToReplacement = new TreeMap<>();
 
@@ -1006,21 +1009,26 @@ public class SupplementalDataInfo {
 
     public static final class SupplementalDataInfoHelper {
         // Note: not final, because setAsDefaultInstance can modify it.
-        static SupplementalDataInfo SINGLETON = CLDRConfig.getInstance().getSupplementalDataInfo();
+        static volatile SupplementalDataInfo SINGLETON = CLDRConfig.getInstance().getSupplementalDataInfo();
     }
 
     public static SupplementalDataInfo getInstance(String supplementalDirectory) {
+        // Sanity checks - not null, not empty
+        if (supplementalDirectory == null) {
+            throw new IllegalArgumentException("Error: null supplemental directory.");
+        }
+        if (supplementalDirectory.isEmpty()) {
+            throw new IllegalArgumentException("Error: The string passed as a parameter resolves to the empty string.");
+        }
+        // canonicalize path
+        String normalizedPath = getNormalizedPathString(supplementalDirectory);
+        SupplementalDataInfo instance = directory_instance.get(normalizedPath);
+        if (instance != null) {
+            return instance;
+        }
+        // Only one thread loads; instances are put in the map once they are complete (after makeStuffSafe).
         synchronized (SupplementalDataInfo.class) {
-            // Sanity checks - not null, not empty
-            if (supplementalDirectory == null) {
-                throw new IllegalArgumentException("Error: null supplemental directory.");
-            }
-            if (supplementalDirectory.isEmpty()) {
-                throw new IllegalArgumentException("Error: The string passed as a parameter resolves to the empty string.");
-            }
-            // canonicalize path
-            String normalizedPath = getNormalizedPathString(supplementalDirectory);
-            SupplementalDataInfo instance = directory_instance.get(normalizedPath);
+            instance = directory_instance.get(normalizedPath);
             if (instance != null) {
                 return instance;
             }
@@ -1481,7 +1489,9 @@ public class SupplementalDataInfo {
             final String quantity = parts.getAttributeValue(-1, "quantity");
             final String status = parts.getAttributeValue(-1, "status");
             if (unitConverter == null) {
-                unitConverter = new UnitConverter(rationalParser, validity);
+                // the number of parsed units and conversion plans to cache; 0 turns caching off
+                unitConverter = new UnitConverter(rationalParser, validity, CLDRConfig.getInstance()
+                    .getProperty("CLDR_UNIT_CONVERSION_CACHE", UnitConverter.DEFAULT_MAX_CACHED_CONVERSIONS));
             }
             unitConverter.addQuantityInfo(baseUnit, quantity, status);
             return true;
@@ -2140,8 +2150,8 @@ public class SupplementalDataInfo {
     private Map<String, NumberingSystemInfo> numberingSystems = new HashMap<>();
     private Set<String> numericSystems = new TreeSet<>();
     private Set<String> defaultContentLocales;
-    public Map<CLDRLocale, CLDRLocale> baseToDefaultContent; // wo -> wo_Arab_SN
-    public Map<CLDRLocale, CLDRLocale> defaultContentToBase; // wo_Arab_SN -> wo
+    public volatile Map<CLDRLocale, CLDRLocale> baseToDefaultContent; // wo -> wo_Arab_SN
+    public volatile Map<CLDRLocale, CLDRLocale> defaultContentToBase; // wo_Arab_SN -> wo (set last, see initCLDRLocaleBasedData)
     private Set<String> CLDRLanguageCodes = new TreeSet<>();
     private Set<String> CLDRScriptCodes;
 
@@ -2283,25 +2293,29 @@ public class SupplementalDataInfo {
         return multizone;
     }
 
-    private Set<String> singleRegionZones;
+    private volatile Set<String> singleRegionZones;
 
     public Set<String> getSingleRegionZones() {
-        synchronized (this) {
-            if (singleRegionZones == null) {
-                singleRegionZones = new HashSet<>();
-                SupplementalDataInfo supplementalData = this; // TODO: this?
-                Set<String> multizoneCountries = supplementalData.getMultizones();
-                for (String zone : supplementalData.getCanonicalZones()) {
-                    String region = supplementalData.getZone_territory(zone);
-                    if (!multizoneCountries.contains(region) || zone.startsWith("Etc/")) {
-                        singleRegionZones.add(zone);
+        Set<String> result = singleRegionZones;
+        if (result == null) {
+            synchronized (this) {
+                result = singleRegionZones;
+                if (result == null) {
+                    result = new HashSet<>();
+                    SupplementalDataInfo supplementalData = this; // TODO: this?
+                    Set<String> multizoneCountries = supplementalData.getMultizones();
+                    for (String zone : supplementalData.getCanonicalZones()) {
+                        String region = supplementalData.getZone_territory(zone);
+                        if (!multizoneCountries.contains(region) || zone.startsWith("Etc/")) {
+                            result.add(zone);
+                        }
                     }
+                    result.remove("Etc/Unknown"); // remove special case
+                    singleRegionZones = result = Collections.unmodifiableSet(result);
                 }
-                singleRegionZones.remove("Etc/Unknown"); // remove special case
-                singleRegionZones = Collections.unmodifiableSet(singleRegionZones);
             }
         }
-        return singleRegionZones;
+        return result;
     }
 
     public Set<String> getTerritoriesForPopulationData(String language) {
@@ -2443,118 +2457,44 @@ public class SupplementalDataInfo {
     /**
      * Used to get the coverage value for a path. This is generally the most
      * efficient way for tools to get coverage.
+     * Safe to call from multiple threads; no lock is taken once a locale's table exists.
      *
      * @param xpath
      * @param loc
      * @return
      */
     public Level getCoverageLevel(String xpath, String loc) {
-        Level result = null;
-        result = coverageCache.get(xpath, loc);
+        Map<String, Level> pathToLevel = coverageCache.getUnchecked(loc);
+        Level result = pathToLevel.get(xpath);
         if (result == null) {
-            CoverageLevel2 cov = localeToCoverageLevelInfo.get(loc);
-            if (cov == null) {
-                cov = CoverageLevel2.getInstance(this, loc);
-                localeToCoverageLevelInfo.put(loc, cov);
-            }
-
+            CoverageLevel2 cov = localeToCoverageLevelInfo.computeIfAbsent(loc,
+                l -> CoverageLevel2.getInstance(this, l));
             result = cov.getLevel(xpath);
-            coverageCache.put(xpath, loc, result);
+            pathToLevel.put(xpath, result);
         }
         return result;
     }
 
     /**
-     * Cache Data structure with object expiry,
-     * List that can hold up to MAX_LOCALES caches of locales, when one locale hasn't been used for a while it will removed and GC'd
+     * Max number of locales whose path-to-level tables are kept in the coverageCache;
+     * the least recently used ones are dropped and GC'd.
      */
-    private class CoverageCache {
-        private final Deque<Node> localeList = new LinkedList<>();
-        private final int MAX_LOCALES = 10;
+    private static final int MAX_COVERAGE_CACHE_LOCALES = 10;
 
-        /**
-         * Object to sync on for modifying the locale list
-         */
-        private final Object LOCALE_LIST_ITER_SYNC = new Object();
-
-        /*
-         * constructor
-         */
-        public CoverageCache() {
-//            localeList = new LinkedList<Node>();
-        }
-
-        /*
-         * retrieves coverage level associated with two keys if it exists in the cache, otherwise returns null
-         * @param xpath
-         * @param loc
-         * @return the coverage level of the above two keys
-         */
-        public Level get(String xpath, String loc) {
-            synchronized (LOCALE_LIST_ITER_SYNC) {
-                Iterator<Node> it = localeList.iterator();
-                Node reAddNode = null;
-                while (it.hasNext()) {
-//            for (Iterator<Node> it = localeList.iterator(); it.hasNext();) {
-                    Node node = it.next();
-                    if (node.loc.equals(loc)) {
-                        reAddNode = node;
-                        it.remove();
-                        break;
-
-                    }
-                }
-                if (reAddNode != null) {
-                    localeList.addFirst(reAddNode);
-                    return reAddNode.map.get(xpath);
-                }
-                return null;
-            }
-        }
-
-        /*
-         * places a coverage level into the cache, with two keys
-         * @param xpath
-         * @param loc
-         * @param covLevel    the coverage level of the above two keys
-         */
-        public void put(String xpath, String loc, Level covLevel) {
-            synchronized (LOCALE_LIST_ITER_SYNC) {
-                //if locale's map is already in the cache add to it
-//            for (Iterator<Node> it = localeList.iterator(); it.hasNext();) {
-                for (Node node : localeList) {
-//                Node node = it.next();
-                    if (node.loc.equals(loc)) {
-                        node.map.put(xpath, covLevel);
-                        return;
-                    }
-                }
-
-                //if it is not, add a new map with the coverage level, and remove the last map in the list (used most seldom) if the list is too large
-                Map<String, Level> newMap = new ConcurrentHashMap<>();
-                newMap.put(xpath, covLevel);
-                localeList.addFirst(new Node(loc, newMap));
-
-                if (localeList.size() > MAX_LOCALES) {
-                    localeList.removeLast();
+    /**
+     * Per-locale path-to-level tables, filled in as paths are looked up.
+     * The tables are concurrent, and the regex rules they are filled from (in CoverageLevel2)
+     * can be evaluated in parallel, so coverage for different paths and locales can be computed on all cores.
+     */
+    private final LoadingCache<String, Map<String, Level>> coverageCache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_COVERAGE_CACHE_LOCALES)
+        .build(
+            new CacheLoader<String, Map<String, Level>>() {
+                @Override
+                public Map<String, Level> load(String loc) {
+                    return new ConcurrentHashMap<>();
                 }
-            }
-        }
-
-        /*
-         * node to hold a location and a Map
-         */
-        private class Node {
-            //public fields to emulate a C/C++ struct
-            public String loc;
-            public Map<String, Level> map;
-
-            public Node(String _loc, Map<String, Level> _map) {
-                loc = _loc;
-                map = _map;
-            }
-        }
-    }
+            });
 
     /**
      * Used to get the coverage value for a path. Note, it is more efficient to create
@@ -2568,10 +2508,17 @@ public class SupplementalDataInfo {
         return getCoverageLevel(xpath, loc).getLevel();
     }
 
-    private RegexLookup<Level> coverageLookup = null;
+    private volatile RegexLookup<Level> coverageLookup = null;
 
-    public synchronized RegexLookup<Level> getCoverageLookup() {
-        if (coverageLookup == null) {
+    public RegexLookup<Level> getCoverageLookup() {
+        RegexLookup<Level> result = coverageLookup;
+        if (result != null) {
+            return result;
+        }
+        synchronized (this) {
+            if (coverageLookup != null) {
+                return coverageLookup;
+            }
             RegexLookup<Level> lookup = new RegexLookup<>(RegexLookup.LookupType.STAR_PATTERN_LOOKUP);
 
             Matcher variable = PatternCache.get("\\$\\{[A-Za-z][\\-A-Za-z]*\\}").matcher("");
@@ -3054,7 +3001,6 @@ public class SupplementalDataInfo {
     private Map<DayPeriodInfo.Type, Map<String, DayPeriodInfo>> typeToLocaleToDayPeriodInfo = new EnumMap<>(
         DayPeriodInfo.Type.class);
     private Map<String, CoverageLevel2> localeToCoverageLevelInfo = new ConcurrentHashMap<>();
-    private CoverageCache coverageCache = new CoverageCache();
     private transient String lastPluralLocales = "";
     private transient PluralType lastPluralWasOrdinal = null;
     private transient Map<Count, String> lastPluralMap = new EnumMap<>(Count.class);
@@ -4080,7 +4026,7 @@ public class SupplementalDataInfo {
     }
 
 
-    static Set<String> MainTimeZones;
+    static volatile Set<String> MainTimeZones;
 
     /**
      * Return canonical timezones
@@ -4088,18 +4034,22 @@ public class SupplementalDataInfo {
      * @return
      */
     public Set<String> getCanonicalTimeZones() {
+        Set<String> result = MainTimeZones;
+        if (result != null) {
+            return result;
+        }
         synchronized (SupplementalDataInfo.class) {
             if (MainTimeZones == null) {
-                MainTimeZones = new TreeSet<>();
+                result = new TreeSet<>();
                 SupplementalDataInfo info = SupplementalDataInfo.getInstance();
                 for (Entry<R2<String, String>, Set<String>> entry : info.getBcp47Aliases().keyValuesSet()) {
                     R2<String, String> subtype_aliases = entry.getKey();
                     if (!subtype_aliases.get0().equals("timezone")) {
                         continue;
                     }
-                    MainTimeZones.add(entry.getValue().iterator().next());
+                    result.add(entry.getValue().iterator().next());
                 }
-                MainTimeZones = Collections.unmodifiableSet(MainTimeZones);
+                MainTimeZones = Collections.unmodifiableSet(result);
             }
             return MainTimeZones;
         }
@@ -4175,9 +4125,15 @@ public class SupplementalDataInfo {
         return CLDRScriptCodes.contains(code);
     }
 
-    private synchronized void initCLDRLocaleBasedData() throws InternalError {
+    private void initCLDRLocaleBasedData() throws InternalError {
         // This initialization depends on SDI being initialized.
-        if (defaultContentToBase == null) {
+        if (defaultContentToBase != null) {
+            return;
+        }
+        synchronized (this) {
+            if (defaultContentToBase != null) {
+                return;
+            }
             Map<CLDRLocale, CLDRLocale> p2c = new TreeMap<>();
             Map<CLDRLocale, CLDRLocale> c2p = new TreeMap<>();
             TreeSet<CLDRLocale> tmpAllLocales = new TreeSet<>();
@@ -4248,11 +4204,17 @@ public class SupplementalDataInfo {
         }
     }
 
-    private XEquivalenceClass<String, String> equivalentLocales = null;
+    private volatile XEquivalenceClass<String, String> equivalentLocales = null;
 
     public Set<String> getEquivalentsForLocale(String localeId) {
+        XEquivalenceClass<String, String> equivalentLocales = this.equivalentLocales;
         if (equivalentLocales == null) {
-            equivalentLocales = getEquivalentsForLocale();
+            synchronized (this) {
+                equivalentLocales = this.equivalentLocales;
+                if (equivalentLocales == null) {
+                    this.equivalentLocales = equivalentLocales = getEquivalentsForLocale();
+                }
+            }
         }
         Set<String> result = new TreeSet(LENGTH_FIRST);
         result.add(localeId);
@@ -4306,7 +4268,7 @@ public class SupplementalDataInfo {
 
     public static final LengthFirstComparator LENGTH_FIRST = new LengthFirstComparator();
 
-    private synchronized XEquivalenceClass<String, String> getEquivalentsForLocale() {
+    private XEquivalenceClass<String, String> getEquivalentsForLocale() {
         SupplementalDataInfo sdi = this;
         Relation<String, String> localeToDefaultContents = Relation.of(new HashMap<String, Set<String>>(),
             LinkedHashSet.class);
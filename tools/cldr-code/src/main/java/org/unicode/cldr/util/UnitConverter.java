@@ -29,6 +29,8 @@ import org.unicode.cldr.util.Rational.RationalParser;
 import org.unicode.cldr.util.SupplementalDataInfo.PluralInfo;
 
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableList;
@@ -48,6 +50,10 @@ import com.ibm.icu.util.ULocale;
 
 public class UnitConverter implements Freezable<UnitConverter> {
     public static boolean DEBUG = false;
+    /**
+     * The default maximum number of parsed unit ids, and of conversion plans, that a frozen converter caches.
+     */
+    public static final int DEFAULT_MAX_CACHED_CONVERSIONS = 5000;
     public static final Integer INTEGER_ONE = Integer.valueOf(1);
 
     static final Splitter BAR_SPLITTER = Splitter.on('-');
@@ -75,6 +81,10 @@ public class UnitConverter implements Freezable<UnitConverter> {
 
     private boolean frozen = false;
 
+    // Only used once frozen, and null if caching is off. Unknown units and impossible conversions aren't cached.
+    private final Cache<String, ParsedUnitId> parsedUnitIds;
+    private final Cache<String, ConversionPlan> conversionPlans; // keyed by "source target"
+
     public TargetInfoComparator targetInfoComparator;
 
     /** Warning: ordering is important; determines the normalized output */
@@ -364,7 +374,22 @@ public class UnitConverter implements Freezable<UnitConverter> {
     }
 
     public UnitConverter(RationalParser rationalParser, Validity validity) {
+        this(rationalParser, validity, DEFAULT_MAX_CACHED_CONVERSIONS);
+    }
+
+    /**
+     * @param maxCachedConversions the maximum number of parsed unit ids, and of conversion plans, to cache once
+     * frozen; 0 for no caching
+     */
+    public UnitConverter(RationalParser rationalParser, Validity validity, int maxCachedConversions) {
         this.rationalParser = rationalParser;
+        if (maxCachedConversions > 0) {
+            parsedUnitIds = CacheBuilder.newBuilder().maximumSize(maxCachedConversions).build();
+            conversionPlans = CacheBuilder.newBuilder().maximumSize(maxCachedConversions).build();
+        } else {
+            parsedUnitIds = null;
+            conversionPlans = null;
+        }
 //        // we need to pass in the validity so it is for the same CLDR version as the converter
 //        Set<String> VALID_UNITS = validity.getStatusToCodes(LstrType.unit).get(Status.regular);
 //        Map<String,String> _SHORT_TO_LONG_ID = new LinkedHashMap<>();
@@ -580,6 +605,35 @@ public class UnitConverter implements Freezable<UnitConverter> {
      *
      */
     public ConversionInfo parseUnitId (String derivedUnit, Output<String> metricUnit, boolean showYourWork) {
+        if (!frozen || showYourWork || parsedUnitIds == null) {
+            return parseUnitIdUncached(derivedUnit, metricUnit, showYourWork);
+        }
+        ParsedUnitId parsed = parsedUnitIds.getIfPresent(derivedUnit);
+        if (parsed == null) {
+            ConversionInfo info = parseUnitIdUncached(derivedUnit, metricUnit, false);
+            if (info != null) {
+                parsedUnitIds.put(derivedUnit, new ParsedUnitId(info, metricUnit.value));
+            }
+            return info;
+        }
+        metricUnit.value = parsed.metricUnit;
+        return parsed.info;
+    }
+
+    /**
+     * The result of parseUnitId for a known unit: the ConversionInfo and the metric unit.
+     */
+    private static final class ParsedUnitId {
+        final ConversionInfo info;
+        final String metricUnit;
+
+        ParsedUnitId(ConversionInfo info, String metricUnit) {
+            this.info = info;
+            this.metricUnit = metricUnit;
+        }
+    }
+
+    private ConversionInfo parseUnitIdUncached (String derivedUnit, Output<String> metricUnit, boolean showYourWork) {
         metricUnit.value = null;
 
         UnitId outputUnit = new UnitId(UNIT_COMPARATOR);
@@ -1322,6 +1376,9 @@ public class UnitConverter implements Freezable<UnitConverter> {
             fixDenormalized.put(badCode, replacements.iterator().next());
         }
         fixDenormalized = ImmutableMap.copyOf(fixDenormalized);
+        if (conversionPlans != null) {
+            conversionPlans.invalidateAll();
+        }
     }
 
     public Map<String, TargetInfo> getInternalConversionData() {
@@ -1405,12 +1462,12 @@ public class UnitConverter implements Freezable<UnitConverter> {
 
     public String showRational(Rational rational, String approximatePrefix) {
         String doubleString = showRational2(rational, "", approximatePrefix);
-        return doubleString.isEmpty() ? rational.numerator.toString() : doubleString;
+        return doubleString.isEmpty() ? rational.getNumerator().toString() : doubleString;
     }
 
     public String showRational2(Rational rational, String equalPrefix, String approximatePrefix) {
         String doubleString = "";
-        if (!rational.denominator.equals(BigInteger.ONE)) {
+        if (!rational.getDenominator().equals(BigInteger.ONE)) {
             String doubleValue = String.valueOf(rational.toBigDecimal(MathContext.DECIMAL32).doubleValue());
             Rational reverse = parseRational(doubleValue);
             doubleString = (reverse.equals(rational) ? equalPrefix : approximatePrefix) + doubleValue;
@@ -1421,41 +1478,96 @@ public class UnitConverter implements Freezable<UnitConverter> {
     public Rational convert(Rational sourceValue, String sourceUnit, final String targetUnit, boolean showYourWork) {
         if (showYourWork) {
             System.out.println(showRational("\nconvert:\t", sourceValue, sourceUnit) + " ⟹ " + targetUnit);
+            return makeConversionPlan(sourceUnit, targetUnit, true).convert(sourceValue, true);
+        }
+        return getConversionPlan(sourceUnit, targetUnit).convert(sourceValue, false);
+    }
+
+    /**
+     * A conversion between two units, compiled from their ConversionInfos: convert the source to the base unit,
+     * take the reciprocal if the base units are reciprocals, and convert back to the target.
+     */
+    private final class ConversionPlan {
+        final ConversionInfo source; // null if the source unit is unknown
+        final String sourceBase;
+        final ConversionInfo target; // null if the target unit is unknown, or the units are incomparable
+        final String targetUnit;
+        final String reciprocalUnit; // the reciprocal of the source base unit, if the conversion goes through it
+
+        ConversionPlan(ConversionInfo source, String sourceBase, ConversionInfo target, String targetUnit,
+            String reciprocalUnit) {
+            this.source = source;
+            this.sourceBase = sourceBase;
+            this.target = target;
+            this.targetUnit = targetUnit;
+            this.reciprocalUnit = reciprocalUnit;
+        }
+
+        Rational convert(Rational sourceValue, boolean showYourWork) {
+            if (source == null) {
+                return Rational.NaN;
+            }
+            Rational intermediateResult = source.convert(sourceValue);
+            if (showYourWork) System.out.println(showRational("intermediate:\t", intermediateResult, sourceBase));
+            if (target == null) {
+                return Rational.NaN;
+            }
+            if (reciprocalUnit != null) {
+                intermediateResult = intermediateResult.reciprocal();
+                if (showYourWork) System.out.println(showRational(" ⟹ 1/intermediate:\t", intermediateResult, reciprocalUnit));
+            }
+            Rational result = target.convertBackwards(intermediateResult);
+            if (showYourWork) System.out.println(showRational("target:\t", result, targetUnit));
+            return result;
         }
+    }
+
+    private ConversionPlan getConversionPlan(String sourceUnit, String targetUnit) {
+        if (!frozen || conversionPlans == null) {
+            return makeConversionPlan(sourceUnit, targetUnit, false);
+        }
+        String key = sourceUnit + " " + targetUnit;
+        ConversionPlan plan = conversionPlans.getIfPresent(key);
+        if (plan == null) {
+            plan = makeConversionPlan(sourceUnit, targetUnit, false);
+            if (plan.target != null) {
+                conversionPlans.put(key, plan);
+            }
+        }
+        return plan;
+    }
+
+    private ConversionPlan makeConversionPlan(String sourceUnit, String targetUnit, boolean showYourWork) {
         sourceUnit = fixDenormalized(sourceUnit);
         Output<String> sourceBase = new Output<>();
         Output<String> targetBase = new Output<>();
         ConversionInfo sourceConversionInfo = parseUnitId(sourceUnit, sourceBase, showYourWork);
         if (sourceConversionInfo == null) {
             if (showYourWork) System.out.println("! unknown unit: " + sourceUnit);
-            return Rational.NaN;
+            return new ConversionPlan(null, null, null, targetUnit, null);
         }
-        Rational intermediateResult = sourceConversionInfo.convert(sourceValue);
-        if (showYourWork) System.out.println(showRational("intermediate:\t", intermediateResult, sourceBase.value));
         if (showYourWork) System.out.println("invert:\t" + targetUnit);
         ConversionInfo targetConversionInfo = parseUnitId(targetUnit, targetBase, showYourWork);
         if (targetConversionInfo == null) {
             if (showYourWork) System.out.println("! unknown unit: " + targetUnit);
-            return Rational.NaN;
+            return new ConversionPlan(sourceConversionInfo, sourceBase.value, null, targetUnit, null);
         }
+        String reciprocalUnit = null;
         if (!sourceBase.value.equals(targetBase.value)) {
             // try resolving
             String sourceBaseFixed = createUnitId(sourceBase.value).resolve().toString();
             String targetBaseFixed = createUnitId(targetBase.value).resolve().toString();
             // try reciprocal
             if (!sourceBaseFixed.equals(targetBaseFixed)) {
-                String reciprocalUnit = reciprocalOf(sourceBase.value);
+                reciprocalUnit = reciprocalOf(sourceBase.value);
                 if (reciprocalUnit == null || !targetBase.value.equals(reciprocalUnit)) {
                     if (showYourWork) System.out.println("! incomparable units: " + sourceUnit + " and " + targetUnit);
-                    return Rational.NaN;
+                    return new ConversionPlan(sourceConversionInfo, sourceBase.value, null, targetUnit, null);
                 }
-                intermediateResult = intermediateResult.reciprocal();
-                if (showYourWork) System.out.println(showRational(" ⟹ 1/intermediate:\t", intermediateResult, reciprocalUnit));
             }
         }
-        Rational result = targetConversionInfo.convertBackwards(intermediateResult);
-        if (showYourWork) System.out.println(showRational("target:\t", result, targetUnit));
-        return result;
+        return new ConversionPlan(sourceConversionInfo, sourceBase.value, targetConversionInfo, targetUnit,
+            reciprocalUnit);
     }
 
     public String fixDenormalized(String unit) {
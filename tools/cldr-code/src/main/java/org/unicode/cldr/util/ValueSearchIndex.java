@@ -0,0 +1,236 @@
+package org.unicode.cldr.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-memory index from the values of an XMLSource to their paths, for search. Values are normalized with
+ * {@link SimpleXMLSource#normalize(String)}, and each path (as its {@link XPathIdTable} id) is indexed under
+ * its whole value, for exact matches, and under each trigram of its value, for substring matches.
+ * <p>
+ * The index is updated as values change, so searches see new values at once. Searches don't lock; updates
+ * are serialized. A search that runs during an update may or may not see it, but never returns a path
+ * whose current value doesn't match.
+ */
+public class ValueSearchIndex {
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * A path found by {@link ValueSearchIndex#search}. Hits sort with the best matches first: exact matches,
+     * then values that start with the text, then values that contain it; then shorter values first.
+     */
+    public static final class Hit implements Comparable<Hit> {
+        public static final int EXACT = 0, PREFIX = 1, SUBSTRING = 2;
+
+        private final String path;
+        private final String value;
+        private final int rank;
+
+        public Hit(String path, String normalizedValue, int rank) {
+            this.path = path;
+            this.value = normalizedValue;
+            this.rank = rank;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * The normalized value that matched.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * EXACT, PREFIX, or SUBSTRING.
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            int diff = rank - other.rank;
+            if (diff != 0) {
+                return diff;
+            }
+            diff = value.length() - other.value.length();
+            if (diff != 0) {
+                return diff;
+            }
+            return path.compareTo(other.path);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Hit && compareTo((Hit) obj) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return path.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return rank + "\t" + value + "\t" + path;
+        }
+    }
+
+    // path id → normalized value
+    private final Map<Integer, String> idToValue = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> valueToIds = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> gramToIds = new ConcurrentHashMap<>();
+
+    /**
+     * Set the value of a path, replacing any value it had.
+     *
+     * @param value the value, not normalized; null to remove the path
+     */
+    public synchronized void put(String path, String value) {
+        Integer id = XPathIdTable.getId(path);
+        String normalized = value == null ? null : SimpleXMLSource.normalize(value);
+        // change the value before the postings, so searches racing with this don't return a stale match
+        String old = normalized == null ? idToValue.remove(id) : idToValue.put(id, normalized);
+        if (Objects.equals(old, normalized)) {
+            return;
+        }
+        if (old != null) {
+            removePosting(valueToIds, old, id);
+            for (String gram : getGrams(old)) {
+                if (normalized == null || !normalized.contains(gram)) {
+                    removePosting(gramToIds, gram, id);
+                }
+            }
+        }
+        if (normalized != null) {
+            valueToIds.computeIfAbsent(normalized, k -> ConcurrentHashMap.newKeySet()).add(id);
+            for (String gram : getGrams(normalized)) {
+                gramToIds.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    public void remove(String path) {
+        put(path, null);
+    }
+
+    /**
+     * @return the number of paths with values
+     */
+    public int size() {
+        return idToValue.size();
+    }
+
+    /**
+     * Add the paths whose normalized value is the same as that of valueToMatch, as XMLSource.getPathsWithValue.
+     *
+     * @param pathPrefix only add paths that start with this; null or empty for all
+     */
+    public void getPathsWithValue(String valueToMatch, String pathPrefix, Set<String> result) {
+        String normalized = SimpleXMLSource.normalize(valueToMatch);
+        Set<Integer> ids = valueToIds.get(normalized);
+        if (ids == null) {
+            return;
+        }
+        for (Integer id : ids) {
+            String path = XPathIdTable.getPath(id);
+            if (normalized.equals(idToValue.get(id))
+                && (pathPrefix == null || path.startsWith(pathPrefix))) {
+                result.add(path);
+            }
+        }
+    }
+
+    /**
+     * Find the paths whose normalized values contain the normalized text, best matches first.
+     *
+     * @param pathPrefix only return paths that start with this; null or empty for all
+     * @param limit the maximum number of hits to return; -1 for all
+     */
+    public List<Hit> search(String text, String pathPrefix, int limit) {
+        String normalized = SimpleXMLSource.normalize(text);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Hit> result = new ArrayList<>();
+        if (normalized.length() < GRAM_LENGTH) {
+            // too short for the trigrams, but short texts are rare
+            for (Entry<Integer, String> entry : idToValue.entrySet()) {
+                addHit(entry.getKey(), entry.getValue(), normalized, pathPrefix, result);
+            }
+        } else {
+            // every matching value has all the trigrams of the text, so check the ids with the rarest one
+            Set<Integer> candidates = null;
+            for (String gram : getGrams(normalized)) {
+                Set<Integer> ids = gramToIds.get(gram);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                if (candidates == null || ids.size() < candidates.size()) {
+                    candidates = ids;
+                }
+            }
+            for (Integer id : candidates) {
+                String value = idToValue.get(id);
+                if (value != null) {
+                    addHit(id, value, normalized, pathPrefix, result);
+                }
+            }
+        }
+        Collections.sort(result);
+        return limit >= 0 && result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static void addHit(Integer id, String value, String text, String pathPrefix, List<Hit> result) {
+        if (!value.contains(text)) {
+            return;
+        }
+        String path = XPathIdTable.getPath(id);
+        if (pathPrefix != null && !path.startsWith(pathPrefix)) {
+            return;
+        }
+        result.add(makeHit(path, value, text));
+    }
+
+    /**
+     * @return the hit for a path if its normalized value contains the normalized text, otherwise null
+     */
+    static Hit makeHit(String path, String normalizedValue, String normalizedText) {
+        int pos = normalizedValue.indexOf(normalizedText);
+        if (pos < 0) {
+            return null;
+        }
+        return new Hit(path, normalizedValue, pos != 0 ? Hit.SUBSTRING
+            : normalizedValue.length() == normalizedText.length() ? Hit.EXACT
+                : Hit.PREFIX);
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> postings, String key, Integer id) {
+        Set<Integer> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                // only updates add postings, and they are serialized
+                postings.remove(key);
+            }
+        }
+    }
+
+    static Set<String> getGrams(String normalized) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); ++i) {
+            result.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+}
@@ -8,13 +8,30 @@
  */
 package org.unicode.cldr.util;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.parsers.FactoryConfigurationError;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.apache.xerces.util.XMLGrammarPoolImpl;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.ContentHandler;
@@ -28,7 +45,6 @@ import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.ext.DeclHandler;
 import org.xml.sax.ext.LexicalHandler;
-import org.xml.sax.helpers.XMLReaderFactory;
 
 import com.google.common.base.Function;
 import com.ibm.icu.util.ICUException;
@@ -49,6 +65,114 @@ public class XMLFileReader {
      */
     public static int CONTENT_HANDLER = 1, ERROR_HANDLER = 2, LEXICAL_HANDLER = 4, DECLARATION_HANDLER = 8;
 
+    /**
+     * Set CLDR_XML_READER_POOL to false to make a new reader, and parse the DTD again, for each read().
+     */
+    static final boolean POOL_READERS = CldrUtility.getProperty("CLDR_XML_READER_POOL", true);
+
+    private static final String GRAMMAR_POOL_PROPERTY = "http://apache.org/xml/properties/internal/grammar-pool";
+
+    /**
+     * The DTD grammars parsed so far, shared by all the readers that cache grammars, so that each DTD is
+     * only parsed once (until its file changes). Thread-safe.
+     */
+    private static final XMLGrammarPool GRAMMAR_POOL = new FileGrammarPool();
+
+    /**
+     * A grammar pool that drops the grammar of a DTD file once the file has been modified, so that a
+     * long-running process (such as the Survey Tool) picks up a DTD changed on disk. Grammars of DTDs that are
+     * not files, such as resources in a jar, are never dropped.
+     */
+    private static final class FileGrammarPool extends XMLGrammarPoolImpl {
+        private static final class CachedFile {
+            final XMLGrammarDescription description;
+            final long lastModified;
+
+            CachedFile(XMLGrammarDescription description, long lastModified) {
+                this.description = description;
+                this.lastModified = lastModified;
+            }
+        }
+
+        /**
+         * For each DTD file with a cached grammar, the grammar's description and the file's modification time
+         * when it was cached, by expanded system id
+         */
+        private final Map<String, CachedFile> cachedFiles = new ConcurrentHashMap<>();
+
+        @Override
+        public void putGrammar(Grammar grammar) {
+            XMLGrammarDescription description = grammar.getGrammarDescription();
+            String systemId = description.getExpandedSystemId();
+            long lastModified = getLastModified(systemId);
+            super.putGrammar(grammar);
+            if (lastModified != 0) {
+                cachedFiles.put(systemId, new CachedFile(description, lastModified));
+            }
+        }
+
+        /**
+         * Called at the start of each parse, to get the grammars to use; a DTD not among them is looked up
+         * with retrieveGrammar.
+         */
+        @Override
+        public Grammar[] retrieveInitialGrammarSet(String grammarType) {
+            dropChangedGrammars();
+            return super.retrieveInitialGrammarSet(grammarType);
+        }
+
+        @Override
+        public Grammar retrieveGrammar(XMLGrammarDescription description) {
+            dropChangedGrammars();
+            return super.retrieveGrammar(description);
+        }
+
+        /**
+         * Drop the grammars of the DTD files that have been modified, so that they are parsed again.
+         */
+        private void dropChangedGrammars() {
+            for (Iterator<CachedFile> it = cachedFiles.values().iterator(); it.hasNext();) {
+                CachedFile cached = it.next();
+                if (getLastModified(cached.description.getExpandedSystemId()) != cached.lastModified) {
+                    removeGrammar(cached.description);
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * @return the modification time of a file: URL, or 0 for anything else
+         */
+        private static long getLastModified(String systemId) {
+            if (systemId == null || !systemId.startsWith("file:")) {
+                return 0;
+            }
+            try {
+                return new File(URI.create(systemId)).lastModified();
+            } catch (IllegalArgumentException e) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * The SAX implementation from the list in createXMLReader that worked for validating (true) or not
+     * (false), so that it only tries the list once.
+     */
+    private static final Map<Boolean, String> SAX_PARSER_CLASS = new ConcurrentHashMap<>();
+
+    /**
+     * Idle readers, configured for the handlers and validation in their key. Each thread has its own, so
+     * no locking is needed. A handler can start another read on the same thread (eg DtdData.getInstance),
+     * so a reader is taken out of the pool while it is parsing.
+     */
+    private static final ThreadLocal<Map<Integer, Deque<XMLReader>>> READER_POOL = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Put in the handlers of an idle reader, so that it doesn't keep the last handler alive.
+     */
+    private static final AllHandler IDLE_HANDLER = new LoggingHandler();
+
     private MyContentHandler DEFAULT_DECLHANDLER = new MyContentHandler();
     // TODO Add way to skip gathering value contents
     // private ElementOnlyContentHandler ELEMENT_ONLY_DECLHANDLER = new ElementOnlyContentHandler();
@@ -155,8 +279,20 @@ public class XMLFileReader {
     }
 
     public static void read(String systemID, InputSource is, int handlers, boolean validating, AllHandler allHandler) {
+        handlers &= CONTENT_HANDLER | ERROR_HANDLER | LEXICAL_HANDLER | DECLARATION_HANDLER;
+        Deque<XMLReader> idle = POOL_READERS
+            ? READER_POOL.get().computeIfAbsent(handlers * 2 + (validating ? 1 : 0), k -> new ArrayDeque<>())
+            : null;
+        XMLReader xmlReader = idle == null ? null : idle.poll();
         try {
-            XMLReader xmlReader = createXMLReader(handlers, validating, allHandler);
+            if (xmlReader == null) {
+                xmlReader = createXMLReader(validating);
+                // The declarations of a cached DTD aren't reported, so only cache for reads that don't want them
+                if (POOL_READERS && (handlers & DECLARATION_HANDLER) == 0) {
+                    setGrammarPool(xmlReader);
+                }
+            }
+            setHandlers(xmlReader, handlers, allHandler);
             is.setSystemId(systemID);
             try {
                 xmlReader.parse(is);
@@ -167,11 +303,19 @@ public class XMLFileReader {
                 + e.getLineNumber()).initCause(e);
         } catch (SAXException | IOException e) {
             throw (IllegalArgumentException) new IllegalArgumentException("Can't read " + systemID).initCause(e);
+        } finally {
+            if (idle != null && xmlReader != null) {
+                try {
+                    setHandlers(xmlReader, handlers, IDLE_HANDLER);
+                    idle.push(xmlReader);
+                } catch (SAXException e) {
+                    // don't reuse it
+                }
+            }
         }
     }
 
-    private static final XMLReader createXMLReader(int handlers, boolean validating, AllHandler allHandler) throws SAXNotRecognizedException, SAXNotSupportedException {
-        XMLReader xmlReader = createXMLReader(validating);
+    private static void setHandlers(XMLReader xmlReader, int handlers, AllHandler allHandler) throws SAXNotRecognizedException, SAXNotSupportedException {
         if ((handlers & CONTENT_HANDLER) != 0) {
             xmlReader.setContentHandler(allHandler);
         }
@@ -184,7 +328,28 @@ public class XMLFileReader {
         if ((handlers & DECLARATION_HANDLER) != 0) {
             xmlReader.setProperty("http://xml.org/sax/properties/declaration-handler", allHandler);
         }
-        return xmlReader;
+    }
+
+    /**
+     * Create a reader that shares the DTD grammars parsed by other readers, so that a DTD is parsed once
+     * rather than for each file. The DTD declarations and comments are not reported for a DTD that has
+     * already been parsed, so don't use this reader with a DeclHandler. If the SAX implementation
+     * can't share grammars, this is the same as createXMLReader.
+     */
+    public static XMLReader createGrammarCachingXMLReader(boolean validating) {
+        XMLReader result = createXMLReader(validating);
+        if (POOL_READERS) {
+            setGrammarPool(result);
+        }
+        return result;
+    }
+
+    private static void setGrammarPool(XMLReader xmlReader) {
+        try {
+            xmlReader.setProperty(GRAMMAR_POOL_PROPERTY, GRAMMAR_POOL);
+        } catch (SAXNotRecognizedException | SAXNotSupportedException e) {
+            // not Xerces; parse the DTD each time
+        }
     }
 
     public interface AllHandler extends ContentHandler, LexicalHandler, DeclHandler, ErrorHandler {
@@ -466,15 +631,25 @@ public class XMLFileReader {
             "com.bluecast.xml.Piccolo",
             "oracle.xml.parser.v2.SAXParser"
         };
+        String found = SAX_PARSER_CLASS.get(validating);
+        if (found != null) {
+            try {
+                XMLReader result = newXMLReader(found);
+                result.setFeature("http://xml.org/sax/features/validation", validating);
+                return result;
+            } catch (SAXException e1) {
+                // try the list again
+            }
+        }
         XMLReader result = null;
         for (int i = 0; i < testList.length; ++i) {
             try {
-                result = (testList[i].length() != 0)
-                    ? XMLReaderFactory.createXMLReader(testList[i])
-                        : XMLReaderFactory.createXMLReader();
-                    result.setFeature("http://xml.org/sax/features/validation", validating);
-                    break;
+                result = newXMLReader(testList[i]);
+                result.setFeature("http://xml.org/sax/features/validation", validating);
+                SAX_PARSER_CLASS.put(validating, testList[i]);
+                break;
             } catch (SAXException e1) {
+                result = null;
             }
         }
         if (result == null)
@@ -482,6 +657,27 @@ public class XMLFileReader {
         return result;
     }
 
+    /**
+     * Make a SAX reader: the system default (from SAXParserFactory) for "", or else an instance of the named
+     * XMLReader class.
+     */
+    private static XMLReader newXMLReader(String className) throws SAXException {
+        if (className.isEmpty()) {
+            try {
+                SAXParserFactory factory = SAXParserFactory.newInstance();
+                factory.setNamespaceAware(true); // the SAX2 default, as XMLReaderFactory gave
+                return factory.newSAXParser().getXMLReader();
+            } catch (ParserConfigurationException | FactoryConfigurationError e) {
+                throw new SAXException("No default SAX parser: " + e);
+            }
+        }
+        try {
+            return Class.forName(className).asSubclass(XMLReader.class).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            throw new SAXException("Can't make a SAX parser " + className + ": " + e);
+        }
+    }
+
     static final class DebuggingInputStream extends InputStream {
         InputStream contents;
 
@@ -37,7 +37,10 @@ import com.ibm.icu.util.VersionInfo;
  */
 public class XMLNormalizingLoader{
 
-    private static final int CACHE_LIMIT = 700;
+    /**
+     * The number of files kept; raise it (CLDR_XMLSOURCE_CACHE_LIMIT) to keep more than one tree preloaded.
+     */
+    private static final int CACHE_LIMIT = Integer.parseInt(CldrUtility.getProperty("CLDR_XMLSOURCE_CACHE_LIMIT", "700"));
     private static LoadingCache<XMLSourceCacheKey, XMLSource> cache = CacheBuilder.newBuilder()
         .maximumSize(CACHE_LIMIT)
         .softValues()   // will garbage-collected in LRU manner in response to memory demand
@@ -49,6 +52,11 @@ public class XMLNormalizingLoader{
                 }
             });
 
+    /**
+     * If true, the cached sources are PathIdXMLSources, which share path strings across locales.
+     */
+    private static final boolean USE_PATH_IDS = CldrUtility.getProperty("CLDR_XMLSOURCE_PATH_IDS", false);
+
     private static final boolean LOG_PROGRESS = false;
     private static final boolean DEBUG = false;
     enum SupplementalStatus {
@@ -120,9 +128,10 @@ public class XMLNormalizingLoader{
         XMLSource source = null;
         if (key.dirs.size() == 1) {
             File file = new File(key.dirs.iterator().next(), key.localeId + ".xml");
-            source = loadXMLFile(file, key.localeId, key.minimalDraftStatus);
-            source.freeze();
-            return source;
+            source = XMLSourceSnapshot.SNAPSHOT_DIR == null
+                ? loadXMLFile(file, key.localeId, key.minimalDraftStatus)
+                : loadXMLFileWithSnapshot(file, key.localeId, key.minimalDraftStatus);
+            return compact(source.freeze());
         }
 
         // if contains more than one file, make XMLSource from each file and then combine them to a combined XMLSource,
@@ -143,10 +152,30 @@ public class XMLNormalizingLoader{
             source.putAll(other, 0); // 0 --> merge_keep_mine
             source.getXpathComments().joinAll(other.getXpathComments());
         }
-        source.freeze();
+        return compact(source.freeze());
+    }
+
+    /**
+     * Load from the binary snapshot of the file if it is up to date, otherwise parse the file and write the snapshot.
+     */
+    private static XMLSource loadXMLFileWithSnapshot(File file, String localeId, DraftStatus minimalDraftStatus) {
+        File snapshotFile = XMLSourceSnapshot.getSnapshotFile(new File(XMLSourceSnapshot.SNAPSHOT_DIR), file, minimalDraftStatus);
+        XMLSource source = XMLSourceSnapshot.read(snapshotFile, file, localeId, minimalDraftStatus);
+        if (source == null) {
+            source = loadXMLFile(file, localeId, minimalDraftStatus);
+            try {
+                XMLSourceSnapshot.write(snapshotFile, file, minimalDraftStatus, source);
+            } catch (IOException e) {
+                System.err.println("Couldn't write snapshot " + snapshotFile + ": " + e);
+            }
+        }
         return source;
     }
 
+    private static XMLSource compact(XMLSource source) {
+        return USE_PATH_IDS ? new PathIdXMLSource(source) : source;
+    }
+
     public static XMLSource loadXMLFile(File f, String localeId, DraftStatus minimalDraftStatus) {
         // use try-with-resources statement
         try (
@@ -155,7 +184,10 @@ public class XMLNormalizingLoader{
             String fullFileName = PathUtilities.getNormalizedPathString(f);
             XMLSource source = new SimpleXMLSource(localeId);
             XMLNormalizingHandler XML_HANDLER = new XMLNormalizingHandler(source, minimalDraftStatus);
-            XMLFileReader.read(fullFileName, fis, -1, true, XML_HANDLER);
+            // The handler ignores the DTD declarations, so the reader can use the cached DTD grammar
+            XMLFileReader.read(fullFileName, fis,
+                XMLFileReader.CONTENT_HANDLER | XMLFileReader.ERROR_HANDLER | XMLFileReader.LEXICAL_HANDLER,
+                true, XML_HANDLER);
             if (XML_HANDLER.supplementalStatus == SupplementalStatus.NEVER_SET) {
                 throw new IllegalArgumentException("root of file must be either ldml or supplementalData");
             }
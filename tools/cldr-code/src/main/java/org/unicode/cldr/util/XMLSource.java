@@ -22,7 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -737,7 +738,7 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             return source == null ? constructedItems : source;
         }
 
-        Map<String, String> getFullPathAtDPathCache = new HashMap<>();
+        Map<String, String> getFullPathAtDPathCache = new ConcurrentHashMap<>();
 
         @Override
         public String getFullPathAtDPath(String xpath) {
@@ -854,14 +855,19 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             if (!skipInheritanceMarker || !cachingIsEnabled ) {
                 return getPathLocation(xpath, false /* skipFirst */, skipInheritanceMarker);
             }
-            synchronized (getSourceLocaleIDCache) {
-                AliasLocation fullStatus = getSourceLocaleIDCache.get(xpath);
-                if (fullStatus == null) {
-                    fullStatus = getPathLocation(xpath, false /* skipFirst */, skipInheritanceMarker);
-                    getSourceLocaleIDCache.put(xpath, fullStatus); // cache copy
+            AliasLocation fullStatus = getSourceLocaleIDCache.get(xpath);
+            if (fullStatus == null) {
+                // No lock: if a value changes while we compute, valueChanged bumps invalidationCount,
+                // and we drop what we cached since it may be stale.
+                // (computeIfAbsent can't be used, since getPathLocation recurses into this method.)
+                long invalidations = invalidationCount.get();
+                fullStatus = getPathLocation(xpath, false /* skipFirst */, skipInheritanceMarker);
+                getSourceLocaleIDCache.put(xpath, fullStatus);
+                if (invalidationCount.get() != invalidations) {
+                    getSourceLocaleIDCache.remove(xpath, fullStatus);
                 }
-                return fullStatus;
             }
+            return fullStatus;
         }
 
         @Override
@@ -877,7 +883,19 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             return result;
         }
 
-        private transient Map<String, AliasLocation> getSourceLocaleIDCache = new WeakHashMap<>();
+        private transient Map<String, AliasLocation> getSourceLocaleIDCache = new ConcurrentHashMap<>();
+
+        /**
+         * For each path that some other path was resolved through (an explicit alias, or the implicit alt or count
+         * fallbacks), the paths that were resolved through it. Used to invalidate only the affected paths in
+         * valueChanged.
+         */
+        private transient Map<String, Set<String>> aliasedPathToDependents = new ConcurrentHashMap<>();
+
+        /**
+         * Incremented by every valueChanged, so that lookups racing with a change don't cache stale results.
+         */
+        private final AtomicLong invalidationCount = new AtomicLong();
 
         /**
          * Get the source locale ID for the given path, for this ResolvingSource.
@@ -991,6 +1009,9 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             }
 
             if (aliasedPath != null) {
+                if (cachingIsEnabled) {
+                    aliasedPathToDependents.computeIfAbsent(aliasedPath, k -> ConcurrentHashMap.newKeySet()).add(xpath);
+                }
                 // Call getCachedFullStatus recursively to avoid recalculating cached aliases.
                 return getCachedFullStatus(aliasedPath, skipInheritanceMarker);
             }
@@ -1166,22 +1187,29 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             if (!cachingIsEnabled) {
                 return;
             }
-            synchronized (getSourceLocaleIDCache) {
-                AliasLocation location = getSourceLocaleIDCache.remove(xpath);
-                if (location == null) {
-                    return;
-                }
-                // Paths aliasing to this path (directly or indirectly) may be affected,
-                // so clear them as well.
-                // There's probably a more elegant way to fix the paths than simply
-                // throwing everything out.
-                Set<String> dependentPaths = getDirectAliases(new String[] { xpath });
-                if (dependentPaths.size() > 0) {
-                    for (String path : dependentPaths) {
-                        getSourceLocaleIDCache.remove(path);
-                    }
+            invalidationCount.incrementAndGet();
+            invalidate(xpath, new HashSet<String>());
+        }
+
+        /**
+         * Remove the cached resolution of the path, and, recursively, of the paths that alias to it:
+         * both those that were resolved through it, and those that root aliases to it.
+         */
+        private void invalidate(String xpath, Set<String> done) {
+            if (!done.add(xpath)) {
+                return; // guard against alias cycles
+            }
+            getSourceLocaleIDCache.remove(xpath);
+            getFullPathAtDPathCache.remove(xpath);
+            Set<String> dependents = aliasedPathToDependents.remove(xpath);
+            if (dependents != null) {
+                for (String path : dependents) {
+                    invalidate(path, done);
                 }
             }
+            for (String path : getDirectAliases(new String[] { xpath })) {
+                invalidate(path, done);
+            }
         }
 
         /**
@@ -1538,6 +1566,60 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             result.addAll(filteredPaths);
         }
 
+        /**
+         * Search the values of this locale and the locales it inherits from. Like getPathsWithValue, this
+         * also finds the paths that alias to the paths found, if their resolved values match.
+         */
+        @Override
+        public List<ValueSearchIndex.Hit> searchValues(String text, String pathPrefix, int limit) {
+            List<XMLSource> children = new ArrayList<>();
+            Map<String, ValueSearchIndex.Hit> hits = new HashMap<>();
+            for (XMLSource source : sources.values()) {
+                // Don't add a path with the value if it is overridden by a child locale.
+                for (ValueSearchIndex.Hit hit : source.searchValues(text, null, -1)) {
+                    if (!sourcesHavePath(hit.getPath(), children)) {
+                        hits.put(hit.getPath(), hit);
+                    }
+                }
+                children.add(source);
+            }
+
+            // Find all paths that alias to the paths found. The prefix is only applied afterwards, since a path
+            // can alias to one outside of it.
+            Set<String> aliases = new HashSet<>();
+            Set<String> oldAliases = new HashSet<>(hits.keySet());
+            Set<String> newAliases;
+            do {
+                String[] sortedPaths = new String[oldAliases.size()];
+                oldAliases.toArray(sortedPaths);
+                Arrays.sort(sortedPaths);
+                newAliases = getDirectAliases(sortedPaths);
+                newAliases.removeAll(aliases);
+                oldAliases = newAliases;
+                aliases.addAll(newAliases);
+            } while (newAliases.size() > 0);
+
+            // get the aliases, but only the ones whose resolved values match
+            String norm = SimpleXMLSource.normalize(text);
+            List<ValueSearchIndex.Hit> result = new ArrayList<>();
+            for (String alias : aliases) {
+                if (!hits.containsKey(alias)) {
+                    String value = getValueAtDPath(alias);
+                    ValueSearchIndex.Hit hit = value == null ? null
+                        : ValueSearchIndex.makeHit(alias, SimpleXMLSource.normalize(value), norm);
+                    if (hit != null) {
+                        result.add(hit);
+                    }
+                }
+            }
+            result.addAll(hits.values());
+            if (pathPrefix != null && !pathPrefix.isEmpty()) {
+                result.removeIf(hit -> !hit.getPath().startsWith(pathPrefix));
+            }
+            Collections.sort(result);
+            return limit >= 0 && result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+
         private boolean sourcesHavePath(String xpath, List<XMLSource> sources) {
             for (XMLSource source : sources) {
                 if (source.hasValueAtDPath(xpath)) return true;
@@ -1626,6 +1708,28 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
      */
     public abstract void getPathsWithValue(String valueToMatch, String pathPrefix, Set<String> result);
 
+    /**
+     * Find the distinguished paths whose values contain text, ignoring case and punctuation as getPathsWithValue
+     * does, best matches first. This implementation only finds exact matches, with getPathsWithValue;
+     * sources that keep a {@link ValueSearchIndex} override it to find prefix and substring matches.
+     *
+     * @param text
+     * @param pathPrefix only return paths that start with this; null or empty for all
+     * @param limit the maximum number of hits to return; -1 for all
+     * @return the hits, sorted
+     */
+    public List<ValueSearchIndex.Hit> searchValues(String text, String pathPrefix, int limit) {
+        Set<String> paths = new HashSet<>();
+        getPathsWithValue(text, pathPrefix == null ? "" : pathPrefix, paths);
+        String normalized = SimpleXMLSource.normalize(text);
+        List<ValueSearchIndex.Hit> result = new ArrayList<>();
+        for (String path : paths) {
+            result.add(new ValueSearchIndex.Hit(path, normalized, ValueSearchIndex.Hit.EXACT));
+        }
+        Collections.sort(result);
+        return limit >= 0 && result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
     public VersionInfo getDtdVersionInfo() {
         return null;
     }
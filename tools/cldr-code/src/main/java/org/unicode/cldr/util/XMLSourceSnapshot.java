@@ -0,0 +1,240 @@
+package org.unicode.cldr.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.XPathParts.Comments;
+import org.unicode.cldr.util.XPathParts.Comments.CommentType;
+
+import com.ibm.icu.util.VersionInfo;
+
+/**
+ * A binary copy of the XMLSource parsed from a single LDML file, so that later processes can skip the XML parsing.
+ * The snapshot holds the paths, full paths, values, comments, and DTD information, and records the length and
+ * modification time of the XML file it came from, the hashes of the DTD files used to normalize it, and the version
+ * of the code (see {@link FileFingerprints#getCodeVersion(Class)}); it is ignored (and rewritten) once any of these
+ * changes.
+ * <p>
+ * Snapshots are only used if the property CLDR_XMLSOURCE_SNAPSHOT_DIR names a directory to keep them in.
+ * Bump FORMAT_KEY whenever the format changes.
+ */
+public class XMLSourceSnapshot {
+    public static final String FORMAT_KEY = "xss-2";
+
+    /**
+     * The directory that XMLNormalizingLoader keeps snapshots in; null if they aren't used.
+     */
+    public static final String SNAPSHOT_DIR = CldrUtility.getProperty("CLDR_XMLSOURCE_SNAPSHOT_DIR", null);
+
+    private static final String END = "$END$";
+
+    // The DTDs are only hashed once per run, as DtdData only reads them once.
+    private static final FileFingerprints DTD_FINGERPRINTS = new FileFingerprints();
+
+    // Only computed once a snapshot is read or written, since it lists all the class files when not run from a jar.
+    private static class CodeVersionHolder {
+        static final String CODE_VERSION = FileFingerprints.getCodeVersion(XMLSourceSnapshot.class);
+    }
+
+    /**
+     * Get the snapshot file for an XML file, in the given directory.
+     */
+    public static File getSnapshotFile(File snapshotDir, File xmlFile, DraftStatus minimalDraftStatus) {
+        String normalized = PathUtilities.getNormalizedPathString(xmlFile);
+        String name = xmlFile.getName().replace(".xml", "") + "-" + minimalDraftStatus
+            + "-" + Long.toHexString(StringId.getId(normalized)) + ".bin";
+        return new File(snapshotDir, name);
+    }
+
+    /**
+     * Read the snapshot of an XML file. The file is read in one piece and decoded into a SimpleXMLSource,
+     * so a snapshot saves the XML parsing, but not memory.
+     *
+     * @return the (unfrozen) source, or null if there is no snapshot, or it is stale or unreadable
+     */
+    public static XMLSource read(File snapshotFile, File xmlFile, String localeId, DraftStatus minimalDraftStatus) {
+        return read(snapshotFile, xmlFile, localeId, minimalDraftStatus,
+            CLDRConfig.getInstance().getCldrBaseDirectory(), CodeVersionHolder.CODE_VERSION);
+    }
+
+    /**
+     * Read the snapshot of an XML file, for DTDs in the given CLDR base directory, and the given code version.
+     */
+    // @VisibleForTesting
+    public static XMLSource read(File snapshotFile, File xmlFile, String localeId, DraftStatus minimalDraftStatus,
+        File cldrBaseDirectory, String codeVersion) {
+        if (!snapshotFile.canRead()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile.toPath()));
+            if (!FORMAT_KEY.equals(readString(buffer))
+                || !PathUtilities.getNormalizedPathString(xmlFile).equals(readString(buffer))
+                || buffer.getLong() != xmlFile.lastModified()
+                || buffer.getLong() != xmlFile.length()
+                || !minimalDraftStatus.toString().equals(readString(buffer))
+                || !String.valueOf(localeId).equals(readString(buffer))
+                || !codeVersion.equals(readString(buffer))) {
+                return null;
+            }
+            SimpleXMLSource source = new SimpleXMLSource(localeId);
+            source.setNonInheriting(buffer.get() != 0);
+            String dtdTypeName = readString(buffer);
+            DtdType dtdType = dtdTypeName == null ? null : DtdType.valueOf(dtdTypeName);
+            if (!getDtdFingerprint(dtdType, cldrBaseDirectory).equals(readString(buffer))) {
+                return null;
+            }
+            source.setXMLNormalizingDtdType(dtdType);
+            String dtdVersion = readString(buffer);
+            source.setDtdVersionInfo(dtdVersion == null ? null : VersionInfo.getInstance(dtdVersion));
+
+            for (int i = buffer.getInt(); i > 0; --i) {
+                String path = readString(buffer);
+                source.putValueAtDPath(path, readString(buffer));
+                String fullPath = readString(buffer);
+                if (fullPath != null) {
+                    source.putFullPathAtDPath(path, fullPath);
+                }
+            }
+            Comments comments = new Comments();
+            comments.setInitialComment(readString(buffer));
+            comments.setFinalComment(readString(buffer));
+            for (CommentType style : CommentType.values()) {
+                for (int i = buffer.getInt(); i > 0; --i) {
+                    comments.addComment(style, readString(buffer), readString(buffer));
+                }
+            }
+            source.setXpathComments(comments);
+            if (!END.equals(readString(buffer))) {
+                return null;
+            }
+            return source;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable snapshot " + snapshotFile + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Write the snapshot of the source parsed from an XML file. The file is written to a temporary file first and
+     * then moved into place, so that other processes never see a partial file.
+     */
+    public static void write(File snapshotFile, File xmlFile, DraftStatus minimalDraftStatus, XMLSource source) throws IOException {
+        write(snapshotFile, xmlFile, minimalDraftStatus, source,
+            CLDRConfig.getInstance().getCldrBaseDirectory(), CodeVersionHolder.CODE_VERSION);
+    }
+
+    /**
+     * Write the snapshot of the source parsed from an XML file, for DTDs in the given CLDR base directory, and the
+     * given code version.
+     */
+    // @VisibleForTesting
+    public static void write(File snapshotFile, File xmlFile, DraftStatus minimalDraftStatus, XMLSource source,
+        File cldrBaseDirectory, String codeVersion) throws IOException {
+        File dir = snapshotFile.getAbsoluteFile().getParentFile();
+        dir.mkdirs();
+        File temp = File.createTempFile(snapshotFile.getName(), ".tmp", dir);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                writeString(out, FORMAT_KEY);
+                writeString(out, PathUtilities.getNormalizedPathString(xmlFile));
+                out.writeLong(xmlFile.lastModified());
+                out.writeLong(xmlFile.length());
+                writeString(out, minimalDraftStatus.toString());
+                writeString(out, String.valueOf(source.getLocaleID()));
+                writeString(out, codeVersion);
+                out.writeByte(source.isNonInheriting() ? 1 : 0);
+                DtdType dtdType = source.getXMLNormalizingDtdType();
+                writeString(out, dtdType == null ? null : dtdType.toString());
+                writeString(out, getDtdFingerprint(dtdType, cldrBaseDirectory));
+                VersionInfo dtdVersion = source.getDtdVersionInfo();
+                writeString(out, dtdVersion == null ? null : dtdVersion.toString());
+
+                int count = 0;
+                for (@SuppressWarnings("unused") String path : source) {
+                    ++count;
+                }
+                out.writeInt(count);
+                for (String path : source) {
+                    writeString(out, path);
+                    writeString(out, source.getValueAtDPath(path));
+                    String fullPath = source.getFullPathAtDPath(path);
+                    writeString(out, path.equals(fullPath) ? null : fullPath);
+                }
+                Comments comments = source.getXpathComments();
+                writeString(out, comments.getInitialComment());
+                writeString(out, comments.getFinalComment());
+                for (CommentType style : CommentType.values()) {
+                    Map<String, String> styleComments = comments.getComments(style);
+                    out.writeInt(styleComments.size());
+                    for (Entry<String, String> entry : styleComments.entrySet()) {
+                        writeString(out, entry.getKey());
+                        writeString(out, entry.getValue());
+                    }
+                }
+                writeString(out, END);
+            }
+            try {
+                Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            temp.delete();
+        }
+    }
+
+    /**
+     * Get the fingerprint of the DTD files that DtdData reads for a type, and so that the source was normalized with.
+     * In the CLDR tree these are also the files that the XML files name in their DOCTYPE.
+     */
+    private static String getDtdFingerprint(DtdType dtdType, File cldrBaseDirectory) {
+        List<String> items = new ArrayList<>();
+        if (dtdType != null) {
+            if (dtdType.rootType != dtdType) {
+                DTD_FINGERPRINTS.addFile(items, new File(cldrBaseDirectory, dtdType.rootType.dtdPath));
+            }
+            DTD_FINGERPRINTS.addFile(items, new File(cldrBaseDirectory, dtdType.dtdPath));
+        }
+        return FileFingerprints.toHex(FileFingerprints.digest(items));
+    }
+
+    // Strings are written with an int length, since values (such as collation rules) can exceed writeUTF's limit.
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
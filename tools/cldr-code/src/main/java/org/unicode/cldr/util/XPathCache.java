@@ -0,0 +1,161 @@
+package org.unicode.cldr.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * A cache keyed by xpath strings, used to intern the results of parsing or normalizing paths
+ * (XPathParts.getFrozenInstance, CLDRFile.getDistinguishingXPath). Unlike a plain ConcurrentHashMap,
+ * its size can be bounded and its values can be softly referenced, so that long-running processes
+ * that see many distinct paths (such as the Survey Tool) don't grow without limit.
+ * <p>
+ * All the caches share the same configuration, from these properties:
+ * <ul>
+ * <li>CLDR_XPATH_CACHE_SIZE: the maximum number of entries in each cache; 0 for unbounded.</li>
+ * <li>CLDR_XPATH_CACHE_VALUES: strong or soft. (There is no weak setting: many cached values, such as the
+ * DistinguishedPaths wrappers, are only reachable from the cache, and would be collected at once.)</li>
+ * <li>CLDR_XPATH_CACHE_STATS: true to record hit/miss statistics.</li>
+ * </ul>
+ * The caches are listed in {@link #getStatistics()} until they are garbage collected.
+ *
+ * @param <V> the cached value
+ */
+public final class XPathCache<V> {
+    public enum ValueStrength {
+        strong, soft
+    }
+
+    public static final long MAX_SIZE = Long.parseLong(CldrUtility.getProperty("CLDR_XPATH_CACHE_SIZE", "1000000"));
+    public static final ValueStrength VALUE_STRENGTH = ValueStrength.valueOf(CldrUtility.getProperty("CLDR_XPATH_CACHE_VALUES",
+        ValueStrength.strong.toString()));
+    public static final boolean RECORD_STATISTICS = CldrUtility.getProperty("CLDR_XPATH_CACHE_STATS", false);
+
+    // weak, so that caches held by instances (such as a DtdComparator's) can be collected
+    private static final Queue<WeakReference<XPathCache<?>>> ALL = new ConcurrentLinkedQueue<>();
+
+    private final String name;
+    private final boolean recordStats;
+    private final Cache<String, V> cache;
+
+    private XPathCache(String name, long maxSize, ValueStrength valueStrength, boolean recordStats) {
+        this.name = name;
+        this.recordStats = recordStats;
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        if (maxSize > 0) {
+            builder.maximumSize(maxSize);
+        }
+        switch (valueStrength) {
+        case soft:
+            builder.softValues();
+            break;
+        default:
+            break;
+        }
+        if (recordStats) {
+            builder.recordStats();
+        }
+        cache = builder.build();
+    }
+
+    /**
+     * Create a cache with the configured size, value strength, and statistics.
+     *
+     * @param name used in {@link #getStatistics()}
+     */
+    public static <V> XPathCache<V> create(String name) {
+        return create(name, MAX_SIZE, VALUE_STRENGTH, RECORD_STATISTICS);
+    }
+
+    /**
+     * Create a cache with explicit settings, overriding the properties.
+     *
+     * @param name used in {@link #getStatistics()}
+     * @param maxSize the maximum number of entries; 0 for unbounded
+     */
+    public static <V> XPathCache<V> create(String name, long maxSize, ValueStrength valueStrength, boolean recordStats) {
+        XPathCache<V> result = new XPathCache<>(name, maxSize, valueStrength, recordStats);
+        ALL.add(new WeakReference<XPathCache<?>>(result));
+        ALL.removeIf(ref -> ref.get() == null);
+        return result;
+    }
+
+    /**
+     * Return the cached value for the path, computing and caching it if needed.
+     * If two threads compute the value at the same time, both get the one that was cached first.
+     */
+    public V get(String path, Function<String, ? extends V> loader) {
+        V result = cache.getIfPresent(path);
+        if (result == null) {
+            result = loader.apply(path);
+            V old = cache.asMap().putIfAbsent(path, result);
+            if (old != null) {
+                result = old;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the cached value for the path, or null if there is none.
+     */
+    public V getIfPresent(String path) {
+        return cache.getIfPresent(path);
+    }
+
+    public void put(String path, V value) {
+        cache.put(path, value);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the hit/miss statistics; all zero unless recording statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(name).append(':').append(size());
+        if (recordStats) {
+            CacheStats stats = stats();
+            result.append(" hits:").append(stats.hitCount())
+                .append(" misses:").append(stats.missCount())
+                .append(" evictions:").append(stats.evictionCount());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Get the size (and, if recorded, hit/miss statistics) of all the xpath caches.
+     */
+    public static String getStatistics() {
+        StringBuilder result = new StringBuilder();
+        for (Iterator<WeakReference<XPathCache<?>>> it = ALL.iterator(); it.hasNext();) {
+            XPathCache<?> item = it.next().get();
+            if (item == null) {
+                it.remove();
+                continue;
+            }
+            if (result.length() != 0) {
+                result.append(' ');
+            }
+            result.append(item);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package org.unicode.cldr.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide dictionary from xpaths to small, dense int ids (0, 1, 2, ...), and back.
+ * Unlike StringId, the ids are assigned in order of first use, so they are only stable within a process,
+ * but they can be used directly as array indexes, and each path string is held only once however many
+ * locales contain it.
+ * <p>
+ * Ids are never removed, so the table grows to the number of distinct paths seen (a few hundred thousand for
+ * all of CLDR).
+ */
+public final class XPathIdTable {
+    public static final int NO_ID = -1;
+
+    private static final Map<String, Integer> PATH_TO_ID = new ConcurrentHashMap<>();
+    private static final Object ADD_MUTEX = new Object();
+
+    // written only under ADD_MUTEX; the volatile write publishes the new element along with the array
+    private static volatile String[] idToPath = new String[1024];
+    private static int count = 0;
+
+    private XPathIdTable() {
+    }
+
+    /**
+     * Get the id for a path, assigning a new one if needed.
+     */
+    public static int getId(String path) {
+        Integer result = PATH_TO_ID.get(path);
+        if (result != null) {
+            return result;
+        }
+        synchronized (ADD_MUTEX) {
+            result = PATH_TO_ID.get(path);
+            if (result != null) {
+                return result;
+            }
+            String[] paths = idToPath;
+            if (count == paths.length) {
+                paths = Arrays.copyOf(paths, paths.length * 2);
+            }
+            paths[count] = path;
+            idToPath = paths;
+            PATH_TO_ID.put(path, count);
+            return count++;
+        }
+    }
+
+    /**
+     * Get the id for a path, or NO_ID if it doesn't have one. Doesn't assign ids, so it can be used for lookups
+     * without growing the table.
+     */
+    public static int getIdIfPresent(String path) {
+        Integer result = PATH_TO_ID.get(path);
+        return result == null ? NO_ID : result;
+    }
+
+    /**
+     * Get the path for an id returned by getId.
+     */
+    public static String getPath(int id) {
+        String[] paths = idToPath;
+        String result = id < 0 || id >= paths.length ? null : paths[id];
+        if (result == null) {
+            throw new IllegalArgumentException("Unknown path id: " + id);
+        }
+        return result;
+    }
+
+    /**
+     * Find a path in a sorted array of ids, as used by the compact XMLSources.
+     *
+     * @return the index of the path's id, or a negative number if it isn't there
+     */
+    static int indexOf(int[] sortedIds, String path) {
+        int id = getIdIfPresent(path);
+        return id == NO_ID ? -1 : Arrays.binarySearch(sortedIds, id);
+    }
+
+    /**
+     * Iterate over the paths of an array of ids, in the order of the array.
+     */
+    static Iterator<String> iterator(int[] ids) {
+        return new Iterator<String>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < ids.length;
+            }
+
+            @Override
+            public String next() {
+                if (index >= ids.length) {
+                    throw new NoSuchElementException();
+                }
+                return getPath(ids[index++]);
+            }
+        };
+    }
+
+    /**
+     * @return the number of ids assigned so far
+     */
+    public static int size() {
+        return PATH_TO_ID.size();
+    }
+}
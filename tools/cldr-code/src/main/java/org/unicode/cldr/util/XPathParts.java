@@ -19,7 +19,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -46,7 +45,7 @@ public final class XPathParts implements Freezable<XPathParts>, Comparable<XPath
 
     private DtdData dtdData = null;
 
-    private static final Map<String, XPathParts> cache = new ConcurrentHashMap<>();
+    private static final XPathCache<XPathParts> cache = XPathCache.create("XPathParts");
 
     /**
      * Construct a new empty XPathParts object.
@@ -196,6 +195,13 @@ public final class XPathParts implements Freezable<XPathParts>, Comparable<XPath
             return comments.get(style).get(xpath);
         }
 
+        /**
+         * @return an unmodifiable view of the comments of the given style, keyed by xpath
+         */
+        public Map<String, String> getComments(CommentType style) {
+            return Collections.unmodifiableMap(comments.get(style));
+        }
+
         public Comments addComment(CommentType style, String xpath, String comment) {
             String existing = comments.get(style).get(xpath);
             if (existing != null) {
@@ -1294,7 +1300,7 @@ public final class XPathParts implements Freezable<XPathParts>, Comparable<XPath
     }
 
     public static XPathParts getFrozenInstance(String path) {
-        XPathParts result = cache.computeIfAbsent(path,
+        XPathParts result = cache.get(path,
             (String forPath) -> new XPathParts().addInternal(forPath, true).freeze());
         return result;
     }
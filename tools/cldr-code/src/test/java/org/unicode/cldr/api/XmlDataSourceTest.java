@@ -11,8 +11,10 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -108,6 +110,84 @@ public class XmlDataSourceTest extends TestFmwk {
         assertEquals("paths order", dtdOrderedPaths, ImmutableList.copyOf(out.keySet()));
     }
     
+    public void TestStreamingAndParallel() {
+        ListMultimap<Path, String> files = LinkedListMultimap.create();
+        for (String key : Arrays.asList("ca", "co", "cu", "nu")) {
+            addFile(files, key + ".xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>",
+                "<!DOCTYPE ldmlBCP47 SYSTEM \"../../common/dtd/ldmlBCP47.dtd\">",
+                "<ldmlBCP47>",
+                "  <version number=\"42\"/>",
+                "  <keyword>",
+                "    <key name=\"" + key + "\" description=\"Key " + key + "\">",
+                "      <type name=\"zzz\" description=\"Last\"/>",
+                "      <type name=\"aaa\" description=\"First\"/>",
+                "    </key>",
+                "  </keyword>",
+                "</ldmlBCP47>");
+        }
+        for (int parallelism : new int[] {1, 2, 8}) {
+            for (boolean streaming : new boolean[] {false, true}) {
+                String name = (streaming ? "streaming" : "memoized") + ", parallelism=" + parallelism;
+                for (CldrData.PathOrder order : CldrData.PathOrder.values()) {
+                    // New sources for each order, since a memoized source stays sorted once it
+                    // has been visited in DTD order.
+                    XmlDataSource memoized =
+                        new XmlDataSource(BCP47, files.keySet(), UNCONFIRMED, openFileFn(files));
+                    XmlDataSource src = new XmlDataSource(
+                        BCP47, files.keySet(), UNCONFIRMED, openFileFn(files), streaming, parallelism);
+                    List<CldrValue> expected = new ArrayList<>();
+                    memoized.accept(order, expected::add);
+                    List<CldrValue> actual = new ArrayList<>();
+                    src.accept(order, actual::add);
+                    assertEquals(name + ", " + order, expected, actual);
+                    for (CldrValue v : expected) {
+                        assertEquals(name + ", get", v, src.get(v.getPath()));
+                    }
+                }
+            }
+        }
+    }
+
+    public void TestRepeatedPaths() {
+        AttributeKey description = AttributeKey.keyOf("type", "description");
+        ListMultimap<Path, String> files = LinkedListMultimap.create();
+        for (String name : Arrays.asList("first", "second")) {
+            addFile(files, name + ".xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>",
+                "<!DOCTYPE ldmlBCP47 SYSTEM \"../../common/dtd/ldmlBCP47.dtd\">",
+                "<ldmlBCP47>",
+                "  <version number=\"42\"/>",
+                "  <keyword>",
+                "    <key name=\"ca\" description=\"Calendar key\">",
+                "      <type name=\"gregory\" description=\"Gregorian in " + name + "\"/>",
+                "      <type name=\"" + name + "\" description=\"Only in " + name + "\"/>",
+                "    </key>",
+                "  </keyword>",
+                "</ldmlBCP47>");
+        }
+        for (int parallelism : new int[] {1, 2}) {
+            for (boolean streaming : new boolean[] {false, true}) {
+                String name = (streaming ? "streaming" : "memoized") + ", parallelism=" + parallelism;
+                XmlDataSource src = new XmlDataSource(
+                    BCP47, files.keySet(), UNCONFIRMED, openFileFn(files), streaming, parallelism);
+                for (CldrData.PathOrder order : CldrData.PathOrder.values()) {
+                    List<CldrValue> actual = new ArrayList<>();
+                    src.accept(order, actual::add);
+                    assertEquals(name + ", " + order + ", value count", 3, actual.size());
+                    assertEquals(name + ", " + order + ", path count",
+                        3, actual.stream().map(CldrValue::getPath).distinct().count());
+                    // The memoized values keep the last one, as CLDRFile does, streaming the first.
+                    String expected = "Gregorian in " + (streaming ? "first" : "second");
+                    long found = actual.stream()
+                        .filter(v -> expected.equals(v.get(description)))
+                        .count();
+                    assertEquals(name + ", " + order + ", repeated value", 1, found);
+                }
+            }
+        }
+    }
+
     public void TestBadElementNesting() {
         ListMultimap<Path, String> files = LinkedListMultimap.create();
         String fakeXmlName = "bad.xml";
@@ -0,0 +1,113 @@
+package org.unicode.cldr.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unicode.cldr.util.TempLocaleData;
+
+/**
+ * Tests the manifest behind incremental (-I) Ldml2JsonConverter runs: an input is skipped if nothing it depends on
+ * changed, and converted again if anything did.
+ */
+class Ldml2JsonManifestTest {
+    @TempDir
+    File tempDir;
+
+    private TempLocaleData data;
+    private File outputDir;
+    private File manifestFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        data = new TempLocaleData(tempDir, "root", "de", "fr");
+        outputDir = new File(tempDir, "json");
+        manifestFile = new File(outputDir, ".ldml2json-main.manifest");
+    }
+
+    @Test
+    void testUnchangedInputsAreSkipped() throws IOException {
+        convert(makeManifest("v1"), "main/de", "de");
+        Ldml2JsonManifest next = makeManifest("v1");
+        assertTrue(next.isCurrent("main/de", next.getFingerprint("main/de", inputFiles("de"))));
+        assertEquals(Collections.singleton("main/de/numbers.json"), new HashSet<>(next.getOutputs("main/de")));
+        assertFalse(next.isCurrent("main/fr", next.getFingerprint("main/fr", inputFiles("fr"))), "never converted");
+    }
+
+    @Test
+    void testChangesAreRebuilt() throws IOException {
+        convert(makeManifest("v1"), "main/de", "de");
+
+        data.writeLocale("de", "de changed");
+        Ldml2JsonManifest manifest = makeManifest("v1");
+        assertFalse(manifest.isCurrent("main/de", manifest.getFingerprint("main/de", inputFiles("de"))), "input");
+        convert(manifest, "main/de", "de");
+
+        data.writeLocale("root", "root changed");
+        manifest = makeManifest("v1");
+        assertFalse(manifest.isCurrent("main/de", manifest.getFingerprint("main/de", inputFiles("de"))), "parent");
+        convert(manifest, "main/de", "de");
+
+        data.writeSupplemental("supplemental changed");
+        manifest = makeManifest("v1");
+        assertFalse(manifest.isCurrent("main/de", manifest.getFingerprint("main/de", inputFiles("de"))), "shared");
+        convert(manifest, "main/de", "de");
+
+        manifest = makeManifest("v2");
+        assertFalse(manifest.isCurrent("main/de", manifest.getFingerprint("main/de", inputFiles("de"))), "code");
+        convert(manifest, "main/de", "de");
+
+        TempLocaleData.write(new File(outputDir, "main/de/numbers.json"), "");
+        manifest = makeManifest("v2");
+        assertFalse(manifest.isCurrent("main/de", manifest.getFingerprint("main/de", inputFiles("de"))), "output");
+    }
+
+    @Test
+    void testDeletedInputsArePruned() throws IOException {
+        Ldml2JsonManifest manifest = makeManifest("v1");
+        convert(manifest, "main/de", "de");
+        convert(manifest, "main/fr", "fr");
+
+        data.getLocaleFile("fr").delete();
+        manifest = makeManifest("v1");
+        assertEquals(Collections.singleton("main/fr/numbers.json"),
+            manifest.retainInputs(Arrays.asList("main/root", "main/de")));
+        assertTrue(manifest.getOutputs("main/fr").isEmpty());
+        manifest.write();
+
+        manifest = makeManifest("v1");
+        assertTrue(manifest.getOutputs("main/fr").isEmpty(), "pruned entries stay pruned");
+        assertTrue(manifest.isCurrent("main/de", manifest.getFingerprint("main/de", inputFiles("de"))));
+    }
+
+    /**
+     * Do what the converter does for an input: write its output, then record it in the manifest.
+     */
+    private void convert(Ldml2JsonManifest manifest, String input, String locale) throws IOException {
+        String output = input + "/numbers.json";
+        File outputFile = new File(outputDir, output);
+        outputFile.getParentFile().mkdirs();
+        TempLocaleData.write(outputFile, "{\"" + locale + "\": " + System.nanoTime() + "}");
+        manifest.put(input, manifest.getFingerprint(input, inputFiles(locale)), Collections.singleton(output));
+        manifest.write();
+    }
+
+    private Ldml2JsonManifest makeManifest(String codeVersion) {
+        return new Ldml2JsonManifest(manifestFile, outputDir, Arrays.asList("main", "modern"),
+            Collections.singletonList(data.supplementalDir), codeVersion);
+    }
+
+    private List<File> inputFiles(String locale) {
+        return Arrays.asList(data.getLocaleFile(locale), data.getLocaleFile("root"));
+    }
+}
@@ -1,6 +1,7 @@
 package org.unicode.cldr.json;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.util.Collections;
@@ -11,6 +12,7 @@ import java.util.TreeSet;
 import org.junit.jupiter.api.Test;
 import org.unicode.cldr.json.LdmlConvertRules.SplittableAttributeSpec;
 import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
 import org.unicode.cldr.util.DtdData;
 import org.unicode.cldr.util.DtdData.Attribute;
 import org.unicode.cldr.util.DtdData.Element;
@@ -101,4 +103,34 @@ class LdmlConvertRulesTest {
 
     }
 
+    @Test
+    void testRequiredLiteral() {
+        assertEquals("/calendars/calendar[@type=\"",
+            LdmlConvertRules.PathTransformSpec.getRequiredLiteral("(.*/calendars)/calendar\\[@type=\"([^\"]*)\"\\](.*)$"));
+        assertEquals("/exemplarCity",
+            LdmlConvertRules.PathTransformSpec.getRequiredLiteral("(.*(GMT|UTC).*/exemplarCity)(.*)"));
+        assertEquals("a", LdmlConvertRules.PathTransformSpec.getRequiredLiteral("ab*c+d(e|f)g(hi)?j[kl]m{2}n"));
+        assertEquals("", LdmlConvertRules.PathTransformSpec.getRequiredLiteral("abc|def"));
+        assertEquals("", LdmlConvertRules.PathTransformSpec.getRequiredLiteral("(?i)abc"));
+    }
+
+    @Test
+    void testPathTransforms() {
+        // every path that a rule matches must contain its required literal, and memoizing mustn't change the result
+        final CLDRFile english = CLDRConfig.getInstance().getEnglish();
+        final PathTransformer transformer = new PathTransformer();
+        final String prefix = "/cldr/main/en-001/";
+        for (final String path : english.fullIterable()) {
+            for (final String p : new String[] { path, english.getFullXPath(path) }) {
+                for (final LdmlConvertRules.PathTransformSpec spec : LdmlConvertRules.getPathTransformations()) {
+                    if (spec.pattern.matcher(p).matches()) {
+                        assertTrue(p.contains(spec.requiredLiteral), spec.patternStr + " matches " + p);
+                    }
+                }
+                final String expected = PathTransformer.transformUncached(p, prefix);
+                assertEquals(expected, transformer.transform(p, prefix), p);
+                assertEquals(expected, transformer.transform(p, prefix), p);
+            }
+        }
+    }
 }
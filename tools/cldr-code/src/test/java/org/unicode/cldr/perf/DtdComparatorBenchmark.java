@@ -0,0 +1,92 @@
+package org.unicode.cldr.perf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.DtdData;
+import org.unicode.cldr.util.DtdType;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.XPathParts;
+
+/**
+ * Compares sorting the paths of the given locales of common/main into DTD order: with the DtdComparator,
+ * which uses cached sort keys, and with its xpathComparator, which walks the XPathParts and the DTD
+ * on each comparison (as the DtdComparator used to).
+ * Run with, for example:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.unicode.cldr.perf.DtdComparatorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtdComparatorBenchmark {
+
+    @Param({ "en", "en,de,fr,ja,ru" })
+    public String locales;
+
+    private List<String> paths;
+    private Comparator<String> sortKeyComparator;
+    private Comparator<String> xpathComparator;
+
+    @Setup
+    public void setup() {
+        Factory factory = CLDRConfig.getInstance().getCldrFactory();
+        paths = new ArrayList<>();
+        for (String locale : Arrays.asList(locales.split(","))) {
+            CLDRFile file = factory.make(locale, false);
+            for (String path : file) {
+                paths.add(file.getFullXPath(path));
+            }
+        }
+        Collections.shuffle(paths, new Random(0));
+        DtdData.DtdComparator dtdComparator = DtdData.getInstance(DtdType.ldml).getDtdComparator();
+        sortKeyComparator = dtdComparator;
+        xpathComparator = (a, b) -> dtdComparator.xpathComparator(XPathParts.getFrozenInstance(a), XPathParts.getFrozenInstance(b));
+    }
+
+    @Benchmark
+    public void sortWithSortKeys(Blackhole bh) {
+        List<String> sorted = new ArrayList<>(paths);
+        sorted.sort(sortKeyComparator);
+        bh.consume(sorted);
+    }
+
+    @Benchmark
+    public void sortWithXPathParts(Blackhole bh) {
+        List<String> sorted = new ArrayList<>(paths);
+        sorted.sort(xpathComparator);
+        bh.consume(sorted);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(DtdComparatorBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
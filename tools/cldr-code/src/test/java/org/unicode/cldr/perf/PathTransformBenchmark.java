@@ -0,0 +1,147 @@
+package org.unicode.cldr.perf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.unicode.cldr.json.PathTransformer;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.Factory;
+
+/**
+ * Compares the JSON path transforms of Ldml2JsonConverter, over the paths and full paths of the given
+ * locales of common/main ("*" for all of them): running every rule's regex in turn, as the converter used to;
+ * the PathTransformer without its memo (rules skipped by their required literals); and with the memo.
+ * Run with, for example:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.unicode.cldr.perf.PathTransformBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathTransformBenchmark {
+
+    private static final Pattern ANNOTATION_CP_REMAP = Pattern.compile("^(.*)\\[@cp=\"(\\[|\\]|'|\"|@|/|=)\"\\](.*)$");
+
+    @Param({ "en,de,fr,ja,ru,ar,hi,zh,pt,es", "*" })
+    public String locales;
+
+    private List<String> paths;
+    private List<String> prefixes;
+    private List<Pattern> patterns;
+    private List<String> replacements;
+    private PathTransformer transformer;
+
+    @Setup
+    public void setup() throws IOException {
+        Factory factory = CLDRConfig.getInstance().getCldrFactory();
+        paths = new ArrayList<>();
+        prefixes = new ArrayList<>();
+        for (String locale : locales.equals("*") ? factory.getAvailable() : Arrays.asList(locales.split(","))) {
+            CLDRFile file = factory.make(locale, false);
+            String prefix = "/cldr/main/" + locale.replace('_', '-') + "/";
+            for (String path : file) {
+                paths.add(path);
+                prefixes.add(prefix);
+                paths.add(file.getFullXPath(path));
+                prefixes.add(prefix);
+            }
+        }
+        patterns = new ArrayList<>();
+        replacements = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+            PathTransformer.class.getResourceAsStream("pathTransforms.txt"), StandardCharsets.UTF_8))) {
+            Pattern pattern = null;
+            for (String line; (line = in.readLine()) != null;) {
+                if (line.startsWith("<")) {
+                    pattern = Pattern.compile(line.substring(1).trim());
+                } else if (line.startsWith(">")) {
+                    patterns.add(pattern);
+                    replacements.add(line.substring(1).trim());
+                }
+            }
+        }
+        transformer = new PathTransformer();
+    }
+
+    @Benchmark
+    public void sequentialRegex(Blackhole bh) {
+        for (int i = 0; i < paths.size(); ++i) {
+            bh.consume(transformSequentially(paths.get(i), prefixes.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void compiled(Blackhole bh) {
+        for (int i = 0; i < paths.size(); ++i) {
+            bh.consume(PathTransformer.transformUncached(paths.get(i), prefixes.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void compiledMemoized(Blackhole bh) {
+        for (int i = 0; i < paths.size(); ++i) {
+            bh.consume(transformer.transform(paths.get(i), prefixes.get(i)));
+        }
+    }
+
+    private String transformSequentially(String result, String pathPrefix) {
+        Matcher cpm = ANNOTATION_CP_REMAP.matcher(result);
+        if (cpm.matches()) {
+            StringBuilder sb = new StringBuilder(cpm.group(1)).append("[@cp=\"");
+            cpm.group(2).codePoints().forEach(cp -> sb.append("U+").append(Integer.toHexString(cp).toUpperCase()));
+            result = sb.append("\"]").append(cpm.group(3)).toString();
+        }
+        for (int i = 0; i < patterns.size(); ++i) {
+            Matcher m = patterns.get(i).matcher(result);
+            if (m.matches()) {
+                result = m.replaceFirst(replacements.get(i));
+                break;
+            }
+        }
+        result = result.replaceFirst("/ldml/", pathPrefix);
+        result = result.replaceFirst("/supplementalData/", pathPrefix);
+        if (result.contains("languages") ||
+            result.contains("languageAlias") ||
+            result.contains("languageMatches") ||
+            result.contains("likelySubtags") ||
+            result.contains("parentLocale") ||
+            result.contains("locales=")) {
+            result = result.replaceAll("_", "-");
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PathTransformBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package org.unicode.cldr.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRPaths;
+import org.unicode.cldr.util.Rational;
+import org.unicode.cldr.util.UnitConverter;
+
+import com.google.common.base.Splitter;
+
+/**
+ * Measures UnitConverter.convert over the unit test corpus: the conversions in common/testData/units/unitsTest.txt,
+ * and every pair of simple units of the same quantity, with and without the cached conversion plans.
+ * JMH forks a JVM for each value of "cached", so the converter is built with caching on or off as set by
+ * the CLDR_UNIT_CONVERSION_CACHE property. Run with, for example:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.unicode.cldr.perf.UnitConverterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnitConverterBenchmark {
+
+    private static final Splitter SPLIT_SEMI = Splitter.on(';').trimResults();
+    private static final Rational R1000 = Rational.of(1000);
+
+    @Param({ "true", "false" })
+    public boolean cached;
+
+    private UnitConverter converter;
+    private List<String> testSources;
+    private List<String> testTargets;
+    private List<String> pairSources;
+    private List<String> pairTargets;
+
+    @Setup
+    public void setup() throws IOException {
+        // before the converter is built, in this fork
+        System.setProperty("CLDR_UNIT_CONVERSION_CACHE", cached ? String.valueOf(UnitConverter.DEFAULT_MAX_CACHED_CONVERSIONS) : "0");
+        converter = CLDRConfig.getInstance().getSupplementalDataInfo().getUnitConverter();
+        testSources = new ArrayList<>();
+        testTargets = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(CLDRPaths.TEST_DATA, "units", "unitsTest.txt"))) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            List<String> fields = SPLIT_SEMI.splitToList(line);
+            testSources.add(fields.get(1));
+            testTargets.add(fields.get(2));
+        }
+        pairSources = new ArrayList<>();
+        pairTargets = new ArrayList<>();
+        for (String source : converter.getSimpleUnits()) {
+            String quantity = converter.getQuantityFromUnit(source, false);
+            for (String target : converter.getSimpleUnits()) {
+                if (quantity != null && quantity.equals(converter.getQuantityFromUnit(target, false))) {
+                    pairSources.add(source);
+                    pairTargets.add(target);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void convertTestFile(Blackhole bh) {
+        for (int i = 0; i < testSources.size(); ++i) {
+            bh.consume(converter.convert(R1000, testSources.get(i), testTargets.get(i), false));
+        }
+    }
+
+    @Benchmark
+    public void convertSimplePairs(Blackhole bh) {
+        for (int i = 0; i < pairSources.size(); ++i) {
+            bh.consume(converter.convert(R1000, pairSources.get(i), pairTargets.get(i), false));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(UnitConverterBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
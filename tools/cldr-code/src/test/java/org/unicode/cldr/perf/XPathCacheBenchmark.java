@@ -0,0 +1,99 @@
+package org.unicode.cldr.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.XPathCache;
+import org.unicode.cldr.util.XPathParts;
+
+/**
+ * Compares the hot (cache hit) path of XPathParts.getFrozenInstance and CLDRFile.getDistinguishingXPath,
+ * which use XPathCache, against the unbounded ConcurrentHashMap they used before.
+ * Run with, for example:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.unicode.cldr.perf.XPathCacheBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XPathCacheBenchmark {
+
+    @Param({ "strong", "soft" })
+    public String valueStrength;
+
+    private List<String> paths;
+    private Map<String, XPathParts> mapCache;
+    private XPathCache<XPathParts> xpathCache;
+
+    @Setup
+    public void setup() {
+        paths = new ArrayList<>();
+        CLDRConfig.getInstance().getEnglish().fullIterable().forEach(paths::add);
+        mapCache = new ConcurrentHashMap<>();
+        xpathCache = XPathCache.create("benchmark", XPathCache.MAX_SIZE, XPathCache.ValueStrength.valueOf(valueStrength), true);
+        for (String path : paths) {
+            XPathParts parts = XPathParts.getFrozenInstance(path);
+            mapCache.put(path, parts);
+            xpathCache.put(path, parts);
+            CLDRFile.getDistinguishingXPath(path, null);
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMap(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(mapCache.computeIfAbsent(path, p -> XPathParts.getFrozenInstance(p)));
+        }
+    }
+
+    @Benchmark
+    public void xpathCache(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(xpathCache.get(path, p -> XPathParts.getFrozenInstance(p)));
+        }
+    }
+
+    @Benchmark
+    public void getFrozenInstance(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(XPathParts.getFrozenInstance(path));
+        }
+    }
+
+    @Benchmark
+    public void getDistinguishingXPath(Blackhole bh) {
+        for (String path : paths) {
+            bh.consume(CLDRFile.getDistinguishingXPath(path, null));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(XPathCacheBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package org.unicode.cldr.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unicode.cldr.test.ConsoleCheckCLDR.ErrorType;
+import org.unicode.cldr.test.ConsoleCheckCLDR.LocaleResult;
+import org.unicode.cldr.util.Counter;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.SimpleFactory;
+import org.unicode.cldr.util.TempLocaleData;
+
+class CheckResultCacheTest {
+    @TempDir
+    File tempDir;
+
+    private TempLocaleData data;
+    private File cacheDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        data = new TempLocaleData(tempDir, "root", "en", "fr", "fr_CA", "de");
+        cacheDir = new File(tempDir, "cache");
+    }
+
+    @Test
+    void testRoundTrip() {
+        CheckResultCache cache = makeCache("v1");
+        String fingerprint = cache.getFingerprint("fr_CA");
+        assertNull(cache.get("fr_CA", fingerprint));
+
+        cache.put("fr_CA", fingerprint, makeResult("fr_CA"));
+        LocaleResult result = cache.get("fr_CA", fingerprint);
+        assertNotNull(result);
+        assertEquals("fr_CA", result.localeID);
+        assertArrayEquals(makeResult("fr_CA").output, result.output);
+        assertEquals(2, result.subtotal.getCount(ErrorType.error));
+        assertEquals(5, result.subtotal.getCount(ErrorType.warning));
+
+        // a new run with the same inputs reuses it
+        CheckResultCache next = makeCache("v1");
+        assertEquals(fingerprint, next.getFingerprint("fr_CA"));
+        assertNotNull(next.get("fr_CA", next.getFingerprint("fr_CA")));
+    }
+
+    @Test
+    void testUnloadedResultsAreNotCached() {
+        CheckResultCache cache = makeCache("v1");
+        String fingerprint = cache.getFingerprint("fr");
+        cache.put("fr", fingerprint, new LocaleResult("fr", new byte[0], new Counter<>(true), false));
+        assertNull(cache.get("fr", fingerprint));
+    }
+
+    @Test
+    void testInvalidation() throws IOException {
+        String before = makeCache("v1").getFingerprint("fr_CA");
+        String otherLocale = makeCache("v1").getFingerprint("de");
+
+        data.writeLocale("fr_CA", "fr_CA changed");
+        String localeChanged = makeCache("v1").getFingerprint("fr_CA");
+        assertNotEquals(before, localeChanged, "locale changed");
+
+        data.writeLocale("fr", "fr changed");
+        String parentChanged = makeCache("v1").getFingerprint("fr_CA");
+        assertNotEquals(localeChanged, parentChanged, "parent changed");
+        assertEquals(otherLocale, makeCache("v1").getFingerprint("de"), "unrelated locale");
+
+        assertNotEquals(parentChanged, makeCache("v2").getFingerprint("fr_CA"), "code changed");
+
+        data.writeSupplemental("supplemental changed");
+        assertNotEquals(parentChanged, makeCache("v1").getFingerprint("fr_CA"), "shared data changed");
+
+        // and a stale result isn't returned
+        CheckResultCache cache = makeCache("v1");
+        cache.put("fr_CA", before, makeResult("fr_CA"));
+        assertNull(cache.get("fr_CA", cache.getFingerprint("fr_CA")));
+    }
+
+    private CheckResultCache makeCache(String codeVersion) {
+        Factory factory = SimpleFactory.make(new File[] { data.mainDir }, ".*");
+        return new CheckResultCache(cacheDir, factory, data.mainDir.getPath(), Collections.singletonList("-c=modern"),
+            Collections.singletonList(data.supplementalDir), codeVersion);
+    }
+
+    private static LocaleResult makeResult(String localeID) {
+        Counter<ErrorType> subtotal = new Counter<>(true);
+        subtotal.add(ErrorType.error, 2);
+        subtotal.add(ErrorType.warning, 5);
+        return new LocaleResult(localeID, ("output for " + localeID + "\n").getBytes(StandardCharsets.UTF_8),
+            subtotal, true);
+    }
+}
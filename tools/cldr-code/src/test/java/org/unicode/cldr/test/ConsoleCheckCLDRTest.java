@@ -0,0 +1,121 @@
+package org.unicode.cldr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unicode.cldr.test.ConsoleCheckCLDR.ErrorType;
+import org.unicode.cldr.test.ConsoleCheckCLDR.LocaleCheck;
+import org.unicode.cldr.util.SimpleFactory;
+import org.unicode.cldr.util.TempLocaleData;
+
+class ConsoleCheckCLDRTest {
+    static final List<String> LOCALES = Arrays.asList("af", "am", "ar", "as", "az", "be", "bg", "bn", "br",
+        "bs", "ca", "cs", "cy", "da", "de", "el", "en", "es", "et", "eu", "fa", "fi", "fr", "xx");
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testGetShard() {
+        assertEquals(LOCALES, ConsoleCheckCLDR.getShard(LOCALES, null));
+        for (int count : new int[] { 1, 5, 7, LOCALES.size(), LOCALES.size() + 3 }) {
+            List<String> joined = new ArrayList<>();
+            for (int index = 0; index < count; ++index) {
+                List<String> shard = ConsoleCheckCLDR.getShard(LOCALES, index + "/" + count);
+                int expectedSize = LOCALES.size() / count;
+                assertTrue(shard.size() == expectedSize || shard.size() == expectedSize + 1,
+                    index + "/" + count + " has " + shard.size() + " locales");
+                joined.addAll(shard);
+            }
+            assertEquals(LOCALES, joined, "shards of " + count);
+        }
+        assertThrows(IllegalArgumentException.class, () -> ConsoleCheckCLDR.getShard(LOCALES, "3/3"));
+        assertThrows(IllegalArgumentException.class, () -> ConsoleCheckCLDR.getShard(LOCALES, "0/0"));
+    }
+
+    @Test
+    void testParallelOutputMatchesSequential() throws IOException {
+        // Locales take different times, so with several threads they finish out of order.
+        LocaleCheck check = localeID -> {
+            try {
+                Thread.sleep(Math.floorMod(localeID.hashCode(), 7) * 3);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            for (int i = 0; i < 3; ++i) {
+                ConsoleCheckCLDR.out().println(localeID + "\tline " + i);
+            }
+            ConsoleCheckCLDR.subtotalCount.get().add(ErrorType.warning, localeID.charAt(0));
+            return !localeID.equals("xx");
+        };
+        Run sequential = new Run(check, LOCALES, 1, null);
+        assertEquals(Collections.singleton("xx"), sequential.fatalErrors);
+        assertTrue(sequential.output.startsWith("af\tline 0"), sequential.output);
+        for (int threads : new int[] { 2, 4, 8 }) {
+            Run parallel = new Run(check, LOCALES, threads, null);
+            assertEquals(sequential.output, parallel.output, "output with -j" + threads);
+            assertEquals(sequential.warnings, parallel.warnings, "warnings with -j" + threads);
+            assertEquals(sequential.fatalErrors, parallel.fatalErrors, "fatal errors with -j" + threads);
+        }
+    }
+
+    @Test
+    void testCachedOutputHasNoElapsedTime() throws IOException {
+        List<String> locales = Arrays.asList("de", "fr");
+        TempLocaleData data = new TempLocaleData(tempDir, "root", "de", "fr");
+        LocaleCheck check = localeID -> {
+            ConsoleCheckCLDR.out().println(localeID + "\tchecked");
+            ConsoleCheckCLDR.elapsedTime.set(System.nanoTime() + " ns");
+            return true;
+        };
+        Run first = new Run(check, locales, 1, makeCache(data));
+        assertEquals(2, first.output.split("# Elapsed time: ", -1).length - 1, first.output);
+        for (int threads : new int[] { 1, 2 }) {
+            Run cached = new Run(check, locales, threads, makeCache(data));
+            assertEquals(first.output.replaceAll("# Elapsed time: .*\n", ""), cached.output,
+                "cached output with -j" + threads);
+            assertFalse(cached.output.contains("# Elapsed time"), cached.output);
+        }
+    }
+
+    private CheckResultCache makeCache(TempLocaleData data) {
+        return new CheckResultCache(new File(tempDir, "cache"), SimpleFactory.make(new File[] { data.mainDir }, ".*"),
+            data.mainDir.getPath(), Collections.emptyList(), Collections.singletonList(data.supplementalDir), "v1");
+    }
+
+    private static class Run {
+        final String output;
+        final long warnings;
+        final Set<String> fatalErrors = new TreeSet<>();
+
+        Run(LocaleCheck check, List<String> locales, int threads, CheckResultCache cache) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            PrintStream oldOut = System.out;
+            long oldWarnings = ConsoleCheckCLDR.totalCount.getCount(ErrorType.warning);
+            System.setOut(new PrintStream(buffer, true, "UTF-8"));
+            try {
+                ConsoleCheckCLDR.checkLocales(check, locales, threads, cache, fatalErrors);
+            } finally {
+                System.setOut(oldOut);
+            }
+            output = new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+            warnings = ConsoleCheckCLDR.totalCount.getCount(ErrorType.warning) - oldWarnings;
+        }
+    }
+}
@@ -4,7 +4,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -371,6 +374,60 @@ public class TestBasic extends TestFmwkPlus {
         return timingInfo;
     }
 
+    public void TestReaderPoolValidation() {
+        // Reads reuse readers and share the parsed DTD, so check that later reads still validate against it
+        String dtd = new File(CLDRPaths.COMMON_DIRECTORY, "dtd/ldml.dtd").getAbsolutePath();
+        String good = "<?xml version='1.0' encoding='UTF-8' ?><!DOCTYPE ldml SYSTEM '" + dtd + "'>"
+            + "<ldml><identity><version number='$Revision$'/><language type='de'/></identity></ldml>";
+        String bad = good.replace("<language", "<bogus/><language");
+        final int handlers = XMLFileReader.CONTENT_HANDLER | XMLFileReader.ERROR_HANDLER;
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        for (List<String> paths : Arrays.asList(first, second)) {
+            new XMLFileReader().setHandler(new XMLFileReader.SimpleHandler() {
+                @Override
+                public void handlePathValue(String path, String value) {
+                    paths.add(path);
+                }
+            }).read("good", new StringReader(good), handlers, true);
+        }
+        assertNotEquals("paths", Collections.emptyList(), first);
+        assertEquals("paths from reused reader", first, second);
+        try {
+            new XMLFileReader().setHandler(new XMLFileReader.SimpleHandler())
+                .read("bad", new StringReader(bad), handlers, true);
+            errln("Invalid file should fail to validate with the cached DTD");
+        } catch (IllegalArgumentException e) {
+            logln(e.getCause().getMessage());
+        }
+    }
+
+    public void TestReaderPoolDtdChange() throws IOException {
+        // The shared DTD grammars are dropped when the DTD file changes
+        File dir = Files.createTempDirectory("TestReaderPoolDtdChange").toFile();
+        File dtd = new File(dir, "test.dtd");
+        try {
+            Files.write(dtd.toPath(), "<!ELEMENT root (a)><!ELEMENT a EMPTY>".getBytes(StandardCharsets.UTF_8));
+            String xml = "<?xml version='1.0' encoding='UTF-8' ?><!DOCTYPE root SYSTEM '" + dtd.toURI() + "'><root><b/></root>";
+            final int handlers = XMLFileReader.CONTENT_HANDLER | XMLFileReader.ERROR_HANDLER;
+            try {
+                new XMLFileReader().setHandler(new XMLFileReader.SimpleHandler())
+                    .read("b", new StringReader(xml), handlers, true);
+                errln("<b> should fail to validate with the first DTD");
+            } catch (IllegalArgumentException e) {
+                logln(e.getCause().getMessage());
+            }
+            long lastModified = dtd.lastModified();
+            Files.write(dtd.toPath(), "<!ELEMENT root (b)><!ELEMENT b EMPTY>".getBytes(StandardCharsets.UTF_8));
+            dtd.setLastModified(lastModified + 2000);
+            new XMLFileReader().setHandler(new XMLFileReader.SimpleHandler())
+                .read("b", new StringReader(xml), handlers, true);
+        } finally {
+            dtd.delete();
+            dir.delete();
+        }
+    }
+
     public void TestCurrencyFallback() {
         Factory cldrFactory = testInfo.getCldrFactory();
         Set<String> currencies = StandardCodes.make().getAvailableCodes(
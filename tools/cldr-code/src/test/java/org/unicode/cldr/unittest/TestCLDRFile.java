@@ -871,4 +871,28 @@ public class TestCLDRFile extends TestFmwk {
             errln("Failure: " + Joiner.on('\n').join(Sets.difference(es.getRawExtraPaths(), es_US.getRawExtraPaths())));
         }
     }
+
+    public void TestResolvedSnapshot() {
+        CLDRFile resolved = testInfo.getCldrFactory().make("fr_CA", true);
+        CLDRFile snapshot = resolved.getResolvedSnapshot();
+        assertTrue("resolved", snapshot.isResolved());
+        assertTrue("frozen", snapshot.isFrozen());
+        assertEquals("locale", resolved.getLocaleID(), snapshot.getLocaleID());
+        assertEquals("paths", Sets.newHashSet(resolved.iterator()), Sets.newHashSet(snapshot.iterator()));
+
+        Status status = new Status();
+        Status snapshotStatus = new Status();
+        for (String path : resolved) {
+            assertEquals("value " + path, resolved.getStringValue(path), snapshot.getStringValue(path));
+            assertEquals("full path " + path, resolved.getFullXPath(path), snapshot.getFullXPath(path));
+            assertEquals("source locale " + path, resolved.getSourceLocaleID(path, status),
+                snapshot.getSourceLocaleID(path, snapshotStatus));
+            assertEquals("path where found " + path, status.pathWhereFound, snapshotStatus.pathWhereFound);
+        }
+
+        // not in the file, so passed on to the resolving source
+        String missing = "//ldml/units/unitLength[@type=\"long\"]/unit[@type=\"length-meter\"]/unitPattern[@count=\"few\"]";
+        assertEquals("missing path", resolved.getStringValue(missing), snapshot.getStringValue(missing));
+        assertTrue("snapshot of snapshot", snapshot == snapshot.getResolvedSnapshot());
+    }
 }
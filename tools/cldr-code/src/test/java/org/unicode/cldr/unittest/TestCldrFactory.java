@@ -183,6 +183,21 @@ public class TestCldrFactory extends TestFmwkPlus {
         assertEquals("enAnnotations == enDoubleWithAnnotations", null, differentPathValue(enAnnotations, enDoubleWithAnnotations));
     }
 
+    public void testPreload() {
+        Factory factory = testInfo.getCldrFactory();
+        Set<String> locales = factory.getAvailableWithParent("fr", false);
+        Map<String, Long> timings = factory.preload(locales, 4, Long.MAX_VALUE);
+        assertEquals("all loaded", locales, timings.keySet());
+        for (Map.Entry<String, Long> entry : timings.entrySet()) {
+            assertTrue(entry.getKey() + " timing", entry.getValue() >= 0);
+        }
+        assertEquals("fr value", "français", factory.make("fr", true)
+            .getStringValue("//ldml/localeDisplayNames/languages/language[@type=\"fr\"]"));
+
+        timings = factory.preload(locales, 4, 0);
+        assertEquals("none loaded over budget", 0, timings.size());
+    }
+
     private CLDRFile cldrFileFromString(String string) {
         byte[] b = string.getBytes(StandardCharsets.UTF_8);
         InputStream fis = new ByteArrayInputStream(b);
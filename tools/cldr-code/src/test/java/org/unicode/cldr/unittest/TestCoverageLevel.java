@@ -1,5 +1,8 @@
 package org.unicode.cldr.unittest;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -14,8 +17,10 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+import org.unicode.cldr.test.CoverageIndex;
 import org.unicode.cldr.test.CoverageLevel2;
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
@@ -330,6 +335,59 @@ public class TestCoverageLevel extends TestFmwkPlus {
         assertEquals("Quick Check for any attribute", Level.MODERN, level);
     }
 
+    /**
+     * Coverage computed in parallel (with a shared lookup) must match coverage computed serially.
+     */
+    public void TestConcurrentCoverage() {
+        final List<String> paths = new ArrayList<>();
+        ENGLISH.fullIterable().forEach(paths::add);
+        for (String locale : Arrays.asList("de", "ja", "sr_Latn")) {
+            final CoverageLevel2 coverageLevel = CoverageLevel2.getInstance(SDI, locale);
+            final Map<String, Level> expected = new HashMap<>();
+            for (String path : paths) {
+                expected.put(path, coverageLevel.getLevel(path));
+            }
+            final Map<String, Level> actual = new ConcurrentHashMap<>();
+            paths.parallelStream().forEach(path -> actual.put(path, coverageLevel.getLevel(path)));
+            assertEquals(locale + ": parallel CoverageLevel2.getLevel", expected, actual);
+
+            final Map<String, Level> actualSdi = new ConcurrentHashMap<>();
+            paths.parallelStream().forEach(path -> actualSdi.put(path, SDI.getCoverageLevel(path, locale)));
+            assertEquals(locale + ": parallel SupplementalDataInfo.getCoverageLevel", expected, actualSdi);
+        }
+    }
+
+    /**
+     * The CoverageIndex must give back the levels it was built from, and nothing for unknown paths.
+     */
+    public void TestCoverageIndex() throws IOException {
+        final Map<String, Map<String, Level>> languageToPathToLevel = new TreeMap<>();
+        for (String language : Arrays.asList("de", "ja", "sr")) {
+            CoverageLevel2 coverageLevel = CoverageLevel2.getInstanceWithoutIndex(SDI, language);
+            Map<String, Level> pathToLevel = new TreeMap<>();
+            for (String path : ENGLISH.fullIterable()) {
+                pathToLevel.put(path, coverageLevel.getLevel(path));
+            }
+            languageToPathToLevel.put(language, pathToLevel);
+        }
+        File file = File.createTempFile("coverageIndex", ".data");
+        file.deleteOnExit();
+        CoverageIndex.write(file, SDI, languageToPathToLevel);
+        CoverageIndex index = CoverageIndex.read(file);
+        assertEquals("languages", languageToPathToLevel.keySet(), index.getLanguages());
+        for (Entry<String, Map<String, Level>> entry : languageToPathToLevel.entrySet()) {
+            CoverageIndex.LanguageLevels levels = index.getLevels(SDI, entry.getKey());
+            if (!assertNotNull(entry.getKey() + " levels", levels)) {
+                continue;
+            }
+            for (Entry<String, Level> pathAndLevel : entry.getValue().entrySet()) {
+                assertEquals(entry.getKey() + ", " + pathAndLevel.getKey(), pathAndLevel.getValue(), levels.get(pathAndLevel.getKey()));
+            }
+            assertNull("unknown path", levels.get("//ldml/foo/bar"));
+        }
+        assertNull("language not in index", index.getLevels(SDI, "fr"));
+    }
+
     public void TestCoverageCompleteness() {
         /**
          * Check that English paths are, except for known cases, at least modern coverage.
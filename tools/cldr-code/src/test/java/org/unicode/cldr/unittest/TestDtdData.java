@@ -15,6 +15,7 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
 import org.unicode.cldr.util.CLDRPaths;
 import org.unicode.cldr.util.DtdData;
 import org.unicode.cldr.util.DtdData.Attribute;
@@ -684,4 +685,30 @@ public class TestDtdData extends TestFmwk {
             assertEquals(Arrays.asList(test).toString(), expectedValue, actual);
         }
     }
+
+    public void TestDtdComparatorSortKeys() {
+        // The DtdComparator compares with cached sort keys; check that it sorts the same as xpathComparator
+        DtdData dtdData = DtdData.getInstance(DtdType.ldml);
+        DtdData.DtdComparator comparator = dtdData.getDtdComparator();
+        Set<String> pathSet = new LinkedHashSet<>();
+        for (String locale : Arrays.asList("root", "en", "de", "ja")) {
+            CLDRFile file = testInfo.getCldrFactory().make(locale, false);
+            for (String path : file) {
+                pathSet.add(path);
+                pathSet.add(file.getFullXPath(path));
+            }
+        }
+        List<String> expected = new ArrayList<>(pathSet);
+        expected.sort((a, b) -> comparator.xpathComparator(XPathParts.getFrozenInstance(a), XPathParts.getFrozenInstance(b)));
+        List<String> actual = new ArrayList<>(pathSet);
+        actual.sort(comparator);
+        if (!assertEquals("sorted paths", expected.size(), actual.size())) {
+            return;
+        }
+        for (int i = 0; i < expected.size(); ++i) {
+            if (!assertEquals("path " + i + " of " + expected.size(), expected.get(i), actual.get(i))) {
+                break;
+            }
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -1452,4 +1453,29 @@ public class TestPathHeader extends TestFmwkPlus {
             assertEquals("No quotes in pathheader", false, trial.toString().contains("\""));
         }
     }
+
+    public void TestConcurrentFromPath() {
+        // the functions in PathHeader.txt set the order while a PathHeader is made, so compare the
+        // PathHeaders made in parallel, including their order, with those made one at a time
+        List<String> paths = new ArrayList<>();
+        for (String locale : MIN_LOCALES) {
+            factory.make(locale, true).fullIterable().forEach(paths::add);
+        }
+        Map<String, PathHeader> expected = new HashMap<>();
+        pathHeaderFactory.clearCache();
+        for (String path : paths) {
+            expected.put(path, pathHeaderFactory.fromPath(path));
+        }
+        pathHeaderFactory.clearCache();
+        Set<String> errors = Collections.synchronizedSet(new TreeSet<>());
+        paths.parallelStream().forEach(path -> {
+            PathHeader actual = pathHeaderFactory.fromPath(path);
+            PathHeader old = expected.get(path);
+            if (old == null ? actual != null
+                : actual == null || old.compareTo(actual) != 0 || !old.toString().equals(actual.toString())) {
+                errors.add(path + "\t" + old + "\t" + actual);
+            }
+        });
+        assertEquals("PathHeaders made in parallel", Collections.emptySet(), errors);
+    }
 }
@@ -21,6 +21,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import org.unicode.cldr.draft.ScriptMetadata;
 import org.unicode.cldr.test.CoverageLevel2;
@@ -1865,6 +1866,42 @@ public class TestSupplementalInfo extends TestFmwkPlus {
         com.google.common.collect.Interners i;
     }
 
+    /**
+     * The lazily built parts of SupplementalDataInfo are read without locks, so check that threads racing to build
+     * them all see the same results as a single thread.
+     */
+    public void TestConcurrentAccess() {
+        final List<String> dates = Arrays.asList("1999-01-01 12:30", "1999-01-01", "1999-01", "1999", "2021-12-31");
+        Map<String, String> expectedDates = new TreeMap<>();
+        for (String date : dates) {
+            expectedDates.put(date, DateRange.formatDate(new DateRange(date, null).getFrom()));
+        }
+        final SupplementalDataInfo expected = SupplementalDataInfo.getInstance(SUPPLEMENTAL.getDirectory());
+        final Set<String> expectedZones = SUPPLEMENTAL.getSingleRegionZones();
+        Set<String> errors = Collections.synchronizedSet(new TreeSet<>());
+        IntStream.range(0, 64).parallel().forEach(i -> {
+            if (SupplementalDataInfo.getInstance(SUPPLEMENTAL.getDirectory()) != expected) {
+                errors.add("getInstance returned a different instance");
+            }
+            if (!expectedZones.equals(expected.getSingleRegionZones())) {
+                errors.add("getSingleRegionZones differs");
+            }
+            if (expected.getCoverageLookup() != expected.getCoverageLookup()) {
+                errors.add("getCoverageLookup differs");
+            }
+            if (!expected.isDefaultContent(CLDRLocale.getInstance("en_US"))) {
+                errors.add("en_US should be default content");
+            }
+            for (String date : dates) {
+                String actual = DateRange.formatDate(new DateRange(date, null).getFrom());
+                if (!expectedDates.get(date).equals(actual)) {
+                    errors.add(date + ": " + actual);
+                }
+            }
+        });
+        assertEquals("errors", Collections.emptySet(), errors);
+    }
+
     public void Test9924() {
         Boolean b = org.unicode.cldr.unittest.TestSupplementalInfo.LOCALES_FIXED;
         PopulationData zhCNData = SUPPLEMENTAL.getLanguageAndTerritoryPopulationData(b ? "zh" : "zh_Hans", "CN");
@@ -637,6 +637,35 @@ public class TestUnits extends TestFmwk {
         assertEquals("", Rational.of(7), uinfo.convert(Rational.of(2)));
     }
 
+    /**
+     * Rationals are kept in longs when they fit, so check arithmetic across the boundary with BigInteger.
+     */
+    public void TestRationalOverflow() {
+        final BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+        final BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+        Rational rMax = Rational.of(Long.MAX_VALUE);
+        Rational rMin = Rational.of(Long.MIN_VALUE);
+
+        assertEquals("max+1", Rational.of(max.add(BigInteger.ONE)), rMax.add(Rational.ONE));
+        assertEquals("min-1", Rational.of(min.subtract(BigInteger.ONE)), rMin.subtract(Rational.ONE));
+        assertEquals("-min", Rational.of(min.negate()), rMin.negate());
+        assertEquals("max*max", Rational.of(max.multiply(max)), rMax.multiply(rMax));
+        assertEquals("1/min", Rational.of(BigInteger.ONE, min), rMin.reciprocal());
+        assertEquals("(max+1)-1", rMax, rMax.add(Rational.ONE).subtract(Rational.ONE));
+        assertEquals("max*max/max", rMax, rMax.multiply(rMax).divide(rMax));
+        assertEquals("-(-min)", rMin, rMin.negate().negate());
+
+        Rational a = Rational.of(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        Rational b = Rational.of(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1);
+        assertEquals("a-b", Rational.of(BigInteger.ONE, max.multiply(max.subtract(BigInteger.ONE))), a.subtract(b));
+        assertTrue("a>b", a.compareTo(b) > 0);
+        assertTrue("b<a", b.compareTo(a) < 0);
+        assertEquals("a-b+b", a, a.subtract(b).add(b));
+        assertEquals("hash", Rational.of(BigInteger.valueOf(3), BigInteger.valueOf(5)).hashCode(), Rational.of(3, 5).hashCode());
+        assertEquals("pow", Rational.of(BigInteger.TEN.pow(30)), Rational.of(10).pow(30));
+        assertEquals("double", (double) Long.MAX_VALUE * 2, rMax.add(rMax).doubleValue());
+    }
+
     public void TestRationalParse() {
         Rational.RationalParser parser = SDI.getRationalParser();
 
@@ -650,7 +679,7 @@ public class TestUnits extends TestFmwk {
         assertEquals("", 6.02214076E+23d, parser.parse("6.02214076E+23").toBigDecimal().doubleValue());
         Rational temp = parser.parse("gal_to_m3");
         //System.out.println(" " + temp);
-        assertEquals("", 0.003785411784, temp.numerator.doubleValue()/temp.denominator.doubleValue());
+        assertEquals("", 0.003785411784, temp.getNumerator().doubleValue()/temp.getDenominator().doubleValue());
     }
 
 
@@ -22,6 +22,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 
 import org.unicode.cldr.test.SubmissionLocales;
@@ -40,6 +41,7 @@ import org.unicode.cldr.util.PathHeader;
 import org.unicode.cldr.util.PathHeader.PageId;
 import org.unicode.cldr.util.PatternCache;
 import org.unicode.cldr.util.PluralSamples;
+import org.unicode.cldr.util.RegexLookup;
 import org.unicode.cldr.util.SpecialLocales;
 import org.unicode.cldr.util.StringId;
 import org.unicode.cldr.util.SupplementalDataInfo;
@@ -53,6 +55,7 @@ import org.unicode.cldr.util.VoteResolver.Level;
 import org.unicode.cldr.util.VoteResolver.Status;
 import org.unicode.cldr.util.VoteResolver.VoterInfo;
 import org.unicode.cldr.util.XMLUploader;
+import org.unicode.cldr.util.XPathCache;
 import org.unicode.cldr.util.props.ICUPropertyFactory;
 
 import com.google.common.collect.ImmutableMap;
@@ -62,6 +65,7 @@ import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.lang.UProperty;
 import com.ibm.icu.text.Collator;
 import com.ibm.icu.text.UnicodeSet;
+import com.ibm.icu.util.Output;
 import com.ibm.icu.util.ULocale;
 
 public class TestUtilities extends TestFmwkPlus {
@@ -1388,4 +1392,57 @@ public class TestUtilities extends TestFmwkPlus {
             errln("Got getMissingStatus = " + status.toString() + "; expected " + expected.toString());
         }
     }
+
+    /**
+     * Lookups on a built RegexLookup must give the same results whether or not they
+     * are done from multiple threads at once.
+     */
+    public void TestRegexLookupConcurrent() {
+        final String source = "^//ldml/localeDisplayNames/languages/language\\[@type=\"([^\"]*)\"\\]; lang-$1\n"
+            + "^//ldml/localeDisplayNames/territories/territory\\[@type=\"([^\"]*)\"\\]; region-$1\n"
+            + "^//ldml/localeDisplayNames/scripts/script\\[@type=\"([^\"]*)\"\\]; script-$1\n"
+            + "^//ldml/dates/calendars/calendar\\[@type=\"([^\"]*)\"\\]/(.*); calendar-$1\n"
+            + "^//ldml/dates/.*; dates\n"
+            + "^//ldml/.*; other\n";
+        final List<String> paths = new ArrayList<>();
+        testInfo.getEnglish().forEach(paths::add);
+        for (RegexLookup.LookupType type : RegexLookup.LookupType.values()) {
+            if (type == RegexLookup.LookupType.STAR_PATTERN_LOOKUP) {
+                continue; // requires patterns with only attribute regexes
+            }
+            final RegexLookup<String> lookup = RegexLookup.<String> of(type, RegexLookup.RegexFinderTransform)
+                .loadFromString(source);
+            final Map<String, String> expected = new HashMap<>();
+            for (String path : paths) {
+                expected.put(path, lookupWithArgs(lookup, path));
+            }
+            final Map<String, String> actual = new ConcurrentHashMap<>();
+            paths.parallelStream().forEach(path -> actual.put(path, lookupWithArgs(lookup, path)));
+            assertEquals(type + ": parallel lookup", expected, actual);
+        }
+    }
+
+    private static String lookupWithArgs(RegexLookup<String> lookup, String path) {
+        Output<String[]> arguments = new Output<>();
+        String value = lookup.get(path, null, arguments);
+        return value == null ? "<none>" : RegexLookup.replace(value, arguments.value);
+    }
+
+    public void TestXPathCache() {
+        XPathCache<String> cache = XPathCache.create("test", 10, XPathCache.ValueStrength.strong, true);
+        for (int i = 0; i < 100; ++i) {
+            String path = "//ldml/foo[@type=\"" + i + "\"]";
+            assertEquals("computed", path + "!", cache.get(path, p -> p + "!"));
+            assertEquals("cached", path + "!", cache.get(path, p -> "not called"));
+        }
+        assertTrue("bounded: " + cache.size(), cache.size() <= 10);
+        assertEquals("hits", 100L, cache.stats().hitCount());
+        assertEquals("misses", 100L, cache.stats().missCount());
+
+        String path = "//ldml/dates/calendars/calendar[@type=\"gregorian\"]/dayPeriods/dayPeriodContext[@type=\"format\"]"
+            + "/dayPeriodWidth[@type=\"wide\"]/dayPeriod[@type=\"am\"][@alt=\"variant\"]";
+        CLDRFile.getDistinguishingXPath(path, null);
+        String stats = CLDRFile.distinguishedXPathStats();
+        assertTrue(stats, stats.contains("distinguishingMap:") && stats.contains("XPathParts:"));
+    }
 }
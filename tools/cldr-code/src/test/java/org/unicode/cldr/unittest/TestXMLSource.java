@@ -1,16 +1,38 @@
 package org.unicode.cldr.unittest;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.CLDRPaths;
 import org.unicode.cldr.util.CldrUtility;
+import org.unicode.cldr.util.DtdType;
+import org.unicode.cldr.util.PathIdXMLSource;
+import org.unicode.cldr.util.SimpleXMLSource;
+import org.unicode.cldr.util.ValueSearchIndex;
 import org.unicode.cldr.util.XMLSource;
+import org.unicode.cldr.util.XMLNormalizingLoader;
+import org.unicode.cldr.util.XMLSource.ResolvingSource;
+import org.unicode.cldr.util.XMLSourceSnapshot;
+import org.unicode.cldr.util.XPathIdTable;
 import org.unicode.cldr.util.XPathParts.Comments;
+import org.unicode.cldr.util.XPathParts.Comments.CommentType;
 
 import com.ibm.icu.dev.test.TestFmwk;
 
@@ -134,4 +156,249 @@ public class TestXMLSource extends TestFmwk {
         }
 
     }
+
+    /**
+     * The value index must rank exact, then prefix, then substring matches, and follow changes to the values.
+     */
+    public void TestSearchValues() {
+        final String german = "//ldml/localeDisplayNames/languages/language[@type=\"de\"]";
+        final String swissGerman = "//ldml/localeDisplayNames/languages/language[@type=\"gsw\"]";
+        final String lowGerman = "//ldml/localeDisplayNames/languages/language[@type=\"nds\"]";
+        final String germany = "//ldml/localeDisplayNames/territories/territory[@type=\"DE\"]";
+
+        XMLSource source = new SimpleXMLSource("xx");
+        source.putValueAtDPath(german, "German");
+        source.putValueAtDPath(swissGerman, "Swiss German");
+        source.putValueAtDPath(lowGerman, "Low German");
+        source.putValueAtDPath(germany, "Germany");
+
+        List<ValueSearchIndex.Hit> hits = source.searchValues("german", null, -1);
+        assertEquals("hits " + hits, 4, hits.size());
+        assertEquals("exact", german, hits.get(0).getPath());
+        assertEquals("exact rank", ValueSearchIndex.Hit.EXACT, hits.get(0).getRank());
+        assertEquals("prefix", germany, hits.get(1).getPath());
+        assertEquals("prefix rank", ValueSearchIndex.Hit.PREFIX, hits.get(1).getRank());
+        assertEquals("shorter substring", lowGerman, hits.get(2).getPath());
+        assertEquals("longer substring", swissGerman, hits.get(3).getPath());
+        assertEquals("substring rank", ValueSearchIndex.Hit.SUBSTRING, hits.get(3).getRank());
+        assertEquals("limit", 2, source.searchValues("german", null, 2).size());
+        assertEquals("prefix filter", 3, source.searchValues("German", "//ldml/localeDisplayNames/languages", -1).size());
+        assertEquals("short text", 4, source.searchValues("ge", null, -1).size());
+        assertEquals("no match", 0, source.searchValues("french", null, -1).size());
+
+        // changes must be reflected once the index is built
+        source.putValueAtDPath(lowGerman, "Low Saxon");
+        source.removeValueAtDPath(swissGerman);
+        source.putValueAtDPath(germany, CldrUtility.INHERITANCE_MARKER);
+        hits = source.searchValues("german", null, -1);
+        assertEquals("hits after change " + hits, 1, hits.size());
+        assertEquals("saxon", lowGerman, source.searchValues("saxon", null, -1).get(0).getPath());
+        Set<String> paths = new HashSet<>();
+        source.getPathsWithValue("low saxon", "", paths);
+        assertEquals("exact after change", Collections.singleton(lowGerman), paths);
+
+        // a clone has its own index
+        XMLSource clone = source.cloneAsThawed();
+        clone.putValueAtDPath(swissGerman, "Swiss German");
+        assertEquals("clone", 2, clone.searchValues("german", null, -1).size());
+        assertEquals("original", 1, source.searchValues("german", null, -1).size());
+
+        // values in a child locale hide those of its parent
+        XMLSource root = new SimpleXMLSource("root");
+        root.putValueAtDPath(german, "German");
+        root.putValueAtDPath(swissGerman, "Swiss German");
+        root.freeze();
+        XMLSource child = new SimpleXMLSource("xx");
+        child.putValueAtDPath(swissGerman, "Alemannic");
+        ResolvingSource resolving = new ResolvingSource(Arrays.asList(child, root));
+        hits = resolving.searchValues("german", null, -1);
+        assertEquals("resolved hits " + hits, 1, hits.size());
+        assertEquals("resolved", german, hits.get(0).getPath());
+        assertEquals("child", swissGerman, resolving.searchValues("alemannic", null, -1).get(0).getPath());
+
+        // paths that alias to a hit are found too, as with getPathsWithValue
+        // (the dangi calendar's months are an alias to the chinese calendar's)
+        CLDRFile english = CLDRConfig.getInstance().getEnglish();
+        final String calendars = "//ldml/dates/calendars/calendar";
+        final String dangi = calendars + "[@type=\"dangi\"]/months";
+        final String dangiMonth = dangi
+            + "/monthContext[@type=\"format\"]/monthWidth[@type=\"abbreviated\"]/month[@type=\"10\"]";
+        Set<String> exact = new HashSet<>();
+        english.getPathsWithValue("Mo10", calendars, null, exact);
+        assertTrue("aliased " + exact, exact.contains(dangiMonth));
+        Set<String> found = new HashSet<>();
+        for (ValueSearchIndex.Hit hit : english.searchValues("mo10", calendars, -1)) {
+            assertEquals("alias rank " + hit, ValueSearchIndex.Hit.EXACT, hit.getRank());
+            found.add(hit.getPath());
+        }
+        assertEquals("aliased hits", exact, found);
+        // the alias is found even if the path it points to is outside the prefix
+        hits = english.searchValues("mo10", dangi, -1);
+        assertEquals("aliased hits in prefix " + hits, 1, hits.size());
+        assertEquals("aliased hit in prefix", dangiMonth, hits.get(0).getPath());
+    }
+
+    public void TestPathIdXMLSource() {
+        XMLSource source = XMLSource.getFrozenInstance("fr", Arrays.asList(new File(CLDRPaths.MAIN_DIRECTORY)),
+            DraftStatus.unconfirmed);
+        PathIdXMLSource compact = new PathIdXMLSource(source);
+        assertTrue("frozen", compact.isFrozen());
+        assertEquals("nonInheriting", source.isNonInheriting(), compact.isNonInheriting());
+
+        Set<String> sourcePaths = new HashSet<>();
+        source.forEach(sourcePaths::add);
+        Set<String> compactPaths = new HashSet<>();
+        compact.forEach(compactPaths::add);
+        assertEquals("paths", sourcePaths, compactPaths);
+        assertEquals("size", sourcePaths.size(), compact.size());
+        assertTrue("id table", XPathIdTable.size() >= sourcePaths.size());
+
+        for (String path : sourcePaths) {
+            assertEquals("value " + path, source.getValueAtDPath(path), compact.getValueAtDPath(path));
+            assertEquals("full path " + path, source.getFullPathAtDPath(path), compact.getFullPathAtDPath(path));
+        }
+        assertNull("missing path", compact.getValueAtDPath("//ldml/no/such/path"));
+        assertFalse("missing path", compact.hasValueAtDPath("//ldml/no/such/path"));
+
+        String path = "//ldml/localeDisplayNames/languages/language[@type=\"de\"]";
+        CLDRFile file = new CLDRFile(compact);
+        assertEquals("CLDRFile value", source.getValueAtDPath(path), file.getStringValue(path));
+
+        try {
+            compact.putValueAtDPath(path, "x");
+            errln("modifying a PathIdXMLSource should fail");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        XMLSource thawed = compact.cloneAsThawed();
+        assertFalse("thawed", thawed.isFrozen());
+        thawed.putValueAtDPath(path, "x");
+        assertEquals("thawed value", "x", thawed.getValueAtDPath(path));
+        assertEquals("original value", source.getValueAtDPath(path), compact.getValueAtDPath(path));
+
+        // a source without comments
+        SimpleXMLSource noComments = new SimpleXMLSource("xx");
+        noComments.putValueAtDPath(path, "y");
+        noComments.setXpathComments(null);
+        assertEquals("thawed without comments", "y", new PathIdXMLSource(noComments).cloneAsThawed().getValueAtDPath(path));
+    }
+
+    /**
+     * Changing a value must invalidate the cached resolution of the paths that fall back to it,
+     * including the implicit count and alt fallbacks, but not unrelated paths.
+     */
+    public void TestResolvingSourceInvalidation() {
+        final String prefix = "//ldml/units/unitLength[@type=\"long\"]/unit[@type=\"length-meter\"]/";
+        final String other = prefix + "unitPattern[@count=\"other\"]";
+        final String one = prefix + "unitPattern[@count=\"one\"]";
+        final String displayName = prefix + "displayName";
+        final String displayNameShort = prefix + "displayName[@alt=\"short\"]";
+        final String unrelated = "//ldml/localeDisplayNames/languages/language[@type=\"de\"]";
+
+        XMLSource root = new SimpleXMLSource("root");
+        root.putValueAtDPath(other, "{0} m");
+        root.putValueAtDPath(displayName, "meters");
+        root.putValueAtDPath(unrelated, "German");
+        root.freeze();
+        XMLSource child = new SimpleXMLSource("xx");
+        ResolvingSource resolving = new ResolvingSource(Arrays.asList(child, root));
+
+        assertEquals("one before", "{0} m", resolving.getValueAtDPath(one));
+        assertEquals("short before", "meters", resolving.getValueAtDPath(displayNameShort));
+        assertEquals("unrelated before", "German", resolving.getValueAtDPath(unrelated));
+
+        child.putValueAtDPath(other, "{0} metres");
+        child.notifyListeners(other);
+        assertEquals("one after count change", "{0} metres", resolving.getValueAtDPath(one));
+        assertEquals("locale after count change", "xx", resolving.getSourceLocaleID(one, null));
+
+        child.putValueAtDPath(displayName, "metres");
+        child.notifyListeners(displayName);
+        assertEquals("short after alt change", "metres", resolving.getValueAtDPath(displayNameShort));
+
+        child.removeValueAtDPath(other);
+        child.notifyListeners(other);
+        assertEquals("one after removal", "{0} m", resolving.getValueAtDPath(one));
+        assertEquals("unrelated after", "German", resolving.getValueAtDPath(unrelated));
+    }
+
+    public void TestXMLSourceSnapshot() throws IOException {
+        File dir = Files.createTempDirectory("snapshot").toFile();
+        try {
+            File xmlFile = copyToTempCldrDirectory(dir, "fr");
+            XMLSource source = XMLNormalizingLoader.loadXMLFile(xmlFile, "fr", DraftStatus.unconfirmed);
+            File snapshotFile = XMLSourceSnapshot.getSnapshotFile(dir, xmlFile, DraftStatus.unconfirmed);
+            XMLSourceSnapshot.write(snapshotFile, xmlFile, DraftStatus.unconfirmed, source);
+            XMLSource read = XMLSourceSnapshot.read(snapshotFile, xmlFile, "fr", DraftStatus.unconfirmed);
+            assertNotNull("read back", read);
+
+            Set<String> paths = new HashSet<>();
+            source.forEach(paths::add);
+            Set<String> readPaths = new HashSet<>();
+            read.forEach(readPaths::add);
+            assertEquals("paths", paths, readPaths);
+            for (String path : paths) {
+                assertEquals("value " + path, source.getValueAtDPath(path), read.getValueAtDPath(path));
+                assertEquals("full path " + path, source.getFullPathAtDPath(path), read.getFullPathAtDPath(path));
+            }
+            assertEquals("locale", source.getLocaleID(), read.getLocaleID());
+            assertEquals("nonInheriting", source.isNonInheriting(), read.isNonInheriting());
+            assertEquals("dtd type", source.getXMLNormalizingDtdType(), read.getXMLNormalizingDtdType());
+            assertEquals("dtd version", source.getDtdVersionInfo(), read.getDtdVersionInfo());
+            assertEquals("initial comment", source.getXpathComments().getInitialComment(), read.getXpathComments().getInitialComment());
+            for (CommentType style : CommentType.values()) {
+                assertEquals("comments " + style, source.getXpathComments().getComments(style), read.getXpathComments().getComments(style));
+            }
+
+            // stale snapshots are ignored
+            assertNull("other draft status", XMLSourceSnapshot.read(snapshotFile, xmlFile, "fr", DraftStatus.approved));
+            assertTrue("touch", xmlFile.setLastModified(xmlFile.lastModified() - 10000));
+            assertNull("modified file", XMLSourceSnapshot.read(snapshotFile, xmlFile, "fr", DraftStatus.unconfirmed));
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    public void TestXMLSourceSnapshotInputs() throws IOException {
+        File dir = Files.createTempDirectory("snapshot").toFile();
+        try {
+            File base = new File(dir, "base");
+            File xmlFile = copyToTempCldrDirectory(base, "fr");
+            XMLSource source = XMLNormalizingLoader.loadXMLFile(xmlFile, "fr", DraftStatus.unconfirmed);
+            File snapshotFile = XMLSourceSnapshot.getSnapshotFile(dir, xmlFile, DraftStatus.unconfirmed);
+            // the same, but with a different ldml.dtd
+            File changedBase = new File(dir, "changed");
+            File changedDtd = new File(changedBase, DtdType.ldml.dtdPath);
+            changedDtd.getParentFile().mkdirs();
+            Files.copy(new File(base, DtdType.ldml.dtdPath).toPath(), changedDtd.toPath());
+            Files.write(changedDtd.toPath(), "<!-- changed -->\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+            XMLSourceSnapshot.write(snapshotFile, xmlFile, DraftStatus.unconfirmed, source, base, "v1");
+            assertNotNull("same inputs", XMLSourceSnapshot.read(snapshotFile, xmlFile, "fr", DraftStatus.unconfirmed, base, "v1"));
+            assertNull("other code version", XMLSourceSnapshot.read(snapshotFile, xmlFile, "fr", DraftStatus.unconfirmed, base, "v2"));
+            assertNull("changed DTD", XMLSourceSnapshot.read(snapshotFile, xmlFile, "fr", DraftStatus.unconfirmed, changedBase, "v1"));
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    /**
+     * Copy a locale's XML file to common/main under a directory, and ldml.dtd to common/dtd, so that the DOCTYPE of
+     * the copy finds the DTD.
+     */
+    private File copyToTempCldrDirectory(File baseDir, String localeId) throws IOException {
+        File xmlFile = new File(baseDir, "common/main/" + localeId + ".xml");
+        File dtd = new File(baseDir, DtdType.ldml.dtdPath);
+        xmlFile.getParentFile().mkdirs();
+        dtd.getParentFile().mkdirs();
+        Files.copy(new File(CLDRPaths.MAIN_DIRECTORY, localeId + ".xml").toPath(), xmlFile.toPath());
+        Files.copy(new File(CLDRPaths.BASE_DIRECTORY, DtdType.ldml.dtdPath).toPath(), dtd.toPath());
+        return xmlFile;
+    }
+
+    private void deleteTree(File dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
 }
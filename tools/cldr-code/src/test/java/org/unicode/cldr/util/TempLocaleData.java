@@ -0,0 +1,46 @@
+package org.unicode.cldr.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * A temporary "main" directory of locale files and a "supplemental" directory, for tests of the tools that skip work
+ * whose inputs haven't changed (see {@link FileFingerprints}). The files aren't real XML: only their contents'
+ * hashes matter, so each file just holds its name until a test changes it.
+ */
+public class TempLocaleData {
+    public final File mainDir;
+    public final File supplementalDir;
+
+    /**
+     * Make the directories under a (temporary) directory, with a file for each locale and supplementalData.xml.
+     */
+    public TempLocaleData(File dir, String... locales) throws IOException {
+        mainDir = new File(dir, "main");
+        supplementalDir = new File(dir, "supplemental");
+        mainDir.mkdirs();
+        supplementalDir.mkdirs();
+        for (String locale : locales) {
+            writeLocale(locale, locale);
+        }
+        writeSupplemental("supplemental");
+    }
+
+    public File getLocaleFile(String locale) {
+        return new File(mainDir, locale + ".xml");
+    }
+
+    public void writeLocale(String locale, String content) throws IOException {
+        write(getLocaleFile(locale), content);
+    }
+
+    public void writeSupplemental(String content) throws IOException {
+        write(new File(supplementalDir, "supplementalData.xml"), content);
+    }
+
+    public static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}